@@ -0,0 +1,126 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core;
+
+import net.xmx.xui.core.components.UIPanel;
+import org.joml.Matrix4f;
+import org.joml.Vector4f;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-frame hover update of a tree of 5,000 widgets.
+ * <p>
+ * {@link #cached} runs {@link UIWidget#updateHoverState(int, int, float, float, float, float, float, float, float, float, float)}
+ * for every widget, as {@link UIWidget#render} does. {@link #allocating} runs the original algorithm,
+ * which built and inverted a fresh matrix per widget, for comparison. Both are measured with
+ * untransformed widgets and with rotated widgets. Run with {@code -prof gc} to see the allocation rate.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HoverUpdateBenchmark {
+
+    private static final int GROUPS = 50;
+    private static final int CHILDREN_PER_GROUP = 99;
+
+    /**
+     * The Z rotation of every widget in degrees (0 = untransformed).
+     */
+    @Param({"0", "15"})
+    public float rotation;
+
+    private final List<UIWidget> widgets = new ArrayList<>();
+    private int frame;
+
+    @Setup
+    public void setup() {
+        UIPanel root = new UIPanel();
+        root.setWidth(Layout.pixel(1920)).setHeight(Layout.pixel(1080));
+        widgets.add(root);
+
+        // 1 root + 50 groups + 50 * 99 children = 5,001 widgets
+        for (int g = 0; g < GROUPS; g++) {
+            UIPanel group = new UIPanel();
+            group.setX(Layout.pixel((g % 10) * 190))
+                    .setY(Layout.pixel((g / 10) * 210))
+                    .setWidth(Layout.pixel(180))
+                    .setHeight(Layout.pixel(200));
+            root.add(group);
+            widgets.add(group);
+
+            for (int c = 0; c < CHILDREN_PER_GROUP; c++) {
+                UIPanel child = new UIPanel();
+                child.setX(Layout.pixel((c % 9) * 20))
+                        .setY(Layout.pixel((c / 9) * 18))
+                        .setWidth(Layout.pixel(18))
+                        .setHeight(Layout.pixel(16));
+                group.add(child);
+                widgets.add(child);
+            }
+        }
+        root.layout();
+    }
+
+    @Benchmark
+    public int cached() {
+        int mouseX = nextMouseX(), mouseY = nextMouseY();
+        float r = rotation;
+        int hovered = 0;
+        for (int i = 0, n = widgets.size(); i < n; i++) {
+            UIWidget w = widgets.get(i);
+            w.updateHoverState(mouseX, mouseY, 0, 0, r, 1, 1, 1, 0, 0, 0);
+            if (w.isHovered) hovered++;
+        }
+        return hovered;
+    }
+
+    @Benchmark
+    public int allocating() {
+        int mouseX = nextMouseX(), mouseY = nextMouseY();
+        float r = rotation;
+        int hovered = 0;
+        for (int i = 0, n = widgets.size(); i < n; i++) {
+            UIWidget w = widgets.get(i);
+            float cX = w.x + w.width / 2.0f;
+            float cY = w.y + w.height / 2.0f;
+
+            Matrix4f model = new Matrix4f()
+                    .translate(cX, cY, 0)
+                    .rotate((float) Math.toRadians(0), 1, 0, 0)
+                    .rotate((float) Math.toRadians(0), 0, 1, 0)
+                    .rotate((float) Math.toRadians(r), 0, 0, 1)
+                    .scale(1, 1, 1)
+                    .translate(-cX, -cY, 0);
+            Matrix4f inv = new Matrix4f(model).invert();
+            Vector4f vec = new Vector4f((float) mouseX, (float) mouseY, 0.0f, 1.0f);
+            vec.mul(inv);
+
+            boolean hit = vec.x >= w.x && vec.x <= w.x + w.width &&
+                    vec.y >= w.y && vec.y <= w.y + w.height;
+            if (hit && !w.isClippedByParent(mouseX, mouseY) && !w.isGlobalObstructed(mouseX, mouseY)) {
+                hovered++;
+            }
+        }
+        return hovered;
+    }
+
+    private int nextMouseX() {
+        return (++frame * 37) % 1920;
+    }
+
+    private int nextMouseY() {
+        return (frame * 23) % 1080;
+    }
+}
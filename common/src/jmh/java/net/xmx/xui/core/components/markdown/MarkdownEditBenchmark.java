@@ -0,0 +1,115 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.components.markdown;
+
+import net.xmx.xui.core.font.DefaultFonts;
+import net.xmx.xui.core.font.type.CustomFont;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures editing a single paragraph of a 5,000-line markdown document.
+ * <p>
+ * {@link #editParagraph} alternates between two versions of the document that differ in one
+ * paragraph, so every call parses the whole document and reuses the widgets of all other blocks.
+ * {@link #rebuildAll} builds every widget of a new viewer, which is what each edit cost before
+ * the blocks were reconciled. {@link #parse} measures the block parser alone. Only the CPU side is
+ * measured: the fonts load from the classpath, nothing is drawn.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MarkdownEditBenchmark {
+
+    /**
+     * The number of lines of the document.
+     */
+    private static final int LINES = 5000;
+
+    /**
+     * The content width of the markdown example screen.
+     */
+    private static final float CONTENT_WIDTH = 445;
+
+    private CustomFont font;
+    private String original;
+    private String edited;
+    private UIMarkdown markdown;
+    private boolean showEdited;
+
+    @Setup
+    public void setup() {
+        DefaultFonts.init();
+        font = DefaultFonts.getRoboto();
+
+        original = buildDocument("The paragraph in the middle of the document, before the edit.");
+        edited = buildDocument("The paragraph in the middle of the document, after the edit.");
+
+        markdown = createViewer();
+        markdown.setMarkdown(original);
+    }
+
+    /**
+     * Builds a document of at least {@link #LINES} lines from repeated sections with a header, a paragraph,
+     * a list and a code block. The paragraph of the middle section is replaced by the given text.
+     */
+    private static String buildDocument(String middleParagraph) {
+        StringBuilder sb = new StringBuilder();
+        int sections = (LINES + 11) / 12;
+        for (int i = 0; i < sections; i++) {
+            sb.append("## Section ").append(i).append('\n');
+            sb.append('\n');
+            if (i == sections / 2) {
+                sb.append(middleParagraph).append('\n');
+            } else {
+                sb.append("Section ").append(i).append(" explains **bold** text, *italic* text and `inline code`,\n");
+            }
+            sb.append("which wraps over several lines of the viewer.\n");
+            sb.append('\n');
+            sb.append("- First item of section ").append(i).append('\n');
+            sb.append("- Second item with a [link](https://example.com)\n");
+            sb.append('\n');
+            sb.append("```java\n");
+            sb.append("int value = ").append(i).append(";\n");
+            sb.append("```\n");
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    private UIMarkdown createViewer() {
+        UIMarkdown viewer = new UIMarkdown();
+        viewer.setFont(font);
+        viewer.setContentWidth(CONTENT_WIDTH);
+        return viewer;
+    }
+
+    @Benchmark
+    public int editParagraph() {
+        showEdited = !showEdited;
+        markdown.setMarkdown(showEdited ? edited : original);
+        return markdown.getChildren().size();
+    }
+
+    @Benchmark
+    public int rebuildAll() {
+        UIMarkdown viewer = createViewer();
+        viewer.setMarkdown(original);
+        return viewer.getChildren().size();
+    }
+
+    @Benchmark
+    public List<MarkdownBlock> parse() {
+        return MarkdownParser.parse(original);
+    }
+}
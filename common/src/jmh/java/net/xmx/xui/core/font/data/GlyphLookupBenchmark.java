@@ -0,0 +1,132 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.font.data;
+
+import net.xmx.xui.core.font.DefaultFonts;
+import net.xmx.xui.core.font.FontAtlas;
+import net.xmx.xui.core.font.type.CustomFont;
+import net.xmx.xui.core.text.TextComponent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-character glyph lookup.
+ * <p>
+ * {@link #glyphTable} looks up every character in a {@link GlyphTable}, {@link #boxedMap} in the
+ * {@code HashMap<Integer, Glyph>} it replaced. Both tables hold the same synthetic font (Latin plus
+ * a block of CJK ideographs), so they run without any assets. {@link #fallbackChain} resolves the
+ * characters through {@link CustomFont#resolveGlyph} on the bold variant of the bundled Roboto font,
+ * including the fallback to the regular variant and the replacement glyph.
+ * </p>
+ * <p>
+ * The score is in characters per microsecond. Run with {@code -prof gc} to see the allocation rate;
+ * the table lookups should not allocate, while the boxed map allocates an {@code Integer} for every
+ * codepoint outside of the integer cache.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GlyphLookupBenchmark {
+
+    private static final int CHARS = 1024;
+    private static final int CJK_START = 0x4E00;
+    private static final int CJK_GLYPHS = 2000;
+
+    private static final String LATIN_SAMPLE = "The quick brown fox jumps over the lazy dog. Größe, façade, œuvre! ";
+
+    /**
+     * The script of the looked up text.
+     */
+    @Param({"latin", "cjk"})
+    public String script;
+
+    private final int[] codepoints = new int[CHARS];
+    private GlyphTable table;
+    private Map<Integer, FontMetadata.Glyph> map;
+    private CustomFont font;
+    private FontAtlas bold;
+
+    @Setup
+    public void setup() {
+        // 1. The synthetic font
+        List<FontMetadata.Glyph> glyphs = new ArrayList<>();
+        for (int cp = 0x20; cp < GlyphTable.DENSE_LIMIT; cp++) {
+            glyphs.add(glyph(cp));
+        }
+        for (int i = 0; i < CJK_GLYPHS; i++) {
+            glyphs.add(glyph(CJK_START + i));
+        }
+
+        table = new GlyphTable(glyphs);
+        map = new HashMap<>();
+        for (FontMetadata.Glyph glyph : glyphs) {
+            map.put(glyph.unicode, glyph);
+        }
+
+        // 2. The text
+        for (int i = 0; i < CHARS; i++) {
+            codepoints[i] = script.equals("cjk")
+                    ? CJK_START + (i * 7) % CJK_GLYPHS
+                    : LATIN_SAMPLE.charAt(i % LATIN_SAMPLE.length());
+        }
+
+        // 3. The bundled font, materialized outside of the measurement
+        DefaultFonts.init();
+        font = DefaultFonts.getRoboto();
+        bold = font.resolveFont(TextComponent.literal("").setBold(true));
+        fallbackChain();
+    }
+
+    private static FontMetadata.Glyph glyph(int codepoint) {
+        FontMetadata.Glyph glyph = new FontMetadata.Glyph();
+        glyph.unicode = codepoint;
+        glyph.advance = 0.5f;
+        return glyph;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHARS)
+    public float glyphTable() {
+        float advance = 0;
+        for (int cp : codepoints) {
+            FontMetadata.Glyph glyph = table.get(cp);
+            if (glyph != null) advance += glyph.advance;
+        }
+        return advance;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHARS)
+    public float boxedMap() {
+        float advance = 0;
+        for (int cp : codepoints) {
+            FontMetadata.Glyph glyph = map.get(cp);
+            if (glyph != null) advance += glyph.advance;
+        }
+        return advance;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHARS)
+    public float fallbackChain() {
+        float advance = 0;
+        for (int cp : codepoints) {
+            FontMetadata.Glyph glyph = font.resolveGlyph(bold, cp);
+            if (glyph != null) advance += glyph.advance;
+        }
+        return advance;
+    }
+}
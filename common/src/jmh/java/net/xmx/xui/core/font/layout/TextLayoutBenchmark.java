@@ -0,0 +1,128 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.font.layout;
+
+import net.xmx.xui.core.components.markdown.MarkdownBlock;
+import net.xmx.xui.core.components.markdown.MarkdownParser;
+import net.xmx.xui.core.components.markdown.MarkdownUtils;
+import net.xmx.xui.core.font.DefaultFonts;
+import net.xmx.xui.core.font.type.CustomFont;
+import net.xmx.xui.core.text.TextComponent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures word wrapping of the markdown example content through the {@link TextLayoutEngine}.
+ * <p>
+ * {@link #cached} queries the layouts the way widgets do on every layout pass and frame, so every
+ * lookup is a cache hit. {@link #uncached} clears the {@link TextLayoutCache} first and shapes every
+ * block again. Only the CPU side is measured: the fonts load from the classpath, nothing is drawn.
+ * Run with {@code -prof gc} to see the allocation rate; cache hits should not allocate.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TextLayoutBenchmark {
+
+    /**
+     * The content of the markdown example screen.
+     */
+    private static final String SAMPLE_MARKDOWN =
+            "# XUI Framework\n" +
+                    "Welcome to the **XUI** markdown demo.\n" +
+                    "\n" +
+                    "## Rich Formatting\n" +
+                    "We now support:\n" +
+                    "- **Bold** and *Italic*\n" +
+                    "- ~~Strikethrough text~~\n" +
+                    "- `Inline Code` formatting\n" +
+                    "\n" +
+                    "## Task Lists\n" +
+                    "Track your progress easily:\n" +
+                    "- [x] Implement Basic Markdown\n" +
+                    "- [x] Add Tables support\n" +
+                    "- [ ] Release version 1.0\n" +
+                    "\n" +
+                    "## Data Tables\n" +
+                    "Tables render with dynamic column sizing:\n" +
+                    "\n" +
+                    "| ID | Item Name | Status |\n" +
+                    "|---|---|---|\n" +
+                    "| 1 | Diamond Sword | **Enchanted** |\n" +
+                    "| 2 | Iron Pickaxe | Damaged |\n" +
+                    "| 3 | Golden Apple | `Rare` |\n" +
+                    "\n" +
+                    "## Code Blocks\n" +
+                    "Syntax highlighting for code:\n" +
+                    "```\n" +
+                    "// Java Entity Logic\n" +
+                    "if (player.isSprinting()) {\n" +
+                    "    speed *= 1.5f;\n" +
+                    "    spawnParticles();\n" +
+                    "}\n" +
+                    "```\n" +
+                    "\n" +
+                    "> \"The update adds significant flexibility to document rendering.\"\n" +
+                    "\n" +
+                    "Visit [GitHub](https://github.com) for more info.";
+
+    /**
+     * The content width of the markdown example screen.
+     */
+    private static final float CONTENT_WIDTH = 445;
+
+    private final List<TextComponent> components = new ArrayList<>();
+    private CustomFont font;
+
+    @Setup
+    public void setup() {
+        DefaultFonts.init();
+        font = DefaultFonts.getRoboto();
+
+        // One component tree per text line, as the markdown widgets build them
+        for (MarkdownBlock block : MarkdownParser.parse(SAMPLE_MARKDOWN)) {
+            switch (block.getType()) {
+                case BLANK, SEPARATOR -> {
+                }
+                case CODE_BLOCK -> block.getLines().forEach(line -> add(MarkdownUtils.highlightCode(line)));
+                case TABLE -> block.getLines().forEach(line -> add(MarkdownUtils.parseInline(line)));
+                default -> add(MarkdownUtils.parseInline(block.getText()));
+            }
+        }
+
+        // Materialize the atlases outside of the measurement
+        TextLayoutCache.getInstance().clear();
+        cached();
+    }
+
+    private void add(TextComponent component) {
+        MarkdownUtils.applyFontRecursive(component, font);
+        components.add(component);
+    }
+
+    @Benchmark
+    public float cached() {
+        float height = 0;
+        for (int i = 0; i < components.size(); i++) {
+            height += font.getWordWrapHeight(components.get(i), CONTENT_WIDTH);
+        }
+        return height;
+    }
+
+    @Benchmark
+    public float uncached() {
+        TextLayoutCache.getInstance().clear();
+        return cached();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.sdf;
+
+import net.xmx.xui.core.font.FontAtlas;
+import net.xmx.xui.core.heroicons.IconType;
+import net.xmx.xui.core.heroicons.atlas.HeroIconAtlas;
+import net.xmx.xui.init.XuiMainClass;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cold start of the bundled atlases: the nine font variants of {@code DefaultFonts}
+ * and the two icon atlases of {@code HeroIconProvider}.
+ * <p>
+ * {@link #parallel} submits every atlas first, as {@code XuiMainClass.initGl()} does, and then
+ * materializes them, waiting only for the ones still loading. {@link #sequential} waits for each atlas before creating the
+ * next one, as the original synchronous initialization did. Each invocation loads the assets again;
+ * only the CPU side (parsing and decoding) is measured, no texture is uploaded.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Thread)
+public class AtlasStartupBenchmark {
+
+    private static final String[] FONTS = {
+            "jetbrains-mono/JetBrainsMono-Regular", "jetbrains-mono/JetBrainsMono-Bold", "jetbrains-mono/JetBrainsMono-Italic",
+            "roboto/Roboto-Regular", "roboto/Roboto-Bold", "roboto/Roboto-Italic",
+            "merriweather/Merriweather-Regular", "merriweather/Merriweather-Bold", "merriweather/Merriweather-Italic"
+    };
+
+    @Benchmark
+    public int parallel() {
+        List<LazySDFAtlas<?>> atlases = new ArrayList<>();
+        for (String font : FONTS) {
+            atlases.add(new FontAtlas(XuiMainClass.MODID, font));
+        }
+        for (IconType type : IconType.values()) {
+            atlases.add(new HeroIconAtlas(XuiMainClass.MODID, type));
+        }
+        return materialize(atlases);
+    }
+
+    @Benchmark
+    public int sequential() {
+        List<LazySDFAtlas<?>> atlases = new ArrayList<>();
+        for (String font : FONTS) {
+            FontAtlas atlas = new FontAtlas(XuiMainClass.MODID, font);
+            atlas.getMetadata();
+            atlases.add(atlas);
+        }
+        for (IconType type : IconType.values()) {
+            HeroIconAtlas atlas = new HeroIconAtlas(XuiMainClass.MODID, type);
+            atlas.getMetadata();
+            atlases.add(atlas);
+        }
+        return materialize(atlases);
+    }
+
+    private static int materialize(List<LazySDFAtlas<?>> atlases) {
+        int loaded = 0;
+        for (LazySDFAtlas<?> atlas : atlases) {
+            if (atlas.getMetadata() != null) loaded++;
+            atlas.releaseImage();
+        }
+        return loaded;
+    }
+}
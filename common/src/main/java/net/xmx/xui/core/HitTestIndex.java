@@ -0,0 +1,511 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A uniform-grid spatial index over the screen-space bounds of all rendered widgets of a {@link UIContext}.
+ * <p>
+ * During the render pass every visible widget records its laid-out bounds, intersected with the
+ * bounds of all clipping ancestors (widgets with a {@link net.xmx.xui.core.effect.UIScissorsEffect},
+ * e.g. scroll containers), and translated by the scroll offsets above it. Entries are kept between
+ * frames and only moved to other grid cells when their bounds actually change; entries of widgets
+ * that were not rendered in a frame (e.g. culled subtrees) are removed at its end, and the widgets
+ * lose their hover state.
+ * </p>
+ * <p>
+ * Each entry also stores:
+ * <ul>
+ *     <li><b>Offset:</b> The translation from screen space to the coordinate space the widget receives
+ *     its mouse coordinates in (the sum of the scroll offsets of its ancestors).</li>
+ *     <li><b>Clip:</b> The intersection of all clipping ancestors in that coordinate space, which
+ *     answers {@link UIWidget#isClippedByParent} without walking the ancestors.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * The index is used for pointer queries between frames and to route clicks and scrolls to the
+ * widgets under the cursor. It is considered stale (and callers fall back to the tree traversal)
+ * if any widget was laid out again after it was recorded, or if a rendered widget is moved by a
+ * style transform, which the recorded bounds do not follow.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+final class HitTestIndex {
+
+    /**
+     * The edge length of a grid cell in logical pixels.
+     */
+    static final int CELL_SIZE = 64;
+
+    /**
+     * The index of the context that is currently rendering, or null outside of a render pass.
+     */
+    private static HitTestIndex active;
+
+    /**
+     * The indexed state of a single widget.
+     */
+    static final class Entry {
+        private final HitTestIndex index;
+        private final UIWidget widget;
+
+        // Clipped bounds in screen space
+        private float minX, minY, maxX, maxY;
+
+        // Translation from screen space to the widget's input space
+        private float offsetX, offsetY;
+
+        // Intersection of the clipping ancestors in the widget's input space
+        private float clipMinX, clipMinY, clipMaxX, clipMaxY;
+
+        // Covered grid cells (inclusive), cellX0 = -1 if not inserted
+        private int cellX0 = -1, cellY0, cellX1, cellY1;
+
+        private long frame;
+        private int order;
+        private long visit;
+        private boolean valid;
+
+        private Entry(HitTestIndex index, UIWidget widget) {
+            this.index = index;
+            this.widget = widget;
+        }
+
+        /**
+         * Checks whether the recorded state still matches the widget's layout.
+         *
+         * @return true if the entry can be used for queries.
+         */
+        boolean isValid() {
+            return valid;
+        }
+
+        /**
+         * Marks the entry as outdated, e.g. because the widget was laid out again.
+         * This also marks the whole index as stale until the next frame is recorded.
+         */
+        void invalidate() {
+            if (valid) {
+                valid = false;
+                index.stale = true;
+            }
+        }
+
+        /**
+         * Marks the index as unusable for pointer queries until the next frame, because the widget
+         * is rendered with a style transform (rotation, scale or translation).
+         */
+        void markTransformed() {
+            index.transformed = true;
+        }
+
+        /**
+         * Checks whether a point in the widget's input space lies inside its clip region.
+         *
+         * @param mouseX The X coordinate in the widget's input space.
+         * @param mouseY The Y coordinate in the widget's input space.
+         * @return true if the point is not clipped by any ancestor.
+         */
+        boolean clipContains(double mouseX, double mouseY) {
+            return mouseX >= clipMinX && mouseX <= clipMaxX && mouseY >= clipMinY && mouseY <= clipMaxY;
+        }
+
+        private boolean contains(double screenX, double screenY) {
+            return screenX >= minX && screenX <= maxX && screenY >= minY && screenY <= maxY;
+        }
+    }
+
+    /**
+     * All entries, in no particular order.
+     */
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * Entries whose widget was hovered at the end of the last frame or query.
+     */
+    private final List<Entry> hovered = new ArrayList<>();
+
+    /**
+     * Reusable buffer for query results.
+     */
+    private final List<Entry> candidates = new ArrayList<>();
+
+    private List<Entry>[] cells = newCells(0);
+    private int columns = 0;
+    private int rows = 0;
+
+    /**
+     * The clip stack. Each level stores 6 floats: clipMinX, clipMinY, clipMaxX, clipMaxY, offsetX, offsetY.
+     */
+    private float[] clipStack = new float[6 * 16];
+    private int depth = 0;
+
+    private long frame = 0;
+    private int order = 0;
+    private long visit = 0;
+
+    /**
+     * True until a frame was recorded and after any entry was invalidated.
+     */
+    private boolean stale = true;
+
+    /**
+     * True if a widget of the current frame is rendered with a style transform.
+     */
+    private boolean transformed = false;
+
+    // --- Pointer Routing (see beginRoute) ---
+    private static long routes = 0;
+
+    /**
+     * The route of the pointer event that is being dispatched, or 0 if the event reaches the whole tree.
+     */
+    private static long activeRoute = 0;
+
+    /**
+     * Gets the index of the context that is currently rendering.
+     *
+     * @return The active index, or null outside of a render pass.
+     */
+    static HitTestIndex getActive() {
+        return active;
+    }
+
+    /**
+     * Starts recording a frame and makes this index the active one.
+     *
+     * @param width  The logical width of the context.
+     * @param height The logical height of the context.
+     * @return The previously active index, to be passed to {@link #endFrame(HitTestIndex)}.
+     */
+    HitTestIndex beginFrame(float width, float height) {
+        // 1. Resize the grid if the context size changed (entries are re-inserted on record)
+        int newColumns = Math.max(1, (int) Math.ceil(width / CELL_SIZE));
+        int newRows = Math.max(1, (int) Math.ceil(height / CELL_SIZE));
+        if (newColumns != columns || newRows != rows) {
+            columns = newColumns;
+            rows = newRows;
+            cells = newCells(columns * rows);
+            for (Entry entry : entries) {
+                entry.cellX0 = -1;
+            }
+        }
+
+        // 2. Reset the clip stack to an unbounded root level
+        depth = 0;
+        clipStack[0] = Float.NEGATIVE_INFINITY;
+        clipStack[1] = Float.NEGATIVE_INFINITY;
+        clipStack[2] = Float.POSITIVE_INFINITY;
+        clipStack[3] = Float.POSITIVE_INFINITY;
+        clipStack[4] = 0;
+        clipStack[5] = 0;
+
+        frame++;
+        order = 0;
+        stale = false;
+        transformed = false;
+
+        HitTestIndex previous = active;
+        active = this;
+        return previous;
+    }
+
+    /**
+     * Finishes the recorded frame. Removes the entries of widgets that were not rendered, clears
+     * their hover state and restores the previously active index.
+     *
+     * @param previous The value returned by {@link #beginFrame}.
+     */
+    void endFrame(HitTestIndex previous) {
+        active = previous;
+        hovered.clear();
+
+        int write = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            if (entry.frame != frame) {
+                removeFromCells(entry);
+                entry.valid = false;
+                if (entry.widget.hitEntry == entry) {
+                    entry.widget.hitEntry = null;
+                }
+                // Culled or hidden widgets receive no hover updates until they are rendered again
+                entry.widget.clearHoverState();
+                continue;
+            }
+            if (entry.widget.isHovered) {
+                hovered.add(entry);
+            }
+            entries.set(write++, entry);
+        }
+        entries.subList(write, entries.size()).clear();
+    }
+
+    /**
+     * Checks whether the index reflects the current layout.
+     *
+     * @return true if queries return the same result as a tree traversal.
+     */
+    boolean isUsable() {
+        return !stale && !transformed;
+    }
+
+    /**
+     * Records the bounds of a widget that is being rendered in the current frame.
+     *
+     * @param widget The widget.
+     */
+    void record(UIWidget widget) {
+        Entry entry = widget.hitEntry;
+        if (entry == null || entry.index != this) {
+            entry = new Entry(this, widget);
+            widget.hitEntry = entry;
+            entries.add(entry);
+        }
+
+        int base = depth * 6;
+        float offsetX = clipStack[base + 4];
+        float offsetY = clipStack[base + 5];
+
+        entry.clipMinX = clipStack[base];
+        entry.clipMinY = clipStack[base + 1];
+        entry.clipMaxX = clipStack[base + 2];
+        entry.clipMaxY = clipStack[base + 3];
+        entry.offsetX = offsetX;
+        entry.offsetY = offsetY;
+
+        // Clipped bounds, converted from the input space to screen space
+        entry.minX = Math.max(widget.x, entry.clipMinX) - offsetX;
+        entry.minY = Math.max(widget.y, entry.clipMinY) - offsetY;
+        entry.maxX = Math.min(widget.x + widget.width, entry.clipMaxX) - offsetX;
+        entry.maxY = Math.min(widget.y + widget.height, entry.clipMaxY) - offsetY;
+
+        entry.frame = frame;
+        entry.order = order++;
+        entry.valid = true;
+
+        updateCells(entry);
+    }
+
+    /**
+     * Pushes a clip level for the children of a widget.
+     * <p>
+     * The children are clipped to the bounds of the widget (intersected with the current clip) and
+     * receive their coordinates translated by the given offset (e.g. the scroll position).
+     * </p>
+     *
+     * @param widget  The clipping widget.
+     * @param offsetX The X offset added to the coordinates passed to the children.
+     * @param offsetY The Y offset added to the coordinates passed to the children.
+     */
+    void pushClip(UIWidget widget, float offsetX, float offsetY) {
+        int base = depth * 6;
+        int next = base + 6;
+        if (next + 6 > clipStack.length) {
+            clipStack = Arrays.copyOf(clipStack, clipStack.length * 2);
+        }
+
+        clipStack[next] = Math.max(clipStack[base], widget.x) + offsetX;
+        clipStack[next + 1] = Math.max(clipStack[base + 1], widget.y) + offsetY;
+        clipStack[next + 2] = Math.min(clipStack[base + 2], widget.x + widget.width) + offsetX;
+        clipStack[next + 3] = Math.min(clipStack[base + 3], widget.y + widget.height) + offsetY;
+        clipStack[next + 4] = clipStack[base + 4] + offsetX;
+        clipStack[next + 5] = clipStack[base + 5] + offsetY;
+        depth++;
+    }
+
+    /**
+     * Pops the clip level pushed by {@link #pushClip}.
+     */
+    void popClip() {
+        if (depth > 0) depth--;
+    }
+
+    /**
+     * Updates the hover state of all widgets that may change it at the given point.
+     * <p>
+     * These are the widgets whose clipped bounds contain the point, plus the widgets that are
+     * currently hovered. Every other widget is neither hovered nor under the cursor, so its
+     * state cannot change.
+     * </p>
+     *
+     * @param screenX The X coordinate in the logical screen space.
+     * @param screenY The Y coordinate in the logical screen space.
+     */
+    void updateHover(double screenX, double screenY) {
+        // 1. Collect the candidates (deduplicated via the visit stamp)
+        long stamp = ++visit;
+        candidates.clear();
+        for (Entry entry : hovered) {
+            entry.visit = stamp;
+            candidates.add(entry);
+        }
+        for (Entry entry : cellAt(screenX, screenY)) {
+            if (entry.visit != stamp && entry.contains(screenX, screenY)) {
+                entry.visit = stamp;
+                candidates.add(entry);
+            }
+        }
+
+        // Open overlays track the mouse beyond their own bounds
+        for (UIWidget.WidgetObstructor obstructor : UIWidget.getObstructors()) {
+            if (obstructor instanceof UIWidget widget) {
+                Entry entry = widget.hitEntry;
+                if (entry != null && entry.index == this && entry.visit != stamp) {
+                    entry.visit = stamp;
+                    candidates.add(entry);
+                }
+            }
+        }
+
+        // 2. Let each candidate resolve its state in its own input space
+        hovered.clear();
+        for (Entry entry : candidates) {
+            UIWidget widget = entry.widget;
+            if (entry.valid) {
+                widget.mouseMovedSelf(screenX + entry.offsetX, screenY + entry.offsetY);
+            }
+            if (widget.isHovered) {
+                hovered.add(entry);
+            }
+        }
+        candidates.clear();
+    }
+
+    /**
+     * Finds the topmost (last rendered) widget whose clipped bounds contain the given point.
+     *
+     * @param screenX The X coordinate in the logical screen space.
+     * @param screenY The Y coordinate in the logical screen space.
+     * @return The widget, or null if there is none.
+     */
+    UIWidget findTopmost(double screenX, double screenY) {
+        Entry best = null;
+        for (Entry entry : cellAt(screenX, screenY)) {
+            if (entry.valid && entry.contains(screenX, screenY) && (best == null || entry.order > best.order)) {
+                best = entry;
+            }
+        }
+        return best != null ? best.widget : null;
+    }
+
+    /**
+     * Restricts the dispatch of the next pointer event to the widgets that can receive it.
+     * <p>
+     * These are the widgets whose clipped bounds contain the point (all candidates of
+     * {@link #findTopmost}), the registered obstructors (whose overlays extend beyond their bounds
+     * and which close on clicks outside), and the ancestors of both. Containers skip every other
+     * recorded child (see {@link UIWidget#isOffPointerRoute()}). The route stays active until
+     * {@link #endRoute()}.
+     * </p>
+     *
+     * @param screenX The X coordinate in the logical screen space.
+     * @param screenY The Y coordinate in the logical screen space.
+     */
+    void beginRoute(double screenX, double screenY) {
+        long route = ++routes;
+        for (Entry entry : cellAt(screenX, screenY)) {
+            if (entry.valid && entry.contains(screenX, screenY)) {
+                addToRoute(entry.widget, route);
+            }
+        }
+        for (UIWidget.WidgetObstructor obstructor : UIWidget.getObstructors()) {
+            if (obstructor instanceof UIWidget widget) {
+                addToRoute(widget, route);
+            }
+        }
+        activeRoute = route;
+    }
+
+    private static void addToRoute(UIWidget widget, long route) {
+        // Stop at the first ancestor that is already on the route
+        for (UIWidget w = widget; w != null && w.pointerRoute != route; w = w.getParent()) {
+            w.pointerRoute = route;
+        }
+    }
+
+    /**
+     * Ends the route started by {@link #beginRoute}. Subsequent events reach the whole tree.
+     */
+    static void endRoute() {
+        activeRoute = 0;
+    }
+
+    /**
+     * Checks whether a widget is off the active pointer route.
+     *
+     * @param widget The widget.
+     * @return true if a route is active and the widget is not on it.
+     */
+    static boolean isOffRoute(UIWidget widget) {
+        return activeRoute != 0 && widget.pointerRoute != activeRoute;
+    }
+
+    // --- Grid Maintenance ---
+
+    private List<Entry> cellAt(double screenX, double screenY) {
+        if (cells.length == 0) return List.of();
+        int cx = clamp((int) Math.floor(screenX / CELL_SIZE), columns);
+        int cy = clamp((int) Math.floor(screenY / CELL_SIZE), rows);
+        return cells[cy * columns + cx];
+    }
+
+    private void updateCells(Entry entry) {
+        // 1. Empty bounds (fully clipped) occupy no cell
+        if (entry.minX > entry.maxX || entry.minY > entry.maxY) {
+            removeFromCells(entry);
+            return;
+        }
+
+        // 2. Points outside the grid are clamped to the border cells, so bounds are clamped as well
+        int x0 = clamp((int) Math.floor(entry.minX / CELL_SIZE), columns);
+        int y0 = clamp((int) Math.floor(entry.minY / CELL_SIZE), rows);
+        int x1 = clamp((int) Math.floor(entry.maxX / CELL_SIZE), columns);
+        int y1 = clamp((int) Math.floor(entry.maxY / CELL_SIZE), rows);
+
+        // 3. Only touch the grid if the covered cells changed
+        if (entry.cellX0 == x0 && entry.cellY0 == y0 && entry.cellX1 == x1 && entry.cellY1 == y1) {
+            return;
+        }
+        removeFromCells(entry);
+
+        for (int cy = y0; cy <= y1; cy++) {
+            for (int cx = x0; cx <= x1; cx++) {
+                cells[cy * columns + cx].add(entry);
+            }
+        }
+        entry.cellX0 = x0;
+        entry.cellY0 = y0;
+        entry.cellX1 = x1;
+        entry.cellY1 = y1;
+    }
+
+    private void removeFromCells(Entry entry) {
+        if (entry.cellX0 == -1) return;
+        for (int cy = entry.cellY0; cy <= entry.cellY1; cy++) {
+            for (int cx = entry.cellX0; cx <= entry.cellX1; cx++) {
+                cells[cy * columns + cx].remove(entry);
+            }
+        }
+        entry.cellX0 = -1;
+    }
+
+    private static int clamp(int cell, int count) {
+        return cell < 0 ? 0 : Math.min(cell, count - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Entry>[] newCells(int count) {
+        List<Entry>[] cells = new List[count];
+        for (int i = 0; i < count; i++) {
+            cells[i] = new ArrayList<>();
+        }
+        return cells;
+    }
+}
@@ -7,6 +7,11 @@ package net.xmx.xui.core;
 /**
  * Factory class containing standard layout constraints.
  * Defines how a widget is positioned or sized relative to its parent.
+ * <p>
+ * The parameterized constraints that layout code re-applies on every pass ({@link #pixel},
+ * {@link #relative}, {@link #paddingEnd}) are value objects. Setting a constraint that equals the
+ * current one does not mark the widget dirty, so unchanged subtrees are skipped by the next layout pass.
+ * </p>
  *
  * @author xI-Mx-Ix
  */
@@ -58,7 +63,7 @@ public final class Layout {
      * Sets a fixed pixel size or offset.
      */
     public static AxisFunc pixel(float value) {
-        return (parentPos, parentSize, selfSize) -> parentPos + value;
+        return new Pixel(value);
     }
 
     /**
@@ -73,7 +78,7 @@ public final class Layout {
      * Places the widget relative to the end of the parent minus the widget size.
      */
     public static AxisFunc paddingEnd(float padding) {
-        return (parentPos, parentSize, selfSize) -> parentPos + parentSize - selfSize - padding;
+        return new PaddingEnd(padding);
     }
 
     /**
@@ -91,7 +96,7 @@ public final class Layout {
      * Calculates size or position as a percentage of the parent.
      */
     public static AxisFunc relative(float percent) {
-        return (parentPos, parentSize, selfSize) -> parentPos + (parentSize * percent);
+        return new Relative(percent);
     }
 
     /**
@@ -186,4 +191,29 @@ public final class Layout {
     public static AxisFunc stretch() {
         return (parentPos, parentSize, selfSize) -> parentPos;
     }
-}
\ No newline at end of file
+
+    // =================================================================================
+    // Value Constraints
+    // =================================================================================
+
+    private record Pixel(float value) implements AxisFunc {
+        @Override
+        public float calculate(float parentPos, float parentSize, float selfSize) {
+            return parentPos + value;
+        }
+    }
+
+    private record PaddingEnd(float padding) implements AxisFunc {
+        @Override
+        public float calculate(float parentPos, float parentSize, float selfSize) {
+            return parentPos + parentSize - selfSize - padding;
+        }
+    }
+
+    private record Relative(float percent) implements AxisFunc {
+        @Override
+        public float calculate(float parentPos, float parentSize, float selfSize) {
+            return parentPos + (parentSize * percent);
+        }
+    }
+}
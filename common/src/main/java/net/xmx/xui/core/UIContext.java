@@ -71,6 +71,17 @@ public class UIContext {
      */
     private boolean clearDepth = true;
 
+    /**
+     * The spatial index over the rendered widget bounds, used for pointer queries.
+     * It is refreshed incrementally during every {@link #render} call.
+     */
+    private final HitTestIndex hitIndex = new HitTestIndex();
+
+    // --- Layout Statistics (cumulative) ---
+    private long layoutPasses = 0;
+    private long widgetsLaidOut = 0;
+    private int lastPassWidgets = 0;
+
     /**
      * Constructs a new UI Context with an initialized, empty root panel.
      * The root panel is configured to position itself at (0,0) by default.
@@ -120,9 +131,10 @@ public class UIContext {
         root.setWidth(Layout.pixel(logicalWidth));
         root.setHeight(Layout.pixel(logicalHeight));
 
-        // Trigger a constraint recalculation for the entire tree.
+        // Trigger a constraint recalculation for the tree.
         // This fixes relative positions (like center()) after resize.
-        root.layout();
+        // Only subtrees whose bounds actually change are recalculated.
+        runLayout();
     }
 
     /**
@@ -141,7 +153,7 @@ public class UIContext {
         // 0. Auto-Layout Pass
         // If any widget was marked dirty (e.g. via setVisible or setX), propagate the layout update.
         if (root.isLayoutDirty()) {
-            root.layout();
+            runLayout();
         }
 
         // 1. Calculate Delta Time for Animations
@@ -159,13 +171,41 @@ public class UIContext {
         UIRenderer.getInstance().beginFrame(this.scaleFactor, this.clearDepth);
 
         // 4. Render Widget Tree
-        // Pass the abstract provider to widgets
-        root.render(UIRenderer.getInstance(), (int) logicalMouseX, (int) logicalMouseY, partialTick, deltaTime);
+        // Pass the abstract provider to widgets. The widgets record their bounds into the hit-test index.
+        HitTestIndex previousIndex = hitIndex.beginFrame(root.getWidth(), root.getHeight());
+        try {
+            root.render(UIRenderer.getInstance(), (int) logicalMouseX, (int) logicalMouseY, partialTick, deltaTime);
+        } finally {
+            hitIndex.endFrame(previousIndex);
+        }
 
         // 5. End Frame via Provider
         UIRenderer.getInstance().endFrame();
     }
 
+    /**
+     * Runs a layout pass on the root and records the number of widgets it recalculated.
+     */
+    private void runLayout() {
+        if (!root.isLayoutDirty()) return;
+
+        long before = UIWidget.getLayoutCount();
+        root.layout();
+
+        lastPassWidgets = (int) (UIWidget.getLayoutCount() - before);
+        widgetsLaidOut += lastPassWidgets;
+        layoutPasses++;
+    }
+
+    /**
+     * Retrieves the cumulative layout statistics of this context.
+     *
+     * @return The statistics snapshot.
+     */
+    public LayoutStats getLayoutStats() {
+        return new LayoutStats(layoutPasses, widgetsLaidOut, lastPassWidgets);
+    }
+
     /**
      * Configures whether the depth buffer should be cleared before rendering.
      * <p>
@@ -245,6 +285,10 @@ public class UIContext {
 
     /**
      * Delegates a mouse click event to the root widget after transforming coordinates.
+     * <p>
+     * The click is routed through the hit-test index (see {@link #beginPointerRoute}), so only the
+     * branches of the tree under the cursor are traversed.
+     * </p>
      *
      * @param mouseX The raw mouse X from the screen.
      * @param mouseY The raw mouse Y from the screen.
@@ -252,7 +296,15 @@ public class UIContext {
      * @return {@code true} if the event was handled by a widget.
      */
     public boolean mouseClicked(double mouseX, double mouseY, int button) {
-        return root.mouseClicked(transformMouseX(mouseX), transformMouseY(mouseY), button);
+        double logicalMouseX = transformMouseX(mouseX);
+        double logicalMouseY = transformMouseY(mouseY);
+
+        boolean routed = beginPointerRoute(logicalMouseX, logicalMouseY);
+        try {
+            return root.mouseClicked(logicalMouseX, logicalMouseY, button);
+        } finally {
+            if (routed) HitTestIndex.endRoute();
+        }
     }
 
     /**
@@ -297,6 +349,9 @@ public class UIContext {
 
     /**
      * Delegates a mouse scroll event to the root widget after transforming coordinates.
+     * <p>
+     * Like clicks, the event is routed through the hit-test index (see {@link #beginPointerRoute}).
+     * </p>
      *
      * @param mouseX      The raw mouse X.
      * @param mouseY      The raw mouse Y.
@@ -304,7 +359,72 @@ public class UIContext {
      * @return {@code true} if the event was handled by a widget.
      */
     public boolean mouseScrolled(double mouseX, double mouseY, double scrollDelta) {
-        return root.mouseScrolled(transformMouseX(mouseX), transformMouseY(mouseY), scrollDelta);
+        double logicalMouseX = transformMouseX(mouseX);
+        double logicalMouseY = transformMouseY(mouseY);
+
+        boolean routed = beginPointerRoute(logicalMouseX, logicalMouseY);
+        try {
+            return root.mouseScrolled(logicalMouseX, logicalMouseY, scrollDelta);
+        } finally {
+            if (routed) HitTestIndex.endRoute();
+        }
+    }
+
+    /**
+     * Restricts the dispatch of a pointer event to the widgets that can receive it.
+     * <p>
+     * The same query as {@link #getWidgetAt} collects every rendered widget containing the point
+     * (not only the topmost one, as a widget on top may decline the event), plus the open overlays,
+     * and places them and their ancestors on a route. Containers skip the recorded children that
+     * are off the route; a skipped subtree loses its focus, as it would on any click outside of it.
+     * Nothing is routed while the index does not reflect the current layout.
+     * </p>
+     *
+     * @param logicalMouseX The X coordinate in logical space.
+     * @param logicalMouseY The Y coordinate in logical space.
+     * @return true if a route was started and must be ended via {@link HitTestIndex#endRoute()}.
+     */
+    private boolean beginPointerRoute(double logicalMouseX, double logicalMouseY) {
+        if (root.isLayoutDirty() || !hitIndex.isUsable()) return false;
+        hitIndex.beginRoute(logicalMouseX, logicalMouseY);
+        return true;
+    }
+
+    /**
+     * Updates the hover state of the widgets after the mouse moved.
+     * <p>
+     * If the hit-test index reflects the current layout, only the widgets under the cursor and the
+     * widgets that are currently hovered are updated. Otherwise (before the first frame, or after a
+     * layout change that has not been rendered yet) the event is delegated to the root widget.
+     * </p>
+     *
+     * @param mouseX The raw mouse X.
+     * @param mouseY The raw mouse Y.
+     */
+    public void mouseMoved(double mouseX, double mouseY) {
+        double logicalMouseX = transformMouseX(mouseX);
+        double logicalMouseY = transformMouseY(mouseY);
+
+        if (root.isLayoutDirty() || !hitIndex.isUsable()) {
+            root.mouseMoved(logicalMouseX, logicalMouseY);
+            return;
+        }
+        hitIndex.updateHover(logicalMouseX, logicalMouseY);
+    }
+
+    /**
+     * Finds the topmost widget at the given position.
+     * <p>
+     * The query uses the bounds recorded during the last {@link #render} call, clipped by scroll
+     * containers and other clipping ancestors. Style transforms (rotation, scale) are not taken into account.
+     * </p>
+     *
+     * @param mouseX The raw mouse X from the screen.
+     * @param mouseY The raw mouse Y from the screen.
+     * @return The last rendered widget containing the point, or null if there is none.
+     */
+    public UIWidget getWidgetAt(double mouseX, double mouseY) {
+        return hitIndex.findTopmost(transformMouseX(mouseX), transformMouseY(mouseY));
     }
 
     /**
@@ -331,4 +451,13 @@ public class UIContext {
     public boolean keyPressed(int keyCode, int scanCode, int modifiers) {
         return root.keyPressed(keyCode, scanCode, modifiers);
     }
+
+    /**
+     * Cumulative layout statistics of a context.
+     *
+     * @param passes          The number of layout passes run on the root.
+     * @param widgetsLaidOut  The total number of widgets recalculated by these passes.
+     * @param lastPassWidgets The number of widgets recalculated by the most recent pass.
+     */
+    public record LayoutStats(long passes, long widgetsLaidOut, int lastPassWidgets) {}
 }
\ No newline at end of file
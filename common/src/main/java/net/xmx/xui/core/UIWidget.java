@@ -11,7 +11,6 @@ import net.xmx.xui.core.effect.UIScissorsEffect;
 import net.xmx.xui.core.gl.renderer.UIRenderer;
 import net.xmx.xui.core.style.*;
 import org.joml.Matrix4f;
-import org.joml.Vector4f;
 import org.lwjgl.glfw.GLFW;
 
 import java.util.ArrayList;
@@ -68,6 +67,33 @@ public abstract class UIWidget {
         globalObstructors.remove(obstructor);
     }
 
+    /**
+     * Gets the active obstructors.
+     *
+     * @return The live list of registered obstructors.
+     */
+    static List<WidgetObstructor> getObstructors() {
+        return globalObstructors;
+    }
+
+    /**
+     * The total number of executed {@link #layout()} calls (widgets laid out) across all trees.
+     */
+    private static long layoutCount = 0;
+
+    /**
+     * Gets the total number of widgets laid out since startup.
+     * <p>
+     * Comparing the value before and after a layout pass yields the number of widgets the pass
+     * actually recalculated. See also {@link UIContext#getLayoutStats()}.
+     * </p>
+     *
+     * @return The number of executed layout calls.
+     */
+    public static long getLayoutCount() {
+        return layoutCount;
+    }
+
     // Geometry
     protected float x, y, width, height;
 
@@ -92,6 +118,57 @@ public abstract class UIWidget {
      */
     protected boolean isLayoutDirty = true;
 
+    // --- Cached Hit-Test Transform (see updateHoverState) ---
+    /**
+     * The model matrix of the last hover update and its inverse (parent space -> local space).
+     * Only rebuilt when the bounds or one of the transform style values change.
+     */
+    private final Matrix4f hitTransform = new Matrix4f();
+    private final Matrix4f inverseHitTransform = new Matrix4f();
+
+    /**
+     * The inputs the cached matrices were built from:
+     * x, y, width, height, rotX, rotY, rotZ, scaleX, scaleY, scaleZ, transX, transY, transZ.
+     */
+    private final float[] hitTransformInputs = new float[13];
+    private boolean hitTransformValid = false;
+
+    /**
+     * The state of this widget in the {@link HitTestIndex} of the context it was last rendered in.
+     */
+    HitTestIndex.Entry hitEntry;
+
+    /**
+     * The pointer route this widget was last placed on (see {@link #isOffPointerRoute()}).
+     */
+    long pointerRoute;
+
+    // --- Culling (see renderChildren) ---
+    /**
+     * The union of the laid-out bounds of this widget and all its descendants, updated by {@link #layout()}.
+     * Empty (min > max) until the first layout.
+     */
+    private float subtreeMinX = Float.POSITIVE_INFINITY, subtreeMinY = Float.POSITIVE_INFINITY;
+    private float subtreeMaxX = Float.NEGATIVE_INFINITY, subtreeMaxY = Float.NEGATIVE_INFINITY;
+
+    private boolean cullable = true;
+    private boolean tickWhenCulled = false;
+
+    /**
+     * True if no widget of the subtree opted out of culling.
+     */
+    private boolean subtreeCullable = true;
+
+    /**
+     * True if a widget of the subtree keeps its animations running while it is culled.
+     */
+    private boolean subtreeTicksWhenCulled = false;
+
+    /**
+     * Scratch buffer for the scissor query in {@link #computeCullRect}.
+     */
+    private final float[] cullRect = new float[4];
+
     // Styling, Animation & Effects
     protected final StyleSheet styleSheet = new StyleSheet();
     protected final AnimationManager animManager = new AnimationManager();
@@ -182,6 +259,15 @@ public abstract class UIWidget {
     /**
      * Calculates the layout of this widget and recursively its children.
      * <p>
+     * The layout runs in two phases:
+     * <ol>
+     *     <li><b>Measure:</b> {@link #resolveBounds()} resolves this widget's bounds from its constraints.</li>
+     *     <li><b>Arrange:</b> {@link #layoutChildren()} positions the children. A child is only laid out
+     *     again if it is dirty itself or if its resolved bounds changed (see {@link #layoutChild}).
+     *     Clean subtrees whose bounds are unchanged are skipped entirely.</li>
+     * </ol>
+     * </p>
+     * <p>
      * This implementation applies a strict floor-based pixel snapping strategy.
      * Absolute positions are rounded down to the nearest integer, and dimensions
      * are calculated based on the floored boundaries to ensure elements align
@@ -191,7 +277,28 @@ public abstract class UIWidget {
     public void layout() {
         // Skip if nothing changed in this branch
         if (!isLayoutDirty) return;
+        layoutCount++;
+
+        // The indexed bounds are outdated until the widget is rendered again
+        if (hitEntry != null) hitEntry.invalidate();
+
+        // 1. Measure
+        resolveBounds();
 
+        // 2. Arrange
+        layoutChildren();
+        updateSubtreeBounds();
+
+        // Reset the flag after successful calculation
+        this.isLayoutDirty = false;
+    }
+
+    /**
+     * Resolves the bounds of this widget from its constraints and the parent's bounds.
+     *
+     * @return true if the position or size changed.
+     */
+    protected boolean resolveBounds() {
         float pX = (parent != null) ? parent.x : 0;
         float pY = (parent != null) ? parent.y : 0;
         float pW = (parent != null) ? parent.width : 0;
@@ -204,22 +311,90 @@ public abstract class UIWidget {
         float rawY = yConstraint.calculate(pY, pH, rawHeight);
 
         // Snap the origin to the floor of the calculated position
-        this.x = (float) Math.floor(rawX);
-        this.y = (float) Math.floor(rawY);
+        float newX = (float) Math.floor(rawX);
+        float newY = (float) Math.floor(rawY);
 
         // Size is the difference between the floored outer boundary and floored origin.
         // This prevents 1-pixel gaps between adjacent widgets caused by floating point residues.
-        this.width = (float) (Math.floor(rawX + rawWidth) - this.x);
-        this.height = (float) (Math.floor(rawY + rawHeight) - this.y);
+        float newWidth = (float) (Math.floor(rawX + rawWidth) - newX);
+        float newHeight = (float) (Math.floor(rawY + rawHeight) - newY);
 
-        // Propagate layout update to children.
+        if (newX == x && newY == y && newWidth == width && newHeight == height) {
+            return false;
+        }
+
+        this.x = newX;
+        this.y = newY;
+        this.width = newWidth;
+        this.height = newHeight;
+        return true;
+    }
+
+    /**
+     * Arranges the children of this widget.
+     * <p>
+     * The default implementation lays out every child via {@link #layoutChild}. Containers that
+     * position their children themselves (lists, tables) override this, update the child
+     * constraints and call {@link #layoutChild} for each child.
+     * </p>
+     */
+    protected void layoutChildren() {
         for (UIWidget child : children) {
-            child.markLayoutDirty(); // Ensure the child processes the new parent values
-            child.layout();
+            layoutChild(child);
         }
+    }
 
-        // Reset the flag after successful calculation
-        this.isLayoutDirty = false;
+    /**
+     * Recalculates the cached bounds of the subtree from this widget's bounds and the cached bounds of its children.
+     * <p>
+     * Children whose layout was skipped still hold valid bounds, so this is O(children) and does not
+     * walk the subtree. The aggregated culling flags are collected in the same pass. Children of a
+     * clipping widget cannot draw outside of it, so they do not extend its bounds.
+     * </p>
+     */
+    private void updateSubtreeBounds() {
+        boolean clipped = clipsChildren();
+        float minX = x;
+        float minY = y;
+        float maxX = x + width;
+        float maxY = y + height;
+        boolean allCullable = cullable;
+        boolean anyTicks = tickWhenCulled;
+
+        for (UIWidget child : children) {
+            if (!clipped) {
+                if (child.subtreeMinX < minX) minX = child.subtreeMinX;
+                if (child.subtreeMinY < minY) minY = child.subtreeMinY;
+                if (child.subtreeMaxX > maxX) maxX = child.subtreeMaxX;
+                if (child.subtreeMaxY > maxY) maxY = child.subtreeMaxY;
+            }
+            allCullable &= child.subtreeCullable;
+            anyTicks |= child.subtreeTicksWhenCulled;
+        }
+
+        this.subtreeMinX = minX;
+        this.subtreeMinY = minY;
+        this.subtreeMaxX = maxX;
+        this.subtreeMaxY = maxY;
+        this.subtreeCullable = allCullable;
+        this.subtreeTicksWhenCulled = anyTicks;
+    }
+
+    /**
+     * Lays out a child if any of its inputs changed.
+     * <p>
+     * A child is recalculated if it was marked dirty (constraints or content changed) or if its
+     * bounds, resolved against the current parent bounds and siblings, differ from the last pass.
+     * Otherwise the whole subtree of the child is skipped.
+     * </p>
+     *
+     * @param child The child to lay out.
+     */
+    protected void layoutChild(UIWidget child) {
+        if (!child.isLayoutDirty && !child.resolveBounds()) return;
+
+        child.isLayoutDirty = true;
+        child.layout();
     }
 
     /**
@@ -235,6 +410,9 @@ public abstract class UIWidget {
     public void render(UIRenderer renderer, int mouseX, int mouseY, float partialTick, float deltaTime) {
         if (!isVisible) return;
 
+        // Register the bounds for pointer queries
+        recordHitBounds();
+
         // 1. Update Animation State
         // This advances timelines and updates style properties
         animManager.update(deltaTime);
@@ -253,6 +431,12 @@ public abstract class UIWidget {
         float transY = styleSheet.getValue(InteractionState.DEFAULT, ThemeProperties.TRANSLATE_Y);
         float transZ = styleSheet.getValue(InteractionState.DEFAULT, ThemeProperties.TRANSLATE_Z);
 
+        // The recorded hit bounds do not follow style transforms
+        if (hitEntry != null && (rotX != 0 || rotY != 0 || rotZ != 0 || scaleX != 1 || scaleY != 1
+                || transX != 0 || transY != 0)) {
+            hitEntry.markTransformed();
+        }
+
         // 3. Update Hitbox Logic (Inverse Matrix Calculation)
         // Checks if the mouse is hovering the widget considering its 3D position/rotation.
         updateHoverState(mouseX, mouseY, rotX, rotY, rotZ, scaleX, scaleY, scaleZ, transX, transY, transZ);
@@ -298,9 +482,12 @@ public abstract class UIWidget {
 
         drawSelf(renderer, mouseX, mouseY, partialTick, deltaTime, state);
 
-        for (UIWidget child : children) {
-            child.render(renderer, mouseX, mouseY, partialTick, deltaTime);
-        }
+        boolean clipsChildren = clipsChildren();
+        if (clipsChildren) pushHitClip(0, 0);
+
+        renderChildren(renderer, mouseX, mouseY, partialTick, deltaTime);
+
+        if (clipsChildren) popHitClip();
 
         // Revert effects
         for (int i = effects.size() - 1; i >= 0; i--) {
@@ -311,9 +498,121 @@ public abstract class UIWidget {
         renderer.popMatrix();
     }
 
+    /**
+     * Renders the children of this widget, skipping the subtrees that lie completely outside the active scissor region.
+     * <p>
+     * The test compares the cached subtree bounds (see {@link #layout()}) with the scissor region
+     * transformed into the children's coordinate space, so it costs O(1) per child. A culled child
+     * runs neither its animations, hover logic nor drawing; only widgets that opted in via
+     * {@link #setTickWhenCulled(boolean)} keep their animations running. Widgets of a culled subtree
+     * that were hovered lose their hover state at the end of the frame (see {@link #clearHoverState()}).
+     * </p>
+     * <p>
+     * Culling is skipped if no scissor is active or the current transform is not a plain translation
+     * (e.g. a rotated or scaled ancestor), as the region cannot be mapped back in that case.
+     * </p>
+     *
+     * @param renderer    The renderer instance.
+     * @param mouseX      Current mouse X position, in the children's coordinate space.
+     * @param mouseY      Current mouse Y position, in the children's coordinate space.
+     * @param partialTick The normalized progress between two game ticks.
+     * @param deltaTime   The time elapsed since the last frame in seconds.
+     */
+    protected void renderChildren(UIRenderer renderer, int mouseX, int mouseY, float partialTick, float deltaTime) {
+        if (!computeCullRect(renderer, cullRect)) {
+            for (UIWidget child : children) {
+                child.render(renderer, mouseX, mouseY, partialTick, deltaTime);
+            }
+            return;
+        }
+
+        float minX = cullRect[0];
+        float minY = cullRect[1];
+        float maxX = cullRect[2];
+        float maxY = cullRect[3];
+
+        for (UIWidget child : children) {
+            if (child.isOutside(minX, minY, maxX, maxY)) {
+                child.tickCulled(deltaTime);
+            } else {
+                child.render(renderer, mouseX, mouseY, partialTick, deltaTime);
+            }
+        }
+    }
+
+    /**
+     * Maps the active scissor region into the current (untransformed) coordinate space.
+     *
+     * @param renderer The renderer instance.
+     * @param out      Receives {@code [minX, minY, maxX, maxY]} in logical layout coordinates.
+     * @return true if the region is valid, false if nothing can be culled.
+     */
+    protected static boolean computeCullRect(UIRenderer renderer, float[] out) {
+        if (!renderer.getScissor().getCurrentLogicalScissor(out)) return false;
+
+        // Only a plain translation can be reverted by subtracting the offset
+        Matrix4f model = renderer.getTransformStack().getDirectModelMatrix();
+        if (model.m00() != 1.0f || model.m11() != 1.0f || model.m01() != 0.0f || model.m10() != 0.0f) {
+            return false;
+        }
+
+        float left = out[0] - model.m30();
+        float top = out[1] - model.m31();
+        out[0] = left;
+        out[1] = top;
+        out[2] = left + out[2];
+        out[3] = top + out[3];
+        return true;
+    }
+
+    /**
+     * Checks whether this widget and all its descendants lie completely outside a region.
+     * <p>
+     * The current bounds of the widget itself are included in addition to the cached subtree bounds,
+     * so widgets that move their own bounds between layouts (e.g. during an expansion animation) are
+     * still drawn.
+     * </p>
+     *
+     * @param minX The left edge of the region.
+     * @param minY The top edge of the region.
+     * @param maxX The right edge of the region.
+     * @param maxY The bottom edge of the region.
+     * @return true if the subtree can be culled.
+     */
+    public boolean isOutside(float minX, float minY, float maxX, float maxY) {
+        if (!subtreeCullable) return false;
+
+        float left = Math.min(subtreeMinX, x);
+        float top = Math.min(subtreeMinY, y);
+        float right = Math.max(subtreeMaxX, x + width);
+        float bottom = Math.max(subtreeMaxY, y + height);
+        return left >= maxX || top >= maxY || right <= minX || bottom <= minY;
+    }
+
+    /**
+     * Advances the animations of the widgets in this subtree that opted in via
+     * {@link #setTickWhenCulled(boolean)}. Called instead of {@link #render} while the subtree is culled.
+     *
+     * @param deltaTime The time elapsed since the last frame in seconds.
+     */
+    public void tickCulled(float deltaTime) {
+        if (!isVisible || !subtreeTicksWhenCulled) return;
+
+        if (tickWhenCulled) {
+            animManager.update(deltaTime);
+        }
+        for (UIWidget child : children) {
+            child.tickCulled(deltaTime);
+        }
+    }
+
     /**
      * Performs a 3D Unproject/Inverse-Transform to check if the mouse cursor (in screen space)
      * intersects with the widget's local bounds, accounting for 3D rotations and scaling.
+     * <p>
+     * This method does not allocate. Untransformed widgets use a plain AABB test; otherwise the
+     * inverse matrix is cached and only rebuilt when the bounds or transform values change.
+     * </p>
      *
      * @param mouseX Global mouse X.
      * @param mouseY Global mouse Y.
@@ -332,36 +631,32 @@ public abstract class UIWidget {
                                     float sX, float sY, float sZ,
                                     float tX, float tY, float tZ) {
 
-        // 1. Pivot Calculation
-        float cX = x + width / 2.0f;
-        float cY = y + height / 2.0f;
-
-        // 2. Construct Model Matrix
-        // This must EXACTLY match the transformation sequence in render()
-        Matrix4f model = new Matrix4f()
-                .translate(cX + tX, cY + tY, tZ)
-                .rotate((float) Math.toRadians(rX), 1, 0, 0)
-                .rotate((float) Math.toRadians(rY), 0, 1, 0)
-                .rotate((float) Math.toRadians(rZ), 0, 0, 1)
-                .scale(sX, sY, sZ)
-                .translate(-cX, -cY, 0);
-
-        // 3. Invert Matrix (Global -> Local Space)
-        // If the matrix is singular (e.g. Scale=0), invert() might fail, so we catch issues implicitly or check determinant
-        Matrix4f inv = new Matrix4f(model).invert();
+        boolean hit;
 
-        // 4. Transform Mouse Point
-        // We assume the mouse is on the screen plane (Z=0).
-        Vector4f vec = new Vector4f((float) mouseX, (float) mouseY, 0.0f, 1.0f);
-        vec.mul(inv);
-
-        // 5. Hit Test in Local AABB
-        // Since we transformed the mouse INTO the widget's coordinate system,
-        // we can just check against the widget's original un-rotated bounds (x, y, width, height).
-        boolean hit = vec.x >= x && vec.x <= x + width &&
-                vec.y >= y && vec.y <= y + height;
+        if (rX == 0 && rY == 0 && rZ == 0 && sX == 1 && sY == 1) {
+            // 1. Fast Path: Without rotation and X/Y scaling, the transform is a plain translation
+            // (the Z translation and scale do not affect the screen plane).
+            float lx = mouseX - tX;
+            float ly = mouseY - tY;
+            hit = lx >= x && lx <= x + width &&
+                    ly >= y && ly <= y + height;
+        } else {
+            // 2. Rebuild the cached matrices only if the bounds or the transform changed
+            updateHitTransform(rX, rY, rZ, sX, sY, sZ, tX, tY, tZ);
+
+            // 3. Transform the mouse point (on the screen plane, Z=0) into local space
+            Matrix4f inv = inverseHitTransform;
+            float lx = inv.m00() * mouseX + inv.m10() * mouseY + inv.m30();
+            float ly = inv.m01() * mouseX + inv.m11() * mouseY + inv.m31();
+
+            // 4. Hit Test in Local AABB
+            // Since we transformed the mouse INTO the widget's coordinate system,
+            // we can just check against the widget's original un-rotated bounds (x, y, width, height).
+            hit = lx >= x && lx <= x + width &&
+                    ly >= y && ly <= y + height;
+        }
 
-        // 6. Apply standard blocking logic (Clipping, Obstructors)
+        // 5. Apply standard blocking logic (Clipping, Obstructors)
         if (hit && !isClippedByParent(mouseX, mouseY) && !isGlobalObstructed(mouseX, mouseY)) {
             if (!isHovered) {
                 isHovered = true;
@@ -375,6 +670,56 @@ public abstract class UIWidget {
         }
     }
 
+    /**
+     * Rebuilds the cached model matrix and its inverse if any of its inputs changed.
+     * <p>
+     * The matrix must EXACTLY match the transformation sequence in {@link #render}.
+     * </p>
+     */
+    private void updateHitTransform(float rX, float rY, float rZ,
+                                    float sX, float sY, float sZ,
+                                    float tX, float tY, float tZ) {
+        float[] in = hitTransformInputs;
+        if (hitTransformValid
+                && in[0] == x && in[1] == y && in[2] == width && in[3] == height
+                && in[4] == rX && in[5] == rY && in[6] == rZ
+                && in[7] == sX && in[8] == sY && in[9] == sZ
+                && in[10] == tX && in[11] == tY && in[12] == tZ) {
+            return;
+        }
+
+        in[0] = x;
+        in[1] = y;
+        in[2] = width;
+        in[3] = height;
+        in[4] = rX;
+        in[5] = rY;
+        in[6] = rZ;
+        in[7] = sX;
+        in[8] = sY;
+        in[9] = sZ;
+        in[10] = tX;
+        in[11] = tY;
+        in[12] = tZ;
+
+        // Pivot Calculation
+        float cX = x + width / 2.0f;
+        float cY = y + height / 2.0f;
+
+        hitTransform.identity()
+                .translate(cX + tX, cY + tY, tZ)
+                .rotate((float) Math.toRadians(rX), 1, 0, 0)
+                .rotate((float) Math.toRadians(rY), 0, 1, 0)
+                .rotate((float) Math.toRadians(rZ), 0, 0, 1)
+                .scale(sX, sY, sZ)
+                .translate(-cX, -cY, 0);
+
+        // Invert (Parent -> Local Space). A singular matrix (e.g. Scale=0) yields NaN values,
+        // which fail every comparison of the hit test.
+        hitTransform.invert(inverseHitTransform);
+        hitTransformValid = true;
+    }
+
     /**
      * Subclasses implement this to draw their specific content.
      *
@@ -419,12 +764,21 @@ public abstract class UIWidget {
      * Checks if this widget is currently visually clipped by any of its ancestors.
      * This occurs if a parent has an active {@link UIScissorsEffect} and the mouse cursor
      * is outside that parent's bounds.
+     * <p>
+     * If the widget was rendered since its last layout, the intersection of all clipping
+     * ancestors is taken from the {@link HitTestIndex} instead of walking the ancestors.
+     * </p>
      *
      * @param mouseX The current mouse X coordinate.
      * @param mouseY The current mouse Y coordinate.
      * @return true if the interaction should be blocked due to clipping.
      */
     protected boolean isClippedByParent(double mouseX, double mouseY) {
+        HitTestIndex.Entry entry = hitEntry;
+        if (entry != null && entry.isValid()) {
+            return !entry.clipContains(mouseX, mouseY);
+        }
+
         UIWidget current = this.parent;
         while (current != null) {
             // Iterate over the parent's effects to see if clipping is enabled
@@ -442,6 +796,77 @@ public abstract class UIWidget {
         return false;
     }
 
+    /**
+     * Checks if this widget clips its children via a {@link UIScissorsEffect}.
+     *
+     * @return true if a scissor effect is attached.
+     */
+    protected boolean clipsChildren() {
+        for (UIEffect effect : effects) {
+            if (effect instanceof UIScissorsEffect) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Registers the current bounds of this widget in the hit-test index of the rendering context.
+     * <p>
+     * Called by {@link #render}; subclasses overriding {@code render} without calling the super
+     * implementation should call it before rendering their children.
+     * </p>
+     */
+    protected void recordHitBounds() {
+        HitTestIndex index = HitTestIndex.getActive();
+        if (index != null) {
+            index.record(this);
+        }
+    }
+
+    /**
+     * Starts a clipped region in the hit-test index for the children of this widget.
+     * <p>
+     * Children rendered until {@link #popHitClip()} are clipped to the bounds of this widget and
+     * receive mouse coordinates translated by the given offset (e.g. the scroll position).
+     * </p>
+     *
+     * @param offsetX The X offset added to the mouse coordinates passed to the children.
+     * @param offsetY The Y offset added to the mouse coordinates passed to the children.
+     */
+    protected void pushHitClip(float offsetX, float offsetY) {
+        HitTestIndex index = HitTestIndex.getActive();
+        if (index != null) {
+            index.pushClip(this, offsetX, offsetY);
+        }
+    }
+
+    /**
+     * Ends the clipped region started by {@link #pushHitClip(float, float)}.
+     */
+    protected void popHitClip() {
+        HitTestIndex index = HitTestIndex.getActive();
+        if (index != null) {
+            index.popClip();
+        }
+    }
+
+    /**
+     * Checks whether the pointer event that is being dispatched cannot reach this widget or any of its descendants.
+     * <p>
+     * {@link UIContext} routes clicks and scrolls through its hit-test index: only widgets whose
+     * recorded bounds contain the pointer, open overlays, and their ancestors are on the route.
+     * Containers skip the children that are off the route instead of traversing their subtrees.
+     * Widgets that were not recorded in the last frame are never excluded.
+     * </p>
+     *
+     * @return true if the widget can be skipped for the current event.
+     */
+    public boolean isOffPointerRoute() {
+        HitTestIndex.Entry entry = hitEntry;
+        return entry != null && entry.isValid() && HitTestIndex.isOffRoute(this);
+    }
+
     /**
      * Checks if this widget is a descendant (child, grandchild, etc.) of the specified widget.
      * <p>
@@ -502,22 +927,31 @@ public abstract class UIWidget {
     }
 
     /**
-     * Updates the internal hover state based on mouse position and visibility checks.
+     * Resets the hover state of a widget that is no longer rendered, e.g. because its subtree was
+     * culled or hidden. Without it, the widget would stay hovered until it is rendered again.
+     * <p>
+     * Called by the {@link HitTestIndex} at the end of a frame. Subclasses tracking additional
+     * hover state (e.g. a hovered row) may override it and must call the super method.
+     * </p>
      */
-    protected void updateHoverState(int mouseX, int mouseY) {
-        // If an overlay (dropdown) blocks this area, we are not hovered,
-        // unless we ARE the dropdown (handled in the check above via reference equality).
-        if (isGlobalObstructed(mouseX, mouseY)) {
-            if (isHovered) {
-                isHovered = false;
-                if (onMouseExit != null) onMouseExit.accept(this);
-            }
-            return;
+    protected void clearHoverState() {
+        if (isHovered) {
+            isHovered = false;
+            if (onMouseExit != null) onMouseExit.accept(this);
         }
+    }
 
+    /**
+     * Updates the internal hover state based on mouse position and visibility checks.
+     */
+    protected void updateHoverState(int mouseX, int mouseY) {
         // The widget is only considered hovered if the mouse is over it AND
-        // it is not visually hidden by a parent's scissor clip.
-        boolean nowHovered = isMouseOver(mouseX, mouseY) && !isClippedByParent(mouseX, mouseY);
+        // it is not visually hidden by a parent's scissor clip AND
+        // no overlay (dropdown) blocks this area, unless we ARE the dropdown.
+        // The cheap bounds test runs first, so most widgets never reach the obstructor checks.
+        boolean nowHovered = isMouseOver(mouseX, mouseY)
+                && !isClippedByParent(mouseX, mouseY)
+                && !isGlobalObstructed(mouseX, mouseY);
 
         if (nowHovered && !isHovered) {
             if (onMouseEnter != null) onMouseEnter.accept(this);
@@ -588,6 +1022,11 @@ public abstract class UIWidget {
         // We iterate in reverse order so the last drawn child (topmost) gets the event first.
         for (int i = children.size() - 1; i >= 0; i--) {
             UIWidget child = children.get(i);
+            if (child.isOffPointerRoute()) {
+                // The click cannot hit the subtree, which loses its focus like on any click outside
+                child.unfocus();
+                continue;
+            }
             if (child.mouseClicked(mouseX, mouseY, button)) {
                 // If a child consumed the click, we must unfocus all its siblings
                 // to ensure only one widget is focused at a time.
@@ -699,7 +1138,8 @@ public abstract class UIWidget {
 
         // Propagate to children first
         for (int i = children.size() - 1; i >= 0; i--) {
-            if (children.get(i).mouseScrolled(mouseX, mouseY, scrollDelta)) {
+            UIWidget child = children.get(i);
+            if (!child.isOffPointerRoute() && child.mouseScrolled(mouseX, mouseY, scrollDelta)) {
                 return true;
             }
         }
@@ -720,9 +1160,7 @@ public abstract class UIWidget {
     public void mouseMoved(double mouseX, double mouseY) {
         if (!isVisible) return;
 
-        // Force an update of the internal hover state based on the new position.
-        // This ensures visual states change immediately, not just on render.
-        updateHoverState((int) mouseX, (int) mouseY);
+        mouseMovedSelf(mouseX, mouseY);
 
         // Propagate to all children so they can update their hover states too.
         for (int i = children.size() - 1; i >= 0; i--) {
@@ -730,6 +1168,23 @@ public abstract class UIWidget {
         }
     }
 
+    /**
+     * Handles a mouse move for this widget alone, without propagating it to the children.
+     * <p>
+     * Called by {@link #mouseMoved} and by the hit-test index of the {@link UIContext}, which only
+     * notifies the widgets under the cursor and the widgets that are currently hovered.
+     * Widgets that track the mouse (e.g. highlights) override this instead of {@link #mouseMoved}.
+     * </p>
+     *
+     * @param mouseX The absolute X coordinate.
+     * @param mouseY The absolute Y coordinate.
+     */
+    protected void mouseMovedSelf(double mouseX, double mouseY) {
+        // Force an update of the internal hover state based on the new position.
+        // This ensures visual states change immediately, not just on render.
+        updateHoverState((int) mouseX, (int) mouseY);
+    }
+
     /**
      * Called when a keyboard key is pressed.
      *
@@ -810,24 +1265,28 @@ public abstract class UIWidget {
     }
 
     public UIWidget setX(AxisFunc c) {
+        if (c.equals(this.xConstraint)) return this; // Unchanged, keep the cached layout
         this.xConstraint = c;
         markLayoutDirty(); // Layout needs update
         return this;
     }
 
     public UIWidget setY(AxisFunc c) {
+        if (c.equals(this.yConstraint)) return this; // Unchanged, keep the cached layout
         this.yConstraint = c;
         markLayoutDirty(); // Layout needs update
         return this;
     }
 
     public UIWidget setWidth(AxisFunc c) {
+        if (c.equals(this.widthConstraint)) return this; // Unchanged, keep the cached layout
         this.widthConstraint = c;
         markLayoutDirty(); // Layout needs update
         return this;
     }
 
     public UIWidget setHeight(AxisFunc c) {
+        if (c.equals(this.heightConstraint)) return this; // Unchanged, keep the cached layout
         this.heightConstraint = c;
         markLayoutDirty(); // Layout needs update
         return this;
@@ -909,6 +1368,87 @@ public abstract class UIWidget {
         return this.isVisible;
     }
 
+    /**
+     * Sets whether this widget may be skipped when it lies outside the clip region of an ancestor.
+     * <p>
+     * Culling uses the laid-out bounds. Widgets that draw outside of them (e.g. via large
+     * translations) or that run logic in {@link #render} that must not pause should disable it.
+     * A widget that is not cullable also keeps all its ancestors from being culled.
+     * </p>
+     *
+     * @param cullable true to allow culling (the default).
+     * @return This widget for chaining.
+     */
+    public UIWidget setCullable(boolean cullable) {
+        if (this.cullable != cullable) {
+            this.cullable = cullable;
+            markLayoutDirty(); // The aggregated flags are collected during layout
+        }
+        return this;
+    }
+
+    public boolean isCullable() {
+        return this.cullable;
+    }
+
+    /**
+     * Sets whether the animations of this widget keep running while it is culled.
+     * <p>
+     * By default, a culled widget is paused completely and continues its animations when it
+     * becomes visible again. Enable this for animations whose timing matters even off-screen.
+     * </p>
+     *
+     * @param tick true to keep the animations running.
+     * @return This widget for chaining.
+     */
+    public UIWidget setTickWhenCulled(boolean tick) {
+        if (this.tickWhenCulled != tick) {
+            this.tickWhenCulled = tick;
+            markLayoutDirty(); // The aggregated flags are collected during layout
+        }
+        return this;
+    }
+
+    public boolean isTickWhenCulled() {
+        return this.tickWhenCulled;
+    }
+
+    /**
+     * Checks whether the subtree of this widget can be culled (no descendant opted out).
+     *
+     * @return true if the subtree is cullable.
+     */
+    public boolean isSubtreeCullable() {
+        return this.subtreeCullable;
+    }
+
+    /**
+     * Checks whether a widget of this subtree keeps its animations running while culled.
+     *
+     * @return true if {@link #tickCulled} has any work to do.
+     */
+    public boolean isSubtreeTickingWhenCulled() {
+        return this.subtreeTicksWhenCulled;
+    }
+
+    /**
+     * Gets the top edge of the cached subtree bounds (see {@link #layout()}).
+     *
+     * @return The minimum Y of this widget and its descendants.
+     */
+    public float getSubtreeMinY() {
+        return Math.min(subtreeMinY, y);
+    }
+
+    /**
+     * Gets the bottom edge of the cached subtree bounds (see {@link #layout()}).
+     *
+     * @return The maximum Y of this widget and its descendants.
+     */
+    public float getSubtreeMaxY() {
+        return Math.max(subtreeMaxY, y + height);
+    }
+
     public UIWidget setVisible(boolean visible) {
         if (this.isVisible != visible) {
             this.isVisible = visible;
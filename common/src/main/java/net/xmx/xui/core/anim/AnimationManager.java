@@ -7,6 +7,7 @@ package net.xmx.xui.core.anim;
 import net.xmx.xui.core.style.CornerRadii;
 import net.xmx.xui.core.style.StyleKey;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -17,12 +18,21 @@ import java.util.concurrent.CopyOnWriteArrayList;
 /**
  * Manages value interpolation for UI properties.
  * It stores the current "live" animated values and moves them towards target values.
+ * <p>
+ * Colors and floats are queried by every widget on every frame, so they are stored unboxed
+ * in a small table searched by key identity (a widget animates only a handful of properties).
+ * </p>
  *
  * @author xI-Mx-Ix
  */
 public class AnimationManager {
 
-    private final Map<StyleKey<?>, Object> currentValues = new HashMap<>();
+    private final Map<StyleKey<?>, CornerRadii> currentRadii = new HashMap<>();
+
+    // --- Scalar values (ARGB colors, or the raw bits of floats) ---
+    private StyleKey<?>[] scalarKeys = new StyleKey<?>[4];
+    private int[] scalarValues = new int[4];
+    private int scalarCount = 0;
 
     // Thread-safe list to hold active complex animations (New)
     private final List<AnimationInstance> activeAnimations = new CopyOnWriteArrayList<>();
@@ -55,6 +65,9 @@ public class AnimationManager {
      * @param dt Delta time in seconds.
      */
     public void update(float dt) {
+        // Most widgets have no running timeline; skip creating an iterator
+        if (activeAnimations.isEmpty()) return;
+
         Iterator<AnimationInstance> it = activeAnimations.iterator();
         while (it.hasNext()) {
             AnimationInstance anim = it.next();
@@ -79,7 +92,12 @@ public class AnimationManager {
         // Max 0.1s (10 FPS) per frame calculation.
         float safeDt = Math.min(dt, 0.1f);
 
-        float current = (float) currentValues.getOrDefault(prop, target);
+        int slot = indexOf(prop);
+        if (slot < 0) {
+            add(prop, Float.floatToRawIntBits(target));
+            return target;
+        }
+        float current = Float.intBitsToFloat(scalarValues[slot]);
 
         float diff = target - current;
         // If difference is negligible, snap to target to save CPU
@@ -96,7 +114,7 @@ public class AnimationManager {
             current += diff * lerpFactor;
         }
 
-        currentValues.put(prop, current);
+        scalarValues[slot] = Float.floatToRawIntBits(current);
         return current;
     }
 
@@ -112,7 +130,7 @@ public class AnimationManager {
     public CornerRadii getAnimatedCornerRadii(StyleKey<CornerRadii> prop, CornerRadii target, float speed, float dt) {
         float safeDt = Math.min(dt, 0.1f);
 
-        CornerRadii current = (CornerRadii) currentValues.getOrDefault(prop, target);
+        CornerRadii current = currentRadii.getOrDefault(prop, target);
 
         // Optimization: if objects are equal or values are extremely close, snap to target
         if (current.equals(target)) return target;
@@ -124,7 +142,7 @@ public class AnimationManager {
         // Use the lerp method in CornerRadii
         CornerRadii next = current.lerp(target, lerpFactor);
 
-        currentValues.put(prop, next);
+        currentRadii.put(prop, next);
         return next;
     }
 
@@ -141,7 +159,12 @@ public class AnimationManager {
         // Sanity Check: Clamp dt
         float safeDt = Math.min(dt, 0.1f);
 
-        int current = (int) currentValues.getOrDefault(prop, target);
+        int slot = indexOf(prop);
+        if (slot < 0) {
+            add(prop, target);
+            return target;
+        }
+        int current = scalarValues[slot];
 
         if (current == target) return current;
 
@@ -150,7 +173,7 @@ public class AnimationManager {
 
         // Safety clamp
         if (lerpFactor >= 1.0f) {
-            currentValues.put(prop, target);
+            scalarValues[slot] = target;
             return target;
         }
 
@@ -161,10 +184,27 @@ public class AnimationManager {
             next = target;
         }
 
-        currentValues.put(prop, next);
+        scalarValues[slot] = next;
         return next;
     }
 
+    private int indexOf(StyleKey<?> key) {
+        for (int i = 0; i < scalarCount; i++) {
+            if (scalarKeys[i] == key) return i;
+        }
+        return -1;
+    }
+
+    private void add(StyleKey<?> key, int value) {
+        if (scalarCount == scalarKeys.length) {
+            scalarKeys = Arrays.copyOf(scalarKeys, scalarCount * 2);
+            scalarValues = Arrays.copyOf(scalarValues, scalarCount * 2);
+        }
+        scalarKeys[scalarCount] = key;
+        scalarValues[scalarCount] = value;
+        scalarCount++;
+    }
+
     private int interpolateColor(int c1, int c2, float factor) {
         int a1 = (c1 >> 24) & 0xFF;
         int r1 = (c1 >> 16) & 0xFF;
@@ -0,0 +1,207 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.components;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * A search index over the labels of the options of a {@link UIDropdown}.
+ * <p>
+ * The index is built once when the options change, so filtering while the user types never
+ * scans all labels:
+ * <ul>
+ *     <li><b>Prefix Index:</b> The options sorted by their lower-case label. Queries shorter than three
+ *     characters match label prefixes, found by binary search.</li>
+ *     <li><b>Trigram Index:</b> For every three-character sequence, the sorted list of options whose label
+ *     contains it (stored compactly as one offset array and one posting array). Longer queries match
+ *     anywhere in the label: the candidates are taken from the rarest trigram of the query and
+ *     verified against the label.</li>
+ * </ul>
+ * Matches are returned in option order.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+final class OptionSearchIndex {
+
+    private final String[] keys;
+
+    /**
+     * Option indices sorted by key.
+     */
+    private final int[] sorted;
+
+    // --- Trigram Table (open addressing, key = three packed chars) ---
+    private final long[] trigramKeys;
+    private final int[] trigramSlots;
+    private final int[] postingOffsets;
+    private final int[] postings;
+
+    /**
+     * Builds the index.
+     *
+     * @param labels The plain label text of every option.
+     */
+    OptionSearchIndex(String[] labels) {
+        int count = labels.length;
+        this.keys = new String[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = labels[i].toLowerCase(Locale.ROOT);
+        }
+
+        // 1. Prefix index
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> keys[a].compareTo(keys[b]));
+        this.sorted = new int[count];
+        for (int i = 0; i < count; i++) sorted[i] = order[i];
+
+        // 2. Count the options per distinct trigram
+        int capacity = Integer.highestOneBit(Math.max(16, countTrigrams() * 2)) << 1;
+        this.trigramKeys = new long[capacity];
+        this.trigramSlots = new int[capacity];
+        Arrays.fill(trigramKeys, -1L);
+
+        int distinct = 0;
+        int[] counts = new int[16];
+        long[] last = new long[16]; // The last option counted per trigram, to count each option once
+        for (int option = 0; option < count; option++) {
+            String key = keys[option];
+            for (int i = 0; i + 3 <= key.length(); i++) {
+                long trigram = pack(key, i);
+                int slot = find(trigram);
+                if (trigramKeys[slot] == -1L) {
+                    trigramKeys[slot] = trigram;
+                    trigramSlots[slot] = distinct;
+                    if (distinct == counts.length) {
+                        counts = Arrays.copyOf(counts, distinct * 2);
+                        last = Arrays.copyOf(last, distinct * 2);
+                    }
+                    last[distinct] = -1;
+                    distinct++;
+                }
+                int id = trigramSlots[slot];
+                if (last[id] != option) {
+                    last[id] = option;
+                    counts[id]++;
+                }
+            }
+        }
+
+        // 3. Fill the posting lists (ascending option order)
+        this.postingOffsets = new int[distinct + 1];
+        for (int id = 0; id < distinct; id++) {
+            postingOffsets[id + 1] = postingOffsets[id] + counts[id];
+        }
+        this.postings = new int[postingOffsets[distinct]];
+        int[] fill = Arrays.copyOf(postingOffsets, distinct);
+        Arrays.fill(last, 0, distinct, -1);
+        for (int option = 0; option < count; option++) {
+            String key = keys[option];
+            for (int i = 0; i + 3 <= key.length(); i++) {
+                int id = trigramSlots[find(pack(key, i))];
+                if (last[id] != option) {
+                    last[id] = option;
+                    postings[fill[id]++] = option;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of indexed options.
+     *
+     * @return The option count.
+     */
+    int size() {
+        return keys.length;
+    }
+
+    /**
+     * Finds the options matching a query.
+     *
+     * @param query The text typed by the user (case-insensitive).
+     * @param out   Receives the matching option indices in ascending order; must hold {@link #size()} entries.
+     * @return The number of matches.
+     */
+    int search(String query, int[] out) {
+        String q = query.toLowerCase(Locale.ROOT);
+        if (q.isEmpty()) {
+            for (int i = 0; i < keys.length; i++) out[i] = i;
+            return keys.length;
+        }
+        return q.length() < 3 ? searchPrefix(q, out) : searchTrigrams(q, out);
+    }
+
+    private int searchPrefix(String q, int[] out) {
+        // 1. Binary search for the first key >= q
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[sorted[mid]].compareTo(q) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        // 2. All keys with the prefix follow in a contiguous run
+        int count = 0;
+        for (int i = low; i < sorted.length && keys[sorted[i]].startsWith(q); i++) {
+            out[count++] = sorted[i];
+        }
+        Arrays.sort(out, 0, count);
+        return count;
+    }
+
+    private int searchTrigrams(String q, int[] out) {
+        // 1. Pick the trigram of the query with the shortest posting list
+        int best = -1;
+        int bestSize = Integer.MAX_VALUE;
+        for (int i = 0; i + 3 <= q.length(); i++) {
+            int slot = find(pack(q, i));
+            if (trigramKeys[slot] == -1L) return 0; // A trigram no label contains
+            int id = trigramSlots[slot];
+            int size = postingOffsets[id + 1] - postingOffsets[id];
+            if (size < bestSize) {
+                bestSize = size;
+                best = id;
+            }
+        }
+
+        // 2. Verify the candidates
+        int count = 0;
+        for (int p = postingOffsets[best]; p < postingOffsets[best + 1]; p++) {
+            int option = postings[p];
+            if (keys[option].contains(q)) {
+                out[count++] = option;
+            }
+        }
+        return count;
+    }
+
+    private int countTrigrams() {
+        int total = 0;
+        for (String key : keys) {
+            total += Math.max(0, key.length() - 2);
+        }
+        return total;
+    }
+
+    private int find(long trigram) {
+        int mask = trigramKeys.length - 1;
+        int slot = (int) ((trigram * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+        while (trigramKeys[slot] != -1L && trigramKeys[slot] != trigram) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static long pack(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+}
@@ -11,6 +11,7 @@ import net.xmx.xui.core.style.InteractionState;
 import net.xmx.xui.core.style.StyleKey;
 import net.xmx.xui.core.style.ThemeProperties;
 import net.xmx.xui.core.text.TextComponent;
+import org.lwjgl.glfw.GLFW;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -23,6 +24,13 @@ import java.util.function.Consumer;
  * list overlay that animates open/close. The overlay is rendered visually distinct
  * from the header (floating card style) with a configurable gap.
  * </p>
+ * <p>
+ * <b>Large Option Lists:</b><br>
+ * The overlay shows at most {@link #setMaxVisibleOptions(int)} rows and scrolls with the mouse wheel.
+ * Only the rows intersecting the scroll window are drawn, so opening and rendering cost the same for
+ * ten options as for ten thousand. While open, typing filters the options (backed by a prefix and
+ * trigram index over the labels) and the arrow, page, home and end keys move the highlighted row.
+ * </p>
  *
  * @author xI-Mx-Ix
  */
@@ -90,6 +98,32 @@ public class UIDropdown extends UIWidget implements UIWidget.WidgetObstructor {
     private int selectedIndex = -1;
     private Consumer<Integer> onSelected;
 
+    // Search & Filter
+    private final StringBuilder query = new StringBuilder();
+    private TextComponent queryText;
+
+    /**
+     * The label index, built on the first typed character after the options changed.
+     */
+    private OptionSearchIndex searchIndex;
+
+    /**
+     * The option indices shown in the overlay, or null if all options are shown in order.
+     */
+    private int[] filtered;
+    private int filteredCount;
+    private int[] filterBuffer;
+
+    /**
+     * The highlighted row (position in the shown list), or -1.
+     */
+    private int highlighted = -1;
+
+    /**
+     * The row under the mouse in the last rendered frame, or -1.
+     */
+    private int mouseRow = -1;
+
     // State & Animation
     private boolean isOpen = false;
     private boolean active = true;
@@ -104,6 +138,13 @@ public class UIDropdown extends UIWidget implements UIWidget.WidgetObstructor {
     private Direction preferredDirection = Direction.AUTO;
     private boolean openUpward = false;
     private final int optionHeight = 24;
+    private int maxVisibleOptions = 8;
+
+    /**
+     * The scroll position of the overlay in pixels (current and target for smooth scrolling).
+     */
+    private float scrollOffset = 0.0f;
+    private float targetScroll = 0.0f;
 
     // Geometry Cache (Calculated in drawSelf for obstruction checks)
     private float overlayX, overlayY, overlayWidth, overlayHeight;
@@ -158,6 +199,7 @@ public class UIDropdown extends UIWidget implements UIWidget.WidgetObstructor {
     public UIDropdown addOption(TextComponent option) {
         this.options.add(option);
         if (this.selectedIndex == -1) selectedIndex = 0;
+        invalidateIndex();
         return this;
     }
 
@@ -171,6 +213,18 @@ public class UIDropdown extends UIWidget implements UIWidget.WidgetObstructor {
         this.options.clear();
         this.options.addAll(options);
         this.selectedIndex = options.isEmpty() ? -1 : 0;
+        invalidateIndex();
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of rows shown at once. Longer lists scroll inside the overlay.
+     *
+     * @param maxVisibleOptions The row limit (at least 1).
+     * @return This instance for chaining.
+     */
+    public UIDropdown setMaxVisibleOptions(int maxVisibleOptions) {
+        this.maxVisibleOptions = Math.max(1, maxVisibleOptions);
         return this;
     }
 
@@ -217,8 +271,11 @@ public class UIDropdown extends UIWidget implements UIWidget.WidgetObstructor {
                     headerRadii.topLeft(), headerRadii.topRight(), headerRadii.bottomRight(), headerRadii.bottomLeft());
         }
 
-        // Draw Selected Text
-        if (selectedIndex >= 0 && selectedIndex < options.size()) {
+        // Draw Selected Text (or the filter query while the user is typing)
+        if (isOpen && queryText != null) {
+            float textY = y + (height - TextComponent.getFontHeight()) / 2.0f + 1;
+            renderer.drawText(queryText, x + 8, textY, textColor, false);
+        } else if (selectedIndex >= 0 && selectedIndex < options.size()) {
             float textY = y + (height - TextComponent.getFontHeight()) / 2.0f + 1;
             // Limit text width to avoid overlapping arrow
             renderer.drawText(options.get(selectedIndex), x + 8, textY, textColor, false);
@@ -229,6 +286,7 @@ public class UIDropdown extends UIWidget implements UIWidget.WidgetObstructor {
 
         // 4. Draw Floating List Overlay (if visible)
         if (openProgress > 0.01f) {
+            updateScroll(deltaTime);
             updateOverlayGeometry();
 
             // Resolve Styles for the Overlay (List)
@@ -285,7 +343,7 @@ public class UIDropdown extends UIWidget implements UIWidget.WidgetObstructor {
         }
 
         // Logic: Auto - Calculate available space
-        int totalListHeight = options.size() * optionHeight;
+        int totalListHeight = Math.min(options.size(), maxVisibleOptions) * optionHeight;
         int screenHeight = getScreenHeight();
 
         // Retrieve gap from styles
@@ -309,7 +367,7 @@ public class UIDropdown extends UIWidget implements UIWidget.WidgetObstructor {
     }
 
     private void updateOverlayGeometry() {
-        int totalListHeight = options.size() * optionHeight;
+        int totalListHeight = getWindowHeight();
         float gap = style().getValue(InteractionState.DEFAULT, DROPDOWN_GAP);
 
         this.overlayWidth = this.width;
@@ -333,7 +391,8 @@ public class UIDropdown extends UIWidget implements UIWidget.WidgetObstructor {
     private void renderOverlay(UIRenderer renderer, int mouseX, int mouseY,
                                int bgColor, int borderColor, int textColor, CornerRadii radii, float borderThick) {
 
-        float totalListHeight = options.size() * optionHeight;
+        float totalListHeight = getWindowHeight();
+        int count = getShownCount();
 
         // --- 1. Clipping (Scissors) ---
         renderer.getScissor().enableScissor(overlayX, overlayY, overlayWidth, overlayHeight);
@@ -344,23 +403,30 @@ public class UIDropdown extends UIWidget implements UIWidget.WidgetObstructor {
 
         // --- 3. Draw Options ---
         int hoverColor = style().getValue(InteractionState.DEFAULT, ThemeProperties.HOVER_COLOR);
-        float startY = openUpward ? (overlayY + overlayHeight - totalListHeight) : overlayY;
+        float startY = (openUpward ? (overlayY + overlayHeight - totalListHeight) : overlayY) - scrollOffset;
 
-        for (int i = 0; i < options.size(); i++) {
-            float optY = startY + (i * optionHeight);
+        // A row that came under the mouse (moved or scrolled there) takes the highlight.
+        // A resting mouse does not override keyboard navigation.
+        int row = isObstructing(mouseX, mouseY) ? getRowAt(mouseY) : -1;
+        if (row >= 0 && row != mouseRow) {
+            highlighted = row;
+        }
+        mouseRow = row;
+
+        // Only the rows intersecting the scroll window are drawn
+        int first = Math.max(0, (int) (scrollOffset / optionHeight));
+        int last = Math.min(count, (int) Math.ceil((scrollOffset + totalListHeight) / optionHeight));
 
-            // Check hover relative to the visual list and scissor bounds
-            boolean isHovered = (mouseX >= overlayX && mouseX <= overlayX + overlayWidth &&
-                    mouseY >= optY && mouseY < optY + optionHeight &&
-                    mouseY >= overlayY && mouseY <= overlayY + overlayHeight);
+        for (int i = first; i < last; i++) {
+            float optY = startY + (i * optionHeight);
 
-            if (isHovered) {
+            if (i == highlighted) {
                 // Determine radii for the hover effect based on item position
                 // Top item inherits top radii, bottom item inherits bottom radii
                 float tl = (i == 0) ? radii.topLeft() : 0.0f;
                 float tr = (i == 0) ? radii.topRight() : 0.0f;
-                float br = (i == options.size() - 1) ? radii.bottomRight() : 0.0f;
-                float bl = (i == options.size() - 1) ? radii.bottomLeft() : 0.0f;
+                float br = (i == count - 1) ? radii.bottomRight() : 0.0f;
+                float bl = (i == count - 1) ? radii.bottomLeft() : 0.0f;
 
                 // Render hover background precisely within the borders
                 renderer.getGeometry().renderRect(
@@ -374,7 +440,7 @@ public class UIDropdown extends UIWidget implements UIWidget.WidgetObstructor {
             }
 
             float textY = optY + (optionHeight - TextComponent.getFontHeight()) / 2.0f + 1;
-            renderer.drawText(options.get(i), overlayX + 8, textY, textColor, false);
+            renderer.drawText(options.get(getOptionAt(i)), overlayX + 8, textY, textColor, false);
         }
 
         // --- 4. Draw Border ---
@@ -396,16 +462,9 @@ public class UIDropdown extends UIWidget implements UIWidget.WidgetObstructor {
             if (mouseX >= overlayX && mouseX <= overlayX + overlayWidth &&
                     mouseY >= overlayY && mouseY <= overlayY + overlayHeight) {
 
-                float totalListHeight = options.size() * optionHeight;
-                float startY = openUpward ? (overlayY + overlayHeight - totalListHeight) : overlayY;
-
-                float relativeY = (float) mouseY - startY;
-                int index = (int) (relativeY / optionHeight);
-
-                if (index >= 0 && index < options.size()) {
-                    setSelectedIndex(index);
-                    if (onSelected != null) onSelected.accept(index);
-                    closeDropdown();
+                int row = getRowAt(mouseY);
+                if (row >= 0) {
+                    selectRow(row);
                     return true;
                 }
             }
@@ -440,6 +499,14 @@ public class UIDropdown extends UIWidget implements UIWidget.WidgetObstructor {
             // when space calculations might differ due to shrinking dimensions.
             calculateDirection();
 
+            // Start unfiltered, with the selected option highlighted and centered in the window
+            clearQuery();
+            this.highlighted = selectedIndex;
+            this.mouseRow = -1;
+            float centered = selectedIndex * optionHeight - (getWindowHeight() - optionHeight) / 2.0f;
+            this.targetScroll = clampScroll(centered);
+            this.scrollOffset = targetScroll;
+
             this.isOpen = true;
             UIWidget.addObstructor(this);
         }
@@ -452,6 +519,221 @@ public class UIDropdown extends UIWidget implements UIWidget.WidgetObstructor {
         }
     }
 
+    /**
+     * Selects the option shown in a row, notifies the listener and closes the overlay.
+     */
+    private void selectRow(int row) {
+        int index = getOptionAt(row);
+        setSelectedIndex(index);
+        if (onSelected != null) onSelected.accept(index);
+        closeDropdown();
+    }
+
+    // =================================================================================
+    // Scrolling & Keyboard Navigation
+    // =================================================================================
+
+    @Override
+    public boolean mouseScrolled(double mouseX, double mouseY, double scrollDelta) {
+        if (isVisible && isOpen && isObstructing(mouseX, mouseY)) {
+            targetScroll = clampScroll(targetScroll - (float) scrollDelta * optionHeight * 3);
+            return true;
+        }
+        return super.mouseScrolled(mouseX, mouseY, scrollDelta);
+    }
+
+    @Override
+    protected void mouseMovedSelf(double mouseX, double mouseY) {
+        super.mouseMovedSelf(mouseX, mouseY);
+
+        // The mouse takes over the highlight while it moves over the rows
+        if (isOpen && isObstructing(mouseX, mouseY)) {
+            int row = getRowAt(mouseY);
+            if (row >= 0) highlighted = row;
+        }
+    }
+
+    @Override
+    protected void clearHoverState() {
+        super.clearHoverState();
+        mouseRow = -1;
+    }
+
+    @Override
+    public boolean keyPressed(int keyCode, int scanCode, int modifiers) {
+        if (!isVisible || !isOpen) return super.keyPressed(keyCode, scanCode, modifiers);
+
+        int count = getShownCount();
+        switch (keyCode) {
+            case GLFW.GLFW_KEY_ESCAPE:
+                closeDropdown();
+                return true;
+            case GLFW.GLFW_KEY_ENTER:
+            case GLFW.GLFW_KEY_KP_ENTER:
+                if (highlighted >= 0 && highlighted < count) selectRow(highlighted);
+                return true;
+            case GLFW.GLFW_KEY_BACKSPACE:
+                if (query.length() > 0) {
+                    query.setLength(query.length() - 1);
+                    applyFilter();
+                }
+                return true;
+            case GLFW.GLFW_KEY_UP:
+                moveHighlight(highlighted - 1);
+                return true;
+            case GLFW.GLFW_KEY_DOWN:
+                moveHighlight(highlighted + 1);
+                return true;
+            case GLFW.GLFW_KEY_PAGE_UP:
+                moveHighlight(highlighted - maxVisibleOptions);
+                return true;
+            case GLFW.GLFW_KEY_PAGE_DOWN:
+                moveHighlight(highlighted + maxVisibleOptions);
+                return true;
+            case GLFW.GLFW_KEY_HOME:
+                moveHighlight(0);
+                return true;
+            case GLFW.GLFW_KEY_END:
+                moveHighlight(count - 1);
+                return true;
+            default:
+                return super.keyPressed(keyCode, scanCode, modifiers);
+        }
+    }
+
+    @Override
+    public boolean charTyped(char codePoint, int modifiers) {
+        if (!isVisible || !isOpen || Character.isISOControl(codePoint)) {
+            return super.charTyped(codePoint, modifiers);
+        }
+        query.append(codePoint);
+        applyFilter();
+        return true;
+    }
+
+    /**
+     * Moves the highlight to a row and scrolls it into view.
+     */
+    private void moveHighlight(int row) {
+        int count = getShownCount();
+        if (count == 0) return;
+        highlighted = Math.max(0, Math.min(count - 1, row));
+
+        float top = highlighted * optionHeight;
+        float window = getWindowHeight();
+        if (top < targetScroll) {
+            targetScroll = top;
+        } else if (top + optionHeight > targetScroll + window) {
+            targetScroll = top + optionHeight - window;
+        }
+    }
+
+    private void updateScroll(float deltaTime) {
+        // Re-clamp in case the list shrank (e.g. through filtering)
+        targetScroll = clampScroll(targetScroll);
+        scrollOffset += (targetScroll - scrollOffset) * Math.min(1.0f, deltaTime * 15.0f);
+        if (Math.abs(targetScroll - scrollOffset) < 0.5f) {
+            scrollOffset = targetScroll;
+        }
+    }
+
+    private float clampScroll(float offset) {
+        float max = Math.max(0, getShownCount() * optionHeight - getWindowHeight());
+        return Math.max(0, Math.min(max, offset));
+    }
+
+    /**
+     * Maps a mouse Y coordinate to a row of the shown list.
+     *
+     * @return The row, or -1 if the coordinate is outside the rows.
+     */
+    private int getRowAt(double mouseY) {
+        float startY = (openUpward ? (overlayY + overlayHeight - getWindowHeight()) : overlayY) - scrollOffset;
+        double relativeY = mouseY - startY;
+        if (relativeY < 0) return -1;
+
+        int row = (int) (relativeY / optionHeight);
+        return row < getShownCount() ? row : -1;
+    }
+
+    // =================================================================================
+    // Filtering
+    // =================================================================================
+
+    /**
+     * Gets the number of rows in the overlay (the filter matches, or all options).
+     */
+    private int getShownCount() {
+        return filtered == null ? options.size() : filteredCount;
+    }
+
+    /**
+     * Maps a row of the overlay to its option index.
+     */
+    private int getOptionAt(int row) {
+        return filtered == null ? row : filtered[row];
+    }
+
+    /**
+     * Gets the full height of the scroll window (before the open animation is applied).
+     * While a query is typed, the window keeps at least one row so it does not collapse.
+     */
+    private int getWindowHeight() {
+        int rows = Math.min(getShownCount(), maxVisibleOptions);
+        if (query.length() > 0) rows = Math.max(1, rows);
+        return rows * optionHeight;
+    }
+
+    /**
+     * Re-runs the query against the search index and resets the highlight and scroll position.
+     */
+    private void applyFilter() {
+        if (query.length() == 0) {
+            clearQuery();
+        } else {
+            if (searchIndex == null) {
+                String[] labels = new String[options.size()];
+                StringBuilder builder = new StringBuilder();
+                for (int i = 0; i < labels.length; i++) {
+                    builder.setLength(0);
+                    appendPlainText(options.get(i), builder);
+                    labels[i] = builder.toString();
+                }
+                searchIndex = new OptionSearchIndex(labels);
+            }
+            if (filterBuffer == null || filterBuffer.length < options.size()) {
+                filterBuffer = new int[options.size()];
+            }
+            filtered = filterBuffer;
+            filteredCount = searchIndex.search(query.toString(), filtered);
+            queryText = TextComponent.literal(query.toString());
+        }
+
+        highlighted = getShownCount() > 0 ? 0 : -1;
+        targetScroll = 0;
+        scrollOffset = 0;
+    }
+
+    private void clearQuery() {
+        query.setLength(0);
+        queryText = null;
+        filtered = null;
+        filteredCount = 0;
+    }
+
+    private void invalidateIndex() {
+        this.searchIndex = null;
+        clearQuery();
+        this.highlighted = -1;
+    }
+
+    private static void appendPlainText(TextComponent component, StringBuilder out) {
+        if (component.getText() != null) out.append(component.getText());
+        for (TextComponent sibling : component.getSiblings()) {
+            appendPlainText(sibling, out);
+        }
+    }
+
     @Override
     public boolean isObstructing(double mouseX, double mouseY) {
         if (!isOpen) return false;
@@ -61,48 +61,26 @@ public class UIPanel extends UIWidget {
     }
 
     /**
-     * Calculates the layout of this panel and its children.
+     * Arranges the children of this panel.
      * <p>
-     * This implementation overrides {@link UIWidget#layout()} to inject the {@link LayoutManager} logic.
+     * This implementation overrides {@link UIWidget#layoutChildren()} to inject the {@link LayoutManager} logic.
      * The process follows strict ordering to ensure the manager has correct context:
      * <ol>
-     *     <li><b>Resolve Self:</b> Calculates this panel's own dimensions based on the parent's state.</li>
-     *     <li><b>Run Manager:</b> If a layout manager exists, it calculates and sets the constraints for all children.</li>
-     *     <li><b>Propagate:</b> Calls {@code super.layout()} to recursively process children based on the (potentially modified) constraints.</li>
+     *     <li><b>Run Manager:</b> If a layout manager exists, it calculates and sets the constraints for all
+     *     children, based on this panel's already resolved dimensions (e.g. for grid columns).</li>
+     *     <li><b>Re-Resolve Self:</b> The manager may resize this panel to fit its content.</li>
+     *     <li><b>Propagate:</b> Lays out the children. Children whose constraints are unchanged and whose
+     *     bounds stay the same are skipped.</li>
      * </ol>
      * </p>
      */
     @Override
-    public void layout() {
-        // Optimization: Only run if marked dirty
-        if (!isLayoutDirty) return;
-
-        // 1. Resolve Self Dimensions manually first.
-        // We must do this before running the LayoutManager, because the manager relies on 
-        // this.width and this.height to calculate child positions (e.g. for grid columns).
-        float pX = (parent != null) ? parent.getX() : 0;
-        float pY = (parent != null) ? parent.getY() : 0;
-        float pW = (parent != null) ? parent.getWidth() : 0;
-        float pH = (parent != null) ? parent.getHeight() : 0;
-
-        // Calculate and update protected fields inherited from UIWidget
-        this.width = widthConstraint.calculate(0, pW, 0);
-        this.height = heightConstraint.calculate(0, pH, 0);
-        this.x = xConstraint.calculate(pX, pW, width);
-        this.y = yConstraint.calculate(pY, pH, height);
-
-        // 2. Run Layout Manager.
-        // The manager reads 'this.width/height' and updates the x/y/w/h Constraints of the children.
+    protected void layoutChildren() {
         if (layoutManager != null) {
             layoutManager.arrange(this);
+            resolveBounds();
         }
-
-        // 3. Delegate to super.layout().
-        // This method will essentially re-calculate 'this' dimensions (result stays same),
-        // but crucially, it iterates over all 'children', calls child.layout(), and resets the 'isLayoutDirty' flag.
-        // Since the LayoutManager just updated the children's constraints, super.layout() will
-        // now bake those constraints into the children's x/y/width/height fields.
-        super.layout();
+        super.layoutChildren();
     }
 
     @Override
@@ -114,31 +92,15 @@ public class UIPanel extends UIWidget {
         // Retrieve animated corner radii
         CornerRadii radii = getCornerRadii(ThemeProperties.BORDER_RADIUS, state, deltaTime);
 
-        // 1. Draw the Border (if thickness > 0)
-        if (thickness > 0 && (borderColor >>> 24) > 0) {
-            renderer.getGeometry().renderOutline(
-                    x, y, width, height,
-                    borderColor, thickness,
-                    radii.topLeft(), radii.topRight(), radii.bottomRight(), radii.bottomLeft()
-            );
-        }
-
-        // 2. Draw the Background
-        if ((bgColor >>> 24) > 0) {
-            // Draw background inside the border
-            float innerTL = Math.max(0, radii.topLeft() - thickness);
-            float innerTR = Math.max(0, radii.topRight() - thickness);
-            float innerBR = Math.max(0, radii.bottomRight() - thickness);
-            float innerBL = Math.max(0, radii.bottomLeft() - thickness);
+        boolean hasBorder = thickness > 0 && (borderColor >>> 24) > 0;
+        if (!hasBorder && (bgColor >>> 24) == 0) return;
 
-            renderer.getGeometry().renderRect(
-                    x + thickness,
-                    y + thickness,
-                    width - (thickness * 2),
-                    height - (thickness * 2),
-                    bgColor,
-                    innerTL, innerTR, innerBR, innerBL
-            );
-        }
+        // Border and background (inset by the thickness) are drawn as a single quad.
+        // A transparent border still insets the background, as before.
+        renderer.getGeometry().renderRoundedRect(
+                x, y, width, height,
+                bgColor, borderColor, thickness,
+                radii.topLeft(), radii.topRight(), radii.bottomRight(), radii.bottomLeft()
+        );
     }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ package net.xmx.xui.core.components;
 
 import net.xmx.xui.core.Layout;
 import net.xmx.xui.core.UIWidget;
+import net.xmx.xui.core.font.type.TextMesh;
 import net.xmx.xui.core.gl.renderer.UIRenderer;
 import net.xmx.xui.core.style.ThemeProperties;
 import net.xmx.xui.core.style.InteractionState;
@@ -26,6 +27,11 @@ public class UIText extends UIWidget {
     private boolean centered = false;
     private boolean shadow = true;
 
+    /**
+     * The retained glyph geometry of the content, rebuilt only when the text changes.
+     */
+    private final TextMesh textMesh = new TextMesh();
+
     /**
      * Constructs a text widget with no initial content.
      * The default text color is set to white.
@@ -44,6 +50,7 @@ public class UIText extends UIWidget {
      */
     public UIText addText(TextComponent text) {
         this.content.append(text);
+        markLayoutDirty(); // The content size changed
         return this;
     }
 
@@ -66,6 +73,7 @@ public class UIText extends UIWidget {
     public UIText setText(TextComponent text) {
         // Since we need a mutable accumulator, we copy the input
         this.content = text.copy();
+        markLayoutDirty(); // The content size changed
         return this;
     }
 
@@ -143,6 +151,6 @@ public class UIText extends UIWidget {
             drawX = this.x + (this.width - TextComponent.getTextWidth(this.content)) / 2.0f;
         }
 
-        renderer.drawText(this.content, drawX, drawY, color, shadow);
+        textMesh.draw(renderer, this.content, drawX, drawY, color, shadow);
     }
 }
\ No newline at end of file
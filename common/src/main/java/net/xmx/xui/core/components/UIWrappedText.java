@@ -7,6 +7,7 @@ package net.xmx.xui.core.components;
 import net.xmx.xui.core.Layout;
 import net.xmx.xui.core.UIWidget;
 import net.xmx.xui.core.font.Font;
+import net.xmx.xui.core.font.type.TextMesh;
 import net.xmx.xui.core.gl.renderer.UIRenderer;
 import net.xmx.xui.core.style.InteractionState;
 import net.xmx.xui.core.style.ThemeProperties;
@@ -33,6 +34,7 @@ public class UIWrappedText extends UIWidget {
     private static class TextLine {
         final TextComponent content;
         final boolean wrap;
+        final TextMesh mesh = new TextMesh();
 
         /**
          * Creates a new text line definition.
@@ -71,6 +73,7 @@ public class UIWrappedText extends UIWidget {
      */
     public UIWrappedText setFont(Font font) {
         this.customFont = font;
+        markLayoutDirty(); // The font affects the text size
         return this;
     }
 
@@ -104,6 +107,7 @@ public class UIWrappedText extends UIWidget {
      */
     public UIWrappedText addText(TextComponent text, boolean wrap) {
         this.lines.add(new TextLine(text, wrap));
+        markLayoutDirty(); // The content size changed
         return this;
     }
 
@@ -209,7 +213,7 @@ public class UIWrappedText extends UIWidget {
         }
 
         // 4. Re-apply to update x/y/width/height fields with new constraints
-        super.layout();
+        resolveBounds();
     }
 
     @Override
@@ -227,7 +231,7 @@ public class UIWrappedText extends UIWidget {
 
             if (line.wrap) {
                 // Render wrapped block
-                renderer.drawWrappedText(line.content, lineDrawX, currentY, this.width, color, shadow);
+                line.mesh.drawWrapped(renderer, line.content, lineDrawX, currentY, this.width, color, shadow);
                 lineHeight = TextComponent.getWordWrapHeight(line.content, (int) this.width);
             } else {
                 // Render single line
@@ -235,7 +239,7 @@ public class UIWrappedText extends UIWidget {
                     // Center this specific line within the widget width
                     lineDrawX = this.x + (this.width - TextComponent.getTextWidth(line.content)) / 2.0f;
                 }
-                renderer.drawText(line.content, lineDrawX, currentY, color, shadow);
+                line.mesh.draw(renderer, line.content, lineDrawX, currentY, color, shadow);
                 lineHeight = TextComponent.getFontHeight();
             }
 
@@ -4,6 +4,7 @@
  */
 package net.xmx.xui.core.components.charts;
 
+import net.xmx.xui.core.gl.renderer.GeometryRenderer;
 import net.xmx.xui.core.gl.renderer.UIRenderer;
 import net.xmx.xui.core.style.InteractionState;
 import net.xmx.xui.core.style.StyleKey;
@@ -53,20 +54,27 @@ public class UIBarChart extends AbstractChart {
                 barWidth = width / divisor;
             }
 
-            for (int i = 0; i < bufferSize; i++) {
-                float value = getValueAt(i);
-                float normalized = normalize(value);
+            // All bars are submitted as instances of a single draw call
+            GeometryRenderer geometry = renderer.getGeometry();
+            geometry.beginInstances();
+            try {
+                for (int i = 0; i < bufferSize; i++) {
+                    float value = getValueAt(i);
+                    float normalized = normalize(value);
 
-                float barHeight = height * normalized;
-                float barX = x + gap + (i * (barWidth + gap));
-                float barY = y + height - barHeight - 1; // Sit on the axis
+                    float barHeight = height * normalized;
+                    float barX = x + gap + (i * (barWidth + gap));
+                    float barY = y + height - barHeight - 1; // Sit on the axis
 
-                // Simple AABB hit testing for hover highlights
-                boolean hovered = mouseX >= barX && mouseX <= barX + barWidth && mouseY >= barY && mouseY <= y + height;
-                int color = hovered ? 0xFFFFFFFF : barColor;
+                    // Simple AABB hit testing for hover highlights
+                    boolean hovered = mouseX >= barX && mouseX <= barX + barWidth && mouseY >= barY && mouseY <= y + height;
+                    int color = hovered ? 0xFFFFFFFF : barColor;
 
-                // Render with slightly rounded corners if space permits
-                renderer.getGeometry().renderRect(barX, barY, Math.max(barWidth, 0.5f), barHeight, color, barWidth > 4 ? 2.0f : 0);
+                    // Add with slightly rounded corners if space permits
+                    geometry.addInstance(barX, barY, Math.max(barWidth, 0.5f), barHeight, color, barWidth > 4 ? 2.0f : 0);
+                }
+            } finally {
+                geometry.flushInstances();
             }
         }
     }
@@ -5,6 +5,7 @@
 package net.xmx.xui.core.components.charts;
 
 import net.xmx.xui.core.UIWidget;
+import net.xmx.xui.core.gl.renderer.GeometryRenderer;
 import net.xmx.xui.core.gl.renderer.UIRenderer;
 import net.xmx.xui.core.style.InteractionState;
 
@@ -113,48 +114,63 @@ public class UIHeatmap extends UIWidget {
             cellW = width / cols;
             cellH = height / rows;
 
-            for (int r = 0; r < rows; r++) {
-                for (int c = 0; c < cols; c++) {
-                    float val = values[r][c];
-
-                    // Calculate Alpha based on value for the cell body
-                    int alpha = (int) (255 * val);
-                    int color = baseRGB | (alpha << 24);
-
-                    float cx = x + (c * cellW);
-                    float cy = y + (r * cellH);
-
-                    // Draw the main cell rectangle
-                    renderer.getGeometry().renderRect(cx, cy, cellW - gap, cellH - gap, color, 2.0f);
-
-                    // --- ANIMATION LOGIC for Hover Outline ---
-
-                    // 1. Check if specific cell is hovered
-                    boolean isHovered = mouseX >= cx && mouseX < cx + cellW &&
-                            mouseY >= cy && mouseY < cy + cellH;
-
-                    // 2. Determine target alpha (1.0 if hovered, 0.0 if not)
-                    float targetAlpha = isHovered ? 1.0f : 0.0f;
-
-                    // 3. Interpolate current alpha towards target using exponential decay
-                    // We modify the array directly; strict separation of view/model is blurred here for performance
-                    hoverAlphas[r][c] += (targetAlpha - hoverAlphas[r][c]) * lerpFactor;
-
-                    // 4. Render Outline if partially visible (alpha > ~1%)
-                    float currentAlpha = hoverAlphas[r][c];
-                    if (currentAlpha > 0.01f) {
-                        // Convert float alpha (0-1) to byte (0-255)
-                        int outlineAlpha = (int) (currentAlpha * 255);
-                        // Create white color with calculated alpha
-                        int outlineColor = (0xFFFFFF) | (outlineAlpha << 24);
+            // All cells (and hover outlines) are submitted as instances of a single draw call
+            GeometryRenderer geometry = renderer.getGeometry();
+            geometry.beginInstances();
+            try {
+                drawCells(geometry, mouseX, mouseY, baseRGB, cellW, cellH, gap, lerpFactor);
+            } finally {
+                geometry.flushInstances();
+            }
+        }
+    }
 
-                        renderer.getGeometry().renderOutline(
-                                cx, cy,
-                                cellW - gap, cellH - gap,
-                                outlineColor,
-                                2.0f, 1.0f
-                        );
-                    }
+    /**
+     * Adds the instances of all cells. Must be called while holding the data lock.
+     */
+    private void drawCells(GeometryRenderer geometry, int mouseX, int mouseY, int baseRGB, float cellW, float cellH, float gap, float lerpFactor) {
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                float val = values[r][c];
+
+                // Calculate Alpha based on value for the cell body
+                int alpha = (int) (255 * val);
+                int color = baseRGB | (alpha << 24);
+
+                float cx = x + (c * cellW);
+                float cy = y + (r * cellH);
+
+                // Draw the main cell rectangle
+                geometry.addInstance(cx, cy, cellW - gap, cellH - gap, color, 2.0f);
+
+                // --- ANIMATION LOGIC for Hover Outline ---
+
+                // 1. Check if specific cell is hovered
+                boolean isHovered = mouseX >= cx && mouseX < cx + cellW &&
+                        mouseY >= cy && mouseY < cy + cellH;
+
+                // 2. Determine target alpha (1.0 if hovered, 0.0 if not)
+                float targetAlpha = isHovered ? 1.0f : 0.0f;
+
+                // 3. Interpolate current alpha towards target using exponential decay
+                // We modify the array directly; strict separation of view/model is blurred here for performance
+                hoverAlphas[r][c] += (targetAlpha - hoverAlphas[r][c]) * lerpFactor;
+
+                // 4. Render Outline if partially visible (alpha > ~1%)
+                float currentAlpha = hoverAlphas[r][c];
+                if (currentAlpha > 0.01f) {
+                    // Convert float alpha (0-1) to byte (0-255)
+                    int outlineAlpha = (int) (currentAlpha * 255);
+                    // Create white color with calculated alpha
+                    int outlineColor = (0xFFFFFF) | (outlineAlpha << 24);
+
+                    // Transparent fill, drawn after (on top of) the cell instance
+                    geometry.addInstance(
+                            cx, cy,
+                            cellW - gap, cellH - gap,
+                            0, outlineColor,
+                            1.0f, 2.0f
+                    );
                 }
             }
         }
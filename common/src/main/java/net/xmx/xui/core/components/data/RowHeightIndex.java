@@ -0,0 +1,128 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.components.data;
+
+import java.util.Arrays;
+
+/**
+ * Prefix sums over the vertical extents (height + gap) of the rows of a virtualized list.
+ * <p>
+ * The extents are stored in a Fenwick tree, so looking up the offset of a row, the row at an offset,
+ * and updating a single measured height are all O(log n). Unmeasured rows use an estimated extent.
+ * The tree uses doubles to stay exact for millions of rows (8 bytes per row).
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+final class RowHeightIndex {
+
+    /**
+     * The Fenwick tree, 1-based.
+     */
+    private double[] tree = new double[1];
+    private int count = 0;
+
+    /**
+     * Resets the index to the given number of rows, all with the same extent.
+     *
+     * @param count  The number of rows.
+     * @param extent The extent of every row.
+     */
+    void reset(int count, double extent) {
+        this.count = count;
+        if (tree.length < count + 1 || tree.length > (count + 1) * 4L) {
+            tree = new double[count + 1];
+        } else {
+            Arrays.fill(tree, 0.0);
+        }
+
+        // Linear-time construction
+        for (int i = 1; i <= count; i++) {
+            tree[i] += extent;
+            int parent = i + (i & -i);
+            if (parent <= count) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return The row count.
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Gets the extent of a single row.
+     *
+     * @param index The row index.
+     * @return The extent.
+     */
+    double get(int index) {
+        return offsetOf(index + 1) - offsetOf(index);
+    }
+
+    /**
+     * Sets the extent of a single row.
+     *
+     * @param index  The row index.
+     * @param extent The new extent.
+     */
+    void set(int index, double extent) {
+        double delta = extent - get(index);
+        if (delta == 0) return;
+        for (int i = index + 1; i <= count; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Gets the offset of the top edge of a row (the sum of all previous extents).
+     *
+     * @param index The row index (may be {@code size()} for the total).
+     * @return The offset.
+     */
+    double offsetOf(int index) {
+        double sum = 0;
+        for (int i = Math.min(index, count); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Gets the sum of all extents.
+     *
+     * @return The total extent.
+     */
+    double total() {
+        return offsetOf(count);
+    }
+
+    /**
+     * Finds the row covering the given offset.
+     *
+     * @param offset The offset from the top of the first row.
+     * @return The row index, clamped to {@code [0, size() - 1]}, or 0 if the index is empty.
+     */
+    int indexAt(double offset) {
+        if (count == 0 || offset <= 0) return 0;
+
+        // Binary lifting: find the largest position whose prefix sum is <= offset
+        int position = 0;
+        double remaining = offset;
+        for (int step = Integer.highestOneBit(count); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= count && tree[next] <= remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        return Math.min(position, count - 1);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.components.data;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Maps the row positions of a sorted and/or filtered view to the rows of a data source.
+ * <p>
+ * The view only stores an {@code int} per visible row and never copies the data. Without a filter
+ * and comparator it is the identity mapping and uses no memory at all. Sorting is a stable merge
+ * sort over the index array, so rows that compare equal keep their data order.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+final class RowIndexView {
+
+    /**
+     * The data rows in view order. Only valid if {@link #identity} is false.
+     */
+    private int[] rows = new int[0];
+    private int[] scratch = new int[0];
+    private int size = 0;
+    private boolean identity = true;
+
+    /**
+     * Rebuilds the view.
+     *
+     * @param rowCount   The number of rows in the data source.
+     * @param filter     Accepts the data rows to keep, or null to keep all.
+     * @param comparator Orders the data rows, or null to keep the data order.
+     */
+    void rebuild(int rowCount, IntPredicate filter, UITable.RowComparator comparator) {
+        // 1. Identity mapping
+        if (filter == null && comparator == null) {
+            this.identity = true;
+            this.size = rowCount;
+            this.rows = new int[0];
+            this.scratch = new int[0];
+            return;
+        }
+
+        // 2. Collect the rows passing the filter
+        if (rows.length < rowCount || rows.length > rowCount * 4L) {
+            rows = new int[rowCount];
+        }
+        int count = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (filter == null || filter.test(row)) {
+                rows[count++] = row;
+            }
+        }
+
+        // 3. Sort
+        if (comparator != null && count > 1) {
+            if (scratch.length < count) {
+                scratch = new int[rows.length];
+            }
+            mergeSort(rows, scratch, 0, count, comparator);
+        } else {
+            scratch = new int[0];
+        }
+
+        this.identity = false;
+        this.size = count;
+    }
+
+    /**
+     * Gets the number of rows in the view.
+     *
+     * @return The row count after filtering.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets the data row displayed at a view position.
+     *
+     * @param position The position in the view.
+     * @return The row index in the data source.
+     */
+    int rowAt(int position) {
+        return identity ? position : rows[position];
+    }
+
+    /**
+     * Sorts {@code a[from, to)} stably, using {@code buffer} as temporary storage.
+     */
+    private static void mergeSort(int[] a, int[] buffer, int from, int to, UITable.RowComparator comparator) {
+        int length = to - from;
+
+        // Insertion sort for short runs
+        if (length <= 16) {
+            for (int i = from + 1; i < to; i++) {
+                int value = a[i];
+                int j = i - 1;
+                while (j >= from && comparator.compare(a[j], value) > 0) {
+                    a[j + 1] = a[j];
+                    j--;
+                }
+                a[j + 1] = value;
+            }
+            return;
+        }
+
+        int mid = (from + to) >>> 1;
+        mergeSort(a, buffer, from, mid, comparator);
+        mergeSort(a, buffer, mid, to, comparator);
+
+        // Already in order
+        if (comparator.compare(a[mid - 1], a[mid]) <= 0) return;
+
+        System.arraycopy(a, from, buffer, from, length);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && comparator.compare(buffer[left], buffer[right]) <= 0)) {
+                a[i] = buffer[left++];
+            } else {
+                a[i] = buffer[right++];
+            }
+        }
+    }
+}
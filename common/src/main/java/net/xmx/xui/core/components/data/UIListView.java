@@ -7,12 +7,17 @@ package net.xmx.xui.core.components.data;
 import net.xmx.xui.core.Layout;
 import net.xmx.xui.core.UIWidget;
 import net.xmx.xui.core.components.UIPanel;
+import net.xmx.xui.core.components.scroll.UIScrollComponent;
 import net.xmx.xui.core.gl.renderer.UIRenderer;
 import net.xmx.xui.core.style.InteractionState;
 import net.xmx.xui.core.style.StyleKey;
 import net.xmx.xui.core.style.ThemeProperties;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
 
 /**
  * A vertical list component that manages a collection of child widgets (items).
@@ -20,6 +25,15 @@ import java.util.function.Consumer;
  * - Single item selection.
  * - Alternating row colors (zebra striping).
  * - Automatic vertical layout.
+ * <p>
+ * <b>Virtualized Mode:</b><br>
+ * For large data sets, the list can be driven by an item count and a row factory/binder pair
+ * (see {@link #setVirtualItems}). Only the rows intersecting the viewport of the enclosing
+ * {@link UIScrollComponent} (plus a small overscan) exist as widgets. Rows scrolled out of view are
+ * recycled and re-bound to new indices, so memory and frame time do not grow with the item count.
+ * Row heights are either fixed ({@link #setFixedRowHeight}) or measured once per bound row and cached.
+ * Selection is tracked by index.
+ * </p>
  *
  * @author xI-Mx-Ix
  */
@@ -35,10 +49,76 @@ public class UIListView extends UIPanel {
      */
     public static final StyleKey<Integer> ALT_ROW_COLOR = new StyleKey<>("list_alt_row_color", 0x10FFFFFF);
 
+    /**
+     * Binds the data of an item to a (possibly recycled) row widget.
+     */
+    @FunctionalInterface
+    public interface RowBinder {
+        /**
+         * Updates the row widget to display the item at the given index.
+         *
+         * @param row   The row widget created by the row factory.
+         * @param index The item index.
+         */
+        void bind(UIWidget row, int index);
+    }
+
+    /**
+     * The number of rows materialized above and below the viewport.
+     */
+    private static final int OVERSCAN = 2;
+
     private UIWidget selectedItem;
     private Consumer<UIWidget> onSelectionChange;
     private float itemGap = 2.0f;
 
+    // --- Virtualized Mode ---
+    private boolean virtual = false;
+    private int itemCount = 0;
+    private Supplier<UIWidget> rowFactory;
+    private RowBinder rowBinder;
+
+    /**
+     * The fixed row height, or 0 for measured (variable) heights.
+     */
+    private float fixedRowHeight = 0;
+
+    /**
+     * The height assumed for rows that have not been measured yet (variable mode).
+     */
+    private float estimatedRowHeight = 20.0f;
+
+    /**
+     * Offsets of the rows (variable mode only).
+     */
+    private final RowHeightIndex rowHeights = new RowHeightIndex();
+
+    /**
+     * The materialized rows, {@code activeRows.get(i)} displays item {@code firstActive + i}.
+     */
+    private List<UIWidget> activeRows = new ArrayList<>();
+    private final List<UIWidget> recycledRows = new ArrayList<>();
+    private int firstActive = 0;
+
+    /**
+     * Holds the rows of the previous pass while they are reassigned (swapped with {@link #activeRows}).
+     */
+    private List<UIWidget> previousRows = new ArrayList<>();
+
+    /**
+     * The range of items to materialize, updated by {@link #computeVisibleRange()}.
+     */
+    private int rangeFirst = 0;
+    private int rangeEnd = 0;
+
+    /**
+     * True if all active rows must be re-bound (data changed).
+     */
+    private boolean rebindAll = false;
+
+    private int selectedIndex = -1;
+    private IntConsumer onIndexSelected;
+
     public UIListView() {
         // Transparent default background
         this.style().set(ThemeProperties.BACKGROUND_COLOR, 0x00000000);
@@ -48,11 +128,15 @@ public class UIListView extends UIPanel {
     /**
      * Adds an item to the list.
      * The item's width will be automatically constrained to the list width.
+     * <p>
+     * Has no effect in virtualized mode, where the rows are created by the row factory.
+     * </p>
      *
      * @param item The widget to add.
      * @return This list instance.
      */
     public UIListView addItem(UIWidget item) {
+        if (virtual) return this;
         this.add(item);
         // Ensure item fills the width of the list minus padding
         item.setWidth(Layout.relative(1.0f));
@@ -64,6 +148,8 @@ public class UIListView extends UIPanel {
      */
     public UIListView setItemGap(float gap) {
         this.itemGap = gap;
+        if (virtual) resetRowHeights();
+        markLayoutDirty();
         return this;
     }
 
@@ -87,9 +173,259 @@ public class UIListView extends UIPanel {
         }
     }
 
+    // =================================================================================
+    // Virtualized Mode
+    // =================================================================================
+
+    /**
+     * Switches the list into virtualized mode.
+     * <p>
+     * Existing items are removed. The factory creates row widgets on demand (roughly as many as fit
+     * into the viewport); the binder fills a row with the data of an item whenever the row is
+     * assigned to a new index.
+     * </p>
+     *
+     * @param itemCount The number of items.
+     * @param factory   Creates an empty row widget.
+     * @param binder    Binds an item to a row widget.
+     * @return This list instance.
+     */
+    public UIListView setVirtualItems(int itemCount, Supplier<UIWidget> factory, RowBinder binder) {
+        this.virtual = true;
+        this.rowFactory = factory;
+        this.rowBinder = binder;
+        this.children.clear();
+        this.activeRows.clear();
+        this.recycledRows.clear();
+        this.selectedItem = null;
+        return setItemCount(itemCount);
+    }
+
+    /**
+     * Updates the number of items in virtualized mode.
+     * All visible rows are re-bound; the selection is cleared if it is out of range.
+     *
+     * @param itemCount The new item count.
+     * @return This list instance.
+     */
+    public UIListView setItemCount(int itemCount) {
+        this.itemCount = Math.max(0, itemCount);
+        if (selectedIndex >= this.itemCount) {
+            setSelectedIndex(-1);
+        }
+        resetRowHeights();
+        notifyDataChanged();
+        return this;
+    }
+
+    /**
+     * Gets the number of items in virtualized mode.
+     *
+     * @return The item count.
+     */
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    /**
+     * Uses a fixed height for all rows (virtualized mode).
+     * <p>
+     * Fixed heights need no measuring and no per-item memory. Pass 0 to measure each row after
+     * binding instead (the measured heights are cached per item).
+     * </p>
+     *
+     * @param height The row height in pixels, or 0 for measured heights.
+     * @return This list instance.
+     */
+    public UIListView setFixedRowHeight(float height) {
+        this.fixedRowHeight = Math.max(0, height);
+        resetRowHeights();
+        markLayoutDirty();
+        return this;
+    }
+
+    /**
+     * Sets the height assumed for rows that have not been measured yet (variable heights).
+     *
+     * @param height The estimated height in pixels.
+     * @return This list instance.
+     */
+    public UIListView setEstimatedRowHeight(float height) {
+        this.estimatedRowHeight = Math.max(1, height);
+        resetRowHeights();
+        markLayoutDirty();
+        return this;
+    }
+
+    /**
+     * Re-binds all visible rows, e.g. after the underlying data changed.
+     */
+    public void notifyDataChanged() {
+        this.rebindAll = true;
+        markLayoutDirty();
+    }
+
+    /**
+     * Re-binds the row of a single item if it is currently visible.
+     * In variable height mode, the row is measured again.
+     *
+     * @param index The item index.
+     */
+    public void notifyItemChanged(int index) {
+        int slot = index - firstActive;
+        if (slot >= 0 && slot < activeRows.size()) {
+            rowBinder.bind(activeRows.get(slot), index);
+            markLayoutDirty();
+        }
+    }
+
+    /**
+     * Gets the index of the selected item.
+     * <p>
+     * In standard mode, this is the position of the selected child.
+     * </p>
+     *
+     * @return The selected index, or -1 if nothing is selected.
+     */
+    public int getSelectedIndex() {
+        return virtual ? selectedIndex : children.indexOf(selectedItem);
+    }
+
+    /**
+     * Selects an item by index (virtualized mode).
+     *
+     * @param index The item index, or -1 to clear the selection.
+     */
+    public void setSelectedIndex(int index) {
+        if (index < -1 || index >= itemCount) index = -1;
+        if (this.selectedIndex != index) {
+            this.selectedIndex = index;
+            if (onIndexSelected != null) {
+                onIndexSelected.accept(index);
+            }
+        }
+    }
+
+    /**
+     * Sets the callback invoked when the selected index changes (virtualized mode).
+     *
+     * @param callback Receives the new index, or -1 if the selection was cleared.
+     */
+    public void setOnIndexSelected(IntConsumer callback) {
+        this.onIndexSelected = callback;
+    }
+
+    /**
+     * Gets the vertical offset of an item relative to the top of the list (virtualized mode).
+     * Useful to scroll an item into view.
+     *
+     * @param index The item index.
+     * @return The offset in pixels.
+     */
+    public float getItemOffset(int index) {
+        if (fixedRowHeight > 0) {
+            return index * (fixedRowHeight + itemGap);
+        }
+        return (float) rowHeights.offsetOf(index);
+    }
+
+    private void resetRowHeights() {
+        if (virtual && fixedRowHeight <= 0) {
+            rowHeights.reset(itemCount, estimatedRowHeight + itemGap);
+        } else {
+            rowHeights.reset(0, 0);
+        }
+    }
+
+    private int indexAtOffset(float offset) {
+        if (fixedRowHeight > 0) {
+            return (int) Math.floor(offset / (fixedRowHeight + itemGap));
+        }
+        return rowHeights.indexAt(offset);
+    }
+
+    private float totalHeight() {
+        if (itemCount == 0) return 0;
+        if (fixedRowHeight > 0) {
+            return itemCount * (fixedRowHeight + itemGap);
+        }
+        return (float) rowHeights.total();
+    }
+
+    /**
+     * Finds the nearest enclosing scroll container.
+     */
+    private UIScrollComponent findScrollParent() {
+        UIWidget current = this.parent;
+        while (current != null) {
+            if (current instanceof UIScrollComponent scroll) {
+                return scroll;
+            }
+            current = current.getParent();
+        }
+        return null;
+    }
+
+    /**
+     * Calculates the range of items that must be materialized into {@link #rangeFirst} and {@link #rangeEnd} (exclusive).
+     */
+    private void computeVisibleRange() {
+        // 1. Determine the viewport in list-local coordinates
+        float viewTop;
+        float viewBottom;
+        UIScrollComponent scroll = findScrollParent();
+        if (scroll != null) {
+            viewTop = scroll.getY() + scroll.getScrollY() - this.y;
+            viewBottom = viewTop + scroll.getHeight();
+        } else if (parent != null) {
+            viewTop = parent.getY() - this.y;
+            viewBottom = viewTop + parent.getHeight();
+        } else {
+            viewTop = 0;
+            viewBottom = this.height;
+        }
+
+        // 2. Convert to item indices (with overscan)
+        int first = Math.max(0, indexAtOffset(Math.max(0, viewTop)) - OVERSCAN);
+        int last = Math.min(itemCount, indexAtOffset(Math.max(0, viewBottom)) + 1 + OVERSCAN);
+        rangeFirst = first;
+        rangeEnd = Math.max(first, last);
+    }
+
+    /**
+     * Re-materializes the rows if the viewport moved to a different range of items.
+     * Runs every frame before the children are rendered.
+     */
     @Override
-    public void layout() {
-        super.layout();
+    public void render(UIRenderer renderer, int mouseX, int mouseY, float partialTick, float deltaTime) {
+        if (virtual && isVisible) {
+            computeVisibleRange();
+            if (rebindAll || rangeFirst != firstActive || rangeEnd != firstActive + activeRows.size()) {
+                // Only this list is laid out again
+                float previousHeight = this.height;
+                this.isLayoutDirty = true;
+                layout();
+
+                // Newly measured rows change the total height (variable mode), which the
+                // enclosing scroll container must pick up in the next layout pass
+                if (this.height != previousHeight && parent != null) {
+                    parent.markLayoutDirty();
+                }
+            }
+        }
+        super.render(renderer, mouseX, mouseY, partialTick, deltaTime);
+    }
+
+    /**
+     * Stacks the items vertically.
+     * Only items whose position, width or content changed are laid out again.
+     */
+    @Override
+    protected void layoutChildren() {
+        if (virtual) {
+            layoutVirtualRows();
+            return;
+        }
 
         float currentY = 0;
         float listWidth = this.width;
@@ -100,14 +436,87 @@ public class UIListView extends UIPanel {
             child.setY(Layout.pixel(currentY));
             child.setWidth(Layout.pixel(listWidth));
 
-            child.layout(); // Recalculate child with new constraints
+            layoutChild(child); // Recalculate child if its constraints or content changed
             currentY += child.getHeight() + itemGap;
         }
 
         // Adjust the height of the list to fit content (if needed by parent scroll panel)
-        if (Math.abs(this.height - currentY) > 0.01f) {
-            this.height = currentY;
-            this.heightConstraint = Layout.pixel(currentY);
+        applyContentHeight(currentY);
+    }
+
+    /**
+     * Recycles rows that left the viewport, binds rows for newly visible items and positions them.
+     */
+    private void layoutVirtualRows() {
+        computeVisibleRange();
+        int first = rangeFirst;
+        int last = rangeEnd;
+
+        // 1. Recycle rows whose items are no longer in range
+        List<UIWidget> previous = activeRows;
+        activeRows = previousRows;
+        previousRows = previous;
+        int previousFirst = firstActive;
+        for (int i = 0; i < previous.size(); i++) {
+            int index = previousFirst + i;
+            if (index < first || index >= last) {
+                recycledRows.add(previous.get(i));
+            }
+        }
+
+        // 2. Assign a row to every item in range (reusing rows that stay visible)
+        children.clear();
+        for (int index = first; index < last; index++) {
+            int previousSlot = index - previousFirst;
+            UIWidget row;
+            boolean bind = rebindAll;
+
+            if (previousSlot >= 0 && previousSlot < previous.size()) {
+                row = previous.get(previousSlot);
+            } else {
+                row = recycledRows.isEmpty() ? rowFactory.get() : recycledRows.remove(recycledRows.size() - 1);
+                bind = true;
+            }
+            if (bind) {
+                rowBinder.bind(row, index);
+            }
+
+            activeRows.add(row);
+            add(row);
+        }
+        previous.clear();
+        firstActive = first;
+        rebindAll = false;
+
+        // 3. Position and lay out the rows
+        float listWidth = this.width;
+        float currentY = getItemOffset(first);
+        for (int i = 0; i < activeRows.size(); i++) {
+            UIWidget row = activeRows.get(i);
+            row.setX(Layout.pixel(0));
+            row.setY(Layout.pixel(currentY));
+            row.setWidth(Layout.pixel(listWidth));
+            if (fixedRowHeight > 0) {
+                row.setHeight(Layout.pixel(fixedRowHeight));
+            }
+
+            layoutChild(row);
+
+            // Cache the measured height (variable mode)
+            if (fixedRowHeight <= 0) {
+                rowHeights.set(first + i, row.getHeight() + itemGap);
+            }
+            currentY += (fixedRowHeight > 0 ? fixedRowHeight : row.getHeight()) + itemGap;
+        }
+
+        // 4. The list spans all items, so the scroll container sees the full content size
+        applyContentHeight(totalHeight());
+    }
+
+    private void applyContentHeight(float contentHeight) {
+        if (Math.abs(this.height - contentHeight) > 0.01f) {
+            this.height = contentHeight;
+            this.heightConstraint = Layout.pixel(contentHeight);
         }
     }
 
@@ -118,13 +527,17 @@ public class UIListView extends UIPanel {
         int selectionColor = style().getValue(state, SELECTION_COLOR);
         int altColor = style().getValue(state, ALT_ROW_COLOR);
 
-        // Render Selection and Striping backgrounds behind items
+        // Render Selection and Striping backgrounds behind items.
+        // In virtualized mode, the children are exactly the visible rows.
+        int baseIndex = virtual ? firstActive : 0;
         for (int i = 0; i < children.size(); i++) {
             UIWidget child = children.get(i);
+            int index = baseIndex + i;
+            boolean selected = virtual ? index == selectedIndex : child == selectedItem;
 
-            if (child == selectedItem) {
+            if (selected) {
                 renderer.getGeometry().renderRect(child.getX(), child.getY(), child.getWidth(), child.getHeight(), selectionColor, 2.0f);
-            } else if (i % 2 == 0 && (altColor >>> 24) > 0) {
+            } else if (index % 2 == 0 && (altColor >>> 24) > 0) {
                 renderer.getGeometry().renderRect(child.getX(), child.getY(), child.getWidth(), child.getHeight(), altColor, 0);
             }
         }
@@ -134,13 +547,18 @@ public class UIListView extends UIPanel {
     public boolean mouseClicked(double mouseX, double mouseY, int button) {
         // Handle selection logic before passing event to children
         if (isVisible && isMouseOver(mouseX, mouseY) && button == 0) {
-            for (UIWidget child : children) {
+            for (int i = 0; i < children.size(); i++) {
+                UIWidget child = children.get(i);
                 if (child.isMouseOver(mouseX, mouseY)) {
-                    select(child);
+                    if (virtual) {
+                        setSelectedIndex(firstActive + i);
+                    } else {
+                        select(child);
+                    }
                     break;
                 }
             }
         }
         return super.mouseClicked(mouseX, mouseY, button);
     }
-}
\ No newline at end of file
+}
@@ -5,25 +5,129 @@
 package net.xmx.xui.core.components.data;
 
 import net.xmx.xui.core.Layout;
+import net.xmx.xui.core.UIWidget;
 import net.xmx.xui.core.components.UIPanel;
+import net.xmx.xui.core.components.scroll.UIScrollComponent;
+import net.xmx.xui.core.gl.renderer.UIRenderer;
 import net.xmx.xui.core.style.ThemeProperties;
+import net.xmx.xui.core.text.TextComponent;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
 
 /**
  * A data table component.
  * Organizes content into rows and columns.
  * Requires a {@link UITableHeader} to define column weights/widths.
+ * <p>
+ * <b>Data Source Mode:</b><br>
+ * For large data sets, the table can be driven by a row count and a cell binder
+ * (see {@link #setDataSource}). Only the rows intersecting the viewport of the enclosing
+ * {@link UIScrollComponent} (plus a small overscan) exist as widgets; rows scrolled out of view are
+ * recycled and bound to other data rows. The header stays pinned to the top of the viewport.
+ * Sorting and filtering ({@link #setRowComparator}, {@link #setRowFilter}) only reorder an index
+ * array over the data rows, the data itself is never copied.
+ * </p>
+ * <p>
+ * In both modes, the column bounds are computed once per width or header change and shared by all rows.
+ * </p>
  *
  * @author xI-Mx-Ix
  */
 public class UITable extends UIPanel {
 
+    /**
+     * Binds the value of a data row to a (possibly recycled) cell.
+     */
+    @FunctionalInterface
+    public interface CellBinder {
+        /**
+         * Updates the cell to display the value of a data row in a column.
+         *
+         * @param cell   The cell created by the cell factory.
+         * @param row    The row index in the data source (not the view position).
+         * @param column The column index.
+         */
+        void bind(UITableCell cell, int row, int column);
+    }
+
+    /**
+     * Orders two rows of the data source.
+     */
+    @FunctionalInterface
+    public interface RowComparator {
+        /**
+         * Compares two data rows.
+         *
+         * @param rowA The first row index in the data source.
+         * @param rowB The second row index in the data source.
+         * @return A negative value, zero or a positive value if the first row is ordered before, equal to or after the second.
+         */
+        int compare(int rowA, int rowB);
+    }
+
+    /**
+     * The number of rows materialized above and below the viewport.
+     */
+    private static final int OVERSCAN = 2;
+
     private UITableHeader header;
     private final List<UITableRow> rows = new ArrayList<>();
     private float rowHeight = 24.0f;
 
+    /**
+     * The table width the rows' columns were last synchronized with (-1 = never).
+     */
+    private float syncedWidth = -1;
+
+    // --- Column Bounds (shared by all rows) ---
+    private float[] columnOffsets = new float[0];
+    private float[] columnWidths = new float[0];
+
+    /**
+     * Incremented whenever the column bounds change. Rows store the version they were synchronized with.
+     */
+    private int columnsVersion = 0;
+
+    // --- Data Source Mode ---
+    private boolean virtual = false;
+    private int rowCount = 0;
+    private IntFunction<UITableCell> cellFactory = column -> new UITableCell(TextComponent.empty());
+    private CellBinder cellBinder;
+
+    private final RowIndexView view = new RowIndexView();
+    private IntPredicate rowFilter;
+    private RowComparator rowComparator;
+
+    /**
+     * The materialized rows, {@code activeRows.get(i)} displays view position {@code firstActive + i}.
+     */
+    private List<UITableRow> activeRows = new ArrayList<>();
+    private final List<UITableRow> recycledRows = new ArrayList<>();
+    private int firstActive = 0;
+
+    /**
+     * The number of cells of the pooled rows (one per header column when they were created).
+     */
+    private int rowColumns = 0;
+
+    /**
+     * Holds the rows of the previous pass while they are reassigned (swapped with {@link #activeRows}).
+     */
+    private List<UITableRow> previousRows = new ArrayList<>();
+
+    /**
+     * True if all active rows must be re-bound (data, sort order or filter changed).
+     */
+    private boolean rebindAll = false;
+
+    // --- Viewport (data source mode, updated by updateViewport) ---
+    private int visibleFirst = 0;
+    private int visibleEnd = 0;
+    private float headerOffset = 0;
+
     public UITable() {
         // Default table styling
         this.style().set(ThemeProperties.BACKGROUND_COLOR, 0xFF1E1E1E);
@@ -40,18 +144,31 @@ public class UITable extends UIPanel {
      * @return This table instance.
      */
     public UITable setHeader(UITableHeader header) {
+        if (this.header != null) {
+            this.children.remove(this.header);
+        }
         this.header = header;
         this.add(header);
+
+        // Pooled rows were built for the previous columns. Columns added to the current header
+        // later are detected by layoutVirtualRows.
+        if (virtual) {
+            discardRows();
+        }
         return this;
     }
 
     /**
      * Adds a data row to the table.
+     * <p>
+     * Has no effect in data source mode, where the rows are created by the table.
+     * </p>
      *
      * @param row The row component.
      * @return This table instance.
      */
     public UITable addRow(UITableRow row) {
+        if (virtual) return this;
         this.rows.add(row);
         this.add(row);
         return this;
@@ -65,22 +182,300 @@ public class UITable extends UIPanel {
      */
     public UITable setRowHeight(float height) {
         this.rowHeight = height;
+        markLayoutDirty();
         return this;
     }
 
+    // =================================================================================
+    // Data Source Mode
+    // =================================================================================
+
+    /**
+     * Switches the table into data source mode.
+     * <p>
+     * Existing rows are removed. The table creates roughly as many rows as fit into the viewport,
+     * each with one cell per header column, and calls the binder for every cell whenever a row is
+     * assigned to another data row.
+     * </p>
+     *
+     * @param rowCount The number of rows in the data source.
+     * @param binder   Binds a value of the data source to a cell.
+     * @return This table instance.
+     */
+    public UITable setDataSource(int rowCount, CellBinder binder) {
+        this.virtual = true;
+        this.cellBinder = binder;
+        this.rows.clear();
+        discardRows();
+        return setRowCount(rowCount);
+    }
+
+    /**
+     * Sets the factory creating the empty cells of pooled rows (data source mode).
+     * <p>
+     * By default, text cells are created, which the binder fills via {@link UITableCell#setText}.
+     * Use a custom factory for cells containing other widgets.
+     * </p>
+     *
+     * @param factory Creates an empty cell for the given column.
+     * @return This table instance.
+     */
+    public UITable setCellFactory(IntFunction<UITableCell> factory) {
+        this.cellFactory = factory;
+        if (virtual) {
+            discardRows();
+        }
+        return this;
+    }
+
+    /**
+     * Updates the number of rows of the data source.
+     * The sort order and filter are applied again and all visible rows are re-bound.
+     *
+     * @param rowCount The new row count.
+     * @return This table instance.
+     */
+    public UITable setRowCount(int rowCount) {
+        this.rowCount = Math.max(0, rowCount);
+        return refreshView();
+    }
+
+    /**
+     * Gets the number of rows of the data source.
+     *
+     * @return The row count before filtering.
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Sorts the displayed rows (data source mode).
+     * <p>
+     * The sort is stable, so rows that compare equal keep their data order.
+     * </p>
+     *
+     * @param comparator Orders the data rows, or null to show them in data order.
+     * @return This table instance.
+     */
+    public UITable setRowComparator(RowComparator comparator) {
+        this.rowComparator = comparator;
+        return refreshView();
+    }
+
+    /**
+     * Filters the displayed rows (data source mode).
+     *
+     * @param filter Accepts the data rows to show, or null to show all.
+     * @return This table instance.
+     */
+    public UITable setRowFilter(IntPredicate filter) {
+        this.rowFilter = filter;
+        return refreshView();
+    }
+
+    /**
+     * Applies the sort order and filter again, e.g. after values of the data source changed.
+     * All visible rows are re-bound.
+     *
+     * @return This table instance.
+     */
+    public UITable refreshView() {
+        view.rebuild(rowCount, rowFilter, rowComparator);
+        notifyDataChanged();
+        return this;
+    }
+
+    /**
+     * Re-binds all visible rows without changing the order, e.g. after values of the data source changed.
+     */
+    public void notifyDataChanged() {
+        this.rebindAll = true;
+        markLayoutDirty();
+    }
+
+    /**
+     * Re-binds the row displaying a data row if it is currently visible.
+     *
+     * @param row The row index in the data source.
+     */
+    public void notifyRowChanged(int row) {
+        for (int i = 0; i < activeRows.size(); i++) {
+            if (view.rowAt(firstActive + i) == row) {
+                bindRow(activeRows.get(i), row);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of displayed rows (data source mode).
+     *
+     * @return The row count after filtering.
+     */
+    public int getViewRowCount() {
+        return view.size();
+    }
+
     /**
-     * Calculates the layout of the table.
+     * Gets the data row displayed at a position of the view (data source mode).
+     *
+     * @param position The display position (0 = top row).
+     * @return The row index in the data source.
+     */
+    public int getDataRow(int position) {
+        return view.rowAt(position);
+    }
+
+    /**
+     * Gets the vertical offset of a display position relative to the top of the table.
+     * Useful to scroll a row into view.
+     *
+     * @param position The display position.
+     * @return The offset in pixels.
+     */
+    public float getRowOffset(int position) {
+        return headerHeight() + position * rowHeight;
+    }
+
+    /**
+     * Drops all materialized and pooled rows, e.g. because the columns changed.
+     */
+    private void discardRows() {
+        children.removeAll(activeRows);
+        activeRows.clear();
+        recycledRows.clear();
+        this.rebindAll = true;
+        markLayoutDirty();
+    }
+
+    private int columnCount() {
+        return header != null ? header.getColumnWeights().size() : 0;
+    }
+
+    private float headerHeight() {
+        return header != null ? rowHeight : 0;
+    }
+
+    private void bindRow(UITableRow row, int dataRow) {
+        int columns = row.getCellCount();
+        for (int column = 0; column < columns; column++) {
+            cellBinder.bind(row.getCell(column), dataRow, column);
+        }
+    }
+
+    private UITableRow createRow() {
+        UITableRow row = new UITableRow();
+        int columns = columnCount();
+        for (int column = 0; column < columns; column++) {
+            row.addCell(cellFactory.apply(column));
+        }
+        return row;
+    }
+
+    /**
+     * Finds the nearest enclosing scroll container.
+     */
+    private UIScrollComponent findScrollParent() {
+        UIWidget current = this.parent;
+        while (current != null) {
+            if (current instanceof UIScrollComponent scroll) {
+                return scroll;
+            }
+            current = current.getParent();
+        }
+        return null;
+    }
+
+    /**
+     * Calculates the range of display positions that must be materialized and the pinned header offset.
+     */
+    private void updateViewport() {
+        // 1. Determine the viewport in table-local coordinates
+        float viewTop;
+        float viewBottom;
+        UIScrollComponent scroll = findScrollParent();
+        if (scroll != null) {
+            viewTop = scroll.getY() + scroll.getScrollY() - this.y;
+            viewBottom = viewTop + scroll.getHeight();
+        } else if (parent != null) {
+            viewTop = parent.getY() - this.y;
+            viewBottom = viewTop + parent.getHeight();
+        } else {
+            viewTop = 0;
+            viewBottom = this.height;
+        }
+
+        // 2. The header sticks to the top of the viewport while the table is scrolled past it
+        float headerHeight = headerHeight();
+        headerOffset = Math.max(0, Math.min(viewTop, this.height - headerHeight));
+
+        // 3. Convert to display positions (with overscan)
+        int count = view.size();
+        int first = (int) Math.floor((viewTop - headerHeight) / rowHeight) - OVERSCAN;
+        int end = (int) Math.ceil((viewBottom - headerHeight) / rowHeight) + OVERSCAN;
+        visibleFirst = Math.max(0, Math.min(first, count));
+        visibleEnd = Math.max(visibleFirst, Math.min(end, count));
+    }
+
+    /**
+     * Re-materializes the rows if the viewport moved to a different range of rows and keeps the
+     * header pinned. Runs every frame before the children are rendered.
+     */
+    @Override
+    public void render(UIRenderer renderer, int mouseX, int mouseY, float partialTick, float deltaTime) {
+        if (virtual && isVisible && rowHeight > 0) {
+            float previousHeaderOffset = headerOffset;
+            updateViewport();
+
+            if (rebindAll || visibleFirst != firstActive || visibleEnd != firstActive + activeRows.size()) {
+                // Only this table is laid out again
+                float previousHeight = this.height;
+                this.isLayoutDirty = true;
+                layout();
+
+                // A changed row count (e.g. a new filter) changes the total height,
+                // which the enclosing scroll container must pick up in the next layout pass
+                if (this.height != previousHeight && parent != null) {
+                    parent.markLayoutDirty();
+                }
+            } else if (header != null && headerOffset != previousHeaderOffset) {
+                header.setY(Layout.pixel(headerOffset));
+                layoutChild(header);
+            }
+        }
+        super.render(renderer, mouseX, mouseY, partialTick, deltaTime);
+    }
+
+    // =================================================================================
+    // Layout
+    // =================================================================================
+
+    /**
+     * Calculates the layout of the table rows.
      * Ensures the header and all rows match the width of the table before
      * calculating column distribution.
+     * <p>
+     * Rows are only laid out again if their position, the column configuration or their content
+     * changed, so editing a single cell only recalculates the row containing it.
+     * </p>
      */
     @Override
-    public void layout() {
-        // Calculate own dimensions first to determine available width
-        super.layout();
-
+    protected void layoutChildren() {
         float tableWidth = this.width;
         float currentY = 0;
 
+        // Columns must be re-distributed if the width or the header definition changed
+        if (header != null && (tableWidth != syncedWidth || header.isLayoutDirty())) {
+            computeColumns(tableWidth);
+        }
+        syncedWidth = tableWidth;
+
+        if (virtual) {
+            layoutVirtualRows(tableWidth);
+            return;
+        }
+
         // 1. Position and Size Header
         if (header != null) {
             header.setX(Layout.pixel(0));
@@ -88,31 +483,151 @@ public class UITable extends UIPanel {
             // Explicitly set width to match table so percentages calculate correctly
             header.setWidth(Layout.pixel(tableWidth));
             header.setHeight(Layout.pixel(rowHeight));
-            header.layout();
+            layoutChild(header);
             currentY += header.getHeight();
         }
 
         // 2. Position and Size Rows
         for (UITableRow row : rows) {
-            row.setX(Layout.pixel(0));
-            row.setY(Layout.pixel(currentY));
-            // Explicitly set width to match table so percentages calculate correctly
-            row.setWidth(Layout.pixel(tableWidth));
-            row.setHeight(Layout.pixel(rowHeight));
+            positionRow(row, currentY, tableWidth);
+            layoutChild(row);
+            currentY += row.getHeight();
+        }
+
+        // Adjust total height of the table to fit all rows
+        applyTableHeight(currentY);
+    }
+
+    /**
+     * Distributes the table width over the columns according to the header weights.
+     */
+    private void computeColumns(float tableWidth) {
+        List<Float> weights = header.getColumnWeights();
+        int count = weights.size();
+        if (columnWidths.length != count) {
+            columnOffsets = new float[count];
+            columnWidths = new float[count];
+        }
+
+        float totalWeight = 0;
+        for (float w : weights) totalWeight += w;
+
+        float currentX = 0;
+        for (int i = 0; i < count; i++) {
+            float cellWidth = (totalWeight > 0) ? (weights.get(i) / totalWeight) * tableWidth : 0;
+            columnOffsets[i] = currentX;
+            columnWidths[i] = cellWidth;
+            currentX += cellWidth;
+        }
+        columnsVersion++;
+    }
+
+    /**
+     * Positions a row and aligns its cells with the columns if they changed since the last sync.
+     */
+    private void positionRow(UITableRow row, float y, float tableWidth) {
+        row.setX(Layout.pixel(0));
+        row.setY(Layout.pixel(y));
+        // Explicitly set width to match table so percentages calculate correctly
+        row.setWidth(Layout.pixel(tableWidth));
+        row.setHeight(Layout.pixel(rowHeight));
+
+        // Pass column configuration from header to row to align cells
+        if (header != null && (row.syncedColumns != columnsVersion || row.isLayoutDirty())) {
+            row.syncColumns(columnOffsets, columnWidths);
+            row.syncedColumns = columnsVersion;
+        }
+    }
 
-            // Pass column configuration from header to row to align cells
-            if (header != null) {
-                row.syncColumns(header.getColumnWeights(), tableWidth);
+    /**
+     * Recycles rows that left the viewport, binds rows for newly visible positions and positions them.
+     * The header is added last, so it is drawn above the rows scrolled underneath it.
+     */
+    private void layoutVirtualRows(float tableWidth) {
+        float headerHeight = headerHeight();
+        int count = view.size();
+
+        // The table spans all rows, so the scroll container sees the full content size
+        applyTableHeight(headerHeight + count * rowHeight);
+
+        if (rowHeight > 0) {
+            updateViewport();
+        } else {
+            visibleFirst = 0;
+            visibleEnd = 0;
+        }
+        int first = visibleFirst;
+        int end = visibleEnd;
+
+        // 0. Rows have one cell per column; drop the pool if the header gained or lost columns
+        int columns = columnCount();
+        if (columns != rowColumns) {
+            activeRows.clear();
+            recycledRows.clear();
+            rebindAll = true;
+            rowColumns = columns;
+        }
+
+        // 1. Recycle rows whose positions are no longer in range
+        int previousFirst = firstActive;
+        int previousCount = activeRows.size();
+        for (int i = 0; i < previousCount; i++) {
+            int position = previousFirst + i;
+            if (position < first || position >= end) {
+                recycledRows.add(activeRows.get(i));
             }
+        }
 
-            row.layout();
-            currentY += row.getHeight();
+        // 2. Assign a row to every position in range (reusing rows that stay visible)
+        List<UITableRow> previous = activeRows;
+        activeRows = previousRows;
+        previousRows = previous;
+        children.clear();
+        for (int position = first; position < end; position++) {
+            int previousSlot = position - previousFirst;
+            UITableRow row;
+            boolean bind = rebindAll;
+
+            if (previousSlot >= 0 && previousSlot < previousCount) {
+                row = previous.get(previousSlot);
+            } else {
+                row = recycledRows.isEmpty() ? createRow() : recycledRows.remove(recycledRows.size() - 1);
+                bind = true;
+            }
+            if (bind) {
+                bindRow(row, view.rowAt(position));
+            }
+
+            activeRows.add(row);
+            add(row);
         }
+        previous.clear();
+        firstActive = first;
+        rebindAll = false;
 
-        // Adjust total height of the table to fit all rows
-        if (Math.abs(this.height - currentY) > 0.01f) {
-            this.height = currentY;
-            this.heightConstraint = Layout.pixel(currentY);
+        // 3. Position and lay out the rows
+        float currentY = headerHeight + first * rowHeight;
+        for (UITableRow row : activeRows) {
+            positionRow(row, currentY, tableWidth);
+            layoutChild(row);
+            currentY += rowHeight;
+        }
+
+        // 4. Pin the header to the top of the viewport
+        if (header != null) {
+            add(header);
+            header.setX(Layout.pixel(0));
+            header.setY(Layout.pixel(headerOffset));
+            header.setWidth(Layout.pixel(tableWidth));
+            header.setHeight(Layout.pixel(rowHeight));
+            layoutChild(header);
+        }
+    }
+
+    private void applyTableHeight(float tableHeight) {
+        if (Math.abs(this.height - tableHeight) > 0.01f) {
+            this.height = tableHeight;
+            this.heightConstraint = Layout.pixel(tableHeight);
         }
     }
-}
\ No newline at end of file
+}
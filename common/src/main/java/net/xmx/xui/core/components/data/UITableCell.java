@@ -46,4 +46,38 @@ public class UITableCell extends UIPanel {
 
         this.add(content);
     }
+
+    /**
+     * Gets the widget displayed in this cell.
+     *
+     * @return The content widget (a {@link UIText} for text cells).
+     */
+    public UIWidget getContent() {
+        return content;
+    }
+
+    /**
+     * Replaces the text of a text cell, e.g. when a recycled row is bound to new data.
+     *
+     * @param text The new text.
+     * @return This cell instance.
+     * @throws IllegalStateException If the cell was constructed with a custom widget.
+     */
+    public UITableCell setText(TextComponent text) {
+        if (!(content instanceof UIText textWidget)) {
+            throw new IllegalStateException("Cell does not display text");
+        }
+        textWidget.setText(text);
+        return this;
+    }
+
+    /**
+     * Replaces the text of a text cell with a literal string.
+     *
+     * @param text The new text.
+     * @return This cell instance.
+     */
+    public UITableCell setText(String text) {
+        return setText(TextComponent.literal(text));
+    }
 }
\ No newline at end of file
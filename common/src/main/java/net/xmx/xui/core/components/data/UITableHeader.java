@@ -49,10 +49,11 @@ public class UITableHeader extends UIPanel {
         return columnWeights;
     }
 
+    /**
+     * Distributes the header cells according to the column weights.
+     */
     @Override
-    public void layout() {
-        super.layout(); // Resolve own dimensions first
-
+    protected void layoutChildren() {
         float totalWeight = 0;
         for (float w : columnWeights) totalWeight += w;
 
@@ -69,7 +70,7 @@ public class UITableHeader extends UIPanel {
             cell.setWidth(Layout.pixel(cellWidth));
             cell.setHeight(Layout.relative(1.0f));
 
-            cell.layout();
+            layoutChild(cell);
             currentX += cellWidth;
         }
     }
@@ -22,6 +22,11 @@ public class UITableRow extends UIPanel {
 
     private final List<UITableCell> cells = new ArrayList<>();
 
+    /**
+     * The column layout of the owning table this row was last synchronized with (-1 = never).
+     */
+    int syncedColumns = -1;
+
     public UITableRow() {
         this.style().set(ThemeProperties.BACKGROUND_COLOR, 0x00000000); // Transparent by default
         this.style()
@@ -37,6 +42,25 @@ public class UITableRow extends UIPanel {
         return this;
     }
 
+    /**
+     * Gets the cell of a column.
+     *
+     * @param column The column index.
+     * @return The cell.
+     */
+    public UITableCell getCell(int column) {
+        return cells.get(column);
+    }
+
+    /**
+     * Gets the number of cells in this row.
+     *
+     * @return The cell count.
+     */
+    public int getCellCount() {
+        return cells.size();
+    }
+
     /**
      * Called by the parent table to align cells with the header.
      */
@@ -44,19 +68,32 @@ public class UITableRow extends UIPanel {
         float totalWeight = 0;
         for (float w : weights) totalWeight += w;
 
+        float[] offsets = new float[weights.size()];
+        float[] widths = new float[weights.size()];
         float currentX = 0;
-        int limit = Math.min(cells.size(), weights.size());
+        for (int i = 0; i < weights.size(); i++) {
+            float cellWidth = (totalWeight > 0) ? (weights.get(i) / totalWeight) * totalTableWidth : 0;
+            offsets[i] = currentX;
+            widths[i] = cellWidth;
+            currentX += cellWidth;
+        }
+        syncColumns(offsets, widths);
+    }
+
+    /**
+     * Aligns the cells with column bounds that were computed once by the table.
+     *
+     * @param offsets The X offset of each column relative to the row.
+     * @param widths  The width of each column.
+     */
+    void syncColumns(float[] offsets, float[] widths) {
+        int limit = Math.min(cells.size(), widths.length);
 
         for (int i = 0; i < limit; i++) {
             UITableCell cell = cells.get(i);
-            float weight = weights.get(i);
-            float cellWidth = (totalWeight > 0) ? (weight / totalWeight) * totalTableWidth : 0;
-
-            cell.setX(Layout.pixel(currentX));
-            cell.setWidth(Layout.pixel(cellWidth));
+            cell.setX(Layout.pixel(offsets[i]));
+            cell.setWidth(Layout.pixel(widths[i]));
             cell.setHeight(Layout.relative(1.0f));
-
-            currentX += cellWidth;
         }
     }
 }
\ No newline at end of file
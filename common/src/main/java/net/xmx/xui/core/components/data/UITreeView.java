@@ -7,181 +7,791 @@ package net.xmx.xui.core.components.data;
 import net.xmx.xui.core.Layout;
 import net.xmx.xui.core.UIWidget;
 import net.xmx.xui.core.components.UIPanel;
+import net.xmx.xui.core.components.scroll.UIScrollComponent;
 import net.xmx.xui.core.gl.renderer.UIRenderer;
 import net.xmx.xui.core.style.InteractionState;
 import net.xmx.xui.core.style.ThemeProperties;
 import net.xmx.xui.core.text.TextComponent;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A TreeView component for hierarchical data.
  * Manages expanding/collapsing nodes and indentation.
+ * <p>
+ * <b>Model:</b><br>
+ * The nodes ({@link UITreeNode}) are plain data objects, not widgets. Each node caches the number
+ * of rows its subtree occupies, and the tree keeps a flattened list of the visible nodes that is
+ * updated incrementally: expanding or collapsing a node only inserts or removes the rows of its
+ * subtree, so the cost is proportional to the number of changed rows.
+ * </p>
+ * <p>
+ * <b>Lazy Loading:</b><br>
+ * With a {@link ChildProvider}, the children of a node are requested the first time it is expanded.
+ * The provider may complete the returned future on another thread; the result is applied on the
+ * render thread in the next frame. Until then the node shows a dimmed chevron.
+ * </p>
+ * <p>
+ * <b>Rendering:</b><br>
+ * Only the rows intersecting the viewport of the enclosing {@link UIScrollComponent} (plus a small
+ * overscan) exist as widgets. Rows scrolled out of view are recycled and bound to other nodes.
+ * </p>
  *
  * @author xI-Mx-Ix
  */
 public class UITreeView extends UIPanel {
 
+    /**
+     * Loads the children of a node on demand.
+     */
+    @FunctionalInterface
+    public interface ChildProvider {
+        /**
+         * Requests the children of a node that is expanded for the first time.
+         * <p>
+         * Return {@link CompletableFuture#completedFuture} to load synchronously, or a future
+         * completed by a background task to load asynchronously.
+         * </p>
+         *
+         * @param node The node being expanded.
+         * @return The children of the node (may be empty).
+         */
+        CompletableFuture<List<UITreeNode>> loadChildren(UITreeNode node);
+    }
+
     /**
      * Represents a single node in the tree.
-     * This internal class handles the "Widget" aspect of a node.
+     * <p>
+     * Nodes are lightweight: they hold the label, the structure and the expansion state, while
+     * the tree draws them with a small pool of recycled row widgets.
+     * </p>
+     * <p>
+     * Nodes are not widgets (they used to be inner {@link UIPanel} instances): they cannot be styled,
+     * hold child widgets or receive events. Create them with {@code tree.addRoot(text)},
+     * {@code node.addChild(text)} or, detached, with {@code new UITreeView.UITreeNode(label)}
+     * (instead of {@code tree.new UITreeNode(label)}), and use {@link #setUserData} to associate
+     * application data. Clicks on a row toggle the expansion of its node.
+     * </p>
      */
-    public class UITreeNode extends UIPanel {
+    public static class UITreeNode {
+
+        private enum LoadState {
+            /** The children were not requested yet (lazy nodes only). */
+            UNLOADED,
+            /** The child provider is running. */
+            LOADING,
+            /** The children are known. */
+            LOADED
+        }
+
         private final TextComponent label;
+        private Object userData;
+
+        private UITreeView tree;
+        private UITreeNode parentNode;
         private final List<UITreeNode> treeChildren = new ArrayList<>();
+        private LoadState loadState = LoadState.LOADED;
+        private CompletableFuture<List<UITreeNode>> pendingChildren;
+
         private boolean expanded = false;
+        private boolean leaf = false;
         private int depth = 0;
-        private final float indentPerLevel = 12.0f;
 
+        /**
+         * The number of rows this node occupies when visible: itself plus the rows of its
+         * children if it is expanded.
+         */
+        private int visibleCount = 1;
+
+        /**
+         * Creates a detached node, e.g. to return it from a {@link ChildProvider}.
+         *
+         * @param label The label text.
+         */
         public UITreeNode(TextComponent label) {
             this.label = label;
-            this.style().set(ThemeProperties.BACKGROUND_COLOR, 0x00000000);
-            this.setHeight(Layout.pixel(18)); // Fixed node height
-            this.setWidth(Layout.relative(1.0f));
         }
 
         /**
          * Adds a child node to this node.
-         * The child is added to the logical structure list. It is NOT added to
-         * {@code this.children} because the {@link UITreeView} manages the
-         * flat rendering list in its layout method.
          *
          * @param text The label text for the new node.
          * @return The created node.
          */
         public UITreeNode addChild(String text) {
-            UITreeNode node = new UITreeNode(TextComponent.literal(text));
-            node.depth = this.depth + 1;
-            this.treeChildren.add(node);
-            UITreeView.this.structureDirty = true;
-            UITreeView.this.markLayoutDirty();
-            return node;
+            return addChild(new UITreeNode(TextComponent.literal(text)));
+        }
+
+        /**
+         * Adds a child node (with its own children, if any) to this node.
+         * If this node is visible and expanded, the rows of the child are inserted into the tree.
+         *
+         * @param child The detached node to add.
+         * @return The added node.
+         */
+        public UITreeNode addChild(UITreeNode child) {
+            child.parentNode = this;
+            child.attach(this.tree, this.depth + 1);
+            this.treeChildren.add(child);
+            this.loadState = LoadState.LOADED;
+
+            if (tree != null) {
+                tree.onChildAdded(child);
+            } else if (expanded) {
+                this.visibleCount += child.visibleCount;
+            }
+            return child;
         }
 
         /**
          * Sets the expansion state of the node.
-         * Triggers a layout update on the parent tree to refresh the visible list.
+         * <p>
+         * Expanding a lazy node for the first time requests its children from the {@link ChildProvider}.
+         * </p>
          *
          * @param expanded True to show children, false to hide.
          */
         public void setExpanded(boolean expanded) {
-            if (this.expanded != expanded) {
+            if (this.expanded == expanded) return;
+            if (tree != null) {
+                tree.changeExpansion(this, expanded, -1);
+            } else {
                 this.expanded = expanded;
-                UITreeView.this.structureDirty = true;
-                UITreeView.this.markLayoutDirty();
+                this.visibleCount = expanded ? 1 + childRows() : 1;
             }
         }
 
-        @Override
-        public boolean mouseClicked(double mouseX, double mouseY, int button) {
-            if (!isVisible || isClippedByParent(mouseX, mouseY)) return false;
-            if (isMouseOver(mouseX, mouseY) && button == 0 && !treeChildren.isEmpty()) {
-                setExpanded(!expanded);
-                return true;
-            }
-            return super.mouseClicked(mouseX, mouseY, button);
+        /**
+         * Marks the node as having no children, so no chevron is drawn and the child provider is never asked.
+         *
+         * @param leaf True if the node cannot have children.
+         * @return This node.
+         */
+        public UITreeNode setLeaf(boolean leaf) {
+            this.leaf = leaf;
+            if (tree != null) tree.notifyNodesChanged();
+            return this;
         }
 
-        @Override
-        protected void drawSelf(UIRenderer renderer, int mouseX, int mouseY, float partialTicks, float deltaTime, InteractionState state) {
-            super.drawSelf(renderer, mouseX, mouseY, partialTicks, deltaTime, state);
-
-            int textColor = style().getValue(state, ThemeProperties.TEXT_COLOR);
-            float currentX = 4 + (depth * indentPerLevel);
-            float centerY = this.y + (this.height / 2.0f);
-
-            // Draw Chevron (Arrow) if logical children exist
-            if (!treeChildren.isEmpty()) {
-                // Calculate absolute X position relative to the widget
-                drawChevron(renderer, this.x + currentX, centerY, textColor, expanded);
-                currentX += 10; // Space for arrow
-            } else {
-                currentX += 4;
-            }
+        /**
+         * Attaches arbitrary application data to the node (e.g. the entity it represents).
+         *
+         * @param userData The data.
+         * @return This node.
+         */
+        public UITreeNode setUserData(Object userData) {
+            this.userData = userData;
+            return this;
+        }
 
-            // Draw Label
-            renderer.drawText(label, this.x + currentX, centerY - 4, textColor, false);
+        public Object getUserData() {
+            return userData;
         }
 
-        private void drawChevron(UIRenderer renderer, float x, float y, int color, boolean open) {
-            // Simple pixel-art style arrow
-            if (open) {
-                // Down arrow
-                renderer.getGeometry().renderRect(x - 2, y - 1, 5, 1, color, 0);
-                renderer.getGeometry().renderRect(x - 1, y, 3, 1, color, 0);
-                renderer.getGeometry().renderRect(x, y + 1, 1, 1, color, 0);
-            } else {
-                // Right arrow
-                renderer.getGeometry().renderRect(x - 1, y - 2, 1, 5, color, 0);
-                renderer.getGeometry().renderRect(x, y - 1, 1, 3, color, 0);
-                renderer.getGeometry().renderRect(x + 1, y, 1, 1, color, 0);
-            }
+        public TextComponent getLabel() {
+            return label;
         }
 
+        /**
+         * Gets the children of this node.
+         *
+         * @return The loaded children (empty while a lazy node is not loaded). The list is read-only;
+         * children are added with {@link #addChild}.
+         */
         public List<UITreeNode> getTreeChildren() {
-            return treeChildren;
+            return Collections.unmodifiableList(treeChildren);
+        }
+
+        /**
+         * Gets the parent node.
+         *
+         * @return The parent, or null for root nodes and detached nodes.
+         */
+        public UITreeNode getParentNode() {
+            // The invisible root of the tree has depth -1
+            return parentNode != null && parentNode.depth >= 0 ? parentNode : null;
         }
 
         public boolean isExpanded() {
             return expanded;
         }
+
+        /**
+         * Checks whether the children of this node are currently being loaded.
+         *
+         * @return True while the child provider has not completed.
+         */
+        public boolean isLoading() {
+            return loadState == LoadState.LOADING;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        /**
+         * Checks whether a chevron is drawn for this node.
+         */
+        private boolean isExpandable() {
+            if (leaf) return false;
+            return loadState != LoadState.LOADED || !treeChildren.isEmpty();
+        }
+
+        private int childRows() {
+            int rows = 0;
+            for (UITreeNode child : treeChildren) {
+                rows += child.visibleCount;
+            }
+            return rows;
+        }
+
+        /**
+         * Assigns the tree and depth to this subtree and recalculates the cached row counts.
+         */
+        private void attach(UITreeView tree, int depth) {
+            this.tree = tree;
+            this.depth = depth;
+            if (tree != null && tree.childProvider != null && treeChildren.isEmpty() && loadState == LoadState.LOADED && !leaf) {
+                // Nodes without children become lazy once they are part of a tree with a provider
+                this.loadState = LoadState.UNLOADED;
+                this.expanded = false;
+            }
+
+            int rows = 0;
+            for (UITreeNode child : treeChildren) {
+                child.attach(tree, depth + 1);
+                rows += child.visibleCount;
+            }
+            this.visibleCount = expanded ? 1 + rows : 1;
+        }
     }
 
-    private final List<UITreeNode> rootNodes = new ArrayList<>();
-    private boolean structureDirty = false;
+    /**
+     * The height of a row in pixels.
+     */
+    private static final float ROW_HEIGHT = 18.0f;
+
+    /**
+     * The horizontal indentation per depth level in pixels.
+     */
+    private static final float INDENT_PER_LEVEL = 12.0f;
+
+    /**
+     * The number of rows materialized above and below the viewport.
+     */
+    private static final int OVERSCAN = 2;
+
+    /**
+     * The invisible parent of all root nodes. It is always expanded and not part of the visible list.
+     */
+    private final UITreeNode root = new UITreeNode(null);
+
+    private final VisibleNodeList visibleNodes = new VisibleNodeList();
+    private ChildProvider childProvider;
+
+    /**
+     * Nodes whose children are being loaded by the child provider.
+     */
+    private final List<UITreeNode> loadingNodes = new ArrayList<>();
+
+    /**
+     * Scratch buffer for the rows inserted when a node is expanded.
+     */
+    private UITreeNode[] insertBuffer = new UITreeNode[64];
+
+    // --- Row Pool ---
+    /**
+     * The materialized rows, {@code activeRows.get(i)} displays row {@code firstActive + i}.
+     */
+    private List<TreeRow> activeRows = new ArrayList<>();
+    private final List<TreeRow> recycledRows = new ArrayList<>();
+    private int firstActive = 0;
+
+    /**
+     * Holds the rows of the previous pass while they are reassigned (swapped with {@link #activeRows}).
+     */
+    private List<TreeRow> previousRows = new ArrayList<>();
+
+    /**
+     * True if all active rows must be re-bound (the visible list changed).
+     */
+    private boolean rebindAll = false;
 
     public UITreeView() {
         this.style().set(ThemeProperties.BACKGROUND_COLOR, 0x00000000);
+        this.root.tree = this;
+        this.root.depth = -1;
+        this.root.expanded = true;
     }
 
     public UITreeNode addRoot(String text) {
-        UITreeNode node = new UITreeNode(TextComponent.literal(text));
-        this.rootNodes.add(node);
-        this.structureDirty = true;
-        this.markLayoutDirty();
-        return node;
+        return addRoot(new UITreeNode(TextComponent.literal(text)));
+    }
+
+    /**
+     * Adds a root node (with its own children, if any).
+     *
+     * @param node The detached node to add.
+     * @return The added node.
+     */
+    public UITreeNode addRoot(UITreeNode node) {
+        return root.addChild(node);
+    }
+
+    /**
+     * Gets the root nodes.
+     *
+     * @return The root nodes in display order.
+     */
+    public List<UITreeNode> getRoots() {
+        return root.getTreeChildren();
+    }
+
+    /**
+     * Sets the provider that loads the children of nodes on their first expansion.
+     * <p>
+     * Nodes that have no children when they are added to the tree are treated as lazy and show a
+     * chevron until their children are loaded (use {@link UITreeNode#setLeaf} for known leaves).
+     * </p>
+     *
+     * @param provider The provider, or null to disable lazy loading.
+     * @return This tree instance.
+     */
+    public UITreeView setChildProvider(ChildProvider provider) {
+        this.childProvider = provider;
+        return this;
+    }
+
+    /**
+     * Gets the number of visible rows (nodes whose ancestors are all expanded).
+     *
+     * @return The row count.
+     */
+    public int getVisibleNodeCount() {
+        return visibleNodes.size();
+    }
+
+    /**
+     * Gets the node displayed in a row.
+     *
+     * @param row The row index.
+     * @return The node.
+     */
+    public UITreeNode getVisibleNode(int row) {
+        return visibleNodes.get(row);
+    }
+
+    // =================================================================================
+    // Incremental Flattening
+    // =================================================================================
+
+    /**
+     * Expands or collapses a node and updates the visible list by the rows of its subtree.
+     *
+     * @param node      The node.
+     * @param expand    True to expand, false to collapse.
+     * @param knownRow  The row index of the node if known (e.g. from a click), or -1.
+     */
+    private void changeExpansion(UITreeNode node, boolean expand, int knownRow) {
+        // 1. Lazy nodes load their children first; the rows are inserted when the load completes
+        if (expand && node.loadState == UITreeNode.LoadState.UNLOADED && childProvider != null && !node.leaf) {
+            node.expanded = true;
+            startLoading(node);
+            notifyNodesChanged();
+            return;
+        }
+
+        // 2. Update the cached row counts of the node and its ancestors
+        int childRows = expand ? node.childRows() : node.visibleCount - 1;
+        node.expanded = expand;
+        node.visibleCount = expand ? 1 + childRows : 1;
+
+        int delta = expand ? childRows : -childRows;
+        boolean visible = propagateRows(node, delta);
+
+        // 3. Insert or remove exactly the rows of the subtree
+        if (visible && childRows > 0) {
+            int row = knownRow >= 0 ? knownRow : rowOf(node);
+            if (expand) {
+                int count = collectChildRows(node);
+                visibleNodes.insert(row + 1, insertBuffer, count);
+            } else {
+                visibleNodes.remove(row + 1, childRows);
+            }
+            markLayoutDirty(); // The height of the tree changed
+        }
+        notifyNodesChanged();
+    }
+
+    /**
+     * Inserts the rows of a child that was just added to its parent.
+     */
+    private void onChildAdded(UITreeNode child) {
+        boolean visible = propagateRows(child, child.visibleCount);
+        if (visible) {
+            int count = collectRows(child, 0);
+            visibleNodes.insert(rowOfAdded(child), insertBuffer, count);
+            markLayoutDirty();
+        }
+        notifyNodesChanged();
+    }
+
+    /**
+     * Finds the row of a child that was just added and counted in the rows of its ancestors.
+     * <p>
+     * An appended child occupies the last rows of its parent's subtree, so its row follows from the
+     * row of the parent without walking the preceding siblings. This keeps building a tree child by
+     * child linear instead of quadratic in the number of siblings.
+     * </p>
+     */
+    private int rowOfAdded(UITreeNode child) {
+        UITreeNode parent = child.parentNode;
+        List<UITreeNode> siblings = parent.treeChildren;
+        if (siblings.get(siblings.size() - 1) != child) {
+            return rowOf(child);
+        }
+        return rowOf(parent) + parent.visibleCount - child.visibleCount;
+    }
+
+    /**
+     * Adds a row delta to the ancestors of a node, up to the first collapsed ancestor.
+     *
+     * @return true if all ancestors are expanded, i.e. the node's rows are part of the visible list.
+     */
+    private boolean propagateRows(UITreeNode node, int delta) {
+        UITreeNode current = node;
+        while (current.parentNode != null) {
+            UITreeNode parent = current.parentNode;
+            if (!parent.expanded) return false;
+            parent.visibleCount += delta;
+            current = parent;
+        }
+        return current == root;
+    }
+
+    /**
+     * Finds the row of a visible node by summing the rows of the preceding siblings on the path to the root.
+     * Only used for programmatic changes; clicks pass the row of the clicked node directly.
+     */
+    private int rowOf(UITreeNode node) {
+        int row = -1;
+        UITreeNode current = node;
+        while (current.parentNode != null) {
+            UITreeNode parent = current.parentNode;
+            row++;
+            for (UITreeNode sibling : parent.treeChildren) {
+                if (sibling == current) break;
+                row += sibling.visibleCount;
+            }
+            current = parent;
+        }
+        return row;
+    }
+
+    /**
+     * Collects the visible descendants of an expanded node into the insert buffer.
+     *
+     * @return The number of collected rows.
+     */
+    private int collectChildRows(UITreeNode node) {
+        int count = 0;
+        for (UITreeNode child : node.treeChildren) {
+            count = collectRows(child, count);
+        }
+        return count;
+    }
+
+    /**
+     * Collects a node and its visible descendants into the insert buffer.
+     *
+     * @return The new number of collected rows.
+     */
+    private int collectRows(UITreeNode node, int count) {
+        if (count + node.visibleCount > insertBuffer.length) {
+            UITreeNode[] grown = new UITreeNode[Math.max(insertBuffer.length * 2, count + node.visibleCount)];
+            System.arraycopy(insertBuffer, 0, grown, 0, count);
+            insertBuffer = grown;
+        }
+        insertBuffer[count++] = node;
+        if (node.expanded) {
+            for (UITreeNode child : node.treeChildren) {
+                count = collectRows(child, count);
+            }
+        }
+        return count;
+    }
+
+    // =================================================================================
+    // Lazy Loading
+    // =================================================================================
+
+    private void startLoading(UITreeNode node) {
+        node.loadState = UITreeNode.LoadState.LOADING;
+        node.pendingChildren = childProvider.loadChildren(node);
+        loadingNodes.add(node);
+
+        // Synchronous providers are applied right away
+        if (node.pendingChildren.isDone()) {
+            applyLoadedChildren();
+        }
+    }
+
+    /**
+     * Attaches the children of all completed loads. Runs on the render thread.
+     */
+    private void applyLoadedChildren() {
+        for (int i = 0; i < loadingNodes.size(); i++) {
+            UITreeNode node = loadingNodes.get(i);
+            CompletableFuture<List<UITreeNode>> future = node.pendingChildren;
+            if (!future.isDone()) continue;
+
+            loadingNodes.remove(i--);
+            node.pendingChildren = null;
+
+            List<UITreeNode> loaded;
+            try {
+                loaded = future.join();
+            } catch (RuntimeException e) {
+                // Failed loads can be retried by expanding the node again
+                node.loadState = UITreeNode.LoadState.UNLOADED;
+                node.expanded = false;
+                notifyNodesChanged();
+                continue;
+            }
+
+            // 1. Attach the subtree
+            node.loadState = UITreeNode.LoadState.LOADED;
+            if (loaded != null) {
+                for (UITreeNode child : loaded) {
+                    child.parentNode = node;
+                    child.attach(this, node.depth + 1);
+                    node.treeChildren.add(child);
+                }
+            }
+
+            // 2. Show the rows if the node is still expanded (it may have been collapsed meanwhile)
+            if (node.expanded) {
+                node.expanded = false;
+                changeExpansion(node, true, -1);
+            } else {
+                notifyNodesChanged();
+            }
+        }
+    }
+
+    // =================================================================================
+    // Row Pool & Layout
+    // =================================================================================
+
+    /**
+     * Re-binds the visible rows, e.g. after the state of a node changed.
+     */
+    private void notifyNodesChanged() {
+        this.rebindAll = true;
+    }
+
+    /**
+     * Finds the nearest enclosing scroll container.
+     */
+    private UIScrollComponent findScrollParent() {
+        UIWidget current = this.parent;
+        while (current != null) {
+            if (current instanceof UIScrollComponent scroll) {
+                return scroll;
+            }
+            current = current.getParent();
+        }
+        return null;
+    }
+
+    /**
+     * Calculates the first visible row (with overscan).
+     */
+    private int computeFirstRow() {
+        return Math.max(0, Math.min((int) Math.floor(viewTop() / ROW_HEIGHT) - OVERSCAN, visibleNodes.size()));
+    }
+
+    /**
+     * Calculates the end of the visible rows (exclusive, with overscan).
+     */
+    private int computeEndRow() {
+        int end = (int) Math.ceil(viewBottom() / ROW_HEIGHT) + OVERSCAN;
+        return Math.max(computeFirstRow(), Math.min(end, visibleNodes.size()));
+    }
+
+    private float viewTop() {
+        UIScrollComponent scroll = findScrollParent();
+        if (scroll != null) return scroll.getY() + scroll.getScrollY() - this.y;
+        if (parent != null) return parent.getY() - this.y;
+        return 0;
     }
 
+    private float viewBottom() {
+        UIScrollComponent scroll = findScrollParent();
+        if (scroll != null) return scroll.getY() + scroll.getScrollY() - this.y + scroll.getHeight();
+        if (parent != null) return parent.getY() - this.y + parent.getHeight();
+        return this.height;
+    }
+
+    /**
+     * Applies completed loads and re-materializes the rows if the viewport moved to a different
+     * range or the visible list changed. Runs every frame before the children are rendered.
+     */
     @Override
-    public void layout() {
-        super.layout();
+    public void render(UIRenderer renderer, int mouseX, int mouseY, float partialTick, float deltaTime) {
+        if (isVisible) {
+            if (!loadingNodes.isEmpty()) {
+                applyLoadedChildren();
+            }
 
-        if (structureDirty) {
-            this.children.clear();
-            for (UITreeNode root : rootNodes) {
-                buildFlatTreeRecursive(root);
+            int first = computeFirstRow();
+            int end = computeEndRow();
+            if (rebindAll || first != firstActive || end != firstActive + activeRows.size()) {
+                // Only this tree is laid out again
+                float previousHeight = this.height;
+                this.isLayoutDirty = true;
+                layout();
+
+                // Loaded children change the height, which the enclosing scroll container
+                // must pick up in the next layout pass
+                if (this.height != previousHeight && parent != null) {
+                    parent.markLayoutDirty();
+                }
             }
-            structureDirty = false;
         }
+        super.render(renderer, mouseX, mouseY, partialTick, deltaTime);
+    }
 
-        float currentY = 0;
-        float viewWidth = this.width;
+    /**
+     * Recycles rows that left the viewport, binds rows for newly visible nodes and stacks them vertically.
+     */
+    @Override
+    protected void layoutChildren() {
+        // 1. The tree spans all visible rows, so the scroll container sees the full content size
+        float contentHeight = visibleNodes.size() * ROW_HEIGHT;
+        if (Math.abs(this.height - contentHeight) > 0.01f) {
+            this.height = contentHeight;
+            this.heightConstraint = Layout.pixel(contentHeight);
+        }
+
+        int first = computeFirstRow();
+        int end = computeEndRow();
+
+        // 2. Recycle rows outside the new range
+        int previousFirst = firstActive;
+        int previousCount = activeRows.size();
+        for (int i = 0; i < previousCount; i++) {
+            int row = previousFirst + i;
+            if (row < first || row >= end) {
+                recycledRows.add(activeRows.get(i));
+            }
+        }
+
+        // 3. Assign a widget to every row in range (reusing widgets that stay visible)
+        List<TreeRow> previous = activeRows;
+        activeRows = previousRows;
+        previousRows = previous;
+        children.clear();
+        for (int row = first; row < end; row++) {
+            int previousSlot = row - previousFirst;
+            TreeRow widget;
+            boolean bind = rebindAll;
+
+            if (previousSlot >= 0 && previousSlot < previousCount) {
+                widget = previous.get(previousSlot);
+            } else {
+                widget = recycledRows.isEmpty() ? new TreeRow() : recycledRows.remove(recycledRows.size() - 1);
+                bind = true;
+            }
+            if (bind) {
+                widget.bind(visibleNodes.get(row), row);
+            }
 
-        for (UIWidget child : children) {
-            child.setX(Layout.pixel(0));
-            child.setY(Layout.pixel(currentY));
-            child.setWidth(Layout.pixel(viewWidth));
-            child.layout();
-            currentY += child.getHeight();
+            activeRows.add(widget);
+            add(widget);
         }
+        previous.clear();
+        firstActive = first;
+        rebindAll = false;
 
-        // Adjust total height of the tree
-        if (Math.abs(this.height - currentY) > 0.01f) {
-            this.height = currentY;
-            this.heightConstraint = Layout.pixel(currentY);
+        // 4. Position the rows
+        float viewWidth = this.width;
+        float currentY = first * ROW_HEIGHT;
+        for (TreeRow widget : activeRows) {
+            widget.setX(Layout.pixel(0));
+            widget.setY(Layout.pixel(currentY));
+            widget.setWidth(Layout.pixel(viewWidth));
+            widget.setHeight(Layout.pixel(ROW_HEIGHT));
+            layoutChild(widget);
+            currentY += ROW_HEIGHT;
         }
     }
 
     /**
-     * Recursively adds visible nodes to the layout list.
+     * The recycled widget displaying one visible node.
      */
-    private void buildFlatTreeRecursive(UITreeNode node) {
-        this.add(node);
-        if (node.isExpanded()) {
-            for (UITreeNode child : node.getTreeChildren()) {
-                buildFlatTreeRecursive(child);
+    private class TreeRow extends UIPanel {
+        private UITreeNode node;
+        private int row;
+
+        TreeRow() {
+            this.style().set(ThemeProperties.BACKGROUND_COLOR, 0x00000000);
+        }
+
+        void bind(UITreeNode node, int row) {
+            this.node = node;
+            this.row = row;
+        }
+
+        @Override
+        public boolean mouseClicked(double mouseX, double mouseY, int button) {
+            if (!isVisible || isClippedByParent(mouseX, mouseY)) return false;
+            if (isMouseOver(mouseX, mouseY) && button == 0 && node != null && node.isExpandable()) {
+                changeExpansion(node, !node.expanded, row);
+                return true;
+            }
+            return super.mouseClicked(mouseX, mouseY, button);
+        }
+
+        @Override
+        protected void drawSelf(UIRenderer renderer, int mouseX, int mouseY, float partialTicks, float deltaTime, InteractionState state) {
+            super.drawSelf(renderer, mouseX, mouseY, partialTicks, deltaTime, state);
+            if (node == null) return;
+
+            int textColor = style().getValue(state, ThemeProperties.TEXT_COLOR);
+            float currentX = 4 + (node.depth * INDENT_PER_LEVEL);
+            float centerY = this.y + (this.height / 2.0f);
+
+            // Draw Chevron (Arrow) if the node has or may have children
+            if (node.isExpandable()) {
+                // Dimmed while the children are loading
+                int chevronColor = node.isLoading() ? (textColor & 0x00FFFFFF) | ((textColor >>> 25) << 24) : textColor;
+                drawChevron(renderer, this.x + currentX, centerY, chevronColor, node.expanded);
+                currentX += 10; // Space for arrow
+            } else {
+                currentX += 4;
+            }
+
+            // Draw Label
+            renderer.drawText(node.label, this.x + currentX, centerY - 4, textColor, false);
+        }
+
+        private void drawChevron(UIRenderer renderer, float x, float y, int color, boolean open) {
+            // Simple pixel-art style arrow
+            if (open) {
+                // Down arrow
+                renderer.getGeometry().renderRect(x - 2, y - 1, 5, 1, color, 0);
+                renderer.getGeometry().renderRect(x - 1, y, 3, 1, color, 0);
+                renderer.getGeometry().renderRect(x, y + 1, 1, 1, color, 0);
+            } else {
+                // Right arrow
+                renderer.getGeometry().renderRect(x - 1, y - 2, 1, 5, color, 0);
+                renderer.getGeometry().renderRect(x, y - 1, 1, 3, color, 0);
+                renderer.getGeometry().renderRect(x + 1, y, 1, 1, color, 0);
             }
         }
     }
-}
\ No newline at end of file
+}
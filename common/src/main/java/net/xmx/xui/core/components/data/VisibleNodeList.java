@@ -0,0 +1,116 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.components.data;
+
+import java.util.Arrays;
+
+/**
+ * The flattened list of visible nodes of a {@link UITreeView}, in display order.
+ * <p>
+ * The nodes are kept in a gap buffer: a single array with a movable hole at the position of the
+ * last change. Expanding or collapsing a node inserts or removes exactly the rows of its subtree at
+ * the gap, so the cost is proportional to the number of changed rows (plus the distance to the
+ * previous change) instead of rebuilding or shifting the whole list. Random access stays O(1).
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+final class VisibleNodeList {
+
+    private UITreeView.UITreeNode[] nodes = new UITreeView.UITreeNode[64];
+    private int gapStart = 0;
+    private int gapEnd = 64;
+
+    /**
+     * Gets the number of visible nodes.
+     *
+     * @return The row count.
+     */
+    int size() {
+        return nodes.length - (gapEnd - gapStart);
+    }
+
+    /**
+     * Gets the node displayed in a row.
+     *
+     * @param index The row index.
+     * @return The node.
+     */
+    UITreeView.UITreeNode get(int index) {
+        return index < gapStart ? nodes[index] : nodes[index + (gapEnd - gapStart)];
+    }
+
+    /**
+     * Inserts rows.
+     *
+     * @param index  The row index of the first inserted node.
+     * @param source The nodes to insert.
+     * @param count  The number of nodes taken from the start of {@code source}.
+     */
+    void insert(int index, UITreeView.UITreeNode[] source, int count) {
+        if (count == 0) return;
+        moveGap(index);
+        ensureGap(count);
+        System.arraycopy(source, 0, nodes, gapStart, count);
+        gapStart += count;
+    }
+
+    /**
+     * Removes rows.
+     *
+     * @param index The row index of the first removed node.
+     * @param count The number of rows to remove.
+     */
+    void remove(int index, int count) {
+        if (count == 0) return;
+        moveGap(index);
+        Arrays.fill(nodes, gapEnd, gapEnd + count, null);
+        gapEnd += count;
+    }
+
+    /**
+     * Removes all rows.
+     */
+    void clear() {
+        Arrays.fill(nodes, null);
+        gapStart = 0;
+        gapEnd = nodes.length;
+    }
+
+    /**
+     * Moves the gap so that it starts at the given row.
+     */
+    private void moveGap(int index) {
+        if (index < gapStart) {
+            int count = gapStart - index;
+            System.arraycopy(nodes, index, nodes, gapEnd - count, count);
+            Arrays.fill(nodes, index, Math.min(gapStart, gapEnd - count), null);
+            gapStart -= count;
+            gapEnd -= count;
+        } else if (index > gapStart) {
+            int count = index - gapStart;
+            System.arraycopy(nodes, gapEnd, nodes, gapStart, count);
+            Arrays.fill(nodes, Math.max(gapEnd, gapStart + count), gapEnd + count, null);
+            gapStart += count;
+            gapEnd += count;
+        }
+    }
+
+    /**
+     * Grows the array so that the gap can hold the given number of nodes.
+     */
+    private void ensureGap(int required) {
+        if (gapEnd - gapStart >= required) return;
+
+        int size = size();
+        int capacity = Math.max(nodes.length * 2, size + required + 64);
+        UITreeView.UITreeNode[] grown = new UITreeView.UITreeNode[capacity];
+        int tail = nodes.length - gapEnd;
+        System.arraycopy(nodes, 0, grown, 0, gapStart);
+        System.arraycopy(nodes, gapEnd, grown, capacity - tail, tail);
+        nodes = grown;
+        gapEnd = capacity - tail;
+    }
+}
@@ -0,0 +1,376 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.components.input;
+
+import net.xmx.xui.core.text.TextComponent;
+
+import java.util.Arrays;
+
+/**
+ * The editable text model of {@link UITextInputBox}.
+ * <p>
+ * <b>Storage:</b><br>
+ * The characters are kept in a gap buffer: a single array with a movable hole at the
+ * position of the last edit. Typing, deleting and pasting at the caret only touch the gap,
+ * so edits cost time proportional to the inserted text (plus the distance the caret moved
+ * since the previous edit) instead of copying the whole document. Random access via
+ * {@link #charAt(int)} stays O(1), which the allocation-free measurement API of the fonts relies on.
+ * </p>
+ * <p>
+ * <b>Line Index:</b><br>
+ * The start offsets of all lines are maintained incrementally in a second gap array.
+ * Entries before its gap store absolute offsets, entries after it store the distance to the
+ * end of the text. An edit therefore never has to shift the offsets of the following lines;
+ * it only inserts or removes the entries of the line breaks it adds or deletes.
+ * Looking up the line of an offset is a binary search (O(log n)).
+ * </p>
+ * <p>
+ * <b>Line Cache:</b><br>
+ * Each line carries a cached width and a cached text component that the owner fills lazily.
+ * Edits reset the slots of the lines they touch, so only those are measured and rebuilt again.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+public final class TextBuffer implements CharSequence {
+
+    // --- Characters ---
+    private char[] chars = new char[16];
+    private int gapStart = 0;
+    private int gapEnd = 16;
+
+    // --- Line Index (one entry per line, line 0 always starts at 0) ---
+    private int[] lineStarts = new int[8];
+    private float[] lineWidths = new float[8];
+    private TextComponent[] lineComponents = new TextComponent[8];
+    private int lineGapStart = 1;
+    private int lineGapEnd = 8;
+
+    /**
+     * The cached result of {@link #toString()}, or null after an edit.
+     */
+    private String cachedString = "";
+
+    public TextBuffer() {
+        lineStarts[0] = 0;
+        lineWidths[0] = Float.NaN;
+    }
+
+    // =================================================================================
+    // CharSequence
+    // =================================================================================
+
+    @Override
+    public int length() {
+        return chars.length - (gapEnd - gapStart);
+    }
+
+    @Override
+    public char charAt(int index) {
+        return index < gapStart ? chars[index] : chars[index + (gapEnd - gapStart)];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return substring(start, end);
+    }
+
+    /**
+     * Copies a range of the text into a new string.
+     *
+     * @param start The start index (inclusive).
+     * @param end   The end index (exclusive).
+     * @return The characters of the range.
+     */
+    public String substring(int start, int end) {
+        if (end <= gapStart) return new String(chars, start, end - start);
+        int gap = gapEnd - gapStart;
+        if (start >= gapStart) return new String(chars, start + gap, end - start);
+
+        char[] out = new char[end - start];
+        System.arraycopy(chars, start, out, 0, gapStart - start);
+        System.arraycopy(chars, gapEnd, out, gapStart - start, end - gapStart);
+        return new String(out);
+    }
+
+    @Override
+    public String toString() {
+        if (cachedString == null) {
+            cachedString = substring(0, length());
+        }
+        return cachedString;
+    }
+
+    // =================================================================================
+    // Editing
+    // =================================================================================
+
+    /**
+     * Replaces the whole content.
+     *
+     * @param text The new text.
+     */
+    public void setText(String text) {
+        gapStart = 0;
+        gapEnd = chars.length;
+        lineGapStart = 1;
+        lineGapEnd = lineStarts.length;
+        lineWidths[0] = Float.NaN;
+        Arrays.fill(lineComponents, null);
+        insert(0, text);
+        cachedString = text;
+    }
+
+    /**
+     * Inserts text at the given offset.
+     *
+     * @param pos  The offset to insert at.
+     * @param text The text to insert.
+     */
+    public void insert(int pos, CharSequence text) {
+        int count = text.length();
+        if (count == 0) return;
+
+        // 1. Line index: position the gap behind the line containing pos and invalidate that line
+        moveLineGap(pos, length());
+        lineWidths[lineGapStart - 1] = Float.NaN;
+        lineComponents[lineGapStart - 1] = null;
+
+        // 2. Characters
+        moveGap(pos);
+        ensureGap(count);
+        for (int i = 0; i < count; i++) {
+            char c = text.charAt(i);
+            chars[gapStart++] = c;
+
+            // 3. Every inserted line break starts a new line directly behind the gap
+            if (c == '\n') {
+                ensureLineGap();
+                lineStarts[lineGapStart] = pos + i + 1;
+                lineWidths[lineGapStart] = Float.NaN;
+                lineComponents[lineGapStart] = null;
+                lineGapStart++;
+            }
+        }
+        cachedString = null;
+    }
+
+    /**
+     * Deletes a range of the text.
+     *
+     * @param start The start index (inclusive).
+     * @param end   The end index (exclusive).
+     */
+    public void delete(int start, int end) {
+        if (end <= start) return;
+        int length = length();
+
+        // 1. Line index: drop the lines whose breaks are deleted, i.e. that start in (start, end]
+        moveLineGap(start, length);
+        while (lineGapEnd < lineStarts.length && length - lineStarts[lineGapEnd] <= end) {
+            lineComponents[lineGapEnd] = null;
+            lineGapEnd++;
+        }
+        lineWidths[lineGapStart - 1] = Float.NaN;
+        lineComponents[lineGapStart - 1] = null;
+
+        // 2. Characters: widen the gap over the range
+        moveGap(start);
+        gapEnd += end - start;
+        cachedString = null;
+    }
+
+    // =================================================================================
+    // Line Queries
+    // =================================================================================
+
+    /**
+     * Gets the number of lines (the number of line breaks plus one).
+     *
+     * @return The line count.
+     */
+    public int getLineCount() {
+        return lineStarts.length - (lineGapEnd - lineGapStart);
+    }
+
+    /**
+     * Gets the offset of the first character of a line.
+     *
+     * @param line The line index.
+     * @return The start offset.
+     */
+    public int getLineStart(int line) {
+        if (line < lineGapStart) return lineStarts[line];
+        return length() - lineStarts[line + (lineGapEnd - lineGapStart)];
+    }
+
+    /**
+     * Gets the offset of the line break ending a line, or the text length for the last line.
+     *
+     * @param line The line index.
+     * @return The end offset (exclusive).
+     */
+    public int getLineEnd(int line) {
+        return (line + 1 < getLineCount()) ? getLineStart(line + 1) - 1 : length();
+    }
+
+    /**
+     * Finds the line containing an offset.
+     *
+     * @param pos The offset.
+     * @return The line index.
+     */
+    public int getLineIndex(int pos) {
+        int low = 0;
+        int high = getLineCount() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (getLineStart(mid) <= pos) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Gets the cached width of a line.
+     *
+     * @param line The line index.
+     * @return The width, or NaN if the line was not measured since its last change.
+     */
+    public float getCachedWidth(int line) {
+        return lineWidths[toSlot(line)];
+    }
+
+    /**
+     * Stores the measured width of a line.
+     *
+     * @param line  The line index.
+     * @param width The width in pixels.
+     */
+    public void setCachedWidth(int line, float width) {
+        lineWidths[toSlot(line)] = width;
+    }
+
+    /**
+     * Gets the cached text component of a line.
+     *
+     * @param line The line index.
+     * @return The component, or null if the line changed since it was last built.
+     */
+    public TextComponent getCachedComponent(int line) {
+        return lineComponents[toSlot(line)];
+    }
+
+    /**
+     * Stores the text component built for a line.
+     *
+     * @param line      The line index.
+     * @param component The component holding the text of the line.
+     */
+    public void setCachedComponent(int line, TextComponent component) {
+        lineComponents[toSlot(line)] = component;
+    }
+
+    /**
+     * Resets all cached line widths and components, e.g. after the font changed.
+     */
+    public void invalidateWidths() {
+        Arrays.fill(lineWidths, Float.NaN);
+        Arrays.fill(lineComponents, null);
+    }
+
+    // =================================================================================
+    // Internals
+    // =================================================================================
+
+    private int toSlot(int line) {
+        return line < lineGapStart ? line : line + (lineGapEnd - lineGapStart);
+    }
+
+    /**
+     * Moves the character gap to the given offset.
+     */
+    private void moveGap(int pos) {
+        if (pos < gapStart) {
+            int count = gapStart - pos;
+            System.arraycopy(chars, pos, chars, gapEnd - count, count);
+            gapStart -= count;
+            gapEnd -= count;
+        } else if (pos > gapStart) {
+            int count = pos - gapStart;
+            System.arraycopy(chars, gapEnd, chars, gapStart, count);
+            gapStart += count;
+            gapEnd += count;
+        }
+    }
+
+    /**
+     * Grows the character array so that the gap can hold the given number of characters.
+     */
+    private void ensureGap(int required) {
+        if (gapEnd - gapStart >= required) return;
+
+        int length = length();
+        int capacity = Math.max(chars.length * 2, length + required + 16);
+        char[] grown = new char[capacity];
+        int tail = chars.length - gapEnd;
+        System.arraycopy(chars, 0, grown, 0, gapStart);
+        System.arraycopy(chars, gapEnd, grown, capacity - tail, tail);
+        chars = grown;
+        gapEnd = capacity - tail;
+    }
+
+    /**
+     * Moves the line gap so that exactly the lines starting at or before {@code pos}
+     * lie before it, converting the moved entries between absolute and end-relative offsets.
+     *
+     * @param pos    The edit offset.
+     * @param length The text length before the edit.
+     */
+    private void moveLineGap(int pos, int length) {
+        while (lineGapStart > 1 && lineStarts[lineGapStart - 1] > pos) {
+            lineGapStart--;
+            lineGapEnd--;
+            lineStarts[lineGapEnd] = length - lineStarts[lineGapStart];
+            lineWidths[lineGapEnd] = lineWidths[lineGapStart];
+            lineComponents[lineGapEnd] = lineComponents[lineGapStart];
+            lineComponents[lineGapStart] = null;
+        }
+        while (lineGapEnd < lineStarts.length && length - lineStarts[lineGapEnd] <= pos) {
+            lineStarts[lineGapStart] = length - lineStarts[lineGapEnd];
+            lineWidths[lineGapStart] = lineWidths[lineGapEnd];
+            lineComponents[lineGapStart] = lineComponents[lineGapEnd];
+            lineComponents[lineGapEnd] = null;
+            lineGapStart++;
+            lineGapEnd++;
+        }
+    }
+
+    /**
+     * Grows the line arrays so that the line gap can hold at least one more entry.
+     */
+    private void ensureLineGap() {
+        if (lineGapEnd > lineGapStart) return;
+
+        int capacity = lineStarts.length * 2;
+        int tail = lineStarts.length - lineGapEnd;
+        int[] starts = new int[capacity];
+        float[] widths = new float[capacity];
+        TextComponent[] components = new TextComponent[capacity];
+        System.arraycopy(lineStarts, 0, starts, 0, lineGapStart);
+        System.arraycopy(lineWidths, 0, widths, 0, lineGapStart);
+        System.arraycopy(lineComponents, 0, components, 0, lineGapStart);
+        System.arraycopy(lineStarts, lineGapEnd, starts, capacity - tail, tail);
+        System.arraycopy(lineWidths, lineGapEnd, widths, capacity - tail, tail);
+        System.arraycopy(lineComponents, lineGapEnd, components, capacity - tail, tail);
+        lineStarts = starts;
+        lineWidths = widths;
+        lineComponents = components;
+        lineGapEnd = capacity - tail;
+    }
+}
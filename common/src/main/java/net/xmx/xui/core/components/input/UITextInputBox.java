@@ -26,6 +26,7 @@ import org.lwjgl.glfw.GLFW;
  *   <li>Clipboard operations (Ctrl+C, V, X, A).</li>
  *   <li>Smoothly fading cursor animation.</li>
  *   <li>Auto-scrolling.</li>
+ *   <li>Large documents: edits go through a {@link TextBuffer} and only visible lines are drawn.</li>
  * </ul>
  * </p>
  *
@@ -61,7 +62,22 @@ public class UITextInputBox extends UIWidget {
     private Font font = DefaultFonts.getVanilla();
 
     private String hintText = "";
-    private String text = "";
+
+    /**
+     * The components of the hint lines, built on first use and reset when the hint or font changes.
+     */
+    private TextComponent[] hintComponents;
+
+    /**
+     * The component drawn in single-line mode, rebuilt when the text or font changes.
+     * The components of multi-line text are cached per line in the {@link TextBuffer}.
+     */
+    private TextComponent singleLineComponent;
+
+    /**
+     * The edited text with its incrementally maintained line index.
+     */
+    private final TextBuffer text = new TextBuffer();
     private int cursorPosition = 0;
     private int selectionEnd = 0;
     private int maxLength = 1024;
@@ -110,6 +126,7 @@ public class UITextInputBox extends UIWidget {
      */
     public UITextInputBox setMultiline(boolean multiline) {
         this.isMultiline = multiline;
+        this.hintComponents = null;
         return this;
     }
 
@@ -121,6 +138,7 @@ public class UITextInputBox extends UIWidget {
      */
     public UITextInputBox setHint(String hint) {
         this.hintText = hint;
+        this.hintComponents = null;
         return this;
     }
 
@@ -130,7 +148,7 @@ public class UITextInputBox extends UIWidget {
      * @return The text.
      */
     public String getText() {
-        return text;
+        return text.toString();
     }
 
     /**
@@ -141,6 +159,8 @@ public class UITextInputBox extends UIWidget {
      */
     public UITextInputBox setFont(Font font) {
         this.font = font;
+        this.text.invalidateWidths();
+        this.hintComponents = null;
         return this;
     }
 
@@ -159,7 +179,7 @@ public class UITextInputBox extends UIWidget {
      * @param text The new text.
      */
     public void setText(String text) {
-        this.text = text;
+        this.text.setText(text);
         this.cursorPosition = Math.min(cursorPosition, text.length());
         this.selectionEnd = Math.min(selectionEnd, text.length());
     }
@@ -172,7 +192,7 @@ public class UITextInputBox extends UIWidget {
     public void setMaxLength(int maxLength) {
         this.maxLength = maxLength;
         if (text.length() > maxLength) {
-            text = text.substring(0, maxLength);
+            text.delete(maxLength, text.length());
         }
     }
 
@@ -223,24 +243,20 @@ public class UITextInputBox extends UIWidget {
 
         // If the box is empty, not focused, and has a hint, draw the hint.
         if (text.isEmpty() && !isFocused && !hintText.isEmpty()) {
-            if (isMultiline) {
-                String[] lines = hintText.split("\n", -1);
-                for (int i = 0; i < lines.length; i++) {
-                    // Create component with the specific font
-                    renderer.drawText(TextComponent.literal(lines[i]).setFont(font), drawX, drawY + (i * fontHeight), hintColor, true);
-                }
-            } else {
-                renderer.drawText(TextComponent.literal(hintText).setFont(font), drawX, drawY, hintColor, true);
+            TextComponent[] hints = getHintComponents();
+            for (int i = 0; i < hints.length; i++) {
+                renderer.drawText(hints[i], drawX, drawY + (i * fontHeight), hintColor, true);
             }
         } else {
             // Otherwise, render the actual text content
             if (isMultiline) {
-                String[] lines = text.split("\n", -1);
-                for (int i = 0; i < lines.length; i++) {
-                    renderer.drawText(TextComponent.literal(lines[i]).setFont(font), drawX, drawY + (i * fontHeight), textColor, true);
+                // Only the lines intersecting the viewport are drawn
+                int lastLine = getLastVisibleLine(fontHeight);
+                for (int i = getFirstVisibleLine(fontHeight); i <= lastLine; i++) {
+                    renderer.drawText(getLineComponent(i), drawX, drawY + (i * fontHeight), textColor, true);
                 }
             } else {
-                renderer.drawText(TextComponent.literal(text).setFont(font), drawX, drawY, textColor, true);
+                renderer.drawText(getSingleLineComponent(), drawX, drawY, textColor, true);
             }
         }
 
@@ -250,6 +266,51 @@ public class UITextInputBox extends UIWidget {
         }
     }
 
+    /**
+     * Gets the component of a text line, building it only if the line changed since the last frame.
+     *
+     * @param line The line index.
+     * @return The component with the text of the line.
+     */
+    private TextComponent getLineComponent(int line) {
+        TextComponent component = text.getCachedComponent(line);
+        if (component == null) {
+            component = TextComponent.literal(text.substring(text.getLineStart(line), text.getLineEnd(line))).setFont(font);
+            text.setCachedComponent(line, component);
+        }
+        return component;
+    }
+
+    /**
+     * Gets the component of the whole text in single-line mode.
+     * The text buffer caches its string until the next edit, so an unchanged text is detected by identity.
+     *
+     * @return The component with the current text.
+     */
+    private TextComponent getSingleLineComponent() {
+        String content = text.toString();
+        if (singleLineComponent == null || singleLineComponent.getText() != content || singleLineComponent.getFont() != font) {
+            singleLineComponent = TextComponent.literal(content).setFont(font);
+        }
+        return singleLineComponent;
+    }
+
+    /**
+     * Gets the components of the hint, one per line in multi-line mode.
+     *
+     * @return The hint components.
+     */
+    private TextComponent[] getHintComponents() {
+        if (hintComponents == null) {
+            String[] lines = isMultiline ? hintText.split("\n", -1) : new String[]{hintText};
+            hintComponents = new TextComponent[lines.length];
+            for (int i = 0; i < lines.length; i++) {
+                hintComponents[i] = TextComponent.literal(lines[i]).setFont(font);
+            }
+        }
+        return hintComponents;
+    }
+
     /**
      * Renders the blinking cursor if the widget has focus.
      * The cursor stays solid for 300ms after any interaction to maintain focus,
@@ -283,32 +344,11 @@ public class UITextInputBox extends UIWidget {
 
         float cx, cy;
         if (isMultiline) {
-            int pos = 0;
-            int lineIndex = 0;
-            String[] lines = text.split("\n", -1);
-            int colIndex = 0;
-            boolean found = false;
-
-            for (String line : lines) {
-                if (cursorPosition <= pos + line.length()) {
-                    colIndex = cursorPosition - pos;
-                    found = true;
-                    break;
-                }
-                pos += line.length() + 1;
-                lineIndex++;
-            }
-            if (!found) {
-                lineIndex = lines.length - 1;
-                colIndex = lines[lineIndex].length();
-            }
-
-            String subLine = lines[lineIndex].substring(0, colIndex);
-            cx = font.getWidth(TextComponent.literal(subLine).setFont(font));
-            cy = lineIndex * fontHeight;
+            int line = text.getLineIndex(cursorPosition);
+            cx = font.getWidth(text, text.getLineStart(line), cursorPosition, null);
+            cy = line * fontHeight;
         } else {
-            String sub = text.substring(0, cursorPosition);
-            cx = font.getWidth(TextComponent.literal(sub).setFont(font));
+            cx = font.getWidth(text, 0, cursorPosition, null);
             cy = 0;
         }
 
@@ -325,33 +365,29 @@ public class UITextInputBox extends UIWidget {
         int fontHeight = (int) font.getLineHeight();
 
         if (isMultiline) {
-            int pos = 0;
-            String[] lines = text.split("\n", -1);
-
-            for (int i = 0; i < lines.length; i++) {
-                int lineLen = lines[i].length();
-                int lineStart = pos;
-                int lineEnd = pos + lineLen;
+            // Only the selected lines intersecting the viewport are drawn
+            int firstLine = Math.max(text.getLineIndex(start), getFirstVisibleLine(fontHeight));
+            int lastLine = Math.min(text.getLineIndex(end), getLastVisibleLine(fontHeight));
 
-                if (start <= lineEnd && end >= lineStart) {
-                    int s = Math.max(start, lineStart) - lineStart;
-                    int e = Math.min(end, lineEnd) - lineStart;
+            for (int i = firstLine; i <= lastLine; i++) {
+                int lineStart = text.getLineStart(i);
+                int lineEnd = text.getLineEnd(i);
+                int s = Math.max(start, lineStart);
+                int e = Math.min(end, lineEnd);
 
-                    if (s < e || (s == e && lineStart >= start && lineEnd <= end)) {
-                        // Measure segments using the instance font
-                        float x1 = font.getWidth(TextComponent.literal(lines[i].substring(0, s)).setFont(font));
-                        float x2 = font.getWidth(TextComponent.literal(lines[i].substring(0, e)).setFont(font));
+                if (s < e || (s == e && lineStart >= start && lineEnd <= end)) {
+                    // Measure segments using the instance font
+                    float x1 = font.getWidth(text, lineStart, s, null);
+                    float x2 = x1 + font.getWidth(text, s, e, null);
 
-                        if (end > lineEnd) x2 += 4; // Visual padding for newline selection
+                    if (end > lineEnd) x2 += 4; // Visual padding for newline selection
 
-                        renderer.getGeometry().renderRect(baseX + x1, baseY + (i * fontHeight), x2 - x1, fontHeight, color, 0);
-                    }
+                    renderer.getGeometry().renderRect(baseX + x1, baseY + (i * fontHeight), x2 - x1, fontHeight, color, 0);
                 }
-                pos += lineLen + 1;
             }
         } else {
-            float x1 = font.getWidth(TextComponent.literal(text.substring(0, start)).setFont(font));
-            float x2 = font.getWidth(TextComponent.literal(text.substring(0, end)).setFont(font));
+            float x1 = font.getWidth(text, 0, start, null);
+            float x2 = x1 + font.getWidth(text, start, end, null);
             renderer.getGeometry().renderRect(baseX + x1, baseY, x2 - x1, fontHeight, color, 0);
         }
     }
@@ -372,9 +408,7 @@ public class UITextInputBox extends UIWidget {
                     if (cursorPosition != selectionEnd) {
                         deleteSelection();
                     } else if (cursorPosition > 0) {
-                        StringBuilder sb = new StringBuilder(text);
-                        sb.deleteCharAt(cursorPosition - 1);
-                        text = sb.toString();
+                        text.delete(cursorPosition - 1, cursorPosition);
                         moveCursor(-1, false);
                     }
                 }
@@ -384,9 +418,7 @@ public class UITextInputBox extends UIWidget {
                 if (cursorPosition != selectionEnd) {
                     deleteSelection();
                 } else if (cursorPosition < text.length()) {
-                    StringBuilder sb = new StringBuilder(text);
-                    sb.deleteCharAt(cursorPosition);
-                    text = sb.toString();
+                    text.delete(cursorPosition, cursorPosition + 1);
                 }
                 return true;
 
@@ -478,9 +510,7 @@ public class UITextInputBox extends UIWidget {
         if (text.length() + str.length() > maxLength) return;
         if (cursorPosition != selectionEnd) deleteSelection();
 
-        StringBuilder sb = new StringBuilder(text);
-        sb.insert(cursorPosition, str);
-        text = sb.toString();
+        text.insert(cursorPosition, str);
         moveCursor(str.length(), false);
     }
 
@@ -488,9 +518,7 @@ public class UITextInputBox extends UIWidget {
         int start = Math.min(cursorPosition, selectionEnd);
         int end = Math.max(cursorPosition, selectionEnd);
         if (start == end) return;
-        StringBuilder sb = new StringBuilder(text);
-        sb.delete(start, end);
-        text = sb.toString();
+        text.delete(start, end);
         setCursorPos(start, false);
     }
 
@@ -531,52 +559,25 @@ public class UITextInputBox extends UIWidget {
             return;
         }
 
-        String[] lines = text.split("\n", -1);
-
         // Find the index of the line containing the cursor
-        int currentLineIndex = 0;
-        int currentLineGlobalStart = 0;
-        int accumulatedLength = 0;
-
-        for (int i = 0; i < lines.length; i++) {
-            int lineLen = lines[i].length();
-            if (cursorPosition <= accumulatedLength + lineLen) {
-                currentLineIndex = i;
-                currentLineGlobalStart = accumulatedLength;
-                break;
-            }
-            accumulatedLength += lineLen + 1; // +1 for the newline character
-        }
+        int currentLineIndex = text.getLineIndex(cursorPosition);
 
         // Calculate target line index
         int targetLineIndex = currentLineIndex + lineOffset;
 
         // Ensure target is within bounds
-        if (targetLineIndex < 0 || targetLineIndex >= lines.length) {
+        if (targetLineIndex < 0 || targetLineIndex >= text.getLineCount()) {
             return;
         }
 
         // Calculate the visual X offset in the current line
-        int localIndexInCurrentLine = cursorPosition - currentLineGlobalStart;
-        String currentLineText = lines[currentLineIndex];
-
-        // Clamp index to valid range for the current line
-        localIndexInCurrentLine = Math.max(0, Math.min(localIndexInCurrentLine, currentLineText.length()));
-
-        String subStr = currentLineText.substring(0, localIndexInCurrentLine);
-        float currentVisX = font.getWidth(TextComponent.literal(subStr).setFont(font));
+        float currentVisX = font.getWidth(text, text.getLineStart(currentLineIndex), cursorPosition, null);
 
         // Find the index in the target line closest to the calculated X offset
-        String targetLineText = lines[targetLineIndex];
-        int localIndexInTargetLine = getIndexInLine(targetLineText, currentVisX);
-
-        // Calculate global position for the start of the target line
-        int targetLineGlobalStart = 0;
-        for (int i = 0; i < targetLineIndex; i++) {
-            targetLineGlobalStart += lines[i].length() + 1;
-        }
+        int targetIndex = font.getIndexAtWidth(text,
+                text.getLineStart(targetLineIndex), text.getLineEnd(targetLineIndex), currentVisX, null);
 
-        setCursorPos(targetLineGlobalStart + localIndexInTargetLine, keepSelection);
+        setCursorPos(targetIndex, keepSelection);
     }
 
     private void copyToClipboard() {
@@ -692,48 +693,40 @@ public class UITextInputBox extends UIWidget {
         float fontHeight = font.getLineHeight();
 
         if (isMultiline) {
-            String[] lines = text.split("\n", -1);
             int lineIdx = (int) (relativeY / fontHeight);
-            if (lineIdx < 0) lineIdx = 0;
-            if (lineIdx >= lines.length) lineIdx = lines.length - 1;
+            lineIdx = Math.max(0, Math.min(lineIdx, text.getLineCount() - 1));
 
-            int absIndex = 0;
-            for (int i = 0; i < lineIdx; i++) absIndex += lines[i].length() + 1;
-
-            return absIndex + getIndexInLine(lines[lineIdx], relativeX);
+            return font.getIndexAtWidth(text, text.getLineStart(lineIdx), text.getLineEnd(lineIdx), relativeX, null);
         } else {
-            return getIndexInLine(text, relativeX);
+            return font.getIndexAtWidth(text, 0, text.length(), relativeX, null);
         }
     }
 
     /**
-     * Helper to find the index within a single line string for a specific visual X coordinate.
-     * Iteratively measures substrings using the specific {@link #font} instance to account
-     * for kerning and variable widths of custom fonts.
+     * Gets the first line intersecting the viewport.
      */
-    private int getIndexInLine(String line, float targetX) {
-        if (line.isEmpty()) return 0;
-
-        // Iterate through the string to find the closest character split
-        for (int i = 0; i < line.length(); i++) {
-            String sub = line.substring(0, i + 1);
-            float width = font.getWidth(TextComponent.literal(sub).setFont(font));
+    private int getFirstVisibleLine(int fontHeight) {
+        return Math.max(0, (int) (scrollY / fontHeight));
+    }
 
-            if (width > targetX) {
-                // Determine if we are closer to the previous character or this one
-                String prevSub = line.substring(0, i);
-                float prevWidth = font.getWidth(TextComponent.literal(prevSub).setFont(font));
+    /**
+     * Gets the last line intersecting the viewport.
+     */
+    private int getLastVisibleLine(int fontHeight) {
+        float visibleHeight = height - (padding * 2);
+        return Math.min(text.getLineCount() - 1, (int) ((scrollY + visibleHeight) / fontHeight));
+    }
 
-                // If target is closer to prevWidth than width, return i (before current char)
-                // Otherwise return i + 1 (after current char)
-                if (targetX - prevWidth < width - targetX) {
-                    return i;
-                } else {
-                    return i + 1;
-                }
-            }
+    /**
+     * Gets the width of a line, measuring it only if it changed since the last call.
+     */
+    private float getLineWidth(int line) {
+        float width = text.getCachedWidth(line);
+        if (Float.isNaN(width)) {
+            width = font.getWidth(text, text.getLineStart(line), text.getLineEnd(line), null);
+            text.setCachedWidth(line, width);
         }
-        return line.length();
+        return width;
     }
 
     private void updateScrolling() {
@@ -742,28 +735,13 @@ public class UITextInputBox extends UIWidget {
         int fontHeight = (int) font.getLineHeight();
 
         if (isMultiline) {
-            String[] lines = text.split("\n", -1);
-            int totalLines = lines.length;
+            int totalLines = text.getLineCount();
             int totalHeight = totalLines * fontHeight;
             maxScrollY = Math.max(0, totalHeight - visibleHeight);
 
             // Identify current line and position within that line
-            int currentLineIndex = 0;
-            int pos = 0;
-            int lineStartPos = 0;
-
-            for (String line : lines) {
-                if (cursorPosition <= pos + line.length()) {
-                    lineStartPos = pos;
-                    break;
-                }
-                pos += line.length() + 1;
-                currentLineIndex++;
-            }
-            if (currentLineIndex >= lines.length) {
-                currentLineIndex = lines.length - 1;
-                lineStartPos = pos - (lines[currentLineIndex].length() + 1);
-            }
+            int currentLineIndex = text.getLineIndex(cursorPosition);
+            int lineStartPos = text.getLineStart(currentLineIndex);
 
             // --- Vertical Scroll Update (Y) ---
             float cursorY = currentLineIndex * fontHeight;
@@ -776,11 +754,7 @@ public class UITextInputBox extends UIWidget {
             scrollY = Math.max(0, Math.min(scrollY, maxScrollY));
 
             // --- Horizontal Scroll Update (X) ---
-            String currentLineText = lines[currentLineIndex];
-            int localCursorIndex = Math.max(0, Math.min(currentLineText.length(), cursorPosition - lineStartPos));
-            String subLine = currentLineText.substring(0, localCursorIndex);
-
-            int cursorX = (int) font.getWidth(TextComponent.literal(subLine).setFont(font));
+            int cursorX = (int) font.getWidth(text, lineStartPos, cursorPosition, null);
 
             if (cursorX < scrollX) {
                 scrollX = cursorX;
@@ -789,14 +763,13 @@ public class UITextInputBox extends UIWidget {
             }
 
             // Calculate max X scroll for the current line to prevent empty space
-            int lineWidth = (int) font.getWidth(TextComponent.literal(currentLineText).setFont(font));
+            int lineWidth = (int) getLineWidth(currentLineIndex);
             maxScrollX = Math.max(0, lineWidth - visibleWidth + 8);
             scrollX = Math.max(0, Math.min(scrollX, maxScrollX));
 
         } else {
             // Single-line logic: Only X scrolling is relevant
-            String sub = text.substring(0, cursorPosition);
-            int cursorX = (int) font.getWidth(TextComponent.literal(sub).setFont(font));
+            int cursorX = (int) font.getWidth(text, 0, cursorPosition, null);
 
             if (cursorX < scrollX) {
                 scrollX = cursorX;
@@ -804,7 +777,10 @@ public class UITextInputBox extends UIWidget {
                 scrollX = cursorX - visibleWidth + 4;
             }
 
-            int textWidth = (int) font.getWidth(TextComponent.literal(text).setFont(font));
+            // Text set programmatically may still contain line breaks
+            int textWidth = (int) (text.getLineCount() == 1
+                    ? getLineWidth(0)
+                    : font.getWidth(text, 0, text.length(), null));
             maxScrollX = Math.max(0, textWidth - visibleWidth + 8);
             scrollX = Math.max(0, Math.min(scrollX, maxScrollX));
 
@@ -0,0 +1,106 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.components.markdown;
+
+import java.util.List;
+
+/**
+ * An immutable block of a parsed Markdown document (a paragraph, header, table, ...).
+ * <p>
+ * Blocks are produced by {@link MarkdownParser} and compared by content: two blocks are equal if
+ * they have the same type, attributes and source lines. The hash code is computed once from that
+ * content and is stable across parses, so {@link UIMarkdown} can match the blocks of a new document
+ * against the previous one and keep the widgets of every block that did not change.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+public final class MarkdownBlock {
+
+    /**
+     * The kind of a block, which decides the widget it is rendered with.
+     */
+    public enum Type {
+        /**
+         * An empty line. Produces vertical spacing but no widget.
+         */
+        BLANK,
+        PARAGRAPH,
+        HEADER,
+        QUOTE,
+        LIST_ITEM,
+        TASK_LIST_ITEM,
+        SEPARATOR,
+        TABLE,
+        CODE_BLOCK
+    }
+
+    private final Type type;
+    private final int level;
+    private final boolean checked;
+    private final List<String> lines;
+    private final int hash;
+
+    /**
+     * Constructs a block.
+     *
+     * @param type    The block type.
+     * @param level   The header level (1-3), or 0 for other types.
+     * @param checked The state of a task list item.
+     * @param lines   The content lines (the text for single-line blocks, the source rows for tables and code).
+     */
+    MarkdownBlock(Type type, int level, boolean checked, List<String> lines) {
+        this.type = type;
+        this.level = level;
+        this.checked = checked;
+        this.lines = List.copyOf(lines);
+
+        int h = type.ordinal();
+        h = 31 * h + level;
+        h = 31 * h + (checked ? 1 : 0);
+        for (String line : this.lines) {
+            h = 31 * h + line.hashCode();
+        }
+        this.hash = h;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public boolean isChecked() {
+        return checked;
+    }
+
+    public List<String> getLines() {
+        return lines;
+    }
+
+    /**
+     * Gets the text of a single-line block.
+     *
+     * @return The first content line, or an empty string.
+     */
+    public String getText() {
+        return lines.isEmpty() ? "" : lines.get(0);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MarkdownBlock other)) return false;
+        return hash == other.hash && type == other.type && level == other.level
+                && checked == other.checked && lines.equals(other.lines);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.components.markdown;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Splits a Markdown document into a flat list of {@link MarkdownBlock}s.
+ * <p>
+ * The parser only classifies lines and groups code fences and tables; it creates no widgets and
+ * no text components. Inline formatting is parsed later, when a block's widget is built.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+public final class MarkdownParser {
+
+    private MarkdownParser() {
+    }
+
+    /**
+     * Parses a document.
+     *
+     * @param markdown The raw markdown string.
+     * @return The blocks in document order (unmodifiable).
+     */
+    public static List<MarkdownBlock> parse(String markdown) {
+        List<MarkdownBlock> blocks = new ArrayList<>();
+        String[] lines = markdown.split("\n");
+
+        List<String> codeBlockBuffer = null;
+        List<String> tableBuffer = null;
+
+        for (String line : lines) {
+            String trimmed = line.trim();
+
+            // --- 1. Code Block Handling ---
+            if (trimmed.startsWith("```")) {
+                if (codeBlockBuffer == null) {
+                    if (tableBuffer != null) {
+                        blocks.add(new MarkdownBlock(MarkdownBlock.Type.TABLE, 0, false, tableBuffer));
+                        tableBuffer = null;
+                    }
+                    codeBlockBuffer = new ArrayList<>();
+                } else {
+                    blocks.add(new MarkdownBlock(MarkdownBlock.Type.CODE_BLOCK, 0, false, codeBlockBuffer));
+                    codeBlockBuffer = null;
+                }
+                continue;
+            }
+
+            if (codeBlockBuffer != null) {
+                codeBlockBuffer.add(line);
+                continue;
+            }
+
+            // --- 2. Table Handling ---
+            if (trimmed.startsWith("|")) {
+                if (tableBuffer == null) tableBuffer = new ArrayList<>();
+                tableBuffer.add(line);
+                continue;
+            } else if (tableBuffer != null) {
+                blocks.add(new MarkdownBlock(MarkdownBlock.Type.TABLE, 0, false, tableBuffer));
+                tableBuffer = null;
+            }
+
+            // --- 3. Standard Parsing ---
+            if (trimmed.isEmpty()) {
+                blocks.add(single(MarkdownBlock.Type.BLANK, 0, false, ""));
+            } else if (trimmed.equals("---") || trimmed.equals("***")) {
+                blocks.add(single(MarkdownBlock.Type.SEPARATOR, 0, false, ""));
+            } else if (trimmed.startsWith("# ")) {
+                blocks.add(single(MarkdownBlock.Type.HEADER, 1, false, trimmed.substring(2)));
+            } else if (trimmed.startsWith("## ")) {
+                blocks.add(single(MarkdownBlock.Type.HEADER, 2, false, trimmed.substring(3)));
+            } else if (trimmed.startsWith("### ")) {
+                blocks.add(single(MarkdownBlock.Type.HEADER, 3, false, trimmed.substring(4)));
+            } else if (trimmed.startsWith("> ")) {
+                blocks.add(single(MarkdownBlock.Type.QUOTE, 0, false, trimmed.substring(2)));
+            } else if (trimmed.startsWith("- ") || trimmed.startsWith("* ")) {
+                // Check for Task List Syntax
+                if (trimmed.startsWith("- [ ] ") || trimmed.startsWith("- [x] ")) {
+                    boolean checked = trimmed.startsWith("- [x] ");
+                    // Substring: "- [x] " is 6 chars long
+                    blocks.add(single(MarkdownBlock.Type.TASK_LIST_ITEM, 0, checked, trimmed.substring(6)));
+                } else {
+                    blocks.add(single(MarkdownBlock.Type.LIST_ITEM, 0, false, trimmed.substring(2)));
+                }
+            } else {
+                blocks.add(single(MarkdownBlock.Type.PARAGRAPH, 0, false, line));
+            }
+        }
+
+        if (tableBuffer != null) blocks.add(new MarkdownBlock(MarkdownBlock.Type.TABLE, 0, false, tableBuffer));
+        if (codeBlockBuffer != null) blocks.add(new MarkdownBlock(MarkdownBlock.Type.CODE_BLOCK, 0, false, codeBlockBuffer));
+
+        return Collections.unmodifiableList(blocks);
+    }
+
+    private static MarkdownBlock single(MarkdownBlock.Type type, int level, boolean checked, String text) {
+        return new MarkdownBlock(type, level, checked, List.of(text));
+    }
+}
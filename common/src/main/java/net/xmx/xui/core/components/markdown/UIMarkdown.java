@@ -5,17 +5,26 @@
 package net.xmx.xui.core.components.markdown;
 
 import net.xmx.xui.core.Layout;
+import net.xmx.xui.core.UIWidget;
 import net.xmx.xui.core.components.UIPanel;
 import net.xmx.xui.core.font.DefaultFonts;
 import net.xmx.xui.core.font.Font;
 import net.xmx.xui.core.style.ThemeProperties;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * A widget that parses comprehensive Markdown syntax and renders it using native UI components.
  * Updated to use native Checkbox rendering for Task Lists.
+ * <p>
+ * The document is parsed into an immutable list of {@link MarkdownBlock}s. When the markdown, a font,
+ * or the width changes, the new blocks are matched against the previous ones by content and only the
+ * blocks that changed (or whose width or font changed) get new widgets; all others are reused.
+ * </p>
  *
  * @author xI-Mx-Ix
  */
@@ -25,6 +34,10 @@ public class UIMarkdown extends UIPanel {
     private float currentLayoutY = 0;
     private float contentWidth = 200.0f;
 
+    // --- Parsed Document ---
+    private List<MarkdownBlock> blocks = List.of();
+    private List<BuiltBlock> builtBlocks = List.of();
+
     // --- Font Configurations ---
     // Default to Vanilla to ensure compatibility if nothing is set
     private Font regularFont = DefaultFonts.getVanilla();
@@ -52,8 +65,8 @@ public class UIMarkdown extends UIPanel {
         this.regularFont = font;
         this.headerFont = font;
         this.codeFont = font;
-        // If content already exists, we must rebuild the widgets to apply the new font
-        if (!rawMarkdown.isEmpty()) rebuild();
+        // If content already exists, the widgets using a changed font must be rebuilt
+        if (!rawMarkdown.isEmpty()) reconcile();
         return this;
     }
 
@@ -66,7 +79,7 @@ public class UIMarkdown extends UIPanel {
      */
     public UIMarkdown setRegularFont(Font font) {
         this.regularFont = font;
-        if (!rawMarkdown.isEmpty()) rebuild();
+        if (!rawMarkdown.isEmpty()) reconcile();
         return this;
     }
 
@@ -78,7 +91,7 @@ public class UIMarkdown extends UIPanel {
      */
     public UIMarkdown setHeaderFont(Font font) {
         this.headerFont = font;
-        if (!rawMarkdown.isEmpty()) rebuild();
+        if (!rawMarkdown.isEmpty()) reconcile();
         return this;
     }
 
@@ -90,7 +103,7 @@ public class UIMarkdown extends UIPanel {
      */
     public UIMarkdown setCodeFont(Font font) {
         this.codeFont = font;
-        if (!rawMarkdown.isEmpty()) rebuild();
+        if (!rawMarkdown.isEmpty()) reconcile();
         return this;
     }
 
@@ -105,13 +118,13 @@ public class UIMarkdown extends UIPanel {
         this.contentWidth = width;
         this.setWidth(Layout.pixel(width));
         if (!rawMarkdown.isEmpty()) {
-            rebuild(); // Rebuild layout if content exists
+            reconcile(); // Rebuild layout if content exists
         }
         return this;
     }
 
     /**
-     * Sets the markdown content and rebuilds the UI structure.
+     * Sets the markdown content and updates the UI structure.
      *
      * @param markdown The raw markdown string.
      * @return This widget.
@@ -123,156 +136,139 @@ public class UIMarkdown extends UIPanel {
     }
 
     /**
-     * Clears current children and parses the markdown to create new widgets.
+     * Parses the markdown and updates the widgets to match the new blocks.
      */
     private void rebuild() {
-        this.children.clear();
-        this.currentLayoutY = 0;
-
-        String[] lines = rawMarkdown.split("\n");
+        this.blocks = MarkdownParser.parse(rawMarkdown);
+        reconcile();
+    }
 
-        List<String> codeBlockBuffer = null;
-        List<String> tableBuffer = null;
+    /**
+     * Builds the widget list for the current blocks, reusing the widgets of the previous pass.
+     * <p>
+     * A widget is reused if its block has equal content and was built with the current width and font,
+     * so editing one paragraph of a long document only builds a single new widget. Reused widgets
+     * are merely moved to their new Y position.
+     * </p>
+     */
+    private void reconcile() {
+        // 1. Index the widgets of the previous pass by block content (duplicates are kept in order)
+        Map<MarkdownBlock, ArrayDeque<BuiltBlock>> reusable = new HashMap<>();
+        for (BuiltBlock built : builtBlocks) {
+            reusable.computeIfAbsent(built.block, k -> new ArrayDeque<>()).add(built);
+        }
 
-        for (String line : lines) {
-            String trimmed = line.trim();
+        // 2. Lay out the new blocks, taking a matching widget where possible
+        List<BuiltBlock> next = new ArrayList<>(blocks.size());
+        this.children.clear();
+        this.currentLayoutY = 0;
 
-            // --- 1. Code Block Handling ---
-            if (trimmed.startsWith("```")) {
-                if (codeBlockBuffer == null) {
-                    if (tableBuffer != null) { flushTable(tableBuffer); tableBuffer = null; }
-                    codeBlockBuffer = new ArrayList<>();
-                } else {
-                    addCodeBlock(codeBlockBuffer);
-                    codeBlockBuffer = null;
-                }
+        for (MarkdownBlock block : blocks) {
+            if (block.getType() == MarkdownBlock.Type.BLANK) {
+                currentLayoutY += 8;
                 continue;
             }
 
-            if (codeBlockBuffer != null) {
-                codeBlockBuffer.add(line);
-                continue;
+            Font font = getFontFor(block.getType());
+            BuiltBlock built = null;
+            ArrayDeque<BuiltBlock> candidates = reusable.get(block);
+            if (candidates != null && !candidates.isEmpty()) {
+                BuiltBlock candidate = candidates.poll();
+                if (candidate.width == contentWidth && candidate.font == font) {
+                    built = candidate;
+                }
             }
-
-            // --- 2. Table Handling ---
-            if (trimmed.startsWith("|")) {
-                if (tableBuffer == null) tableBuffer = new ArrayList<>();
-                tableBuffer.add(line);
-                continue;
-            } else if (tableBuffer != null) {
-                flushTable(tableBuffer);
-                tableBuffer = null;
+            if (built == null) {
+                built = build(block, font);
             }
 
-            // --- 3. Standard Parsing ---
-            if (trimmed.isEmpty()) {
-                currentLayoutY += 8;
-                continue;
-            }
+            built.widget.setY(Layout.pixel(currentLayoutY));
+            this.add(built.widget);
+            next.add(built);
 
-            if (trimmed.equals("---") || trimmed.equals("***")) {
-                addSeparator();
-            } else if (trimmed.startsWith("# ")) {
-                addHeader(trimmed.substring(2), 0xFFFFAA00); // GOLD
-            } else if (trimmed.startsWith("## ")) {
-                addHeader(trimmed.substring(3), 0xFFFFFF55); // YELLOW
-            } else if (trimmed.startsWith("### ")) {
-                addHeader(trimmed.substring(4), 0xFF55FFFF); // AQUA
-            } else if (trimmed.startsWith("> ")) {
-                addQuote(trimmed.substring(2));
-            } else if (trimmed.startsWith("- ") || trimmed.startsWith("* ")) {
-                // Check for Task List Syntax
-                if (trimmed.startsWith("- [ ] ") || trimmed.startsWith("- [x] ")) {
-                    boolean checked = trimmed.startsWith("- [x] ");
-                    // Substring: "- [x] " is 6 chars long
-                    addTaskListItem(trimmed.substring(6), checked);
-                } else {
-                    addListItem(trimmed.substring(2));
-                }
-            } else {
-                addFlowParagraph(line);
-            }
+            currentLayoutY += built.height;
         }
 
-        if (tableBuffer != null) flushTable(tableBuffer);
-        if (codeBlockBuffer != null) addCodeBlock(codeBlockBuffer);
-
+        this.builtBlocks = next;
         this.setHeight(Layout.pixel(currentLayoutY));
     }
 
-    // --- Component Generators ---
-
-    private void flushTable(List<String> lines) {
-        // Pass regular font to table
-        MarkdownTable table = new MarkdownTable(lines, contentWidth, regularFont);
-        table.setY(Layout.pixel(currentLayoutY));
-        this.add(table);
-
-        currentLayoutY += table.getRenderHeight();
-    }
-
-    private void addSeparator() {
-        MarkdownSeparator separator = new MarkdownSeparator(contentWidth);
-        separator.setY(Layout.pixel(currentLayoutY));
-        this.add(separator);
-
-        currentLayoutY += separator.getRenderHeight();
+    private Font getFontFor(MarkdownBlock.Type type) {
+        return switch (type) {
+            case HEADER -> headerFont;
+            case CODE_BLOCK -> codeFont;
+            case SEPARATOR -> null;
+            default -> regularFont;
+        };
     }
 
-    private void addHeader(String rawText, int color) {
-        // Pass header font
-        MarkdownHeader header = new MarkdownHeader(MarkdownUtils.parseInline(rawText), color, contentWidth, headerFont);
-        header.setY(Layout.pixel(currentLayoutY));
-        this.add(header);
-
-        currentLayoutY += header.getRenderHeight();
-    }
-
-    private void addQuote(String rawText) {
-        // Pass regular font
-        MarkdownQuote quote = new MarkdownQuote(MarkdownUtils.parseInline(rawText), contentWidth, regularFont);
-        quote.setY(Layout.pixel(currentLayoutY));
-        this.add(quote);
-
-        currentLayoutY += quote.getRenderHeight();
-    }
-
-    private void addListItem(String rawText) {
-        // Pass regular font
-        MarkdownListItem item = new MarkdownListItem(rawText, contentWidth, regularFont);
-        item.setY(Layout.pixel(currentLayoutY));
-        this.add(item);
-
-        currentLayoutY += item.getRenderHeight();
-    }
+    // --- Component Generators ---
 
     /**
-     * Adds a Task List item using the new visual renderer.
+     * Creates the widget of a block.
      */
-    private void addTaskListItem(String rawText, boolean checked) {
-        // Pass regular font
-        MarkdownTaskListItem item = new MarkdownTaskListItem(rawText, checked, contentWidth, regularFont);
-        item.setY(Layout.pixel(currentLayoutY));
-        this.add(item);
+    private BuiltBlock build(MarkdownBlock block, Font font) {
+        UIWidget widget;
+        float height;
+
+        switch (block.getType()) {
+            case TABLE -> {
+                MarkdownTable table = new MarkdownTable(block.getLines(), contentWidth, font);
+                widget = table;
+                height = table.getRenderHeight();
+            }
+            case CODE_BLOCK -> {
+                MarkdownCodeBlock code = new MarkdownCodeBlock(block.getLines(), contentWidth, font);
+                widget = code;
+                height = code.getRenderHeight();
+            }
+            case SEPARATOR -> {
+                MarkdownSeparator separator = new MarkdownSeparator(contentWidth);
+                widget = separator;
+                height = separator.getRenderHeight();
+            }
+            case HEADER -> {
+                MarkdownHeader header = new MarkdownHeader(MarkdownUtils.parseInline(block.getText()),
+                        getHeaderColor(block.getLevel()), contentWidth, font);
+                widget = header;
+                height = header.getRenderHeight();
+            }
+            case QUOTE -> {
+                MarkdownQuote quote = new MarkdownQuote(MarkdownUtils.parseInline(block.getText()), contentWidth, font);
+                widget = quote;
+                height = quote.getRenderHeight();
+            }
+            case LIST_ITEM -> {
+                MarkdownListItem item = new MarkdownListItem(block.getText(), contentWidth, font);
+                widget = item;
+                height = item.getRenderHeight();
+            }
+            case TASK_LIST_ITEM -> {
+                MarkdownTaskListItem item = new MarkdownTaskListItem(block.getText(), block.isChecked(), contentWidth, font);
+                widget = item;
+                height = item.getRenderHeight();
+            }
+            default -> {
+                MarkdownParagraph paragraph = new MarkdownParagraph(block.getText(), contentWidth, font);
+                widget = paragraph;
+                height = paragraph.getRenderHeight();
+            }
+        }
 
-        currentLayoutY += item.getRenderHeight();
+        return new BuiltBlock(block, widget, height, contentWidth, font);
     }
 
-    private void addCodeBlock(List<String> lines) {
-        // Pass code font
-        MarkdownCodeBlock block = new MarkdownCodeBlock(lines, contentWidth, codeFont);
-        block.setY(Layout.pixel(currentLayoutY));
-        this.add(block);
-
-        currentLayoutY += block.getRenderHeight();
+    private static int getHeaderColor(int level) {
+        return switch (level) {
+            case 1 -> 0xFFFFAA00; // GOLD
+            case 2 -> 0xFFFFFF55; // YELLOW
+            default -> 0xFF55FFFF; // AQUA
+        };
     }
 
-    private void addFlowParagraph(String line) {
-        // Pass regular font
-        MarkdownParagraph paragraph = new MarkdownParagraph(line, contentWidth, regularFont);
-        paragraph.setY(Layout.pixel(currentLayoutY));
-        this.add(paragraph);
-
-        currentLayoutY += paragraph.getRenderHeight();
+    /**
+     * A block together with the widget built for it and the inputs the widget depends on.
+     */
+    private record BuiltBlock(MarkdownBlock block, UIWidget widget, float height, float width, Font font) {
     }
-}
\ No newline at end of file
+}
@@ -13,6 +13,7 @@ import net.xmx.xui.core.style.InteractionState;
 import net.xmx.xui.core.style.ThemeProperties;
 import org.lwjgl.glfw.GLFW;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -30,6 +31,9 @@ import java.util.Map;
  *     <li><b>Smooth Interpolation:</b> animating scroll positions for a fluid feel.</li>
  *     <li><b>Input Mapping:</b> Mouse Wheel scrolls Y, Shift + Mouse Wheel scrolls X.</li>
  *     <li><b>Event Propagation:</b> Correctly transforms mouse coordinates for children.</li>
+ *     <li><b>Viewport Culling:</b> Children outside the viewport are not rendered. If the children are
+ *     stacked vertically, the visible ones are found by binary search, so the cost per frame depends
+ *     on the number of visible children rather than on the total count.</li>
  * </ul>
  * </p>
  *
@@ -50,6 +54,31 @@ public class UIScrollComponent extends UIWidget {
      */
     private final Map<UIWidget, Float> childBaseYPositions = new HashMap<>();
 
+    // --- Culling Index (rebuilt on layout) ---
+
+    /**
+     * The top and bottom edges of the children's subtree bounds, in child order.
+     * Only used if {@link #stackedVertically} is true.
+     */
+    private float[] childTops = new float[0];
+    private float[] childBottoms = new float[0];
+
+    /**
+     * True if both edges are non-decreasing in child order and no child opted out of culling.
+     */
+    private boolean stackedVertically = false;
+
+    /**
+     * Indices of the children that keep animating while culled (see {@link UIWidget#setTickWhenCulled}).
+     */
+    private int[] tickingChildren = new int[0];
+    private int tickingCount = 0;
+
+    /**
+     * Scratch buffer for the viewport in content coordinates.
+     */
+    private final float[] cullRect = new float[4];
+
     // --- Scrolling State ---
 
     /**
@@ -155,6 +184,7 @@ public class UIScrollComponent extends UIWidget {
 
         // 3. Calculate how large the content actually is.
         calculateContentDimensions();
+        buildCullingIndex();
 
         // 4. Update the scroll limits based on the new content vs viewport size.
         updateScrollLimits();
@@ -196,6 +226,42 @@ public class UIScrollComponent extends UIWidget {
         if (contentHeight > 0) contentHeight += 5.0f;
     }
 
+    /**
+     * Records the vertical extent of every child so the visible range can be found by binary search.
+     * <p>
+     * The fast path requires the children to be stacked from top to bottom (the common list case).
+     * Otherwise, culling falls back to testing each child.
+     * </p>
+     */
+    private void buildCullingIndex() {
+        int count = children.size();
+        if (childTops.length != count) {
+            childTops = new float[count];
+            childBottoms = new float[count];
+        }
+
+        stackedVertically = true;
+        tickingCount = 0;
+        for (int i = 0; i < count; i++) {
+            UIWidget child = children.get(i);
+            childTops[i] = child.getSubtreeMinY();
+            childBottoms[i] = child.getSubtreeMaxY();
+
+            if (!child.isSubtreeCullable()) {
+                stackedVertically = false;
+            } else if (i > 0 && (childTops[i] < childTops[i - 1] || childBottoms[i] < childBottoms[i - 1])) {
+                stackedVertically = false;
+            }
+
+            if (child.isSubtreeTickingWhenCulled()) {
+                if (tickingCount == tickingChildren.length) {
+                    tickingChildren = Arrays.copyOf(tickingChildren, Math.max(4, tickingCount * 2));
+                }
+                tickingChildren[tickingCount++] = i;
+            }
+        }
+    }
+
     /**
      * Updates the maximum scrollable values.
      * Formula: Max Scroll = Content Size - Viewport Size.
@@ -231,6 +297,9 @@ public class UIScrollComponent extends UIWidget {
     public void render(UIRenderer renderer, int mouseX, int mouseY, float partialTick, float deltaTime) {
         if (!isVisible) return;
 
+        // Register the bounds for pointer queries
+        recordHitBounds();
+
         // Update hover state for the container itself
         updateHoverState(mouseX, mouseY);
 
@@ -262,14 +331,15 @@ public class UIScrollComponent extends UIWidget {
         int scrolledMouseX = (int) (mouseX + scrollX);
         int scrolledMouseY = (int) (mouseY + scrollY);
 
+        // Children are clipped to the viewport and receive scrolled coordinates
+        pushHitClip(scrollX, scrollY);
+
         handlingChildEvent = true;
         try {
-            for (UIWidget child : children) {
-                // Potential optimization: Check if child is within viewport bounds before rendering.
-                child.render(renderer, scrolledMouseX, scrolledMouseY, partialTick, deltaTime);
-            }
+            renderVisibleChildren(renderer, scrolledMouseX, scrolledMouseY, partialTick, deltaTime);
         } finally {
             handlingChildEvent = false;
+            popHitClip();
         }
 
         // Revert Translation
@@ -281,6 +351,61 @@ public class UIScrollComponent extends UIWidget {
         }
     }
 
+    /**
+     * Renders only the children that intersect the viewport.
+     * <p>
+     * For vertically stacked children, the first visible child is found by binary search and
+     * rendering stops at the first child below the viewport. Culled children that opted in to
+     * ticking are advanced separately. In all other cases, the generic per-child test of
+     * {@link UIWidget#renderChildren} is used.
+     * </p>
+     */
+    private void renderVisibleChildren(UIRenderer renderer, int mouseX, int mouseY, float partialTick, float deltaTime) {
+        int count = children.size();
+        if (!stackedVertically || childTops.length != count || !computeCullRect(renderer, cullRect)) {
+            renderChildren(renderer, mouseX, mouseY, partialTick, deltaTime);
+            return;
+        }
+
+        float minX = cullRect[0];
+        float minY = cullRect[1];
+        float maxX = cullRect[2];
+        float maxY = cullRect[3];
+
+        // 1. Find the first child whose bottom edge is below the top of the viewport
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (childBottoms[mid] <= minY) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int first = low;
+
+        // 2. Render until a child starts below the viewport
+        int end = first;
+        while (end < count && childTops[end] < maxY) {
+            UIWidget child = children.get(end);
+            if (child.isOutside(minX, minY, maxX, maxY)) {
+                child.tickCulled(deltaTime);
+            } else {
+                child.render(renderer, mouseX, mouseY, partialTick, deltaTime);
+            }
+            end++;
+        }
+
+        // 3. Keep the opted-in animations of the skipped children running
+        for (int i = 0; i < tickingCount; i++) {
+            int index = tickingChildren[i];
+            if (index < first || index >= end) {
+                children.get(index).tickCulled(deltaTime);
+            }
+        }
+    }
+
     /**
      * Interpolates the current scroll positions towards their targets using an exponential decay function.
      *
@@ -357,7 +482,8 @@ public class UIScrollComponent extends UIWidget {
         try {
             // Iterate in reverse Z-order (topmost first)
             for (int i = children.size() - 1; i >= 0; i--) {
-                if (children.get(i).mouseScrolled(scrolledMouseX, scrolledMouseY, scrollDelta)) {
+                UIWidget child = children.get(i);
+                if (!child.isOffPointerRoute() && child.mouseScrolled(scrolledMouseX, scrolledMouseY, scrollDelta)) {
                     return true; // Child consumed the event
                 }
             }
@@ -410,6 +536,10 @@ public class UIScrollComponent extends UIWidget {
         try {
             for (int i = children.size() - 1; i >= 0; i--) {
                 UIWidget child = children.get(i);
+                if (child.isOffPointerRoute()) {
+                    child.unfocus();
+                    continue;
+                }
                 if (child.mouseClicked(scrolledMouseX, scrolledMouseY, button)) {
                     // Unfocus siblings
                     for (UIWidget sibling : children) {
@@ -481,7 +611,7 @@ public class UIScrollComponent extends UIWidget {
         if (!isVisible) return;
 
         // Update own hover state (Physical coords)
-        updateHoverState((int) mouseX, (int) mouseY);
+        mouseMovedSelf(mouseX, mouseY);
 
         double scrolledMouseX = mouseX + scrollX;
         double scrolledMouseY = mouseY + scrollY;
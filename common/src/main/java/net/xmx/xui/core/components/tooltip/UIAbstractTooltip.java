@@ -111,6 +111,9 @@ public abstract class UIAbstractTooltip extends UIPanel implements UIWidget.Widg
         // Add the content panel as a direct child of the tooltip frame
         super.add(this.contentPanel);
 
+        // The visibility state machine runs in render(), so the tooltip must never be culled
+        this.setCullable(false);
+
         // Tooltips are logically visible but visually hidden by opacity initially
         this.setVisible(true);
     }
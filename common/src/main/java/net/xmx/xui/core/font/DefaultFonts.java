@@ -4,6 +4,7 @@
  */
 package net.xmx.xui.core.font;
 
+import net.xmx.xui.core.font.layout.TextLayoutCache;
 import net.xmx.xui.core.font.type.CustomFont;
 import net.xmx.xui.core.font.type.VanillaFont;
 import net.xmx.xui.init.XuiMainClass;
@@ -30,6 +31,11 @@ public final class DefaultFonts {
      * This method must be called exactly once during the application startup,
      * specifically after the Render System/OpenGL context is ready.
      * </p>
+     * <p>
+     * The font atlases are only submitted for background loading here, so all variants decode
+     * in parallel while the client keeps starting up. Each variant is materialized on first use,
+     * which only waits if its decoding has not finished yet.
+     * </p>
      */
     public static void init() {
         // Prevent double initialization
@@ -62,6 +68,20 @@ public final class DefaultFonts {
         }
     }
 
+    /**
+     * Discards the caches derived from font metrics.
+     * <p>
+     * Called after every client resource reload, since a resource pack can replace the
+     * native font and with it the advances that shaped layouts were computed from.
+     * </p>
+     */
+    public static void onResourceReload() {
+        TextLayoutCache.getInstance().clear();
+        if (vanilla != null) {
+            vanilla.clearAdvanceCache();
+        }
+    }
+
     /**
      * Retrieves the JetBrains Mono Custom Font instance.
      *
@@ -65,6 +65,65 @@ public abstract class Font {
      */
     public abstract float getWordWrapHeight(TextComponent component, float maxWidth);
 
+    // --- Range Measurement ---
+
+    /**
+     * Gets the horizontal advance of a single character in pixels.
+     *
+     * @param c     The character.
+     * @param style The component whose style (bold/italic) applies, or null for plain text.
+     * @return The advance in pixels.
+     */
+    public abstract float getAdvance(char c, TextComponent style);
+
+    /**
+     * Measures a range of characters without creating any intermediate strings or components.
+     * <p>
+     * This is intended for hot paths like caret positioning, word wrapping or column sizing,
+     * which previously had to build a {@link TextComponent} for every substring they measured.
+     * </p>
+     *
+     * @param text  The characters to measure.
+     * @param start The start index (inclusive).
+     * @param end   The end index (exclusive).
+     * @param style The component whose style (bold/italic) applies, or null for plain text.
+     * @return The width of the range in pixels.
+     */
+    public float getWidth(CharSequence text, int start, int end, TextComponent style) {
+        float width = 0;
+        for (int i = start; i < end; i++) {
+            width += getAdvance(text.charAt(i), style);
+        }
+        return width;
+    }
+
+    /**
+     * Finds the caret index closest to a horizontal offset within a range of characters (hit testing).
+     * <p>
+     * The offset is relative to the start of the range. Positions left of the range map to
+     * {@code start}, positions right of it to {@code end}. Within a character, the caret snaps
+     * to the nearer of its two edges.
+     * </p>
+     *
+     * @param text  The characters to test.
+     * @param start The start index (inclusive).
+     * @param end   The end index (exclusive).
+     * @param x     The horizontal offset in pixels, relative to the start of the range.
+     * @param style The component whose style (bold/italic) applies, or null for plain text.
+     * @return The caret index in the range {@code [start, end]}.
+     */
+    public int getIndexAtWidth(CharSequence text, int start, int end, float x, TextComponent style) {
+        float cursor = 0;
+        for (int i = start; i < end; i++) {
+            float advance = getAdvance(text.charAt(i), style);
+            if (x < cursor + advance) {
+                return (x - cursor < advance * 0.5f) ? i : i + 1;
+            }
+            cursor += advance;
+        }
+        return end;
+    }
+
     /**
      * Renders a single line of text.
      *
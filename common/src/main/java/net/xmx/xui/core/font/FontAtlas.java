@@ -5,20 +5,14 @@
 package net.xmx.xui.core.font;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import net.xmx.xui.core.font.data.FontMetadata;
+import net.xmx.xui.core.font.data.GlyphTable;
+import net.xmx.xui.core.sdf.LazySDFAtlas;
 import net.xmx.xui.core.sdf.SDFAtlas;
-import net.xmx.xui.core.sdf.SDFMetadata;
-import net.xmx.xui.core.sdf.SDFType;
-import net.xmx.xui.core.sdf.texture.SDFTextureLoader;
 import net.xmx.xui.init.XuiMainClass;
 
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
+import java.io.Reader;
+import java.util.List;
 
 /**
  * Manages the loading and storage of a single font variant (e.g., "Regular" or "Bold").
@@ -26,84 +20,73 @@ import java.util.HashMap;
  * This class implements {@link SDFAtlas}, making it compatible with the shared rendering pipeline.
  * It parses specific font metrics alongside the standard MSDF metadata.
  * </p>
+ * <p>
+ * The font is loaded in the background (see {@link LazySDFAtlas}) and materialized on first use,
+ * e.g. when text using it is measured or drawn for the first time.
+ * </p>
  *
  * @author xI-Mx-Ix
  */
-public class FontAtlas implements SDFAtlas {
+public class FontAtlas extends LazySDFAtlas<FontMetadata> {
+
+    private final String path;
+
+    // --- Materialized on first use ---
+    private GlyphTable glyphTable;
 
     /**
-     * The parsed metadata containing metrics and glyph bounds.
+     * The glyph drawn for characters missing in all fonts of the chain ('?'), or null.
      */
-    private final FontMetadata fontData;
+    private FontMetadata.Glyph replacementGlyph;
 
     /**
-     * The OpenGL texture ID handle for the loaded PNG atlas.
+     * The advance (in em) used for characters without any glyph, taken from the space character.
      */
-    private final int textureId;
+    private float missingAdvance;
 
     /**
-     * Constructs a new font atlas by loading resources from the classpath.
+     * Constructs a new font atlas and starts loading its resources from the classpath.
      *
      * @param namespace The resource namespace (e.g., "xui").
      * @param path      The relative path and name of the font file (e.g., "fonts/jetbrains-mono").
      */
     public FontAtlas(String namespace, String path) {
-        String basePath = "/assets/" + namespace + "/fonts/" + path;
-
-        // 1. Load and Parse JSON Metadata
-        try (InputStream jsonStream = getClass().getResourceAsStream(basePath + ".json")) {
-            if (jsonStream == null) {
-                throw new RuntimeException("Font JSON resource not found at path: " + basePath + ".json");
-            }
-
-            Gson gson = new Gson();
-            JsonObject root = gson.fromJson(new InputStreamReader(jsonStream, StandardCharsets.UTF_8), JsonObject.class);
-
-            this.fontData = new FontMetadata();
-            // Parse generic atlas info
-            this.fontData.atlas = gson.fromJson(root.get("atlas"), SDFMetadata.AtlasInfo.class);
-            // Parse font specific metrics
-            this.fontData.metrics = gson.fromJson(root.get("metrics"), FontMetadata.Metrics.class);
-
-            // Manually populate the glyph map for O(1) access
-            this.fontData.glyphMap = new HashMap<>();
-            JsonArray glyphs = root.getAsJsonArray("glyphs");
-
-            for (JsonElement el : glyphs) {
-                FontMetadata.Glyph g = gson.fromJson(el, FontMetadata.Glyph.class);
-                this.fontData.glyphMap.put(g.unicode, g);
-            }
-
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to parse font JSON metadata for: " + path, e);
-        }
+        super("/assets/" + namespace + "/fonts/" + path, FontMetadata.class);
+        this.path = path;
+    }
+
+    @Override
+    protected FontMetadata parseJson(Reader reader) {
+        return new Gson().fromJson(reader, FontMetadata.class);
+    }
 
-        if (this.fontData.atlas.type != null) {
-            this.textureId = SDFTextureLoader.loadSDFTexture(basePath + ".png", this.fontData.atlas.type);
-        } else {
-            XuiMainClass.LOGGER.error("FontAtlas: Font " + path + " has no atlas type specified in metadata.");
-            this.textureId = SDFTextureLoader.loadSDFTexture(basePath + ".png", SDFType.MSDF);
+    @Override
+    protected void prepare(FontMetadata metadata) {
+        // Build the glyph table for O(1) access and link the glyphs to this atlas
+        List<FontMetadata.Glyph> glyphs = metadata.glyphs != null ? metadata.glyphs : List.of();
+        for (FontMetadata.Glyph glyph : glyphs) {
+            glyph.atlas = this;
         }
+        metadata.glyphTable = new GlyphTable(glyphs);
     }
 
-    /**
-     * Gets the OpenGL texture ID for this font's atlas.
-     *
-     * @return The integer texture handle.
-     */
     @Override
-    public int getTextureId() {
-        return textureId;
+    protected int getChannels(FontMetadata metadata) {
+        if (metadata.atlas == null || metadata.atlas.type == null) {
+            XuiMainClass.LOGGER.error("FontAtlas: Font " + getBasePath() + " has no atlas type specified in metadata.");
+        }
+        return super.getChannels(metadata);
     }
 
     /**
-     * Gets the full metadata object associated with this font.
-     *
-     * @return The MSDF data containing metrics and atlas info.
+     * Resolves the per-font lookup state once the metadata is available.
      */
-    @Override
-    public SDFMetadata getMetadata() {
-        return fontData;
+    private void materialize() {
+        FontMetadata data = getLoadedMetadata();
+        this.replacementGlyph = data.glyphTable.get('?');
+        FontMetadata.Glyph space = data.glyphTable.get(' ');
+        this.missingAdvance = (space != null) ? space.advance : 0.5f;
+        this.glyphTable = data.glyphTable;
     }
 
     /**
@@ -112,7 +95,16 @@ public class FontAtlas implements SDFAtlas {
      * @return The typed FontMetadata.
      */
     public FontMetadata getFontData() {
-        return fontData;
+        return getLoadedMetadata();
+    }
+
+    /**
+     * Gets the relative path of the font (e.g., "roboto/Roboto-Regular").
+     *
+     * @return The font path.
+     */
+    public String getPath() {
+        return path;
     }
 
     /**
@@ -122,6 +114,27 @@ public class FontAtlas implements SDFAtlas {
      * @return The Glyph data or null.
      */
     public FontMetadata.Glyph getGlyph(int unicode) {
-        return fontData.glyphMap.get(unicode);
+        if (glyphTable == null) materialize();
+        return glyphTable.get(unicode);
+    }
+
+    /**
+     * Gets the glyph drawn in place of characters that no font in the fallback chain contains.
+     *
+     * @return The '?' glyph, or null if this font has none.
+     */
+    public FontMetadata.Glyph getReplacementGlyph() {
+        if (glyphTable == null) materialize();
+        return replacementGlyph;
+    }
+
+    /**
+     * Gets the advance used for characters that cannot be drawn at all.
+     *
+     * @return The advance in em units (the width of a space).
+     */
+    public float getMissingAdvance() {
+        if (glyphTable == null) materialize();
+        return missingAdvance;
     }
-}
\ No newline at end of file
+}
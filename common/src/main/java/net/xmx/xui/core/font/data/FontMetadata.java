@@ -5,9 +5,10 @@
 package net.xmx.xui.core.font.data;
 
 import com.google.gson.annotations.SerializedName;
+import net.xmx.xui.core.sdf.SDFAtlas;
 import net.xmx.xui.core.sdf.SDFMetadata;
 
-import java.util.Map;
+import java.util.List;
 
 /**
  * Specialized metadata for Fonts, extending the base MSDF structure
@@ -24,13 +25,19 @@ public class FontMetadata extends SDFMetadata {
     public Metrics metrics;
 
     /**
-     * A map allowing fast lookup of glyph data by their Unicode integer value.
+     * The glyphs of the font in file order.
+     */
+    @SerializedName("glyphs")
+    public List<Glyph> glyphs;
+
+    /**
+     * A table allowing fast lookup of glyph data by their Unicode integer value.
      * <p>
      * <b>Note:</b> This field is transient because it is populated manually
-     * after parsing the raw JSON array for performance reasons (O(1) lookup).
+     * from {@link #glyphs} after loading, for performance reasons (O(1) lookup without boxing).
      * </p>
      */
-    public transient Map<Integer, Glyph> glyphMap;
+    public transient GlyphTable glyphTable;
 
     /**
      * Holds font metric values describing vertical font layout.
@@ -82,5 +89,12 @@ public class FontMetadata extends SDFMetadata {
          * The pixel coordinates in the atlas.
          */
         public SDFMetadata.Bounds atlasBounds;
+
+        /**
+         * The atlas this glyph belongs to. Assigned when the font is loaded (or the glyph is
+         * created by a dynamic atlas), so a glyph resolved through a fallback is rendered
+         * with the correct texture.
+         */
+        public transient SDFAtlas atlas;
     }
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.font.data;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * An immutable lookup table from Unicode codepoints to glyphs without boxing.
+ * <p>
+ * Glyph lookups happen for every character during layout and rendering, so this table avoids
+ * the {@code Integer} keys and hashing of a {@code HashMap}:
+ * <ul>
+ *     <li><b>Dense Block:</b> Codepoints below {@link #DENSE_LIMIT} (ASCII, Latin-1 and Latin Extended)
+ *     are stored in a plain array indexed by the codepoint.</li>
+ *     <li><b>Sparse Block:</b> All other codepoints are stored in an open-addressing hash table
+ *     with linear probing over primitive {@code int} keys, kept at most half full.</li>
+ * </ul>
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+public final class GlyphTable {
+
+    /**
+     * Codepoints below this value are stored in the dense array (up to the end of Latin Extended-B).
+     */
+    public static final int DENSE_LIMIT = 0x0250;
+
+    /**
+     * Marks an unused slot of the sparse table (not a valid codepoint).
+     */
+    private static final int EMPTY = -1;
+
+    private final FontMetadata.Glyph[] dense = new FontMetadata.Glyph[DENSE_LIMIT];
+    private final int[] sparseKeys;
+    private final FontMetadata.Glyph[] sparseValues;
+    private final int sparseMask;
+    private final int size;
+
+    /**
+     * Builds the table from the glyphs of a font.
+     * If a codepoint occurs more than once, the last glyph wins.
+     *
+     * @param glyphs The glyphs to index.
+     */
+    public GlyphTable(Collection<FontMetadata.Glyph> glyphs) {
+        // 1. Count the codepoints outside of the dense block to size the sparse table
+        int sparseCount = 0;
+        for (FontMetadata.Glyph glyph : glyphs) {
+            if (glyph.unicode < 0 || glyph.unicode >= DENSE_LIMIT) sparseCount++;
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(4, sparseCount * 2 - 1)) << 1;
+        this.sparseKeys = new int[capacity];
+        this.sparseValues = new FontMetadata.Glyph[capacity];
+        this.sparseMask = capacity - 1;
+        Arrays.fill(sparseKeys, EMPTY);
+
+        // 2. Insert the glyphs
+        int count = 0;
+        for (FontMetadata.Glyph glyph : glyphs) {
+            int cp = glyph.unicode;
+            if (cp >= 0 && cp < DENSE_LIMIT) {
+                if (dense[cp] == null) count++;
+                dense[cp] = glyph;
+            } else if (cp >= 0) {
+                int slot = mix(cp) & sparseMask;
+                while (sparseKeys[slot] != EMPTY && sparseKeys[slot] != cp) {
+                    slot = (slot + 1) & sparseMask;
+                }
+                if (sparseKeys[slot] == EMPTY) count++;
+                sparseKeys[slot] = cp;
+                sparseValues[slot] = glyph;
+            }
+        }
+        this.size = count;
+    }
+
+    /**
+     * Looks up the glyph of a codepoint.
+     *
+     * @param codepoint The Unicode codepoint.
+     * @return The glyph, or null if the font does not contain the codepoint.
+     */
+    public FontMetadata.Glyph get(int codepoint) {
+        if (codepoint >= 0 && codepoint < DENSE_LIMIT) {
+            return dense[codepoint];
+        }
+        if (codepoint < 0) return null;
+
+        int slot = mix(codepoint) & sparseMask;
+        int key;
+        while ((key = sparseKeys[slot]) != EMPTY) {
+            if (key == codepoint) return sparseValues[slot];
+            slot = (slot + 1) & sparseMask;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the number of distinct codepoints in the table.
+     *
+     * @return The glyph count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Spreads the bits of a codepoint, as neighbouring codepoints are common (e.g. a CJK range).
+     */
+    private static int mix(int codepoint) {
+        int h = codepoint * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.font.dynamic;
+
+import net.xmx.xui.core.font.data.FontMetadata;
+
+/**
+ * A glyph of a {@link DynamicGlyphAtlas}, rasterized at runtime.
+ * <p>
+ * The advance is known as soon as the glyph is created, so layout never changes when the bitmap
+ * arrives. {@link #atlasBounds} is only set while the glyph is {@link State#RESIDENT}; until then,
+ * the renderer skips the quad and the reserved advance acts as the placeholder.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+public final class DynamicGlyph extends FontMetadata.Glyph {
+
+    /**
+     * The lifecycle of a dynamic glyph.
+     */
+    public enum State {
+        /** The source font has no glyph for the codepoint. */
+        MISSING,
+        /** The bitmap is being rasterized. */
+        PENDING,
+        /** The glyph has no visible shape (e.g. a space), nothing needs to be stored. */
+        EMPTY,
+        /** The bitmap is stored in the atlas page. */
+        RESIDENT,
+        /** The bitmap was evicted and is rasterized again on the next use. */
+        EVICTED
+    }
+
+    State state = State.PENDING;
+
+    // --- Residency (managed by GlyphCache) ---
+    ShelfPacker.Region region;
+    long lastUsedFrame = -1;
+    DynamicGlyph newer;
+    DynamicGlyph older;
+
+    DynamicGlyph(int codepoint) {
+        this.unicode = codepoint;
+    }
+
+    /**
+     * Gets the current state of the glyph.
+     *
+     * @return The state.
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Gets the region of the atlas page holding the bitmap.
+     *
+     * @return The region, or null if the glyph is not resident.
+     */
+    public ShelfPacker.Region getRegion() {
+        return region;
+    }
+}
@@ -0,0 +1,519 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.font.dynamic;
+
+import net.xmx.xui.core.gl.renderer.BatchManager;
+import net.xmx.xui.core.gl.renderer.UIRenderer;
+import net.xmx.xui.core.sdf.SDFAtlas;
+import net.xmx.xui.core.sdf.SDFMetadata;
+import net.xmx.xui.core.sdf.SDFType;
+import net.xmx.xui.core.sdf.io.SDFAssetLoader;
+import net.xmx.xui.init.XuiMainClass;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL12;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL33;
+import org.lwjgl.stb.STBTTFontinfo;
+import org.lwjgl.stb.STBTruetype;
+import org.lwjgl.system.MemoryUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A growable glyph atlas that rasterizes codepoints missing from the prebaked font atlases at runtime.
+ * <p>
+ * <b>Source:</b><br>
+ * Glyphs are generated from a TrueType font on the classpath ({@code /assets/<namespace>/fonts/<path>.ttf})
+ * using the signed distance field rasterizer of stb_truetype. The single-channel distance is stored
+ * in a red texture whose green and blue channels are swizzled to red, so the median of the SDF shader
+ * yields the distance unchanged and the glyphs batch with the MSDF text.
+ * </p>
+ * <p>
+ * <b>Lifecycle of a Glyph:</b>
+ * <ol>
+ *     <li>On the first request, the metrics are read synchronously (cheap), so layout is final immediately.</li>
+ *     <li>The bitmap is rasterized on a background thread. Until it arrives, the glyph has no atlas bounds
+ *     and is drawn as an empty placeholder of the correct advance.</li>
+ *     <li>Once per frame, finished bitmaps are packed into the page ({@link GlyphCache}), evicting the least
+ *     recently used glyphs if the page is full. The pixels are uploaded before the next draw call.</li>
+ * </ol>
+ * Each change of the resident set increments the {@link #getGeneration() generation}, which retained
+ * meshes use to rebuild quads referring to glyphs that arrived or were evicted.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+public class DynamicGlyphAtlas implements SDFAtlas {
+
+    /**
+     * The width and height of the atlas page in pixels.
+     */
+    public static final int PAGE_SIZE = 1024;
+
+    /**
+     * The em size glyphs are rasterized at, in atlas pixels.
+     */
+    private static final float EM_SIZE = 32.0f;
+
+    /**
+     * The distance (in atlas pixels) stored around each glyph.
+     */
+    private static final int PADDING = 4;
+
+    /**
+     * The value of the glyph edge in the distance field.
+     */
+    private static final int ON_EDGE = 128;
+
+    /**
+     * The increase of the stored value per pixel of distance; the field saturates at {@link #PADDING}.
+     */
+    private static final float PIXEL_DIST_SCALE = (float) ON_EDGE / PADDING;
+
+    /**
+     * The number of finished glyphs installed per frame, to spread the uploads of large bursts.
+     */
+    private static final int MAX_INSTALLS_PER_FRAME = 32;
+
+    /**
+     * Rasterization is CPU-bound and rare, so a single daemon thread is shared by all dynamic atlases.
+     */
+    private static final ExecutorService RASTERIZER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "XUI Glyph Rasterizer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String path;
+    private final CompletableFuture<FontSource> pending;
+    private final SDFMetadata metadata;
+    private final GlyphCache cache = new GlyphCache(PAGE_SIZE, PAGE_SIZE);
+
+    /**
+     * Bitmaps finished by the rasterizer thread, installed on the render thread.
+     */
+    private final ConcurrentLinkedQueue<Bitmap> completed = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Installed bitmaps waiting for their texture upload.
+     */
+    private final ArrayDeque<Bitmap> uploads = new ArrayDeque<>();
+
+    /**
+     * The staging buffer a bitmap is padded to the size of its region in, grown on demand.
+     */
+    private ByteBuffer regionPixels = BufferUtils.createByteBuffer(64 * 64);
+
+    // --- Render thread state ---
+    private FontSource source;
+    private boolean failed = false;
+    private int textureId = 0;
+    private long updatedFrame = -1;
+    private int generation = 0;
+    private int rasterizing = 0;
+
+    /**
+     * Creates the atlas and starts loading the TrueType font in the background.
+     *
+     * @param namespace The resource namespace (e.g., "xui").
+     * @param path      The relative path of the font without extension (e.g., "noto/NotoSansCJK-Regular").
+     */
+    public DynamicGlyphAtlas(String namespace, String path) {
+        this.path = "/assets/" + namespace + "/fonts/" + path + ".ttf";
+        this.pending = SDFAssetLoader.submit(this.path, () -> loadFont(this.path));
+
+        this.metadata = new SDFMetadata();
+        this.metadata.atlas = new SDFMetadata.AtlasInfo();
+        this.metadata.atlas.type = SDFType.MSDF;
+        this.metadata.atlas.distanceRange = 255.0f / PIXEL_DIST_SCALE;
+        this.metadata.atlas.size = EM_SIZE;
+        this.metadata.atlas.width = PAGE_SIZE;
+        this.metadata.atlas.height = PAGE_SIZE;
+        this.metadata.atlas.yOrigin = "bottom";
+    }
+
+    // =================================================================================
+    // Glyph Access (render thread)
+    // =================================================================================
+
+    /**
+     * Gets the glyph of a codepoint, starting its rasterization if necessary.
+     *
+     * @param codepoint The Unicode codepoint.
+     * @return The glyph (possibly still without a bitmap), or null if the font cannot draw the codepoint.
+     */
+    public DynamicGlyph getGlyph(int codepoint) {
+        if (codepoint < 0) return null;
+        update();
+
+        DynamicGlyph glyph = cache.get(codepoint);
+        if (glyph == null) {
+            glyph = createGlyph(codepoint);
+            if (glyph == null) return null;
+        }
+
+        switch (glyph.state) {
+            case MISSING:
+                return null;
+            case EVICTED:
+                request(glyph);
+                break;
+            default:
+                break;
+        }
+        return glyph;
+    }
+
+    /**
+     * Records that a glyph is drawn in the current frame, protecting it from eviction.
+     *
+     * @param glyph The glyph.
+     */
+    public void markUsed(DynamicGlyph glyph) {
+        cache.touch(glyph, currentFrame());
+    }
+
+    /**
+     * Gets a counter that changes whenever a glyph bitmap arrives or is evicted.
+     * Installs the bitmaps finished since the last frame first.
+     *
+     * @return The generation.
+     */
+    public int getGeneration() {
+        update();
+        return generation;
+    }
+
+    /**
+     * Creates the entry of a codepoint from the font metrics.
+     */
+    private DynamicGlyph createGlyph(int codepoint) {
+        FontSource font = getSource();
+        if (font == null) return null;
+
+        DynamicGlyph glyph = cache.getOrCreate(codepoint);
+        glyph.atlas = this;
+
+        int index = STBTruetype.stbtt_FindGlyphIndex(font.info, codepoint);
+        if (index == 0) {
+            glyph.state = DynamicGlyph.State.MISSING;
+            return glyph;
+        }
+
+        int[] advance = new int[1];
+        STBTruetype.stbtt_GetCodepointHMetrics(font.info, codepoint, advance, null);
+        glyph.advance = advance[0] * font.emScale;
+
+        if (STBTruetype.stbtt_IsGlyphEmpty(font.info, index)) {
+            glyph.state = DynamicGlyph.State.EMPTY;
+        } else {
+            request(glyph);
+        }
+        return glyph;
+    }
+
+    /**
+     * Queues the rasterization of a glyph.
+     */
+    private void request(DynamicGlyph glyph) {
+        FontSource font = source;
+        glyph.state = DynamicGlyph.State.PENDING;
+        rasterizing++;
+        RASTERIZER.execute(() -> completed.add(rasterize(font, glyph)));
+    }
+
+    /**
+     * Installs finished bitmaps, once per frame.
+     */
+    private void update() {
+        long frame = currentFrame();
+        if (frame == updatedFrame) return;
+        updatedFrame = frame;
+
+        for (int i = 0; i < MAX_INSTALLS_PER_FRAME; i++) {
+            Bitmap bitmap = completed.peek();
+            if (bitmap == null || !install(bitmap, frame)) break;
+            completed.poll();
+        }
+    }
+
+    /**
+     * Packs a finished bitmap into the page.
+     *
+     * @return False if the page is full of glyphs used in this frame; the bitmap is retried later.
+     */
+    private boolean install(Bitmap bitmap, long frame) {
+        DynamicGlyph glyph = bitmap.glyph;
+
+        if (bitmap.pixels != null) {
+            ShelfPacker.Region region = cache.allocate(bitmap.width, bitmap.height, frame);
+            if (region == null) return false;
+
+            // 1. Plane bounds in em units, Y-up relative to the baseline
+            SDFMetadata.Bounds plane = new SDFMetadata.Bounds();
+            plane.left = bitmap.xOffset / EM_SIZE;
+            plane.right = (bitmap.xOffset + bitmap.width) / EM_SIZE;
+            plane.top = -bitmap.yOffset / EM_SIZE;
+            plane.bottom = -(bitmap.yOffset + bitmap.height) / EM_SIZE;
+
+            // 2. Atlas bounds in pixels with a bottom origin, like the prebaked atlases
+            SDFMetadata.Bounds bounds = new SDFMetadata.Bounds();
+            bounds.left = region.x;
+            bounds.right = region.x + bitmap.width;
+            bounds.top = PAGE_SIZE - region.y;
+            bounds.bottom = PAGE_SIZE - (region.y + bitmap.height);
+
+            glyph.planeBounds = plane;
+            glyph.atlasBounds = bounds;
+            cache.makeResident(glyph, region, frame);
+            uploads.add(bitmap.at(region));
+        } else {
+            glyph.state = DynamicGlyph.State.EMPTY;
+        }
+
+        rasterizing--;
+        generation++;
+        return true;
+    }
+
+    private long currentFrame() {
+        BatchManager batch = UIRenderer.getInstance().getBatch();
+        return batch != null ? batch.getFrameIndex() : 0;
+    }
+
+    /**
+     * Gets the loaded font, waiting for the background work if necessary.
+     *
+     * @return The font, or null if it could not be loaded.
+     */
+    private FontSource getSource() {
+        if (source == null && !failed) {
+            try {
+                source = SDFAssetLoader.await(pending, path);
+            } catch (RuntimeException e) {
+                failed = true;
+                XuiMainClass.LOGGER.error("DynamicGlyphAtlas: Failed to load fallback font {}", path, e);
+            }
+        }
+        return source;
+    }
+
+    // =================================================================================
+    // SDFAtlas
+    // =================================================================================
+
+    /**
+     * Gets the OpenGL texture ID, creating the page and uploading installed bitmaps first.
+     * <p>
+     * Must be called on the render thread. The binding of the active texture unit is preserved.
+     * </p>
+     *
+     * @return The integer texture handle.
+     */
+    @Override
+    public int getTextureId() {
+        if (textureId == 0 || !uploads.isEmpty()) {
+            int previous = GL11.glGetInteger(GL11.GL_TEXTURE_BINDING_2D);
+
+            if (textureId == 0) {
+                createTexture();
+            } else {
+                GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
+            }
+
+            // Distance rows are not 4-byte aligned
+            GL11.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 1);
+            Bitmap bitmap;
+            while ((bitmap = uploads.poll()) != null) {
+                // Evicted before its upload: the region may already belong to another glyph
+                if (bitmap.glyph.region != bitmap.region) continue;
+                // The whole region is written, so the gutters of a reused region lose the old glyph
+                ShelfPacker.Region region = bitmap.region;
+                GL11.glTexSubImage2D(GL11.GL_TEXTURE_2D, 0, region.x, region.y,
+                        region.width, region.height, GL11.GL_RED, GL11.GL_UNSIGNED_BYTE, padToRegion(bitmap));
+            }
+            GL11.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 4);
+
+            GL11.glBindTexture(GL11.GL_TEXTURE_2D, previous);
+        }
+        return textureId;
+    }
+
+    /**
+     * Copies a bitmap into the top-left corner of a cleared buffer the size of its region.
+     * <p>
+     * A region reused after an eviction still holds the distances of the previous glyph.
+     * Uploading only the bitmap would leave them in the gutter, where linear filtering at the
+     * glyph edge samples them.
+     * </p>
+     *
+     * @param bitmap The bitmap with its allocated region.
+     * @return The staging buffer, positioned at 0 with the region's pixels remaining.
+     */
+    private ByteBuffer padToRegion(Bitmap bitmap) {
+        ShelfPacker.Region region = bitmap.region;
+        int size = region.width * region.height;
+        if (regionPixels.capacity() < size) {
+            regionPixels = BufferUtils.createByteBuffer(Math.max(size, regionPixels.capacity() * 2));
+        }
+
+        ByteBuffer out = regionPixels;
+        out.clear();
+        for (int y = 0; y < region.height; y++) {
+            int x = 0;
+            if (y < bitmap.height) {
+                int row = y * bitmap.width;
+                for (; x < bitmap.width; x++) {
+                    out.put(bitmap.pixels.get(row + x));
+                }
+            }
+            for (; x < region.width; x++) {
+                out.put((byte) 0);
+            }
+        }
+        out.flip();
+        return out;
+    }
+
+    /**
+     * Creates the empty page texture and binds it.
+     */
+    private void createTexture() {
+        textureId = GL11.glGenTextures();
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
+
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_LINEAR);
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_LINEAR);
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_S, GL12.GL_CLAMP_TO_EDGE);
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_T, GL12.GL_CLAMP_TO_EDGE);
+
+        // Present the single distance channel as RGB, so the median in the shader returns it unchanged
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL33.GL_TEXTURE_SWIZZLE_G, GL11.GL_RED);
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL33.GL_TEXTURE_SWIZZLE_B, GL11.GL_RED);
+
+        // Zero is "far outside", so the gutters between glyphs stay transparent
+        ByteBuffer empty = BufferUtils.createByteBuffer(PAGE_SIZE * PAGE_SIZE);
+        GL11.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 1);
+        GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL30.GL_R8, PAGE_SIZE, PAGE_SIZE, 0, GL11.GL_RED, GL11.GL_UNSIGNED_BYTE, empty);
+        GL11.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 4);
+    }
+
+    @Override
+    public SDFMetadata getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * Gets the glyph bookkeeping of this atlas.
+     *
+     * @return The cache.
+     */
+    public GlyphCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Gets the current usage statistics.
+     *
+     * @return A snapshot of the statistics.
+     */
+    public Stats getStats() {
+        return new Stats(cache.size(), cache.getResidentCount(), rasterizing,
+                cache.getEvictionCount(), cache.getPacker().getOccupancy());
+    }
+
+    /**
+     * Usage statistics of a dynamic atlas.
+     *
+     * @param glyphs      The number of requested codepoints.
+     * @param resident    The number of glyphs stored in the page.
+     * @param rasterizing The number of glyphs waiting for their bitmap.
+     * @param evictions   The number of evictions so far.
+     * @param occupancy   The fraction of the page covered by glyphs.
+     */
+    public record Stats(int glyphs, int resident, int rasterizing, long evictions, float occupancy) {}
+
+    // =================================================================================
+    // Rasterization (background thread)
+    // =================================================================================
+
+    /**
+     * Reads and parses the TrueType font (background thread).
+     */
+    private static FontSource loadFont(String path) {
+        try (InputStream in = DynamicGlyphAtlas.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new RuntimeException("TrueType font resource not found at path: " + path);
+            }
+            byte[] bytes = in.readAllBytes();
+            ByteBuffer data = BufferUtils.createByteBuffer(bytes.length);
+            data.put(bytes).flip();
+
+            STBTTFontinfo info = STBTTFontinfo.create();
+            if (!STBTruetype.stbtt_InitFont(info, data)) {
+                throw new RuntimeException("Failed to parse TrueType font: " + path);
+            }
+            return new FontSource(info, data, STBTruetype.stbtt_ScaleForMappingEmToPixels(info, 1.0f));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read TrueType font: " + path, e);
+        }
+    }
+
+    /**
+     * Generates the distance field of a glyph (background thread).
+     */
+    private static Bitmap rasterize(FontSource font, DynamicGlyph glyph) {
+        int[] width = new int[1];
+        int[] height = new int[1];
+        int[] xOffset = new int[1];
+        int[] yOffset = new int[1];
+
+        ByteBuffer sdf = null;
+        try {
+            float scale = STBTruetype.stbtt_ScaleForMappingEmToPixels(font.info, EM_SIZE);
+            sdf = STBTruetype.stbtt_GetCodepointSDF(font.info, scale, glyph.unicode, PADDING,
+                    (byte) ON_EDGE, PIXEL_DIST_SCALE, width, height, xOffset, yOffset);
+            if (sdf == null) {
+                return new Bitmap(glyph, null, null, 0, 0, 0, 0);
+            }
+
+            // Copy into GC-managed memory, so the native bitmap can be freed immediately
+            ByteBuffer pixels = BufferUtils.createByteBuffer(width[0] * height[0]);
+            pixels.put(sdf).flip();
+            return new Bitmap(glyph, null, pixels, width[0], height[0], xOffset[0], yOffset[0]);
+        } catch (RuntimeException e) {
+            XuiMainClass.LOGGER.error("DynamicGlyphAtlas: Failed to rasterize U+{}", Integer.toHexString(glyph.unicode), e);
+            return new Bitmap(glyph, null, null, 0, 0, 0, 0);
+        } finally {
+            if (sdf != null) {
+                STBTruetype.stbtt_FreeSDF(sdf, MemoryUtil.NULL);
+            }
+        }
+    }
+
+    /**
+     * A parsed TrueType font. Keeps the font data alive, as the font info points into it.
+     */
+    private record FontSource(STBTTFontinfo info, ByteBuffer data, float emScale) {}
+
+    /**
+     * A rasterized distance field and the region it is uploaded to.
+     */
+    private record Bitmap(DynamicGlyph glyph, ShelfPacker.Region region, ByteBuffer pixels,
+                          int width, int height, int xOffset, int yOffset) {
+
+        Bitmap at(ShelfPacker.Region region) {
+            return new Bitmap(glyph, region, pixels, width, height, xOffset, yOffset);
+        }
+    }
+}
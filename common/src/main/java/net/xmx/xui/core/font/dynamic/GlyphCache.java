@@ -0,0 +1,265 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.font.dynamic;
+
+import java.util.Arrays;
+
+/**
+ * The CPU-side bookkeeping of a {@link DynamicGlyphAtlas}: the glyph table, the space of the atlas
+ * page and the eviction order.
+ * <p>
+ * <b>Glyph Table:</b><br>
+ * Every requested codepoint keeps its {@link DynamicGlyph} for the lifetime of the cache (the
+ * metrics stay valid when the bitmap is evicted). The table is an open-addressing hash table over
+ * primitive {@code int} keys, like {@link net.xmx.xui.core.font.data.GlyphTable}, but growable.
+ * </p>
+ * <p>
+ * <b>Eviction:</b><br>
+ * Resident glyphs are kept in a doubly-linked list ordered by the frame of their last use
+ * (most recent first). When the page has no room for a new bitmap, the least recently used
+ * glyphs are evicted until the allocation succeeds. Glyphs used in the current frame are never
+ * evicted, as their quads may still be waiting in the batch.
+ * </p>
+ * <p>
+ * The cache does not touch OpenGL and is not thread-safe; the atlas uses it on the render thread.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+public final class GlyphCache {
+
+    /**
+     * Empty pixels kept between neighbouring bitmaps, so linear filtering never samples another glyph.
+     */
+    public static final int GUTTER = 1;
+
+    private final ShelfPacker packer;
+
+    // --- Glyph Table ---
+    private int[] keys = new int[64];
+    private DynamicGlyph[] values = new DynamicGlyph[64];
+    private int size = 0;
+
+    // --- Residency List ---
+    private DynamicGlyph newest;
+    private DynamicGlyph oldest;
+    private int residentCount = 0;
+    private long evictionCount = 0;
+
+    /**
+     * Creates an empty cache for a page of the given size.
+     *
+     * @param pageWidth  The page width in pixels.
+     * @param pageHeight The page height in pixels.
+     */
+    public GlyphCache(int pageWidth, int pageHeight) {
+        this.packer = new ShelfPacker(pageWidth, pageHeight);
+        Arrays.fill(keys, -1);
+    }
+
+    // =================================================================================
+    // Glyph Table
+    // =================================================================================
+
+    /**
+     * Looks up the glyph of a codepoint.
+     *
+     * @param codepoint The Unicode codepoint.
+     * @return The glyph, or null if the codepoint was never requested.
+     */
+    public DynamicGlyph get(int codepoint) {
+        int mask = keys.length - 1;
+        int slot = mix(codepoint) & mask;
+        int key;
+        while ((key = keys[slot]) != -1) {
+            if (key == codepoint) return values[slot];
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Creates the glyph of a codepoint, or returns the existing one.
+     *
+     * @param codepoint The Unicode codepoint (not negative).
+     * @return The glyph.
+     */
+    public DynamicGlyph getOrCreate(int codepoint) {
+        DynamicGlyph glyph = get(codepoint);
+        if (glyph != null) return glyph;
+
+        if ((size + 1) * 2 > keys.length) {
+            grow();
+        }
+        glyph = new DynamicGlyph(codepoint);
+        insert(codepoint, glyph);
+        size++;
+        return glyph;
+    }
+
+    private void insert(int codepoint, DynamicGlyph glyph) {
+        int mask = keys.length - 1;
+        int slot = mix(codepoint) & mask;
+        while (keys[slot] != -1) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = codepoint;
+        values[slot] = glyph;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        DynamicGlyph[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new DynamicGlyph[oldKeys.length * 2];
+        Arrays.fill(keys, -1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != -1) insert(oldKeys[i], oldValues[i]);
+        }
+    }
+
+    /**
+     * Spreads the bits of a codepoint, as neighbouring codepoints are common (e.g. a CJK range).
+     */
+    private static int mix(int codepoint) {
+        int h = codepoint * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // =================================================================================
+    // Residency
+    // =================================================================================
+
+    /**
+     * Reserves space for a bitmap, evicting the least recently used glyphs if the page is full.
+     *
+     * @param width  The bitmap width in pixels.
+     * @param height The bitmap height in pixels.
+     * @param frame  The current frame. Glyphs used in this frame are not evicted.
+     * @return The region (including the gutter), or null if not enough glyphs could be evicted.
+     */
+    public ShelfPacker.Region allocate(int width, int height, long frame) {
+        ShelfPacker.Region region = packer.allocate(width + GUTTER, height + GUTTER);
+        while (region == null && oldest != null && oldest.lastUsedFrame < frame) {
+            evict(oldest);
+            region = packer.allocate(width + GUTTER, height + GUTTER);
+        }
+        return region;
+    }
+
+    /**
+     * Marks a glyph as resident in a region returned by {@link #allocate}.
+     *
+     * @param glyph  The glyph.
+     * @param region The region holding its bitmap.
+     * @param frame  The current frame.
+     */
+    public void makeResident(DynamicGlyph glyph, ShelfPacker.Region region, long frame) {
+        glyph.region = region;
+        glyph.state = DynamicGlyph.State.RESIDENT;
+        glyph.lastUsedFrame = frame;
+        linkNewest(glyph);
+        residentCount++;
+    }
+
+    /**
+     * Records the use of a resident glyph in the given frame.
+     *
+     * @param glyph The glyph.
+     * @param frame The current frame.
+     */
+    public void touch(DynamicGlyph glyph, long frame) {
+        if (glyph.state != DynamicGlyph.State.RESIDENT || glyph.lastUsedFrame == frame) return;
+        glyph.lastUsedFrame = frame;
+        if (glyph != newest) {
+            unlink(glyph);
+            linkNewest(glyph);
+        }
+    }
+
+    /**
+     * Removes the bitmap of a resident glyph from the page.
+     * The glyph keeps its metrics and is rasterized again on its next use.
+     *
+     * @param glyph The glyph to evict.
+     */
+    public void evict(DynamicGlyph glyph) {
+        if (glyph.state != DynamicGlyph.State.RESIDENT) return;
+
+        unlink(glyph);
+        packer.free(glyph.region);
+        glyph.region = null;
+        glyph.atlasBounds = null;
+        glyph.state = DynamicGlyph.State.EVICTED;
+        residentCount--;
+        evictionCount++;
+    }
+
+    private void linkNewest(DynamicGlyph glyph) {
+        glyph.older = newest;
+        glyph.newer = null;
+        if (newest != null) newest.newer = glyph;
+        newest = glyph;
+        if (oldest == null) oldest = glyph;
+    }
+
+    private void unlink(DynamicGlyph glyph) {
+        if (glyph.newer != null) glyph.newer.older = glyph.older;
+        else newest = glyph.older;
+        if (glyph.older != null) glyph.older.newer = glyph.newer;
+        else oldest = glyph.newer;
+        glyph.newer = null;
+        glyph.older = null;
+    }
+
+    // =================================================================================
+    // Statistics
+    // =================================================================================
+
+    /**
+     * Gets the number of requested codepoints.
+     *
+     * @return The glyph count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of glyphs whose bitmap is stored in the page.
+     *
+     * @return The resident count.
+     */
+    public int getResidentCount() {
+        return residentCount;
+    }
+
+    /**
+     * Gets the number of evictions since the cache was created.
+     *
+     * @return The eviction count.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Gets the least recently used resident glyph.
+     *
+     * @return The next eviction candidate, or null if no glyph is resident.
+     */
+    public DynamicGlyph getOldest() {
+        return oldest;
+    }
+
+    /**
+     * Gets the packer managing the page space.
+     *
+     * @return The packer.
+     */
+    public ShelfPacker getPacker() {
+        return packer;
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.font.dynamic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Packs rectangles into a fixed-size page using horizontal shelves, and supports freeing them again.
+ * <p>
+ * <b>Allocation:</b><br>
+ * The page is split into shelves stacked from top to bottom. A rectangle goes into the shelf with
+ * the smallest sufficient height, preferring shelves that are at most 1.5 times as tall as the
+ * rectangle; otherwise a new shelf of the rectangle's height is opened below the last one.
+ * Glyphs of a font have similar heights, so the shelves fill up with little waste.
+ * </p>
+ * <p>
+ * <b>Freeing:</b><br>
+ * Each shelf keeps its free horizontal spans (merged when neighbours are freed). A freed span can
+ * be reused by any rectangle of the same or a smaller size. When the last shelves of the page
+ * become empty, they are removed so that the space can be reopened with a different height.
+ * </p>
+ * <p>
+ * The packer does not touch OpenGL and is not thread-safe.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+public final class ShelfPacker {
+
+    private final int width;
+    private final int height;
+    private final List<Shelf> shelves = new ArrayList<>();
+
+    /**
+     * The top of the area below the last shelf.
+     */
+    private int nextShelfY = 0;
+
+    private int usedArea = 0;
+    private int regionCount = 0;
+
+    /**
+     * Creates an empty packer.
+     *
+     * @param width  The page width in pixels.
+     * @param height The page height in pixels.
+     */
+    public ShelfPacker(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Reserves a rectangle.
+     *
+     * @param w The width in pixels.
+     * @param h The height in pixels.
+     * @return The reserved region, or null if the page has no room for it.
+     */
+    public Region allocate(int w, int h) {
+        if (w <= 0 || h <= 0 || w > width || h > height) return null;
+
+        // 1. A shelf of a similar height
+        Shelf target = findShelf(w, h, h + h / 2);
+
+        // 2. A new shelf below the last one
+        if (target == null && nextShelfY + h <= height) {
+            target = new Shelf(nextShelfY, h, width);
+            shelves.add(target);
+            nextShelfY += h;
+        }
+
+        // 3. Any shelf that is tall enough
+        if (target == null) {
+            target = findShelf(w, h, Integer.MAX_VALUE);
+        }
+        if (target == null) return null;
+
+        int x = target.take(w);
+        usedArea += w * h;
+        regionCount++;
+        return new Region(target, x, target.y, w, h);
+    }
+
+    /**
+     * Releases a rectangle returned by {@link #allocate}. Freeing a region twice has no effect.
+     *
+     * @param region The region to release.
+     */
+    public void free(Region region) {
+        if (region.freed) return;
+        region.freed = true;
+
+        region.shelf.release(region.x, region.width);
+        usedArea -= region.width * region.height;
+        regionCount--;
+
+        // Drop empty shelves at the bottom so their space can take other heights
+        while (!shelves.isEmpty()) {
+            Shelf last = shelves.get(shelves.size() - 1);
+            if (last.used > 0) break;
+            shelves.remove(shelves.size() - 1);
+            nextShelfY = last.y;
+        }
+    }
+
+    /**
+     * Finds the lowest shelf with a height in {@code [h, maxHeight]} and a free span of at least {@code w}.
+     */
+    private Shelf findShelf(int w, int h, int maxHeight) {
+        Shelf best = null;
+        for (int i = 0; i < shelves.size(); i++) {
+            Shelf shelf = shelves.get(i);
+            if (shelf.height < h || shelf.height > maxHeight) continue;
+            if (best != null && shelf.height >= best.height) continue;
+            if (shelf.fits(w)) best = shelf;
+        }
+        return best;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the number of live regions.
+     *
+     * @return The region count.
+     */
+    public int getRegionCount() {
+        return regionCount;
+    }
+
+    /**
+     * Gets the fraction of the page covered by live regions.
+     *
+     * @return The occupancy between 0 and 1.
+     */
+    public float getOccupancy() {
+        return usedArea / (float) (width * height);
+    }
+
+    /**
+     * A rectangle reserved in the page.
+     */
+    public static final class Region {
+        private final Shelf shelf;
+        public final int x;
+        public final int y;
+        public final int width;
+        public final int height;
+        private boolean freed = false;
+
+        private Region(Shelf shelf, int x, int y, int width, int height) {
+            this.shelf = shelf;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    /**
+     * A horizontal strip of the page with its free spans, sorted by X.
+     */
+    private static final class Shelf {
+        final int y;
+        final int height;
+        int used = 0;
+
+        int[] spanX = new int[4];
+        int[] spanWidth = new int[4];
+        int spanCount = 1;
+
+        Shelf(int y, int height, int width) {
+            this.y = y;
+            this.height = height;
+            this.spanWidth[0] = width;
+        }
+
+        boolean fits(int w) {
+            for (int i = 0; i < spanCount; i++) {
+                if (spanWidth[i] >= w) return true;
+            }
+            return false;
+        }
+
+        /**
+         * Takes {@code w} pixels from the first span that is wide enough (first fit).
+         */
+        int take(int w) {
+            for (int i = 0; i < spanCount; i++) {
+                if (spanWidth[i] < w) continue;
+
+                int x = spanX[i];
+                spanX[i] += w;
+                spanWidth[i] -= w;
+                if (spanWidth[i] == 0) removeSpan(i);
+                used++;
+                return x;
+            }
+            throw new IllegalStateException("Shelf has no span of width " + w);
+        }
+
+        /**
+         * Returns a span, merging it with adjacent free spans.
+         */
+        void release(int x, int w) {
+            used--;
+
+            // 1. Find the insertion point
+            int i = 0;
+            while (i < spanCount && spanX[i] < x) i++;
+
+            // 2. Merge with the previous and/or next span
+            boolean joinsPrevious = i > 0 && spanX[i - 1] + spanWidth[i - 1] == x;
+            boolean joinsNext = i < spanCount && x + w == spanX[i];
+
+            if (joinsPrevious && joinsNext) {
+                spanWidth[i - 1] += w + spanWidth[i];
+                removeSpan(i);
+            } else if (joinsPrevious) {
+                spanWidth[i - 1] += w;
+            } else if (joinsNext) {
+                spanX[i] = x;
+                spanWidth[i] += w;
+            } else {
+                insertSpan(i, x, w);
+            }
+        }
+
+        private void insertSpan(int index, int x, int w) {
+            if (spanCount == spanX.length) {
+                spanX = Arrays.copyOf(spanX, spanCount * 2);
+                spanWidth = Arrays.copyOf(spanWidth, spanCount * 2);
+            }
+            System.arraycopy(spanX, index, spanX, index + 1, spanCount - index);
+            System.arraycopy(spanWidth, index, spanWidth, index + 1, spanCount - index);
+            spanX[index] = x;
+            spanWidth[index] = w;
+            spanCount++;
+        }
+
+        private void removeSpan(int index) {
+            System.arraycopy(spanX, index + 1, spanX, index, spanCount - index - 1);
+            System.arraycopy(spanWidth, index + 1, spanWidth, index, spanCount - index - 1);
+            spanCount--;
+        }
+    }
+}
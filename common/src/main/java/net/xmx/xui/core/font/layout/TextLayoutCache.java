@@ -0,0 +1,277 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.font.layout;
+
+import net.xmx.xui.core.text.TextComponent;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded LRU cache for shaped text, shared by all {@link TextLayoutEngine} instances.
+ * <p>
+ * Measuring or wrapping a component tree flattens the tree, splits the text at whitespace and
+ * looks up every glyph. Widgets query the same text during layout and on every frame while
+ * drawing, so the results are cached here as immutable {@link ShapedText} entries.
+ * </p>
+ * <p>
+ * <b>Keys:</b><br>
+ * An entry is keyed by the engine, the wrap width and a structural snapshot of the component
+ * tree (the text of every component and the font atlas it resolves to). Mutating a component
+ * (changing its text, bold/italic style or siblings) therefore yields a different key, so stale
+ * layouts are never returned; the outdated entry is evicted once it becomes the least recently used.
+ * Styles that do not affect the shape (color, underline, ...) are not part of the key and are
+ * taken from the live tree while drawing.
+ * </p>
+ * <p>
+ * The cache is not thread-safe and must only be used on the render thread.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+public final class TextLayoutCache {
+
+    /**
+     * The default maximum number of cached layouts.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final TextLayoutCache INSTANCE = new TextLayoutCache(DEFAULT_CAPACITY);
+
+    /**
+     * The entries in access order (least recently used first).
+     */
+    private final LinkedHashMap<Key, ShapedText> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private int capacity;
+
+    // --- Statistics ---
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    private TextLayoutCache(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Gets the shared cache.
+     *
+     * @return The shared instance.
+     */
+    public static TextLayoutCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Looks up a cached layout and marks it as recently used.
+     *
+     * @param key The layout key.
+     * @return The cached layout, or null on a miss.
+     */
+    ShapedText get(Key key) {
+        ShapedText shaped = entries.get(key);
+        if (shaped != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return shaped;
+    }
+
+    /**
+     * Stores a layout, evicting the least recently used entries if the capacity is exceeded.
+     *
+     * @param key    The layout key.
+     * @param shaped The computed layout.
+     */
+    void put(Key key, ShapedText shaped) {
+        entries.put(key, shaped);
+        trim();
+    }
+
+    /**
+     * Sets the maximum number of cached layouts.
+     *
+     * @param capacity The new capacity (at least 1).
+     */
+    public void setCapacity(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        trim();
+    }
+
+    /**
+     * Removes all cached layouts, e.g. after font metrics changed.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Gets the hit, miss and eviction counters.
+     *
+     * @return A snapshot of the cache statistics.
+     */
+    public Stats getStats() {
+        return new Stats(hits, misses, evictions, entries.size());
+    }
+
+    /**
+     * Resets the hit, miss and eviction counters.
+     */
+    public void resetStats() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    private void trim() {
+        Iterator<Map.Entry<Key, ShapedText>> it = entries.entrySet().iterator();
+        while (entries.size() > capacity && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * The immutable result of shaping a component tree.
+     *
+     * @param width The unwrapped width in pixels.
+     * @param lines The wrapped lines, or an empty list for width-only entries.
+     */
+    public record ShapedText(float width, List<TextLine> lines) {
+        public ShapedText {
+            lines = Collections.unmodifiableList(lines);
+        }
+    }
+
+    /**
+     * Statistics of the layout cache.
+     *
+     * @param hits      The number of lookups answered from the cache.
+     * @param misses    The number of lookups that required shaping.
+     * @param evictions The number of entries dropped to respect the capacity.
+     * @param size      The current number of entries.
+     */
+    public record Stats(long hits, long misses, long evictions, int size) {}
+
+    /**
+     * The structural key of a layout.
+     * <p>
+     * A stored key holds a snapshot that alternates the text of each flattened component and
+     * the atlas it resolves to. Lookups use a reusable probe key of the engine instead, which
+     * references the live component tree: its hash is computed by walking the tree and it is
+     * compared against stored snapshots in place (see {@link TextLayoutEngine#matches}), so a
+     * cache hit neither flattens the tree nor allocates. Both kinds mix the text and atlas of
+     * every component in the same order, so their hashes agree.
+     * </p>
+     */
+    static final class Key {
+        private final TextLayoutEngine engine;
+        private float maxWidth;
+        private Object[] snapshot;
+        private TextComponent tree;
+        private int hash;
+
+        /**
+         * Creates a stored key.
+         *
+         * @param engine   The engine that computes the layout.
+         * @param maxWidth The wrap width, or a negative value for the unwrapped width.
+         * @param snapshot The structural snapshot of the component tree.
+         * @param hash     The hash of the tree, as computed for the probe key.
+         */
+        Key(TextLayoutEngine engine, float maxWidth, Object[] snapshot, int hash) {
+            this.engine = engine;
+            this.maxWidth = maxWidth;
+            this.snapshot = snapshot;
+            this.hash = hash;
+        }
+
+        /**
+         * Creates a probe key. It must be {@link #probe pointed} at a tree before each lookup
+         * and is never stored in the cache.
+         *
+         * @param engine The engine that owns the probe.
+         */
+        Key(TextLayoutEngine engine) {
+            this.engine = engine;
+        }
+
+        /**
+         * Points this probe key at a component tree.
+         *
+         * @param maxWidth The wrap width, or a negative value for the unwrapped width.
+         * @param tree     The live component tree.
+         * @param hash     The hash of the tree.
+         */
+        void probe(float maxWidth, TextComponent tree, int hash) {
+            this.maxWidth = maxWidth;
+            this.tree = tree;
+            this.hash = hash;
+        }
+
+        /**
+         * Drops the tree reference of this probe key after a lookup.
+         */
+        void release() {
+            this.tree = null;
+        }
+
+        /**
+         * @return The hash of this key.
+         */
+        int getHash() {
+            return hash;
+        }
+
+        /**
+         * Mixes the hash seed of an engine and wrap width.
+         */
+        static int seed(TextLayoutEngine engine, float maxWidth) {
+            return 31 * System.identityHashCode(engine) + Float.hashCode(maxWidth);
+        }
+
+        /**
+         * Mixes one component into a key hash. Strings cache their hash code, so this is cheap
+         * even for long text.
+         */
+        static int mix(int hash, String text, Object font) {
+            hash = 31 * hash + (text != null ? text.hashCode() : 0);
+            return 31 * hash + System.identityHashCode(font);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            if (hash != other.hash
+                    || engine != other.engine
+                    || Float.compare(maxWidth, other.maxWidth) != 0) {
+                return false;
+            }
+
+            if (snapshot != null && other.snapshot != null) {
+                return Arrays.equals(snapshot, other.snapshot);
+            }
+            if (tree != null && other.snapshot != null) {
+                return engine.matches(tree, other.snapshot);
+            }
+            if (snapshot != null && other.tree != null) {
+                return engine.matches(other.tree, snapshot);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
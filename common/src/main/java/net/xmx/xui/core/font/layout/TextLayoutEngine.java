@@ -11,19 +11,39 @@ import net.xmx.xui.core.text.TextComponent;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Handles the calculation of text dimensions and layout.
  * Responsible for measuring strings and computing word-wrapping line breaks
  * based on the metrics provided by {@link CustomFont}.
+ * <p>
+ * Results are memoized in the shared {@link TextLayoutCache}, so static text is only
+ * shaped once instead of on every layout pass and frame.
+ * </p>
  *
  * @author xI-Mx-Ix
  */
 public class TextLayoutEngine {
 
+    /**
+     * The wrap width used as key for unwrapped (width-only) layouts.
+     */
+    private static final float UNWRAPPED = -1.0f;
+
     private final CustomFont fontSystem;
     private final float fontSize;
 
+    /**
+     * Reusable list for flattening component trees on a cache miss (render thread only).
+     */
+    private final List<TextComponent> flatScratch = new ArrayList<>();
+
+    /**
+     * Reusable key for cache lookups (render thread only).
+     */
+    private final TextLayoutCache.Key probe = new TextLayoutCache.Key(this);
+
     /**
      * @param fontSystem The font system to resolve fonts from (Regular/Bold/Italic).
      * @param fontSize   The logical size of the font (em size).
@@ -40,121 +60,256 @@ public class TextLayoutEngine {
      * @return The total width in pixels.
      */
     public float computeWidth(TextComponent component) {
-        float width = getSingleComponentWidth(component);
-        for (TextComponent sibling : component.getSiblings()) {
-            width += computeWidth(sibling);
+        return shape(component, UNWRAPPED).width();
+    }
+
+    /**
+     * Splits a component tree into lines that fit within a maximum width.
+     * <p>
+     * The segments of the returned lines reference components by their index in the
+     * tree flattened by {@link #flatten}.
+     * </p>
+     *
+     * @param root     The root component.
+     * @param maxWidth The maximum width in pixels.
+     * @return An immutable list of {@link TextLine} objects containing the layout.
+     */
+    public List<TextLine> computeWrappedLayout(TextComponent root, float maxWidth) {
+        return shape(root, Math.max(0, maxWidth)).lines();
+    }
+
+    /**
+     * Shapes a component tree, answering from the layout cache where possible.
+     *
+     * @param root     The root component.
+     * @param maxWidth The wrap width, or a negative value to only measure the unwrapped width.
+     * @return The shaped text.
+     */
+    private TextLayoutCache.ShapedText shape(TextComponent root, float maxWidth) {
+        // 1. Look up the cached layout with the probe key, walking the live tree
+        TextLayoutCache cache = TextLayoutCache.getInstance();
+        int hash = hashTree(root, TextLayoutCache.Key.seed(this, maxWidth));
+        probe.probe(maxWidth, root, hash);
+        TextLayoutCache.ShapedText shaped;
+        try {
+            shaped = cache.get(probe);
+        } finally {
+            probe.release();
         }
-        return width;
+        if (shaped != null) return shaped;
+
+        // 2. On a miss, flatten the tree and build its structural snapshot
+        List<TextComponent> flat = flatScratch;
+        flat.clear();
+        flatten(root, flat);
+
+        Object[] snapshot = new Object[flat.size() * 2];
+        for (int i = 0; i < flat.size(); i++) {
+            TextComponent comp = flat.get(i);
+            snapshot[i * 2] = comp.getText();
+            snapshot[i * 2 + 1] = fontSystem.resolveFont(comp);
+        }
+        flat.clear();
+
+        // 3. Shape and store under a key that owns the snapshot
+        shaped = maxWidth < 0 ? measure(snapshot) : wrap(snapshot, maxWidth);
+        cache.put(new TextLayoutCache.Key(this, maxWidth, snapshot, hash), shaped);
+        return shaped;
     }
 
     /**
-     * Measures a single component's text string.
-     * Calculates the width of every character in the sequence.
+     * Hashes a component tree in drawing order, mixing the same values as a snapshot.
      */
-    private float getSingleComponentWidth(TextComponent component) {
-        String text = component.getText();
-        if (text == null || text.isEmpty()) return 0;
+    private int hashTree(TextComponent comp, int hash) {
+        hash = TextLayoutCache.Key.mix(hash, comp.getText(), fontSystem.resolveFont(comp));
+        List<TextComponent> siblings = comp.getSiblings();
+        for (int i = 0; i < siblings.size(); i++) {
+            hash = hashTree(siblings.get(i), hash);
+        }
+        return hash;
+    }
 
-        FontAtlas font = fontSystem.resolveFont(component);
-        if (font == null) return 0;
+    /**
+     * Checks whether a live component tree is structurally equal to a snapshot,
+     * without flattening the tree.
+     *
+     * @param tree     The root component.
+     * @param snapshot The snapshot of a stored key.
+     * @return True if every component has the same text and resolves to the same atlas.
+     */
+    boolean matches(TextComponent tree, Object[] snapshot) {
+        return matchFrom(tree, snapshot, 0) == snapshot.length;
+    }
+
+    /**
+     * Compares a subtree against the snapshot starting at the given position.
+     *
+     * @return The snapshot position after the subtree, or -1 on a mismatch.
+     */
+    private int matchFrom(TextComponent comp, Object[] snapshot, int pos) {
+        if (pos + 1 >= snapshot.length
+                || !Objects.equals(snapshot[pos], comp.getText())
+                || snapshot[pos + 1] != fontSystem.resolveFont(comp)) {
+            return -1;
+        }
+        pos += 2;
+
+        List<TextComponent> siblings = comp.getSiblings();
+        for (int i = 0; i < siblings.size() && pos >= 0; i++) {
+            pos = matchFrom(siblings.get(i), snapshot, pos);
+        }
+        return pos;
+    }
 
+    /**
+     * Measures the unwrapped width of all components in a snapshot.
+     */
+    private TextLayoutCache.ShapedText measure(Object[] snapshot) {
         float width = 0;
-        char[] chars = text.toCharArray();
-
-        for (char c : chars) {
-            FontMetadata.Glyph glyph = font.getGlyph(c);
-
-            if (glyph != null) {
-                width += glyph.advance * fontSize;
-            } else {
-                // Fallback for missing characters using the space width or a default constant
-                FontMetadata.Glyph space = font.getGlyph(' ');
-                if (space != null) {
-                    width += space.advance * fontSize;
-                } else {
-                    width += 0.5f * fontSize;
-                }
-            }
+        for (int i = 0; i < snapshot.length; i += 2) {
+            String text = (String) snapshot[i];
+            FontAtlas font = (FontAtlas) snapshot[i + 1];
+            if (text == null || text.isEmpty() || font == null) continue;
+
+            width += measureRange(font, text, 0, text.length());
         }
-        return width;
+        return new TextLayoutCache.ShapedText(width, List.of());
     }
 
     /**
-     * Splits a component tree into lines that fit within a maximum width.
-     *
-     * @param root     The root component.
-     * @param maxWidth The maximum width in pixels.
-     * @return A list of {@link TextLine} objects containing the layout.
+     * Computes the word-wrapped lines of all components in a snapshot.
      */
-    public List<TextLine> computeWrappedLayout(TextComponent root, float maxWidth) {
+    private TextLayoutCache.ShapedText wrap(Object[] snapshot, float maxWidth) {
         List<TextLine> lines = new ArrayList<>();
         TextLine currentLine = new TextLine();
         float currentLineWidth = 0;
+        float widestLine = 0;
 
-        // Flatten the tree for easier iteration
-        List<TextComponent> flatList = new ArrayList<>();
-        flatten(root, flatList);
-
-        for (TextComponent comp : flatList) {
-            String text = comp.getText();
-            if (text == null || text.isEmpty()) continue;
+        for (int i = 0; i < snapshot.length; i += 2) {
+            String text = (String) snapshot[i];
+            FontAtlas font = (FontAtlas) snapshot[i + 1];
+            if (text == null || text.isEmpty() || font == null) continue;
 
-            FontAtlas font = fontSystem.resolveFont(comp);
-            if (font == null) continue;
+            int componentIndex = i / 2;
 
-            // Split by boundaries while keeping the structure manageable
-            String[] words = text.split("((?<=\\s)|(?=\\s))");
+            // Split into words and single whitespace characters, measuring ranges in place
+            int len = text.length();
+            int start = 0;
+            while (start < len) {
+                int end = start + 1;
+                if (!isWhitespace(text.charAt(start))) {
+                    while (end < len && !isWhitespace(text.charAt(end))) end++;
+                }
 
-            for (String word : words) {
                 // Handle explicit newlines
-                if (word.equals("\n")) {
+                if (text.charAt(start) == '\n') {
                     lines.add(currentLine);
+                    widestLine = Math.max(widestLine, currentLineWidth);
                     currentLine = new TextLine();
                     currentLineWidth = 0;
+                    start = end;
                     continue;
                 }
 
                 // Measure the word
-                float wordWidth = 0;
-                char[] wChars = word.toCharArray();
-                for (char c : wChars) {
-                    FontMetadata.Glyph g = font.getGlyph(c);
-                    if (g != null) {
-                        wordWidth += g.advance * fontSize;
-                    } else {
-                        FontMetadata.Glyph space = font.getGlyph(' ');
-                        if (space != null) {
-                            wordWidth += space.advance * fontSize;
-                        } else {
-                            wordWidth += 0.5f * fontSize;
-                        }
-                    }
-                }
+                float wordWidth = measureRange(font, text, start, end);
 
                 // Check fit
                 if (currentLineWidth + wordWidth <= maxWidth) {
-                    currentLine.add(comp, word, wordWidth);
+                    currentLine.add(componentIndex, start, end, wordWidth);
                     currentLineWidth += wordWidth;
                 } else {
                     // Wrap to new line
                     lines.add(currentLine);
+                    widestLine = Math.max(widestLine, currentLineWidth);
                     currentLine = new TextLine();
-                    currentLine.add(comp, word, wordWidth);
+                    currentLine.add(componentIndex, start, end, wordWidth);
                     currentLineWidth = wordWidth;
                 }
+                start = end;
             }
         }
 
         // Add the final line if it has content
         if (!currentLine.getSegments().isEmpty()) {
             lines.add(currentLine);
+            widestLine = Math.max(widestLine, currentLineWidth);
+        }
+
+        return new TextLayoutCache.ShapedText(widestLine, lines);
+    }
+
+    /**
+     * Gets the advance of a single code point in pixels.
+     * Uses the same fallback chain as rendering ({@link CustomFont#resolveGlyph}); code points
+     * without any glyph advance by the width of a space.
+     *
+     * @param font      The font variant.
+     * @param codepoint The Unicode code point.
+     * @return The advance in pixels.
+     */
+    public float getAdvance(FontAtlas font, int codepoint) {
+        FontMetadata.Glyph glyph = fontSystem.resolveGlyph(font, codepoint);
+        return (glyph != null ? glyph.advance : font.getMissingAdvance()) * fontSize;
+    }
+
+    /**
+     * Measures a range of characters in a single font variant without allocating.
+     * Surrogate pairs are measured as one code point, as they are drawn.
+     *
+     * @param font  The font variant.
+     * @param text  The characters.
+     * @param start The start index (inclusive).
+     * @param end   The end index (exclusive).
+     * @return The width in pixels.
+     */
+    public float measureRange(FontAtlas font, CharSequence text, int start, int end) {
+        float width = 0;
+        for (int i = start; i < end; ) {
+            int codepoint = codePointAt(text, i, end);
+            width += getAdvance(font, codepoint);
+            i += Character.charCount(codepoint);
         }
+        return width;
+    }
 
-        return lines;
+    /**
+     * Reads the code point at an index without reading past the end of the range.
+     * A surrogate pair split by the range end is read as its lone high surrogate.
+     *
+     * @param text  The characters.
+     * @param index The index of the first char of the code point.
+     * @param end   The end of the range (exclusive).
+     * @return The code point.
+     */
+    public static int codePointAt(CharSequence text, int index, int end) {
+        char high = text.charAt(index);
+        if (Character.isHighSurrogate(high) && index + 1 < end) {
+            char low = text.charAt(index + 1);
+            if (Character.isLowSurrogate(low)) {
+                return Character.toCodePoint(high, low);
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Checks for the characters of the regex whitespace class {@code \s}.
+     * Each of them forms its own segment, so lines can break after it.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
     }
 
-    private void flatten(TextComponent comp, List<TextComponent> list) {
+    /**
+     * Flattens a component tree in drawing order (pre-order).
+     * The position of a component in the list is the index referenced by {@link TextLine.Segment}.
+     *
+     * @param comp The root component.
+     * @param list The list to append to.
+     */
+    public static void flatten(TextComponent comp, List<TextComponent> list) {
         list.add(comp);
         for (TextComponent s : comp.getSiblings()) flatten(s, list);
     }
-}
\ No newline at end of file
+}
@@ -4,14 +4,18 @@
  */
 package net.xmx.xui.core.font.layout;
 
-import net.xmx.xui.core.text.TextComponent;
-
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Represents a single visual line of text that has been laid out by the {@link TextLayoutEngine}.
  * Contains a list of segments (words or phrases) that share the same vertical alignment.
+ * <p>
+ * Lines are shared through the {@link TextLayoutCache} and must not be modified once the layout
+ * has been computed. Segments reference their source component by its position in the flattened
+ * component tree (see {@link TextLayoutEngine#flatten}), so a cached line can be drawn with the
+ * styles of any structurally equal tree.
+ * </p>
  *
  * @author xI-Mx-Ix
  */
@@ -23,12 +27,13 @@ public class TextLine {
     /**
      * Adds a text segment to this line.
      *
-     * @param component The source component containing the style.
-     * @param text      The specific text substring for this segment.
-     * @param width     The pixel width of this segment.
+     * @param componentIndex The index of the source component in the flattened tree.
+     * @param start          The start index of the segment in the component's text (inclusive).
+     * @param end            The end index of the segment in the component's text (exclusive).
+     * @param width          The pixel width of this segment.
      */
-    public void add(TextComponent component, String text, float width) {
-        this.segments.add(new Segment(component, text));
+    void add(int componentIndex, int start, int end, float width) {
+        this.segments.add(new Segment(componentIndex, start, end, width));
         this.width += width;
     }
 
@@ -48,6 +53,13 @@ public class TextLine {
 
     /**
      * Internal record representing a piece of text within a line.
+     * The text is referenced as a character range of the source component, so wrapping
+     * does not copy it.
+     *
+     * @param componentIndex The index of the source component in the flattened tree.
+     * @param start          The start index in the component's text (inclusive).
+     * @param end            The end index in the component's text (exclusive).
+     * @param width          The advance of the segment in pixels.
      */
-    public record Segment(TextComponent component, String text) {}
-}
\ No newline at end of file
+    public record Segment(int componentIndex, int start, int end, float width) {}
+}
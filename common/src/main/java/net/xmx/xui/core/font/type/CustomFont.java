@@ -6,11 +6,15 @@ package net.xmx.xui.core.font.type;
 
 import net.xmx.xui.core.font.FontAtlas;
 import net.xmx.xui.core.font.data.FontMetadata;
+import net.xmx.xui.core.font.dynamic.DynamicGlyph;
+import net.xmx.xui.core.font.dynamic.DynamicGlyphAtlas;
 import net.xmx.xui.core.font.layout.TextLayoutEngine;
 import net.xmx.xui.core.font.layout.TextLine;
 import net.xmx.xui.core.font.Font;
+import net.xmx.xui.core.gl.renderer.SDFRenderer;
 import net.xmx.xui.core.gl.renderer.UIRenderer;
 import net.xmx.xui.core.gl.vertex.MeshBuffer;
+import net.xmx.xui.core.sdf.SDFAtlas;
 import net.xmx.xui.core.text.TextComponent;
 
 import java.util.ArrayList;
@@ -27,6 +31,10 @@ import java.util.Random;
  *     <li><b>Geometry Pass:</b> Renders text decorations (Underline, Strikethrough) using the generic geometry shader.</li>
  * </ol>
  * </p>
+ * <p>
+ * Characters missing from the prebaked atlases can be generated at runtime from a TrueType font
+ * (see {@link #setDynamicFallback} and {@link DynamicGlyphAtlas}).
+ * </p>
  *
  * @author xI-Mx-Ix
  */
@@ -36,6 +44,11 @@ public class CustomFont extends Font {
     private FontAtlas bold;
     private FontAtlas italic;
 
+    /**
+     * Rasterizes characters that none of the prebaked atlases contain, or null.
+     */
+    private DynamicGlyphAtlas dynamicFallback;
+
     /**
      * The logical visual size of the font in pixels.
      */
@@ -49,6 +62,16 @@ public class CustomFont extends Font {
      */
     private final List<Decoration> pendingDecorations = new ArrayList<>();
 
+    /**
+     * Reusable list for flattening component trees while drawing wrapped lines (render thread only).
+     */
+    private final List<TextComponent> flatScratch = new ArrayList<>();
+
+    /**
+     * The mesh glyphs are recorded into while {@link #buildMesh} runs, or null to draw directly.
+     */
+    private TextMesh recordTarget;
+
     public CustomFont() {
         super(Type.CUSTOM);
         this.layoutEngine = new TextLayoutEngine(this, FONT_SIZE);
@@ -90,6 +113,36 @@ public class CustomFont extends Font {
         return this;
     }
 
+    /**
+     * Sets a TrueType font from which characters missing in the prebaked atlases are generated on demand,
+     * e.g. a font covering CJK or other scripts used in player names and chat.
+     *
+     * @param namespace The resource namespace (e.g., "mymod").
+     * @param path      The relative path to the TrueType file without extension (e.g., "noto/NotoSansCJK-Regular").
+     * @return This instance for chaining.
+     */
+    public CustomFont setDynamicFallback(String namespace, String path) {
+        this.dynamicFallback = new DynamicGlyphAtlas(namespace, path);
+        return this;
+    }
+
+    /**
+     * Gets the runtime glyph atlas of this font.
+     *
+     * @return The dynamic atlas, or null if no fallback font is set.
+     */
+    public DynamicGlyphAtlas getDynamicFallback() {
+        return dynamicFallback;
+    }
+
+    /**
+     * Gets the generation of the dynamic glyphs, which changes whenever a generated glyph
+     * arrives or is evicted. Retained meshes compare it to detect outdated quads.
+     */
+    int getDynamicGeneration() {
+        return (dynamicFallback != null) ? dynamicFallback.getGeneration() : 0;
+    }
+
     @Override
     public float getLineHeight() {
         // Enforce strict Vanilla metrics (9px height) to ensure unified scaling
@@ -102,6 +155,19 @@ public class CustomFont extends Font {
         return layoutEngine.computeWidth(component);
     }
 
+    @Override
+    public float getAdvance(char c, TextComponent style) {
+        FontAtlas font = (style != null) ? resolveFont(style) : regular;
+        return (font != null) ? layoutEngine.getAdvance(font, c) : 0;
+    }
+
+    @Override
+    public float getWidth(CharSequence text, int start, int end, TextComponent style) {
+        // Resolve the variant once for the whole range
+        FontAtlas font = (style != null) ? resolveFont(style) : regular;
+        return (font != null) ? layoutEngine.measureRange(font, text, start, end) : 0;
+    }
+
     @Override
     public float getWordWrapHeight(TextComponent component, float maxWidth) {
         List<TextLine> layout = layoutEngine.computeWrappedLayout(component, maxWidth);
@@ -117,43 +183,107 @@ public class CustomFont extends Font {
 
     @Override
     public void drawWrapped(UIRenderer renderer, TextComponent component, float x, float y, float maxWidth, int color, boolean shadow) {
+        renderTextBatch(() -> drawLines(component, x, y, maxWidth, color));
+    }
+
+    /**
+     * Draws the word-wrapped lines of a component tree.
+     */
+    private void drawLines(TextComponent component, float x, float y, float maxWidth, int color) {
         List<TextLine> lines = layoutEngine.computeWrappedLayout(component, maxWidth);
 
-        renderTextBatch(() -> {
-            float currentY = y;
-            float lineHeight = getLineHeight();
+        // The cached lines reference components by index, styles are taken from the live tree
+        List<TextComponent> flat = flatScratch;
+        flat.clear();
+        TextLayoutEngine.flatten(component, flat);
+
+        float currentY = y;
+        float lineHeight = getLineHeight();
+
+        for (TextLine line : lines) {
+            float currentX = x;
+            List<TextLine.Segment> segments = line.getSegments();
+            for (int i = 0; i < segments.size(); i++) {
+                TextLine.Segment segment = segments.get(i);
+                TextComponent comp = flat.get(segment.componentIndex());
+                currentX = drawSingleString(comp, comp.getText(), segment.start(), segment.end(), currentX, currentY, x, color);
+            }
+            currentY += lineHeight;
+        }
+        flat.clear();
+    }
+
+    // --- Retained Meshes ---
 
-            for (TextLine line : lines) {
-                float currentX = x;
-                for (TextLine.Segment segment : line.getSegments()) {
-                    // Temporarily swap text content to render individual wrapped segments
-                    String originalText = segment.component().getText();
-                    segment.component().setText(segment.text());
+    /**
+     * Records the glyph quads and decorations of a component tree into a retained mesh.
+     * The geometry is generated relative to the origin (0, 0).
+     *
+     * @param mesh      The mesh to rebuild.
+     * @param component The text content.
+     * @param maxWidth  The wrap width, or a negative value for a single line.
+     * @param color     The default text color.
+     */
+    void buildMesh(TextMesh mesh, TextComponent component, float maxWidth, int color) {
+        mesh.begin(this, component, maxWidth, color);
+        if (regular == null) return;
 
-                    currentX = drawSingleString(segment.component(), currentX, currentY, x, color);
+        this.recordTarget = mesh;
+        try {
+            if (maxWidth < 0) {
+                drawComponentRecursive(component, 0, 0, 0, color);
+            } else {
+                drawLines(component, 0, 0, maxWidth, color);
+            }
 
-                    segment.component().setText(originalText);
-                }
-                currentY += lineHeight;
+            for (Decoration deco : pendingDecorations) {
+                mesh.addDecoration(deco.x, deco.y, deco.w, deco.h, deco.color);
             }
-        });
+        } finally {
+            this.recordTarget = null;
+            pendingDecorations.clear();
+        }
     }
 
     /**
-     * Wraps the rendering operations in the necessary OpenGL state management.
+     * Replays a retained mesh at the given position.
+     * Uses the same two-pass order as {@link #renderTextBatch}: glyphs first, then decorations.
+     *
+     * @param mesh The mesh built by {@link #buildMesh}.
+     * @param x    Absolute X coordinate.
+     * @param y    Absolute Y coordinate.
+     */
+    void drawMesh(TextMesh mesh, float x, float y) {
+        if (regular == null) return;
+
+        UIRenderer renderer = UIRenderer.getInstance();
+
+        renderer.getSdf().begin(renderer.getCurrentUiScale(), regular, renderer.getTransformStack().getDirectModelMatrix());
+        mesh.emitGlyphs(renderer.getSdf(), x, y);
+        renderer.getSdf().end();
+
+        if (mesh.hasDecorations()) {
+            renderer.getGeometry().begin(renderer.getCurrentUiScale(), renderer.getTransformStack().getDirectModelMatrix());
+            mesh.emitDecorations(renderer.getGeometry(), x, y);
+            renderer.getGeometry().end();
+        }
+    }
+
+    /**
+     * Wraps the rendering operations in a batch scope.
      * Handles the Two-Pass strategy: Text First, then Decorations.
+     * <p>
+     * State capture and submission are handled by the {@link net.xmx.xui.core.gl.renderer.BatchManager},
+     * so consecutive text draws sharing an atlas end up in a single draw call.
+     * </p>
      */
     private void renderTextBatch(Runnable renderAction) {
         if (regular == null) return;
 
         UIRenderer renderer = UIRenderer.getInstance();
 
-        // 1. Capture State
-        renderer.getStateManager().capture();
-        renderer.getStateManager().setupForUI();
-
         try {
-            // 2. Pass 1: Render Text Glyphs (MSDF Shader)
+            // 1. Pass 1: Render Text Glyphs (MSDF Shader)
             renderer.getSdf().begin(UIRenderer.getInstance().getCurrentUiScale(),
                     regular, UIRenderer.getInstance().getTransformStack().getDirectModelMatrix());
 
@@ -163,7 +293,7 @@ public class CustomFont extends Font {
 
             renderer.getSdf().end();
 
-            // 3. Pass 2: Render Decorations (Geometry Shader)
+            // 2. Pass 2: Render Decorations (Geometry Shader)
             if (!pendingDecorations.isEmpty()) {
                 renderer.getGeometry().begin(UIRenderer.getInstance().getCurrentUiScale(),
                         UIRenderer.getInstance().getTransformStack().getDirectModelMatrix());
@@ -176,12 +306,10 @@ public class CustomFont extends Font {
                 }
 
                 renderer.getGeometry().end();
-                pendingDecorations.clear();
             }
 
         } finally {
-            // 4. Restore State
-            renderer.getStateManager().restore();
+            pendingDecorations.clear();
         }
     }
 
@@ -206,7 +334,24 @@ public class CustomFont extends Font {
      */
     private float drawSingleString(TextComponent comp, float x, float y, float startX, int defaultColor) {
         String text = comp.getText();
-        if (text == null || text.isEmpty()) return x;
+        return drawSingleString(comp, text, 0, text != null ? text.length() : 0, x, y, startX, defaultColor);
+    }
+
+    /**
+     * Renders a range of text using the style of the given component.
+     *
+     * @param comp         The component providing the style.
+     * @param text         The text containing the range (e.g. the component's text for a wrapped segment).
+     * @param start        The start index of the range (inclusive).
+     * @param end          The end index of the range (exclusive).
+     * @param x            The absolute X start position.
+     * @param y            The absolute Y start position.
+     * @param startX       The X position to return to on a newline.
+     * @param defaultColor The fallback color if the component has none.
+     * @return The X coordinate after rendering the text.
+     */
+    private float drawSingleString(TextComponent comp, String text, int start, int end, float x, float y, float startX, int defaultColor) {
+        if (text == null || start >= end) return x;
 
         // Resolve the active font based on component state once at the start.
         // Since we removed legacy codes, the font variant (Bold/Italic) is constant for this string.
@@ -216,21 +361,12 @@ public class CustomFont extends Font {
         // --- 1. Setup Base State ---
         int color = (comp.getColor() != null) ? comp.getColor() : defaultColor;
 
-        float a = ((color >> 24) & 0xFF) / 255.0f;
-        float r = ((color >> 16) & 0xFF) / 255.0f;
-        float g = ((color >> 8) & 0xFF) / 255.0f;
-        float b = (color & 0xFF) / 255.0f;
-
         // Track active styles directly from the component
         boolean isUnderlined = comp.isUnderline();
         boolean isStrikethrough = comp.isStrikethrough();
         boolean isObfuscated = comp.isObfuscated();
 
         // --- 2. Prepare Rendering ---
-        // Bind the texture for the active font style
-        UIRenderer.getInstance().getSdf().drawBatch(currentFont.getTextureId());
-        MeshBuffer mesh = UIRenderer.getInstance().getSdf().getMesh();
-
         float cursorX = x;
 
         // Instead of calculating the baseline from the font's specific ascender (which varies per font),
@@ -238,87 +374,60 @@ public class CustomFont extends Font {
         // (9px height, ~7px baseline) ensuring that custom fonts align perfectly with vanilla fonts.
         float cursorY = y + 7.0f;
 
-        char[] chars = text.toCharArray();
-
         // Setup the random generator for obfuscation exactly as requested to match the visual style.
         // The seed changes every 30ms, creating the specific static noise effect.
-        long seed = System.currentTimeMillis() / 30;
-        Random obfuscationRandom = new Random(seed);
+        Random obfuscationRandom = isObfuscated ? new Random(System.currentTimeMillis() / 30) : null;
 
         // --- 3. Render Loop ---
-        for (int i = 0; i < chars.length; i++) {
-            char c = chars[i];
+        // Surrogate pairs (e.g. emoji or CJK extension characters) resolve as one code point
+        for (int i = start; i < end; ) {
+            int codepoint = TextLayoutEngine.codePointAt(text, i, end);
+            i += Character.charCount(codepoint);
 
-            if (c == '\n') {
+            if (codepoint == '\n') {
                 cursorX = startX;
                 continue;
             }
 
             // Apply obfuscation logic if active using the specific helper method
-            if (isObfuscated && c > 32) {
-                c = getObfuscatedChar(obfuscationRandom);
+            if (isObfuscated && codepoint > 32) {
+                codepoint = getObfuscatedChar(obfuscationRandom);
             }
 
             // --- Glyph Resolution & Fallback Strategy ---
-            FontMetadata.Glyph glyph = currentFont.getGlyph(c);
-
-            // Fallback to Regular if missing in current style (Bold/Italic).
-            // This is still necessary even without legacy codes, because a Bold font might
-            // miss a symbol that the Regular font has.
-            if (glyph == null && currentFont != this.regular && this.regular != null) {
-                FontMetadata.Glyph fallback = this.regular.getGlyph(c);
-                if (fallback != null) {
-                    // Flush current batch (e.g. Bold)
-                    UIRenderer.getInstance().getSdf().drawBatch(currentFont.getTextureId());
-
-                    // Render single char using Regular texture
-                    renderGlyph(mesh, fallback, cursorX, cursorY, this.regular, r, g, b, a);
-
-                    // Flush Regular batch immediately
-                    UIRenderer.getInstance().getSdf().drawBatch(this.regular.getTextureId());
-
-                    // Switch back binding to current font (e.g. Bold) for next chars
-                    UIRenderer.getInstance().getSdf().drawBatch(currentFont.getTextureId());
-
-                    // Advance cursor
-                    cursorX += fallback.advance * FONT_SIZE;
-                    continue; // Skip standard rendering
-                }
-            }
+            FontMetadata.Glyph glyph = resolveGlyph(currentFont, codepoint);
 
             // Fallback for completely missing characters
+            // Advance by the width of a space to prevent text from collapsing.
+            // Generated glyphs whose bitmap is not ready yet are skipped by renderGlyph,
+            // so their advance acts as the placeholder.
             if (glyph == null) {
-                // Determine a safe advance width (e.g. from space or '?' char)
-                // This prevents text collapsing when characters are missing
-                FontMetadata.Glyph space = currentFont.getGlyph(' ');
-                float missingAdvance = (space != null) ? space.advance : 0.5f;
-                cursorX += missingAdvance * FONT_SIZE;
+                cursorX += currentFont.getMissingAdvance() * FONT_SIZE;
                 continue;
             }
 
-            // --- Render Standard Glyph ---
-            renderGlyph(mesh, glyph, cursorX, cursorY, currentFont, r, g, b, a);
+            // --- Render Glyph ---
+            // The glyph may belong to the Regular atlas (fallback); the batch manager
+            // splits the draw call only if the atlas differs.
+            renderGlyph(glyph, cursorX, cursorY, color);
             cursorX += glyph.advance * FONT_SIZE;
         }
 
         // --- 4. Render Decorations (Geometry Pass) ---
-        int finalColor = ((int) (a * 255) << 24) | ((int) (r * 255) << 16) | ((int) (g * 255) << 8) | (int) (b * 255);
         float textWidth = cursorX - x;
         float thickness = Math.max(0.65f, FONT_SIZE / 12.0f);
 
         if (isUnderlined) {
             float lineY = cursorY + 0.35f;
-            pendingDecorations.add(new Decoration(x, lineY, textWidth, thickness, finalColor));
+            pendingDecorations.add(new Decoration(x, lineY, textWidth, thickness, color));
         }
 
         if (isStrikethrough) {
             float midOffset = (currentFont.getFontData().metrics.ascender * FONT_SIZE) * 0.4f;
             float lineY = cursorY - midOffset;
-            pendingDecorations.add(new Decoration(x, lineY, textWidth, thickness, finalColor));
+            pendingDecorations.add(new Decoration(x, lineY, textWidth, thickness, color));
         }
 
-        // Ensure the texture binding is correct before returning control
-        UIRenderer.getInstance().getSdf().drawBatch(currentFont.getTextureId());
         return cursorX;
     }
 
@@ -334,21 +443,29 @@ public class CustomFont extends Font {
     }
 
     /**
-     * Helper method to calculate vertex positions and push them to the mesh buffer.
+     * Helper method to calculate vertex positions and push them to the SDF batch.
      * Handles the normalization of atlas coordinates and scaling of glyph bounds.
+     * While a retained mesh is being built, the quad is recorded into the mesh instead.
      *
-     * @param mesh    The mesh buffer to write to.
      * @param glyph   The glyph data containing bounds and advance.
      * @param cursorX The current drawing X position.
      * @param cursorY The calculated baseline Y position.
-     * @param font    The font atlas containing texture dimensions.
-     * @param r       Red color component (0-1).
-     * @param g       Green color component (0-1).
-     * @param b       Blue color component (0-1).
-     * @param a       Alpha color component (0-1).
+     * @param color   The ARGB color.
      */
-    private void renderGlyph(MeshBuffer mesh, FontMetadata.Glyph glyph, float cursorX, float cursorY, FontAtlas font, float r, float g, float b, float a) {
+    private void renderGlyph(FontMetadata.Glyph glyph, float cursorX, float cursorY, int color) {
+        // A retained mesh using generated glyphs, even pending ones, is rebuilt when they change
+        if (recordTarget != null && glyph instanceof DynamicGlyph) {
+            recordTarget.markDynamicGlyphs();
+        }
+
         if (glyph.planeBounds != null && glyph.atlasBounds != null) {
+            SDFAtlas font = glyph.atlas;
+
+            // Generated glyphs drawn in this frame must not be evicted
+            if (glyph instanceof DynamicGlyph dynamicGlyph) {
+                dynamicFallback.markUsed(dynamicGlyph);
+            }
+
             // 1. Calculate Screen Positions (Vertex Coordinates)
             // Plane bounds are normalized (EM space), so we multiply by FONT_SIZE.
             // We subtract from cursorY because in OpenGL Y-Down, "Up" in font metrics means lower Y value.
@@ -365,8 +482,8 @@ public class CustomFont extends Font {
 
             // 2. Calculate Texture Coordinates (UVs)
             // Atlas bounds are in raw pixels. We normalize by atlas dimensions.
-            float atlasW = font.getFontData().atlas.width;
-            float atlasH = font.getFontData().atlas.height;
+            float atlasW = font.getMetadata().atlas.width;
+            float atlasH = font.getMetadata().atlas.height;
 
             float u0 = glyph.atlasBounds.left / atlasW;
             float u1 = glyph.atlasBounds.right / atlasW;
@@ -374,16 +491,20 @@ public class CustomFont extends Font {
             float v0 = 1.0f - (glyph.atlasBounds.top / atlasH);
             float v1 = 1.0f - (glyph.atlasBounds.bottom / atlasH);
 
-            // 3. Push Vertices (Two Triangles -> Quad)
-            // Triangle 1
-            mesh.pos(x0, y1, 0).color(r, g, b, a).uv(u0, v1).endVertex(); // Bottom-Left
-            mesh.pos(x1, y1, 0).color(r, g, b, a).uv(u1, v1).endVertex(); // Bottom-Right
-            mesh.pos(x1, y0, 0).color(r, g, b, a).uv(u1, v0).endVertex(); // Top-Right
+            // 3. Record into the retained mesh if one is being built
+            if (recordTarget != null) {
+                recordTarget.addGlyph(glyph, x0, y0, x1, y1, u0, v0, u1, v1, color);
+                return;
+            }
 
-            // Triangle 2
-            mesh.pos(x1, y0, 0).color(r, g, b, a).uv(u1, v0).endVertex(); // Top-Right
-            mesh.pos(x0, y0, 0).color(r, g, b, a).uv(u0, v0).endVertex(); // Top-Left
-            mesh.pos(x0, y1, 0).color(r, g, b, a).uv(u0, v1).endVertex(); // Bottom-Left
+            // 4. Push Vertices (Quad in winding order, indexed by the mesh)
+            SDFRenderer sdf = UIRenderer.getInstance().getSdf();
+            MeshBuffer mesh = sdf.prepare(font, 4);
+            int slot = sdf.getSlot();
+            mesh.pos(x0, y1, 0).color(color).uv(u0, v1).slot(slot).endVertex(); // Bottom-Left
+            mesh.pos(x1, y1, 0).color(color).uv(u1, v1).slot(slot).endVertex(); // Bottom-Right
+            mesh.pos(x1, y0, 0).color(color).uv(u1, v0).slot(slot).endVertex(); // Top-Right
+            mesh.pos(x0, y0, 0).color(color).uv(u0, v0).slot(slot).endVertex(); // Top-Left
         }
     }
 
@@ -399,6 +520,44 @@ public class CustomFont extends Font {
         return regular;
     }
 
+    /**
+     * Resolves the glyph of a character, applying the fallback chain:
+     * <ol>
+     *     <li>The glyph of the given font variant (e.g. Bold).</li>
+     *     <li>The glyph of the Regular font, as a Bold/Italic font might miss a symbol the Regular font has.</li>
+     *     <li>The generated glyph of the dynamic fallback font, if one is set.</li>
+     *     <li>The replacement glyph ('?') of the given font variant or of the Regular font.</li>
+     * </ol>
+     * The returned glyph knows its atlas ({@link FontMetadata.Glyph#atlas}), which must be used to render it.
+     *
+     * @param font      The font variant resolved for the component.
+     * @param codepoint The Unicode codepoint.
+     * @return The glyph to render, or null if not even a replacement glyph exists.
+     */
+    public FontMetadata.Glyph resolveGlyph(FontAtlas font, int codepoint) {
+        FontMetadata.Glyph glyph = font.getGlyph(codepoint);
+        if (glyph != null) return glyph;
+
+        if (font != regular && regular != null) {
+            glyph = regular.getGlyph(codepoint);
+            if (glyph != null) return glyph;
+        }
+
+        // Whitespace and control characters are never replaced by a visible glyph
+        if (codepoint <= ' ') return null;
+
+        if (dynamicFallback != null) {
+            glyph = dynamicFallback.getGlyph(codepoint);
+            if (glyph != null) return glyph;
+        }
+
+        glyph = font.getReplacementGlyph();
+        if (glyph == null && regular != null) {
+            glyph = regular.getReplacementGlyph();
+        }
+        return glyph;
+    }
+
     /**
      * DTO for storing line rendering requests.
      */
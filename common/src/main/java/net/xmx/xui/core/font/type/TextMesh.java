@@ -0,0 +1,376 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.font.type;
+
+import net.xmx.xui.core.font.data.FontMetadata;
+import net.xmx.xui.core.font.dynamic.DynamicGlyph;
+import net.xmx.xui.core.font.dynamic.DynamicGlyphAtlas;
+import net.xmx.xui.core.gl.renderer.GeometryRenderer;
+import net.xmx.xui.core.gl.renderer.SDFRenderer;
+import net.xmx.xui.core.gl.renderer.UIRenderer;
+import net.xmx.xui.core.gl.vertex.MeshBuffer;
+import net.xmx.xui.core.sdf.SDFAtlas;
+import net.xmx.xui.core.text.TextComponent;
+
+import java.util.Arrays;
+
+/**
+ * A retained set of glyph quads for a piece of static text.
+ * <p>
+ * Generating text geometry resolves every glyph, computes its quad and texture coordinates and,
+ * for obfuscated text, seeds a random generator. A widget that draws the same text on every frame
+ * can keep a {@code TextMesh} instead: the quads are generated once by {@link CustomFont} relative
+ * to the text origin and replayed on the following frames, which only translates and copies
+ * the pre-computed vertices into the batch.
+ * </p>
+ * <p>
+ * <b>Invalidation:</b><br>
+ * The mesh is rebuilt automatically when the text, style or color of any component in the tree,
+ * the font, the base color or the wrap width changes. Text containing obfuscated components is
+ * rebuilt on every draw, as its glyphs change over time. Text using glyphs of a
+ * {@link DynamicGlyphAtlas} is also rebuilt when a generated glyph arrives or is evicted.
+ * </p>
+ * <p>
+ * Components using a non-custom font (e.g. the Vanilla font) are drawn through the regular
+ * {@link UIRenderer} path, so widgets can use a {@code TextMesh} regardless of the font.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+public class TextMesh {
+
+    /**
+     * The wrap width used for single line text.
+     */
+    private static final float UNWRAPPED = -1.0f;
+
+    /**
+     * The maximum number of glyphs reserved with a single prepare call (well below the mesh capacity).
+     */
+    private static final int MAX_GLYPHS_PER_PREPARE = 1024;
+
+    /**
+     * The number of floats per glyph: x0, y0, x1, y1, u0, v0, u1, v1.
+     */
+    private static final int GLYPH_STRIDE = 8;
+
+    // --- Glyph Quads (relative to the text origin) ---
+    private float[] quads = new float[GLYPH_STRIDE * 16];
+    private int[] glyphColors = new int[16];
+    private int glyphCount = 0;
+
+    // --- Atlas Runs (consecutive glyphs sampling the same atlas) ---
+    private SDFAtlas[] runAtlases = new SDFAtlas[4];
+    private int[] runEnds = new int[4];
+    private int runCount = 0;
+
+    // --- Generated glyphs, kept alive in their atlas while the mesh is drawn ---
+    private DynamicGlyph[] dynamicGlyphs = new DynamicGlyph[0];
+    private int dynamicGlyphCount = 0;
+
+    // --- Decorations (underline/strikethrough rectangles) ---
+    private float[] decorations = new float[0];
+    private int[] decorationColors = new int[0];
+    private int decorationCount = 0;
+
+    // --- Signature of the source the mesh was built from ---
+    private CustomFont builtFont;
+    private float builtMaxWidth;
+    private int builtColor;
+    private int builtGeneration;
+    private boolean built = false;
+    private boolean dynamic = false;
+    private boolean usesDynamicGlyphs = false;
+    private String[] texts = new String[4];
+    private long[] colors = new long[4];
+    private byte[] styles = new byte[4];
+    private int componentCount = 0;
+
+    /**
+     * Draws a single line of text, rebuilding the mesh only if the text changed.
+     *
+     * @param renderer The renderer instance.
+     * @param text     The text to render.
+     * @param x        Absolute X coordinate.
+     * @param y        Absolute Y coordinate.
+     * @param color    The text color.
+     * @param shadow   Whether to draw a drop shadow.
+     */
+    public void draw(UIRenderer renderer, TextComponent text, float x, float y, int color, boolean shadow) {
+        if (text == null || text.getFont() == null) return;
+
+        if (!(text.getFont() instanceof CustomFont font) || renderer.getSdf() == null) {
+            renderer.drawText(text, x, y, color, shadow);
+            return;
+        }
+
+        if (!isValid(font, text, UNWRAPPED, color)) {
+            font.buildMesh(this, text, UNWRAPPED, color);
+        }
+        font.drawMesh(this, x, y);
+    }
+
+    /**
+     * Draws text wrapped within a width, rebuilding the mesh only if the text or width changed.
+     *
+     * @param renderer The renderer instance.
+     * @param text     The text to render.
+     * @param x        Absolute X coordinate.
+     * @param y        Absolute Y coordinate.
+     * @param maxWidth The maximum width before wrapping.
+     * @param color    The text color.
+     * @param shadow   Whether to draw a drop shadow.
+     */
+    public void drawWrapped(UIRenderer renderer, TextComponent text, float x, float y, float maxWidth, int color, boolean shadow) {
+        if (text == null || text.getFont() == null) return;
+
+        if (!(text.getFont() instanceof CustomFont font) || renderer.getSdf() == null) {
+            renderer.drawWrappedText(text, x, y, maxWidth, color, shadow);
+            return;
+        }
+
+        maxWidth = Math.max(0, maxWidth);
+        if (!isValid(font, text, maxWidth, color)) {
+            font.buildMesh(this, text, maxWidth, color);
+        }
+        font.drawMesh(this, x, y);
+    }
+
+    /**
+     * Discards the retained geometry. The next draw call rebuilds the mesh.
+     */
+    public void invalidate() {
+        this.built = false;
+    }
+
+    /**
+     * Gets the number of retained glyph quads.
+     *
+     * @return The glyph count.
+     */
+    public int getGlyphCount() {
+        return glyphCount;
+    }
+
+    // =================================================================================
+    // Signature
+    // =================================================================================
+
+    private boolean isValid(CustomFont font, TextComponent text, float maxWidth, int color) {
+        if (!built || dynamic || font != builtFont || color != builtColor
+                || Float.compare(maxWidth, builtMaxWidth) != 0
+                || (usesDynamicGlyphs && font.getDynamicGeneration() != builtGeneration)) {
+            return false;
+        }
+        return matches(text, 0) == componentCount;
+    }
+
+    /**
+     * Compares the component tree with the recorded signature in drawing order.
+     *
+     * @return The index after the last matching component, or -1 on a mismatch.
+     */
+    private int matches(TextComponent comp, int index) {
+        if (index >= componentCount
+                || !equalText(texts[index], comp.getText())
+                || colors[index] != colorKey(comp)
+                || styles[index] != styleBits(comp)) {
+            return -1;
+        }
+        index++;
+        for (TextComponent sibling : comp.getSiblings()) {
+            index = matches(sibling, index);
+            if (index < 0) return -1;
+        }
+        return index;
+    }
+
+    private void recordSignature(TextComponent comp) {
+        if (componentCount == texts.length) {
+            int size = componentCount * 2;
+            texts = Arrays.copyOf(texts, size);
+            colors = Arrays.copyOf(colors, size);
+            styles = Arrays.copyOf(styles, size);
+        }
+        texts[componentCount] = comp.getText();
+        colors[componentCount] = colorKey(comp);
+        styles[componentCount] = styleBits(comp);
+        componentCount++;
+
+        if (comp.isObfuscated()) {
+            dynamic = true;
+        }
+        for (TextComponent sibling : comp.getSiblings()) {
+            recordSignature(sibling);
+        }
+    }
+
+    private static boolean equalText(String a, String b) {
+        return a == b || (a != null && a.equals(b));
+    }
+
+    private static long colorKey(TextComponent comp) {
+        Integer color = comp.getColor();
+        return color != null ? color & 0xFFFFFFFFL : Long.MIN_VALUE;
+    }
+
+    private static byte styleBits(TextComponent comp) {
+        return (byte) ((comp.isBold() ? 1 : 0)
+                | (comp.isItalic() ? 2 : 0)
+                | (comp.isUnderline() ? 4 : 0)
+                | (comp.isStrikethrough() ? 8 : 0)
+                | (comp.isObfuscated() ? 16 : 0));
+    }
+
+    // =================================================================================
+    // Recording (called by CustomFont)
+    // =================================================================================
+
+    /**
+     * Clears the mesh and records the signature of the source text.
+     */
+    void begin(CustomFont font, TextComponent text, float maxWidth, int color) {
+        glyphCount = 0;
+        runCount = 0;
+        decorationCount = 0;
+        componentCount = 0;
+        dynamicGlyphCount = 0;
+        dynamic = false;
+        usesDynamicGlyphs = false;
+
+        builtFont = font;
+        builtGeneration = font.getDynamicGeneration();
+        builtMaxWidth = maxWidth;
+        builtColor = color;
+        recordSignature(text);
+        built = true;
+    }
+
+    /**
+     * Records that the text resolves to generated glyphs, including ones whose bitmap is still pending.
+     * Only such meshes compare the dynamic generation; other text is unaffected by glyphs
+     * arriving or being evicted.
+     */
+    void markDynamicGlyphs() {
+        usesDynamicGlyphs = true;
+    }
+
+    /**
+     * Appends a glyph quad relative to the text origin.
+     */
+    void addGlyph(FontMetadata.Glyph source, float x0, float y0, float x1, float y1,
+                  float u0, float v0, float u1, float v1, int argb) {
+        SDFAtlas atlas = source.atlas;
+        if (source instanceof DynamicGlyph dynamicGlyph) {
+            if (dynamicGlyphCount == dynamicGlyphs.length) {
+                dynamicGlyphs = Arrays.copyOf(dynamicGlyphs, Math.max(4, dynamicGlyphCount * 2));
+            }
+            dynamicGlyphs[dynamicGlyphCount++] = dynamicGlyph;
+        }
+
+        if (glyphCount == glyphColors.length) {
+            quads = Arrays.copyOf(quads, quads.length * 2);
+            glyphColors = Arrays.copyOf(glyphColors, glyphColors.length * 2);
+        }
+
+        int o = glyphCount * GLYPH_STRIDE;
+        quads[o] = x0;
+        quads[o + 1] = y0;
+        quads[o + 2] = x1;
+        quads[o + 3] = y1;
+        quads[o + 4] = u0;
+        quads[o + 5] = v0;
+        quads[o + 6] = u1;
+        quads[o + 7] = v1;
+        glyphColors[glyphCount] = argb;
+        glyphCount++;
+
+        // Extend the current run or start a new one for a different atlas
+        if (runCount > 0 && runAtlases[runCount - 1] == atlas) {
+            runEnds[runCount - 1] = glyphCount;
+        } else {
+            if (runCount == runAtlases.length) {
+                runAtlases = Arrays.copyOf(runAtlases, runCount * 2);
+                runEnds = Arrays.copyOf(runEnds, runCount * 2);
+            }
+            runAtlases[runCount] = atlas;
+            runEnds[runCount] = glyphCount;
+            runCount++;
+        }
+    }
+
+    /**
+     * Appends a decoration rectangle relative to the text origin.
+     */
+    void addDecoration(float x, float y, float w, float h, int argb) {
+        if (decorationCount == decorationColors.length) {
+            int size = Math.max(2, decorationCount * 2);
+            decorations = Arrays.copyOf(decorations, size * 4);
+            decorationColors = Arrays.copyOf(decorationColors, size);
+        }
+        int o = decorationCount * 4;
+        decorations[o] = x;
+        decorations[o + 1] = y;
+        decorations[o + 2] = w;
+        decorations[o + 3] = h;
+        decorationColors[decorationCount] = argb;
+        decorationCount++;
+    }
+
+    // =================================================================================
+    // Replay (called by CustomFont)
+    // =================================================================================
+
+    boolean hasDecorations() {
+        return decorationCount > 0;
+    }
+
+    /**
+     * Writes the retained glyph quads into the SDF batch, translated by the given origin.
+     */
+    void emitGlyphs(SDFRenderer sdf, float x, float y) {
+        for (int i = 0; i < dynamicGlyphCount; i++) {
+            DynamicGlyph dynamicGlyph = dynamicGlyphs[i];
+            ((DynamicGlyphAtlas) dynamicGlyph.atlas).markUsed(dynamicGlyph);
+        }
+
+        int glyph = 0;
+        for (int r = 0; r < runCount; r++) {
+            SDFAtlas atlas = runAtlases[r];
+            int end = runEnds[r];
+
+            while (glyph < end) {
+                int batchEnd = Math.min(end, glyph + MAX_GLYPHS_PER_PREPARE);
+                MeshBuffer mesh = sdf.prepare(atlas, (batchEnd - glyph) * 4);
+                int slot = sdf.getSlot();
+
+                for (; glyph < batchEnd; glyph++) {
+                    int o = glyph * GLYPH_STRIDE;
+                    float x0 = x + quads[o], y0 = y + quads[o + 1];
+                    float x1 = x + quads[o + 2], y1 = y + quads[o + 3];
+                    float u0 = quads[o + 4], v0 = quads[o + 5];
+                    float u1 = quads[o + 6], v1 = quads[o + 7];
+                    int argb = glyphColors[glyph];
+
+                    mesh.pos(x0, y1, 0).color(argb).uv(u0, v1).slot(slot).endVertex(); // Bottom-Left
+                    mesh.pos(x1, y1, 0).color(argb).uv(u1, v1).slot(slot).endVertex(); // Bottom-Right
+                    mesh.pos(x1, y0, 0).color(argb).uv(u1, v0).slot(slot).endVertex(); // Top-Right
+                    mesh.pos(x0, y0, 0).color(argb).uv(u0, v0).slot(slot).endVertex(); // Top-Left
+                }
+            }
+        }
+    }
+
+    /**
+     * Draws the retained decorations, translated by the given origin.
+     */
+    void emitDecorations(GeometryRenderer geometry, float x, float y) {
+        for (int i = 0; i < decorationCount; i++) {
+            int o = i * 4;
+            geometry.drawRect(x + decorations[o], y + decorations[o + 1], decorations[o + 2], decorations[o + 3],
+                    decorationColors[i], 0, 0, 0, 0); // No corner radius for lines
+        }
+    }
+}
@@ -4,11 +4,14 @@
  */
 package net.xmx.xui.core.font.type;
 
+import net.xmx.xui.core.font.DefaultFonts;
 import net.xmx.xui.core.font.Font;
 import net.xmx.xui.core.platform.PlatformRenderInterface;
 import net.xmx.xui.core.gl.renderer.UIRenderer;
 import net.xmx.xui.core.text.TextComponent;
 
+import java.util.Arrays;
+
 /**
  * Represents the platform's native font engine (e.g., Minecraft's "Vanilla" Font).
  * <p>
@@ -28,6 +31,12 @@ import net.xmx.xui.core.text.TextComponent;
  */
 public class VanillaFont extends Font {
 
+    /**
+     * Cached character advances, split into lazily allocated pages of 256 characters.
+     * Index 0 holds the regular and index 1 the bold advances. Unmeasured entries are NaN.
+     */
+    private final float[][][] advanceCache = new float[2][256][];
+
     /**
      * Constructs a new VanillaFont instance.
      * <p>
@@ -68,6 +77,49 @@ public class VanillaFont extends Font {
         return UIRenderer.getInstance().getPlatform().getNativeStringWidth(component);
     }
 
+    /**
+     * Gets the advance of a single character.
+     * <p>
+     * The backend is only queried once per character and style; afterwards the advance is
+     * answered from a local cache, so range measurement and hit testing do not allocate.
+     * Italic text has the same advances as regular text in the native renderer.
+     * </p>
+     *
+     * @param c     The character.
+     * @param style The component whose bold flag applies, or null for plain text.
+     * @return The advance in logical pixels.
+     */
+    @Override
+    public float getAdvance(char c, TextComponent style) {
+        boolean bold = style != null && style.isBold();
+        float[][] pages = advanceCache[bold ? 1 : 0];
+
+        float[] page = pages[c >>> 8];
+        if (page == null) {
+            page = new float[256];
+            Arrays.fill(page, Float.NaN);
+            pages[c >>> 8] = page;
+        }
+
+        float advance = page[c & 0xFF];
+        if (Float.isNaN(advance)) {
+            advance = UIRenderer.getInstance().getPlatform().getNativeCharWidth(c, bold);
+            page[c & 0xFF] = advance;
+        }
+        return advance;
+    }
+
+    /**
+     * Discards the cached character advances.
+     * Must be called when the native font changes; {@link DefaultFonts#onResourceReload()}
+     * does so after every resource reload.
+     */
+    public void clearAdvanceCache() {
+        for (float[][] pages : advanceCache) {
+            Arrays.fill(pages, null);
+        }
+    }
+
     /**
      * Calculates the vertical height required to render the text if it were wrapped
      * within a specific width constraint.
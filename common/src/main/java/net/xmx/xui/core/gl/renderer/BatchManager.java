@@ -0,0 +1,828 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.gl.renderer;
+
+import net.xmx.xui.core.gl.shader.ShaderProgram;
+import net.xmx.xui.core.gl.vertex.MeshBuffer;
+import org.joml.Matrix4f;
+import org.lwjgl.BufferUtils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Coordinates deferred, frame-wide batching of all XUI draw commands.
+ * <p>
+ * Instead of capturing the OpenGL state, querying the viewport, binding a shader and issuing a
+ * draw call for every single rectangle, glyph run or image, the sub-renderers append their vertices
+ * into their own vertex streams. Every contiguous range of vertices sharing the same sort key
+ * (target/shader, state key such as the texture, and scissor region) is recorded as a command
+ * in a retained {@link DrawList}.
+ * </p>
+ * <p>
+ * Commands are only submitted to the GPU when:
+ * <ul>
+ *     <li>The vertex stream of a target runs out of capacity.</li>
+ *     <li>A target requests it explicitly (e.g. a uniform-only state change).</li>
+ *     <li>The frame ends via {@link #endFrame()}.</li>
+ * </ul>
+ * On submission, non-overlapping commands are reordered to merge runs of the same shader,
+ * texture and scissor, while overlapping commands keep their painter's order. This reduces the
+ * number of draw calls and state changes per frame from O(widgets) to O(distinct states).
+ * </p>
+ * <p>
+ * <b>Immediate Scopes:</b> When a sub-renderer is used outside of a frame (e.g. from custom
+ * rendering code), it opens an implicit single-call scope via {@link #beginImmediate(double)},
+ * which behaves exactly like the legacy immediate mode (capture, draw, restore).
+ * </p>
+ * <p>
+ * Vertices are transformed on the CPU by the current model-view matrix while being written
+ * (see {@link MeshBuffer#setTransform(Matrix4f)}), so every batch is drawn with an identity
+ * model-view uniform and commands with different transforms can share a single draw call.
+ * </p>
+ * <p>
+ * All uploads, draws and binding changes go through a {@link GlBackend}, so the batching can be
+ * exercised and measured without an OpenGL context.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+public class BatchManager {
+
+    /**
+     * Scissor index used for commands that are not clipped.
+     */
+    private static final int NO_SCISSOR = -1;
+
+    /**
+     * Identity matrix uploaded as model-view uniform, as vertices are already pre-transformed.
+     * Never mutated.
+     */
+    private final Matrix4f identityMatrix = new Matrix4f();
+
+    /**
+     * The orthographic projection of the current frame (or immediate scope).
+     */
+    private final Matrix4f projectionMatrix = new Matrix4f();
+
+    /**
+     * Reusable array for viewport queries to avoid allocations.
+     */
+    private final int[] viewport = new int[4];
+
+    private final GlState stateManager;
+    private final GlBackend gl;
+
+    /**
+     * The retained command list of the current frame.
+     */
+    private final DrawList drawList = new DrawList();
+
+    /**
+     * The targets that recorded vertices since the last submission.
+     */
+    private final List<BatchTarget> usedTargets = new ArrayList<>(4);
+
+    /**
+     * Scratch buffers for {@link MeshBuffer#drawMulti}.
+     */
+    private IntBuffer spanFirsts = BufferUtils.createIntBuffer(64);
+    private IntBuffer spanCounts = BufferUtils.createIntBuffer(64);
+
+    /**
+     * Whether a frame (or immediate scope) is currently open.
+     */
+    private boolean active = false;
+
+    /**
+     * The command currently receiving vertices, or null.
+     */
+    private DrawList.Command openCommand;
+
+    // --- Scissor State ---
+    /**
+     * Physical scissor rectangles of the current frame, 4 ints per entry (x, glY, width, height).
+     */
+    private int[] scissorTable = new int[64];
+    private int scissorCount = 0;
+
+    /**
+     * The entry that was current when each scissor entry was set (its enclosing region), or {@link #NO_SCISSOR}.
+     */
+    private int[] scissorParents = new int[16];
+
+    /**
+     * The scissor entry new commands are recorded with.
+     */
+    private int currentScissor = NO_SCISSOR;
+
+    /**
+     * The scissor entry currently applied to OpenGL.
+     */
+    private int appliedScissor = NO_SCISSOR;
+
+    /**
+     * Set when foreign code (e.g. the platform's native text renderer) may have touched the
+     * OpenGL capabilities. The UI capabilities are re-applied before the next draw call.
+     */
+    private boolean capabilitiesDirty = false;
+
+    // --- Bindings of the previous draw call (used for statistics and uniform uploads) ---
+    private ShaderProgram lastProgram;
+    private final int[] lastTextures = new int[GlState.TEXTURE_UNITS];
+
+    // --- Statistics of the frame currently being recorded ---
+    private int drawCalls;
+    private int shaderSwitches;
+    private int textureSwitches;
+    private int scissorChanges;
+    private int vertexCount;
+    private int commandCount;
+
+    /**
+     * The number of frames (and immediate scopes) opened so far.
+     */
+    private long frameIndex = 0;
+
+    /**
+     * Statistics of the last completed frame (updated in place).
+     */
+    private final FrameStats lastFrameStats = new FrameStats();
+
+    /**
+     * The per-thread allocation counter of the JVM, or null if it is not available.
+     */
+    private static final com.sun.management.ThreadMXBean ALLOCATION_COUNTER = resolveAllocationCounter();
+
+    private boolean allocationTracking = false;
+    private long frameStartAllocatedBytes = -1;
+
+    /**
+     * Creates a new batch manager.
+     *
+     * @param stateManager The state manager used to capture and restore foreign GL state.
+     */
+    public BatchManager(GlState stateManager) {
+        this(stateManager, OpenGlBackend.INSTANCE);
+    }
+
+    /**
+     * Creates a new batch manager that issues its OpenGL calls through the given backend.
+     *
+     * @param stateManager The state manager used to capture and restore foreign GL state.
+     * @param gl           The backend receiving uploads, draws and binding changes.
+     */
+    public BatchManager(GlState stateManager, GlBackend gl) {
+        this.stateManager = stateManager;
+        this.gl = gl;
+    }
+
+    // =================================================================================
+    // Frame Lifecycle
+    // =================================================================================
+
+    /**
+     * Opens a new frame batch.
+     * <p>
+     * Captures the foreign OpenGL state once, applies the UI capabilities and calculates the
+     * orthographic projection for the whole frame.
+     * </p>
+     *
+     * @param uiScale The logical-to-physical UI scale factor of this frame.
+     */
+    public void beginFrame(double uiScale) {
+        if (active) {
+            // A previous frame was not closed properly; submit what we have.
+            endFrame();
+        }
+
+        stateManager.capture();
+        stateManager.setupForUI();
+
+        updateProjection(uiScale);
+
+        this.active = true;
+        this.frameIndex++;
+        this.capabilitiesDirty = false;
+        this.lastProgram = null;
+        Arrays.fill(lastTextures, -1);
+
+        // Keep the scissor region that may have been set (and applied) before the frame started
+        if (currentScissor != NO_SCISSOR) {
+            System.arraycopy(scissorTable, currentScissor * 4, scissorTable, 0, 4);
+            scissorParents[0] = NO_SCISSOR;
+            this.currentScissor = 0;
+            this.scissorCount = 1;
+        } else {
+            this.scissorCount = 0;
+        }
+        this.appliedScissor = currentScissor;
+
+        this.drawCalls = 0;
+        this.shaderSwitches = 0;
+        this.textureSwitches = 0;
+        this.scissorChanges = 0;
+        this.vertexCount = 0;
+        this.commandCount = 0;
+
+        this.frameStartAllocatedBytes = allocationTracking ? ALLOCATION_COUNTER.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /**
+     * Closes the current frame batch.
+     * <p>
+     * Submits all recorded commands, unbinds the shader program and restores the foreign OpenGL state.
+     * </p>
+     */
+    public void endFrame() {
+        if (!active) return;
+
+        flush();
+
+        if (lastProgram != null) {
+            gl.bindProgram(null);
+        }
+
+        this.active = false;
+        stateManager.restore();
+
+        long allocatedBytes = -1;
+        if (frameStartAllocatedBytes >= 0) {
+            allocatedBytes = ALLOCATION_COUNTER.getCurrentThreadAllocatedBytes() - frameStartAllocatedBytes;
+        }
+
+        lastFrameStats.set(drawCalls, shaderSwitches, textureSwitches, scissorChanges, vertexCount, commandCount, allocatedBytes);
+    }
+
+    /**
+     * Opens an implicit scope for a single immediate-mode draw operation if no frame is active.
+     *
+     * @param uiScale The UI scale used to build the projection.
+     * @return {@code true} if a scope was opened and must be closed via {@link #endImmediate(boolean)}.
+     */
+    public boolean beginImmediate(double uiScale) {
+        if (active) return false;
+        beginFrame(uiScale);
+        return true;
+    }
+
+    /**
+     * Closes an implicit scope previously opened by {@link #beginImmediate(double)}.
+     *
+     * @param opened The value returned by {@link #beginImmediate(double)}.
+     */
+    public void endImmediate(boolean opened) {
+        if (opened) {
+            endFrame();
+        }
+    }
+
+    /**
+     * Checks whether a frame or immediate scope is currently open.
+     *
+     * @return true if draw commands are currently being batched.
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    // =================================================================================
+    // Command Recording
+    // =================================================================================
+
+    /**
+     * Registers a target with this manager.
+     * <p>
+     * Installs an overflow handler on the target's vertex stream, so writing more vertices than
+     * announced via {@link #prepare} submits the recorded commands instead of losing geometry.
+     * </p>
+     *
+     * @param target The target to register.
+     */
+    public void register(BatchTarget target) {
+        target.getMesh().setOverflowHandler(() -> handleOverflow(target));
+    }
+
+    /**
+     * Submits all commands because the vertex stream of the given target is full,
+     * then continues the interrupted command in the emptied stream.
+     */
+    private void handleOverflow(BatchTarget target) {
+        DrawList.Command open = openCommand;
+        boolean resume = open != null && open.target == target;
+        int stateKey = resume ? open.stateKey : 0;
+        Object state = resume ? open.state : null;
+
+        flush();
+
+        if (resume) {
+            prepare(target, stateKey, state, 0);
+        }
+    }
+
+    /**
+     * Makes the given target the receiver of the next vertices.
+     * <p>
+     * If the vertices continue the previous command (same target, state and scissor), that
+     * command is extended. Otherwise, a new command is recorded. If the target's vertex stream
+     * cannot hold the requested number of additional vertices, all recorded commands are
+     * submitted first.
+     * </p>
+     *
+     * @param target   The sub-renderer that is about to write vertices.
+     * @param stateKey An opaque key describing the render state (e.g. the texture ID).
+     * @param state    An optional state object passed back to {@link BatchTarget#bindState}
+     *                 (compared by identity), or null.
+     * @param vertices The number of vertices about to be written.
+     */
+    public void prepare(BatchTarget target, int stateKey, Object state, int vertices) {
+        MeshBuffer mesh = target.getMesh();
+
+        if (!mesh.hasCapacity(vertices)) {
+            flush();
+        } else if (openCommand != null && openCommand.target == target && openCommand.stateKey == stateKey
+                && openCommand.state == state && openCommand.scissor == currentScissor) {
+            // Continue the current command
+            return;
+        }
+
+        closeCommand();
+
+        if (!usedTargets.contains(target)) {
+            usedTargets.add(target);
+        }
+
+        DrawList.Command cmd = drawList.add();
+        cmd.target = target;
+        cmd.stateKey = stateKey;
+        cmd.state = state;
+        cmd.scissor = currentScissor;
+        cmd.first = mesh.getVertexCount();
+        cmd.count = 0;
+
+        mesh.resetBounds();
+        this.openCommand = cmd;
+        this.commandCount++;
+    }
+
+    /**
+     * Submits all recorded commands to the GPU.
+     * <p>
+     * The commands are reordered into mergeable runs (see {@link DrawList}), each vertex stream
+     * is uploaded once, and each run is drawn with a single state setup.
+     * </p>
+     */
+    public void flush() {
+        closeCommand();
+
+        if (drawList.isEmpty()) {
+            syncScissor();
+            return;
+        }
+
+        if (capabilitiesDirty) {
+            stateManager.setupForUI();
+            capabilitiesDirty = false;
+        }
+
+        // 1. Upload every used vertex stream once
+        for (int i = 0; i < usedTargets.size(); i++) {
+            gl.upload(usedTargets.get(i).getMesh());
+        }
+
+        // 2. Group commands into runs and draw them
+        drawList.resolve();
+
+        for (int r = 0; r < drawList.getRunCount(); r++) {
+            drawRun(drawList.getRun(r));
+        }
+
+        // 3. Fence the uploaded data now that every draw reading it has been issued,
+        //    then reset for the next commands
+        for (int i = 0; i < usedTargets.size(); i++) {
+            MeshBuffer mesh = usedTargets.get(i).getMesh();
+            gl.endDraws(mesh);
+            vertexCount += mesh.getVertexCount();
+            mesh.reset();
+        }
+        usedTargets.clear();
+        drawList.clear();
+
+        // Leave the GL scissor matching the logical scissor state (for foreign draws)
+        syncScissor();
+    }
+
+    /**
+     * Draws all commands of a run with a single state setup.
+     * Adjacent vertex ranges are coalesced; multiple ranges are drawn via multi-draw.
+     */
+    private void drawRun(DrawList.Run run) {
+        applyScissor(run.scissor);
+        run.target.bindState(this, run.stateKey, run.state);
+
+        MeshBuffer mesh = run.target.getMesh();
+        int spans = run.end - run.start;
+        ensureSpanCapacity(spans);
+
+        spanFirsts.clear();
+        spanCounts.clear();
+
+        int spanFirst = -1;
+        int spanEnd = -1;
+        for (int p = run.start; p < run.end; p++) {
+            DrawList.Command cmd = drawList.getOrderedCommand(p);
+            if (cmd.first == spanEnd) {
+                spanEnd += cmd.count;
+            } else {
+                if (spanFirst >= 0) {
+                    spanFirsts.put(spanFirst);
+                    spanCounts.put(spanEnd - spanFirst);
+                }
+                spanFirst = cmd.first;
+                spanEnd = cmd.first + cmd.count;
+            }
+        }
+        spanFirsts.put(spanFirst);
+        spanCounts.put(spanEnd - spanFirst);
+
+        spanFirsts.flip();
+        spanCounts.flip();
+
+        if (spanFirsts.remaining() == 1) {
+            gl.draw(mesh, spanFirsts.get(0), spanCounts.get(0));
+        } else {
+            gl.drawMulti(mesh, spanFirsts, spanCounts);
+        }
+
+        drawCalls++;
+    }
+
+    /**
+     * Finalizes the vertex range and bounds of the open command.
+     */
+    private void closeCommand() {
+        DrawList.Command cmd = openCommand;
+        if (cmd == null) return;
+
+        MeshBuffer mesh = cmd.target.getMesh();
+        cmd.count = mesh.getVertexCount() - cmd.first;
+        cmd.minX = mesh.getMinX();
+        cmd.minY = mesh.getMinY();
+        cmd.maxX = mesh.getMaxX();
+        cmd.maxY = mesh.getMaxY();
+
+        this.openCommand = null;
+    }
+
+    private void ensureSpanCapacity(int spans) {
+        if (spanFirsts.capacity() < spans) {
+            int size = Math.max(spans, spanFirsts.capacity() * 2);
+            spanFirsts = BufferUtils.createIntBuffer(size);
+            spanCounts = BufferUtils.createIntBuffer(size);
+        }
+    }
+
+    /**
+     * Notifies the manager that foreign code may have modified the OpenGL state.
+     * <p>
+     * The UI capabilities and shader uniforms are re-applied before the next draw call.
+     * </p>
+     */
+    public void invalidate() {
+        this.capabilitiesDirty = true;
+        this.lastProgram = null;
+        Arrays.fill(lastTextures, -1);
+        this.appliedScissor = Integer.MIN_VALUE;
+    }
+
+    // =================================================================================
+    // Scissor Handling
+    // =================================================================================
+
+    /**
+     * Sets the scissor rectangle for all following commands.
+     * <p>
+     * The rectangle becomes part of the sort key of the recorded commands and is only applied
+     * to OpenGL when commands are submitted. Outside of a frame, it is applied immediately.
+     * </p>
+     * <p>
+     * If the rectangle equals the current entry or one of the regions enclosing it (e.g. the
+     * parent region restored after a nested clip), that entry is reused, so the commands on both
+     * sides of the nested clip keep the same scissor index and can still be merged.
+     * </p>
+     *
+     * @param x      Physical X coordinate.
+     * @param glY    Physical Y coordinate (Bottom-Left origin).
+     * @param width  Physical Width.
+     * @param height Physical Height.
+     */
+    void setScissor(int x, int glY, int width, int height) {
+        // 1. Reuse the current entry or the enclosing entry being restored
+        int index = currentScissor;
+        while (index != NO_SCISSOR && !scissorEquals(index, x, glY, width, height)) {
+            index = scissorParents[index];
+        }
+
+        // 2. Otherwise append a new entry enclosed by the current one
+        if (index == NO_SCISSOR) {
+            if (scissorCount * 4 + 4 > scissorTable.length) {
+                scissorTable = Arrays.copyOf(scissorTable, scissorTable.length * 2);
+                scissorParents = Arrays.copyOf(scissorParents, scissorParents.length * 2);
+            }
+
+            index = scissorCount++;
+            int base = index * 4;
+            scissorTable[base] = x;
+            scissorTable[base + 1] = glY;
+            scissorTable[base + 2] = width;
+            scissorTable[base + 3] = height;
+            scissorParents[index] = currentScissor;
+        }
+        this.currentScissor = index;
+
+        if (!active) {
+            syncScissor();
+        }
+    }
+
+    /**
+     * Checks whether a scissor entry holds the given rectangle.
+     */
+    private boolean scissorEquals(int index, int x, int glY, int width, int height) {
+        int base = index * 4;
+        return scissorTable[base] == x && scissorTable[base + 1] == glY
+                && scissorTable[base + 2] == width && scissorTable[base + 3] == height;
+    }
+
+    /**
+     * Disables scissor testing for all following commands.
+     */
+    void clearScissor() {
+        this.currentScissor = NO_SCISSOR;
+
+        if (!active) {
+            syncScissor();
+        }
+    }
+
+    /**
+     * Applies the current logical scissor state to OpenGL.
+     * <p>
+     * Must be called before foreign code draws (e.g. native platform text), which relies on
+     * the OpenGL scissor matching the UI clip region.
+     * </p>
+     */
+    public void syncScissor() {
+        applyScissor(currentScissor);
+    }
+
+    private void applyScissor(int index) {
+        if (index == appliedScissor) return;
+
+        if (index == NO_SCISSOR) {
+            gl.disableScissor();
+        } else {
+            int base = index * 4;
+            gl.enableScissor(scissorTable[base], scissorTable[base + 1], scissorTable[base + 2], scissorTable[base + 3]);
+        }
+
+        appliedScissor = index;
+        scissorChanges++;
+    }
+
+    // =================================================================================
+    // Binding Helpers (used by BatchTarget implementations)
+    // =================================================================================
+
+    /**
+     * Binds the shader program for the upcoming draw call.
+     *
+     * @param program The program to bind.
+     * @return {@code true} if the program differs from the one used in the previous draw call,
+     * meaning the caller must (re-)upload its frame-wide uniforms (projection, model-view).
+     */
+    public boolean useShader(ShaderProgram program) {
+        gl.bindProgram(program);
+        if (program == lastProgram) return false;
+
+        lastProgram = program;
+        shaderSwitches++;
+        return true;
+    }
+
+    /**
+     * Binds a 2D texture to texture unit 0 for the upcoming draw call.
+     *
+     * @param textureId The OpenGL texture ID.
+     */
+    public void useTexture(int textureId) {
+        useTexture(0, textureId);
+    }
+
+    /**
+     * Binds a 2D texture to the given texture unit for the upcoming draw call.
+     * <p>
+     * Only the first {@link GlState#TEXTURE_UNITS} units may be used, as only their
+     * bindings are restored at the end of the frame. Texture unit 0 is left active.
+     * </p>
+     *
+     * @param unit      The texture unit index.
+     * @param textureId The OpenGL texture ID.
+     */
+    public void useTexture(int unit, int textureId) {
+        gl.bindTexture(unit, textureId);
+        if (textureId != lastTextures[unit]) {
+            lastTextures[unit] = textureId;
+            textureSwitches++;
+        }
+    }
+
+    /**
+     * Sets the filter of the texture bound to texture unit 0 for the upcoming draw call.
+     *
+     * @param filter The filter, {@code GL_NEAREST} or {@code GL_LINEAR}.
+     */
+    public void useTextureFilter(int filter) {
+        gl.setTextureFilter(filter);
+    }
+
+    // =================================================================================
+    // Getters
+    // =================================================================================
+
+    /**
+     * Retrieves the orthographic projection matrix of the current frame.
+     *
+     * @return The projection matrix.
+     */
+    public Matrix4f getProjection() {
+        return projectionMatrix;
+    }
+
+    /**
+     * Retrieves the model-view matrix that must be uploaded for batched draw calls.
+     * <p>
+     * Since vertices are pre-transformed on the CPU, this is always the identity.
+     * </p>
+     *
+     * @return The identity matrix. Must not be modified.
+     */
+    public Matrix4f getModelView() {
+        return identityMatrix;
+    }
+
+    /**
+     * Gets the index of the current (or last) frame. Immediate scopes count as frames.
+     * <p>
+     * Resources that are referenced by recorded commands (e.g. glyphs of a dynamic atlas)
+     * use it to tell whether they may still be drawn in this frame.
+     * </p>
+     *
+     * @return The frame index, increasing with every {@link #beginFrame}.
+     */
+    public long getFrameIndex() {
+        return frameIndex;
+    }
+
+    /**
+     * Retrieves the statistics of the last completed frame.
+     * <p>
+     * The returned object is reused and updated at the end of every frame, so reading the
+     * statistics does not allocate. Copy the values if they must outlive the next frame.
+     * </p>
+     *
+     * @return The frame statistics.
+     */
+    public FrameStats getLastFrameStats() {
+        return lastFrameStats;
+    }
+
+    /**
+     * Enables or disables the measurement of heap allocations per frame.
+     * <p>
+     * When enabled, {@link FrameStats#allocatedBytes()} reports the bytes allocated by the render
+     * thread between {@link #beginFrame} and {@link #endFrame}. A steady-state frame of an
+     * unchanged UI is expected to report (close to) zero. The measurement is only available on
+     * JVMs that support per-thread allocation counting.
+     * </p>
+     *
+     * @param enabled True to measure allocations.
+     * @return True if the measurement is active.
+     */
+    public boolean setAllocationTracking(boolean enabled) {
+        this.allocationTracking = enabled && ALLOCATION_COUNTER != null;
+        return allocationTracking;
+    }
+
+    private static com.sun.management.ThreadMXBean resolveAllocationCounter() {
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean counter && counter.isThreadAllocatedMemorySupported()) {
+                counter.setThreadAllocatedMemoryEnabled(true);
+                return counter;
+            }
+        } catch (UnsupportedOperationException | SecurityException | LinkageError ignored) {
+            // Not a HotSpot-compatible JVM
+        }
+        return null;
+    }
+
+    /**
+     * Rebuilds the orthographic projection from the current viewport.
+     * <p>
+     * (0,0) is at top-left, X extends right, Y extends down.
+     * The Z-range is large (-10000 to 10000) to support UI layering.
+     * </p>
+     */
+    private void updateProjection(double uiScale) {
+        gl.getViewport(viewport);
+        projectionMatrix.identity().ortho(0, viewport[2], viewport[3], 0, -10000, 10000);
+        projectionMatrix.scale((float) uiScale, (float) uiScale, 1.0f);
+    }
+
+    /**
+     * The batching statistics of a single frame.
+     */
+    public static final class FrameStats {
+        private int drawCalls;
+        private int shaderSwitches;
+        private int textureSwitches;
+        private int scissorChanges;
+        private int vertices;
+        private int commands;
+        private long allocatedBytes = -1;
+
+        private void set(int drawCalls, int shaderSwitches, int textureSwitches, int scissorChanges, int vertices, int commands,
+                         long allocatedBytes) {
+            this.drawCalls = drawCalls;
+            this.shaderSwitches = shaderSwitches;
+            this.textureSwitches = textureSwitches;
+            this.scissorChanges = scissorChanges;
+            this.vertices = vertices;
+            this.commands = commands;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        /**
+         * @return The number of draw calls issued (one per merged run).
+         */
+        public int drawCalls() {
+            return drawCalls;
+        }
+
+        /**
+         * @return The number of times a different shader program was required.
+         */
+        public int shaderSwitches() {
+            return shaderSwitches;
+        }
+
+        /**
+         * @return The number of times a different texture was required.
+         */
+        public int textureSwitches() {
+            return textureSwitches;
+        }
+
+        /**
+         * @return The number of scissor state changes applied to OpenGL.
+         */
+        public int scissorChanges() {
+            return scissorChanges;
+        }
+
+        /**
+         * @return The total number of vertices submitted.
+         */
+        public int vertices() {
+            return vertices;
+        }
+
+        /**
+         * @return The number of recorded commands before merging.
+         */
+        public int commands() {
+            return commands;
+        }
+
+        /**
+         * @return The bytes allocated by the render thread during the frame, or -1 if allocation tracking is disabled.
+         */
+        public long allocatedBytes() {
+            return allocatedBytes;
+        }
+
+        @Override
+        public String toString() {
+            return "FrameStats[drawCalls=" + drawCalls + ", shaderSwitches=" + shaderSwitches + ", textureSwitches=" + textureSwitches
+                    + ", scissorChanges=" + scissorChanges + ", vertices=" + vertices + ", commands=" + commands
+                    + ", allocatedBytes=" + allocatedBytes + "]";
+        }
+    }
+}
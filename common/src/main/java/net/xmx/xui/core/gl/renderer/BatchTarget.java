@@ -0,0 +1,37 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.gl.renderer;
+
+import net.xmx.xui.core.gl.vertex.MeshBuffer;
+
+/**
+ * A sub-renderer whose vertex stream can be batched by the {@link BatchManager}.
+ * <p>
+ * Implementations append vertices into their {@link MeshBuffer} after calling
+ * {@link BatchManager#prepare(BatchTarget, int, Object, int)}. The manager records the
+ * vertices as draw commands, uploads the buffer and issues the draw calls itself. The target
+ * is only asked to bind the render state of a group of commands via {@link #bindState}.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+public interface BatchTarget {
+
+    /**
+     * Retrieves the vertex stream that holds the pending vertices of this target.
+     *
+     * @return The mesh buffer.
+     */
+    MeshBuffer getMesh();
+
+    /**
+     * Binds the shader, uniforms and textures for drawing commands recorded with the given state.
+     *
+     * @param batch    The batch manager issuing the draw (provides projection and binding helpers).
+     * @param stateKey The state key the commands were recorded with.
+     * @param state    The state object the commands were recorded with, or null.
+     */
+    void bindState(BatchManager batch, int stateKey, Object state);
+}
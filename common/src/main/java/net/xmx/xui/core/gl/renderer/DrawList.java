@@ -0,0 +1,261 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.gl.renderer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A retained, painter's-ordered list of draw commands recorded during a frame.
+ * <p>
+ * Each command describes a contiguous vertex range of a single {@link BatchTarget} together
+ * with its sort key (target/shader, state key such as the texture, scissor region) and the
+ * screen-space bounds of its vertices.
+ * </p>
+ * <p>
+ * <b>Reordering:</b> Before submission, {@link #resolve()} groups the commands into runs that can
+ * be drawn with a single state setup. A command is moved back to an earlier run with the same
+ * sort key only if it does not overlap any run recorded in between. Overlapping commands
+ * therefore always keep their painter's order, which is required for correct alpha blending.
+ * </p>
+ * <p>
+ * This class contains no OpenGL calls. All command and run objects are pooled and reused
+ * across frames to avoid allocations.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+final class DrawList {
+
+    /**
+     * The maximum number of runs scanned backwards when looking for a merge candidate.
+     * Bounds the cost of {@link #resolve()} to O(commands * MAX_LOOKBACK).
+     */
+    static final int MAX_LOOKBACK = 64;
+
+    /**
+     * A single recorded draw command.
+     */
+    static final class Command {
+        BatchTarget target;
+        int stateKey;
+        Object state;
+        int scissor;
+        int first;
+        int count;
+        float minX, minY, maxX, maxY;
+
+        /**
+         * The index of the run this command was assigned to by {@link #resolve()}.
+         */
+        int run;
+    }
+
+    /**
+     * A group of commands sharing the same sort key, drawn with a single state setup.
+     */
+    static final class Run {
+        BatchTarget target;
+        int stateKey;
+        Object state;
+        int scissor;
+        float minX, minY, maxX, maxY;
+
+        /**
+         * Range of this run's commands inside the resolved submission order.
+         */
+        int start, end;
+    }
+
+    private final List<Command> commandPool = new ArrayList<>();
+    private final List<Run> runPool = new ArrayList<>();
+
+    private int commandCount = 0;
+    private int runCount = 0;
+
+    /**
+     * Indices of commands, grouped by run and in painter's order within each run.
+     */
+    private int[] order = new int[256];
+
+    /**
+     * Appends a new command to the list.
+     * <p>
+     * The returned object is owned by the list and is only valid until {@link #clear()}.
+     * </p>
+     *
+     * @return The command to fill in.
+     */
+    Command add() {
+        Command cmd;
+        if (commandCount < commandPool.size()) {
+            cmd = commandPool.get(commandCount);
+        } else {
+            cmd = new Command();
+            commandPool.add(cmd);
+        }
+        commandCount++;
+        return cmd;
+    }
+
+    /**
+     * Groups the recorded commands into mergeable runs.
+     * <p>
+     * After this call, runs can be iterated via {@link #getRunCount()} and {@link #getRun(int)},
+     * and the commands of a run via {@link #getOrderedCommand(int)} in the range
+     * {@code [run.start, run.end)}.
+     * </p>
+     */
+    void resolve() {
+        runCount = 0;
+
+        // 1. Assign each command to a run, moving it back across non-overlapping runs
+        for (int i = 0; i < commandCount; i++) {
+            Command cmd = commandPool.get(i);
+            if (cmd.count == 0) {
+                cmd.run = -1;
+                continue;
+            }
+
+            int target = findMergeRun(cmd);
+            if (target < 0) {
+                target = newRun(cmd);
+            } else {
+                Run run = runPool.get(target);
+                run.minX = Math.min(run.minX, cmd.minX);
+                run.minY = Math.min(run.minY, cmd.minY);
+                run.maxX = Math.max(run.maxX, cmd.maxX);
+                run.maxY = Math.max(run.maxY, cmd.maxY);
+            }
+            cmd.run = target;
+            runPool.get(target).end++; // Temporarily used as the command counter
+        }
+
+        // 2. Counting sort of the commands by run (stable, keeps painter's order within a run)
+        if (order.length < commandCount) {
+            order = new int[Math.max(commandCount, order.length * 2)];
+        }
+
+        int offset = 0;
+        for (int r = 0; r < runCount; r++) {
+            Run run = runPool.get(r);
+            int size = run.end;
+            run.start = offset;
+            run.end = offset;
+            offset += size;
+        }
+
+        for (int i = 0; i < commandCount; i++) {
+            Command cmd = commandPool.get(i);
+            if (cmd.run < 0) continue;
+            Run run = runPool.get(cmd.run);
+            order[run.end++] = i;
+        }
+    }
+
+    /**
+     * Scans the runs backwards for one the command can be merged into.
+     *
+     * @param cmd The command to place.
+     * @return The index of a compatible run, or -1 if a new run must be started.
+     */
+    private int findMergeRun(Command cmd) {
+        int limit = Math.max(0, runCount - MAX_LOOKBACK);
+
+        for (int r = runCount - 1; r >= limit; r--) {
+            Run run = runPool.get(r);
+
+            if (run.target == cmd.target && run.stateKey == cmd.stateKey
+                    && run.state == cmd.state && run.scissor == cmd.scissor) {
+                return r;
+            }
+
+            // The command may not be drawn before anything it overlaps
+            if (overlaps(run, cmd)) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private int newRun(Command cmd) {
+        Run run;
+        if (runCount < runPool.size()) {
+            run = runPool.get(runCount);
+        } else {
+            run = new Run();
+            runPool.add(run);
+        }
+
+        run.target = cmd.target;
+        run.stateKey = cmd.stateKey;
+        run.state = cmd.state;
+        run.scissor = cmd.scissor;
+        run.minX = cmd.minX;
+        run.minY = cmd.minY;
+        run.maxX = cmd.maxX;
+        run.maxY = cmd.maxY;
+        run.start = 0;
+        run.end = 0;
+
+        return runCount++;
+    }
+
+    /**
+     * Checks whether the bounds of a run and a command intersect.
+     * Touching edges are not considered an overlap.
+     */
+    static boolean overlaps(Run run, Command cmd) {
+        return run.minX < cmd.maxX && cmd.minX < run.maxX
+                && run.minY < cmd.maxY && cmd.minY < run.maxY;
+    }
+
+    /**
+     * Clears the list. Pooled objects are kept for the next frame.
+     */
+    void clear() {
+        for (int i = 0; i < commandCount; i++) {
+            // Release references to external objects (e.g. atlases)
+            commandPool.get(i).state = null;
+            commandPool.get(i).target = null;
+        }
+        for (int i = 0; i < runCount; i++) {
+            runPool.get(i).state = null;
+            runPool.get(i).target = null;
+        }
+        commandCount = 0;
+        runCount = 0;
+    }
+
+    boolean isEmpty() {
+        return commandCount == 0;
+    }
+
+    int getCommandCount() {
+        return commandCount;
+    }
+
+    Command getCommand(int index) {
+        return commandPool.get(index);
+    }
+
+    int getRunCount() {
+        return runCount;
+    }
+
+    Run getRun(int index) {
+        return runPool.get(index);
+    }
+
+    /**
+     * Retrieves a command in resolved submission order.
+     *
+     * @param position The position in the order, within {@code [run.start, run.end)} of a run.
+     * @return The command.
+     */
+    Command getOrderedCommand(int position) {
+        return commandPool.get(order[position]);
+    }
+}
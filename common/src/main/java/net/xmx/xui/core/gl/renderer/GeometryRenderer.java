@@ -5,58 +5,102 @@
 package net.xmx.xui.core.gl.renderer;
 
 import net.xmx.xui.core.gl.shader.impl.PositionColorShader;
+import net.xmx.xui.core.gl.shader.impl.RoundedRectShader;
 import net.xmx.xui.core.gl.vertex.MeshBuffer;
 import net.xmx.xui.core.gl.vertex.VertexFormat;
 import org.joml.Matrix4f;
-import org.lwjgl.opengl.GL11;
 
 /**
  * Handles the generation, batching, and rendering of geometric shapes (rectangles, rounded corners, outlines).
  * <p>
  * This class serves as the low-level geometry engine for the UI. It translates high-level shape
- * descriptions into raw vertices that are uploaded to the GPU. It supports two modes of operation:
+ * descriptions into raw vertices that are uploaded to the GPU. Rectangles and outlines are emitted
+ * as a single quad each, whose rounded corners, border and anti-aliased edge are evaluated in the
+ * fragment shader (see {@link RoundedRectShader}). It supports two modes of operation:
  * <ul>
  *     <li><b>Immediate Mode:</b> Using methods like {@link #renderRect} which handle the entire
- *     render lifecycle (state capture, shader bind, upload, draw, state restore) in one call.</li>
+ *     render lifecycle (transform, vertex generation, submission) in one call.</li>
  *     <li><b>Batched Mode:</b> Using {@link #begin}, {@link #drawRect} (to queue vertices),
- *     and {@link #end} to minimize draw calls for complex scenes.</li>
+ *     and {@link #end} to queue multiple shapes under the same transformation.</li>
  * </ul>
  * </p>
  * <p>
- * It utilizes the {@link PositionColorShader} for rendering and a {@link MeshBuffer} for vertex management.
+ * In both modes, vertices are not drawn immediately. They are recorded as commands into the
+ * frame-wide draw list of the {@link BatchManager}, which merges them with other geometry at
+ * submission time. Outside of a frame, each call opens its own implicit scope.
+ * </p>
+ * <p>
+ * Free-form shapes (slices, arrows) utilize the {@link PositionColorShader} and a {@link MeshBuffer} for vertex management.
  * </p>
  *
  * @author xI-Mx-Ix
  */
-public class GeometryRenderer {
+public class GeometryRenderer implements BatchTarget {
+
+    /**
+     * Maximum number of segments used for pie and donut slices.
+     */
+    private static final int MAX_SLICE_SEGMENTS = 100;
 
     private final PositionColorShader shader;
     private final MeshBuffer mesh;
-    private final Matrix4f projectionMatrix = new Matrix4f();
+    private final BatchManager batch;
+
+    /**
+     * The GPU-evaluated primitive used for rectangles and outlines.
+     */
+    private final RoundedRectRenderer rects;
+
+    /**
+     * The nesting depth of {@link #begin}/{@link #end} calls.
+     */
+    private int scopeDepth = 0;
+
+    /**
+     * Whether the outermost {@link #begin} call opened an implicit batch scope.
+     */
+    private boolean ownsScope = false;
 
     /**
      * Constructs a new GeometryRenderer.
      * <p>
      * Initializes the specific shader used for UI geometry and creates a reusable mesh buffer
-     * configured with the {@link VertexFormat#POS_COLOR} format (Position 3D + Color 4D).
+     * configured with the {@link VertexFormat#POS_PACKED_COLOR} format (Position 3D + packed Color).
+     * All shapes are emitted as quads (4 vertices each) and drawn through the shared quad index buffer.
+     * Rectangles use a separate {@link RoundedRectRenderer} batch.
      * </p>
+     *
+     * @param batch The frame-wide batch manager that schedules the draw calls.
+     */
+    public GeometryRenderer(BatchManager batch) {
+        this(batch, new PositionColorShader(), new RoundedRectShader());
+    }
+
+    /**
+     * Constructs a new GeometryRenderer with the given shaders.
+     *
+     * @param batch      The frame-wide batch manager that schedules the draw calls.
+     * @param shader     The shader of the quad geometry, or null in tests (never bound).
+     * @param rectShader The shader of the rounded rectangles, or null in tests (never bound).
      */
-    public GeometryRenderer() {
-        this.shader = new PositionColorShader();
-        this.mesh = new MeshBuffer(VertexFormat.POS_COLOR);
+    GeometryRenderer(BatchManager batch, PositionColorShader shader, RoundedRectShader rectShader) {
+        this.shader = shader;
+        this.mesh = new MeshBuffer(VertexFormat.POS_PACKED_COLOR, true, MeshBuffer.Topology.QUADS);
+        this.batch = batch;
+        batch.register(this);
+        this.rects = new RoundedRectRenderer(batch, rectShader);
     }
 
     // --- Lifecycle (Batching) ---
 
     /**
-     * Prepares the OpenGL state and shader for a new batch of geometry rendering.
+     * Prepares the renderer for queuing geometry.
      * <p>
      * This method must be called before queuing any vertices via the {@code draw*} methods.
      * It performs the following setup:
      * <ol>
-     *     <li>Calculates an orthographic projection matrix based on the current viewport and GUI scale.</li>
-     *     <li>Binds the UI core shader.</li>
-     *     <li>Uploads the projection and model-view matrices to the shader uniforms.</li>
+     *     <li>Opens an implicit batch scope if no frame is active (capturing the GL state once).</li>
+     *     <li>Sets the model-view matrix used to transform the queued vertices on the CPU.</li>
      * </ol>
      * </p>
      *
@@ -64,31 +108,40 @@ public class GeometryRenderer {
      * @param modelViewMatrix The current transformation matrix from the {@link net.xmx.xui.core.gl.TransformStack}.
      */
     public void begin(double guiScale, Matrix4f modelViewMatrix) {
-        int[] viewport = new int[4];
-        GL11.glGetIntegerv(GL11.GL_VIEWPORT, viewport);
-
-        // Setup Orthographic Projection:
-        // (0,0) is at top-left, X extends right, Y extends down.
-        // Z-range is large (-10000 to 10000) to support UI layering.
-        projectionMatrix.identity().ortho(0, viewport[2], viewport[3], 0, -10000, 10000);
-        projectionMatrix.scale((float) guiScale, (float) guiScale, 1.0f);
-
-        shader.bind();
-        shader.uploadProjection(projectionMatrix);
-        shader.uploadModelView(modelViewMatrix);
+        if (scopeDepth++ == 0) {
+            ownsScope = batch.beginImmediate(guiScale);
+        }
+        mesh.setTransform(modelViewMatrix);
+        rects.setTransform(modelViewMatrix);
     }
 
     /**
-     * Finalizes the current batch of geometry rendering.
+     * Finalizes the current sequence of geometry commands.
      * <p>
-     * This method flushes the accumulated vertices in the mesh buffer to the GPU using
-     * the {@code GL_TRIANGLES} primitive mode and subsequently unbinds the shader.
-     * It must be called after all {@code draw*} commands are issued.
+     * Inside a frame, the queued vertices stay in the batch and are submitted together with
+     * the following commands. Outside a frame, the implicit scope is closed, which draws the
+     * vertices and restores the OpenGL state.
      * </p>
      */
     public void end() {
-        mesh.flush(GL11.GL_TRIANGLES);
-        shader.unbind();
+        if (scopeDepth == 0) return;
+        if (--scopeDepth == 0 && ownsScope) {
+            ownsScope = false;
+            batch.endImmediate(true);
+        }
+    }
+
+    @Override
+    public MeshBuffer getMesh() {
+        return mesh;
+    }
+
+    @Override
+    public void bindState(BatchManager batch, int stateKey, Object state) {
+        if (batch.useShader(shader)) {
+            shader.uploadProjection(batch.getProjection());
+            shader.uploadModelView(batch.getModelView());
+        }
     }
 
     // --- Standalone Rendering (Immediate Mode) ---
@@ -98,12 +151,9 @@ public class GeometryRenderer {
      * <p>
      * This is a convenience method for "Immediate Mode" rendering. It automatically handles:
      * <ol>
-     *     <li>Capturing the current OpenGL state via {@link GlState}.</li>
-     *     <li>Setting up the UI-specific GL capabilities.</li>
      *     <li>Calling {@link #begin} using the global scale and transform stack from {@link UIRenderer}.</li>
-     *     <li>Queuing the rectangle geometry.</li>
-     *     <li>Calling {@link #end} to draw.</li>
-     *     <li>Restoring the captured OpenGL state.</li>
+     *     <li>Queuing the rectangle geometry into the frame batch.</li>
+     *     <li>Calling {@link #end} (which draws immediately if no frame is active).</li>
      * </ol>
      * </p>
      *
@@ -123,7 +173,7 @@ public class GeometryRenderer {
      * <p>
      * Like {@link #renderRect(float, float, float, float, int, float)}, this method manages the
      * full rendering lifecycle automatically. It delegates to {@link #drawRect} for the vertex generation
-     * but handles all the GL state management internally.
+     * but handles the batch scope internally.
      * </p>
      *
      * @param x      Logical X position.
@@ -138,29 +188,21 @@ public class GeometryRenderer {
      */
     public void renderRect(float x, float y, float width, float height, int color, float rTL, float rTR, float rBR, float rBL) {
         UIRenderer renderer = UIRenderer.getInstance();
-        GlState state = renderer.getStateManager();
-
-        // 1. Save external state (e.g., Game Engine state)
-        state.capture();
-        state.setupForUI();
 
-        // 2. Begin batch with current global context
+        // 1. Begin with current global context
         begin(renderer.getCurrentUiScale(), renderer.getTransformStack().getDirectModelMatrix());
 
-        // 3. Queue vertices
+        // 2. Queue vertices
         drawRect(x, y, width, height, color, rTL, rTR, rBR, rBL);
 
-        // 4. Draw and unbind shader
+        // 3. Close the scope (draws only outside of a frame)
         end();
-
-        // 5. Restore external state
-        state.restore();
     }
 
     /**
      * Renders a hollow outline with uniform rounded corners immediately.
      * <p>
-     * This is a convenience method that manages the full render lifecycle (State capture -> Draw -> Restore).
+     * This is a convenience method that manages the full render lifecycle (Begin -> Queue -> End).
      * </p>
      *
      * @param x         Logical X position.
@@ -195,24 +237,44 @@ public class GeometryRenderer {
      */
     public void renderOutline(float x, float y, float width, float height, int color, float thickness, float rTL, float rTR, float rBR, float rBL) {
         UIRenderer renderer = UIRenderer.getInstance();
-        GlState state = renderer.getStateManager();
-
-        state.capture();
-        state.setupForUI();
 
         begin(renderer.getCurrentUiScale(), renderer.getTransformStack().getDirectModelMatrix());
         drawOutline(x, y, width, height, color, thickness, rTL, rTR, rBR, rBL);
         end();
+    }
 
-        state.restore();
+    /**
+     * Renders a filled rectangle with an inner border immediately.
+     * <p>
+     * Manages the full rendering lifecycle and delegates to {@link #drawRoundedRect}.
+     * </p>
+     *
+     * @param x           Logical X position.
+     * @param y           Logical Y position.
+     * @param width       Logical Width.
+     * @param height      Logical Height.
+     * @param fillColor   ARGB fill color.
+     * @param borderColor ARGB border color.
+     * @param thickness   Thickness of the border (0 for none).
+     * @param rTL         Radius of Top-Left corner.
+     * @param rTR         Radius of Top-Right corner.
+     * @param rBR         Radius of Bottom-Right corner.
+     * @param rBL         Radius of Bottom-Left corner.
+     */
+    public void renderRoundedRect(float x, float y, float width, float height, int fillColor, int borderColor, float thickness,
+                                  float rTL, float rTR, float rBR, float rBL) {
+        UIRenderer renderer = UIRenderer.getInstance();
+
+        begin(renderer.getCurrentUiScale(), renderer.getTransformStack().getDirectModelMatrix());
+        drawRoundedRect(x, y, width, height, fillColor, borderColor, thickness, rTL, rTR, rBR, rBL);
+        end();
     }
 
     // --- Vertex Generation (Internal/Batched) ---
 
     /**
-     * Queues vertices for a filled rectangle with independent corner radii.
-     * The geometry is constructed to be gap-free by combining a central body,
-     * side bars, and corner arcs or square fillers for sharp corners.
+     * Queues a filled rectangle with independent corner radii.
+     * The rectangle is a single quad; the corners are evaluated by the fragment shader.
      *
      * @param x      Logical X position.
      * @param y      Logical Y position.
@@ -225,50 +287,12 @@ public class GeometryRenderer {
      * @param rBL    Radius of Bottom-Left corner.
      */
     public void drawRect(float x, float y, float width, float height, int color, float rTL, float rTR, float rBR, float rBL) {
-        if (width <= 0 || height <= 0) return;
-
-        float[] rgba = unpackColor(color);
-        float r = rgba[0], g = rgba[1], b = rgba[2], a = rgba[3];
-
-        // Clamp radii to prevent visual artifacts if radii sum > dimension
-        float maxR = Math.min(width, height) / 2.0f;
-        rTL = Math.min(rTL, maxR);
-        rTR = Math.min(rTR, maxR);
-        rBR = Math.min(rBR, maxR);
-        rBL = Math.min(rBL, maxR);
-
-        float maxLeft = Math.max(rTL, rBL);
-        float maxRight = Math.max(rTR, rBR);
-
-        // Main horizontal body
-        addQuad(x + maxLeft, y, width - maxLeft - maxRight, height, r, g, b, a);
-
-        // Left and Right vertical filler bars
-        addQuad(x, y + rTL, maxLeft, height - rTL - rBL, r, g, b, a);
-        addQuad(x + width - maxRight, y + rTR, maxRight, height - rTR - rBR, r, g, b, a);
-
-        // Top-Left Corner
-        if (rTL > 0) addCorner(x + rTL, y + rTL, rTL, Math.PI, 1.5 * Math.PI, r, g, b, a);
-        else if (maxLeft > 0) addQuad(x, y, maxLeft, rTL, r, g, b, a);
-
-        // Top-Right Corner
-        if (rTR > 0) addCorner(x + width - rTR, y + rTR, rTR, 1.5 * Math.PI, 2.0 * Math.PI, r, g, b, a);
-        else if (maxRight > 0) addQuad(x + width - maxRight, y, maxRight, rTR, r, g, b, a);
-
-        // Bottom-Right Corner
-        if (rBR > 0) addCorner(x + width - rBR, y + height - rBR, rBR, 0.0, 0.5 * Math.PI, r, g, b, a);
-        else if (maxRight > 0) addQuad(x + width - maxRight, y + height - rBR, maxRight, rBR, r, g, b, a);
-
-        // Bottom-Left Corner
-        if (rBL > 0) addCorner(x + rBL, y + height - rBL, rBL, 0.5 * Math.PI, Math.PI, r, g, b, a);
-        else if (maxLeft > 0) addQuad(x, y + height - rBL, maxLeft, rBL, r, g, b, a);
+        rects.add(x, y, width, height, color, 0, 0, rTL, rTR, rBR, rBL);
     }
 
     /**
-     * Queues vertices for a hollow outline.
-     * Edges are drawn as linear quads that meet exactly at the corners.
-     * Arcs are only rendered if the respective corner radius is greater than zero,
-     * preventing square artifacts on sharp corners.
+     * Queues a hollow outline.
+     * The outline is drawn on the inside of the bounds as a single quad with a transparent fill.
      *
      * @param x         Logical X position.
      * @param y         Logical Y position.
@@ -283,144 +307,89 @@ public class GeometryRenderer {
      */
     public void drawOutline(float x, float y, float width, float height, int color, float thickness, float rTL, float rTR, float rBR, float rBL) {
         if (thickness <= 0) return;
-
-        float[] rgba = unpackColor(color);
-        float r = rgba[0], g = rgba[1], b = rgba[2], a = rgba[3];
-
-        // Linear Edges
-        addQuad(x + rTL, y, width - rTL - rTR, thickness, r, g, b, a); // Top
-        addQuad(x + rBL, y + height - thickness, width - rBL - rBR, thickness, r, g, b, a); // Bottom
-        addQuad(x, y + rTL, thickness, height - rTL - rBL, r, g, b, a); // Left
-        addQuad(x + width - thickness, y + rTR, thickness, height - rTR - rBR, r, g, b, a); // Right
-
-        // Rounded Corners
-        if (rTL > 0) addCornerRing(x + rTL, y + rTL, rTL, Math.max(0, rTL - thickness), Math.PI, 1.5 * Math.PI, r, g, b, a);
-        if (rTR > 0) addCornerRing(x + width - rTR, y + rTR, rTR, Math.max(0, rTR - thickness), 1.5 * Math.PI, 2.0 * Math.PI, r, g, b, a);
-        if (rBR > 0) addCornerRing(x + width - rBR, y + height - rBR, rBR, Math.max(0, rBR - thickness), 0.0, 0.5 * Math.PI, r, g, b, a);
-        if (rBL > 0) addCornerRing(x + rBL, y + height - rBL, rBL, Math.max(0, rBL - thickness), 0.5 * Math.PI, Math.PI, r, g, b, a);
+        rects.add(x, y, width, height, 0, color, thickness, rTL, rTR, rBR, rBL);
     }
 
-    // --- Private Helpers ---
-
     /**
-     * Helper to draw either a rounded corner ring or a simple quad filler if the radius is zero.
+     * Queues a filled rectangle with an inner border in a single quad.
+     * <p>
+     * This is equivalent to drawing the outline and a rectangle inset by the thickness (with the
+     * radii reduced accordingly), but costs only 4 vertices and has no seam between the two.
+     * </p>
      *
-     * @param cx      Center X of the arc.
-     * @param cy      Center Y of the arc.
-     * @param radius  Outer radius.
-     * @param th      Thickness of the line.
-     * @param start   Start angle in radians.
-     * @param end     End angle in radians.
-     * @param r       Red component.
-     * @param g       Green component.
-     * @param b       Blue component.
-     * @param a       Alpha component.
-     * @param qx      Fallback Quad X position (for sharp corners).
-     * @param qy      Fallback Quad Y position (for sharp corners).
+     * @param x           Logical X position.
+     * @param y           Logical Y position.
+     * @param width       Logical Width.
+     * @param height      Logical Height.
+     * @param fillColor   ARGB fill color.
+     * @param borderColor ARGB border color.
+     * @param thickness   Thickness of the border (0 for none).
+     * @param rTL         Radius of Top-Left corner.
+     * @param rTR         Radius of Top-Right corner.
+     * @param rBR         Radius of Bottom-Right corner.
+     * @param rBL         Radius of Bottom-Left corner.
      */
-    private void drawCornerRingOrQuad(float cx, float cy, float radius, float th, double start, double end, float r, float g, float b, float a, float qx, float qy) {
-        if (radius > 0) {
-            // Draw a thick arc
-            addCornerRing(cx, cy, radius, Math.max(0, radius - th), start, end, r, g, b, a);
-        } else {
-            // Draw a simple square to connect edges
-            addQuad(qx, qy, th, th, r, g, b, a);
-        }
+    public void drawRoundedRect(float x, float y, float width, float height, int fillColor, int borderColor, float thickness,
+                                float rTL, float rTR, float rBR, float rBL) {
+        rects.add(x, y, width, height, fillColor, borderColor, thickness, rTL, rTR, rBR, rBL);
     }
 
+    // --- Instanced Rectangles ---
+
     /**
-     * Adds a rectangle (composed of 2 triangles) to the generic mesh buffer.
-     *
-     * @param x X coordinate.
-     * @param y Y coordinate.
-     * @param w Width.
-     * @param h Height.
-     * @param r Red component.
-     * @param g Green component.
-     * @param b Blue component.
-     * @param a Alpha component.
+     * Starts a sequence of rectangle instances using the global scale and transform stack from {@link UIRenderer}.
+     * <p>
+     * Intended for many repeated primitives (heatmap cells, bars, rows). All instances added until
+     * {@link #flushInstances()} are recorded as a single command of the per-instance attribute buffer
+     * and are submitted with one instanced draw call, without any per-rectangle scope or transform handling.
+     * </p>
      */
-    private void addQuad(float x, float y, float w, float h, float r, float g, float b, float a) {
-        if (w <= 0 || h <= 0) return;
-
-        // Triangle 1
-        mesh.pos(x, y + h, 0).color(r, g, b, a).endVertex();
-        mesh.pos(x + w, y + h, 0).color(r, g, b, a).endVertex();
-        mesh.pos(x + w, y, 0).color(r, g, b, a).endVertex();
-
-        // Triangle 2
-        mesh.pos(x, y + h, 0).color(r, g, b, a).endVertex();
-        mesh.pos(x + w, y, 0).color(r, g, b, a).endVertex();
-        mesh.pos(x, y, 0).color(r, g, b, a).endVertex();
+    public void beginInstances() {
+        UIRenderer renderer = UIRenderer.getInstance();
+        begin(renderer.getCurrentUiScale(), renderer.getTransformStack().getDirectModelMatrix());
     }
 
     /**
-     * Adds a solid filled arc (fan) to the mesh buffer.
-     * Used for filled rounded corners.
+     * Adds a filled rectangle instance with uniform rounded corners.
+     * Must be called between {@link #beginInstances()} and {@link #flushInstances()}.
      *
-     * @param cx         Center X.
-     * @param cy         Center Y.
-     * @param radius     Radius of the arc.
-     * @param startAngle Start angle in radians.
-     * @param endAngle   End angle in radians.
-     * @param r          Red component.
-     * @param g          Green component.
-     * @param b          Blue component.
-     * @param a          Alpha component.
+     * @param x      Logical X position.
+     * @param y      Logical Y position.
+     * @param width  Logical Width.
+     * @param height Logical Height.
+     * @param color  ARGB Color.
+     * @param radius Uniform corner radius.
      */
-    private void addCorner(float cx, float cy, float radius, double startAngle, double endAngle, float r, float g, float b, float a) {
-        int segments = 8; // Level of Detail for smoothness
-        double step = (endAngle - startAngle) / segments;
-
-        for (int i = 0; i < segments; i++) {
-            double a1 = startAngle + i * step;
-            double a2 = startAngle + (i + 1) * step;
-
-            // Form a triangle from Center -> Point 1 -> Point 2
-            mesh.pos(cx, cy, 0).color(r, g, b, a).endVertex();
-            mesh.pos(cx + (float)(Math.cos(a1) * radius), cy + (float)(Math.sin(a1) * radius), 0).color(r, g, b, a).endVertex();
-            mesh.pos(cx + (float)(Math.cos(a2) * radius), cy + (float)(Math.sin(a2) * radius), 0).color(r, g, b, a).endVertex();
-        }
+    public void addInstance(float x, float y, float width, float height, int color, float radius) {
+        rects.add(x, y, width, height, color, 0, 0, radius, radius, radius, radius);
     }
 
     /**
-     * Adds a thick arc (ring segment) to the mesh buffer.
-     * Used for outline rounded corners.
+     * Adds a rectangle instance with an inner border and uniform rounded corners.
+     * Must be called between {@link #beginInstances()} and {@link #flushInstances()}.
      *
-     * @param cx    Center X.
-     * @param cy    Center Y.
-     * @param rOut  Outer Radius.
-     * @param rIn   Inner Radius.
-     * @param start Start angle in radians.
-     * @param end   End angle in radians.
-     * @param r     Red component.
-     * @param g     Green component.
-     * @param b     Blue component.
-     * @param a     Alpha component.
+     * @param x           Logical X position.
+     * @param y           Logical Y position.
+     * @param width       Logical Width.
+     * @param height      Logical Height.
+     * @param fillColor   ARGB fill color (0 for an outline only).
+     * @param borderColor ARGB border color.
+     * @param thickness   Thickness of the border.
+     * @param radius      Uniform corner radius.
      */
-    private void addCornerRing(float cx, float cy, float rOut, float rIn, double start, double end, float r, float g, float b, float a) {
-        int segments = 8;
-        double step = (end - start) / segments;
-
-        for (int i = 0; i < segments; i++) {
-            double a1 = start + i * step;
-            double a2 = start + (i + 1) * step;
-
-            float c1 = (float)Math.cos(a1), s1 = (float)Math.sin(a1);
-            float c2 = (float)Math.cos(a2), s2 = (float)Math.sin(a2);
-
-            // Create two triangles (a quad) between the inner and outer radius for this segment
-
-            // Triangle 1 (Inner1 -> Outer1 -> Outer2)
-            mesh.pos(cx + c1 * rIn, cy + s1 * rIn, 0).color(r, g, b, a).endVertex();
-            mesh.pos(cx + c1 * rOut, cy + s1 * rOut, 0).color(r, g, b, a).endVertex();
-            mesh.pos(cx + c2 * rOut, cy + s2 * rOut, 0).color(r, g, b, a).endVertex();
+    public void addInstance(float x, float y, float width, float height, int fillColor, int borderColor, float thickness, float radius) {
+        rects.add(x, y, width, height, fillColor, borderColor, thickness, radius, radius, radius, radius);
+    }
 
-            // Triangle 2 (Inner1 -> Outer2 -> Inner2)
-            mesh.pos(cx + c1 * rIn, cy + s1 * rIn, 0).color(r, g, b, a).endVertex();
-            mesh.pos(cx + c2 * rOut, cy + s2 * rOut, 0).color(r, g, b, a).endVertex();
-            mesh.pos(cx + c2 * rIn, cy + s2 * rIn, 0).color(r, g, b, a).endVertex();
-        }
+    /**
+     * Ends a sequence of rectangle instances.
+     * <p>
+     * Inside a frame, the instances are drawn together with the frame batch. Outside a frame,
+     * they are drawn immediately.
+     * </p>
+     */
+    public void flushInstances() {
+        end();
     }
 
     // Pie & Donut Chart Primitives
@@ -437,16 +406,10 @@ public class GeometryRenderer {
      */
     public void renderPieSlice(float cx, float cy, float radius, float startAngle, float endAngle, int color) {
         UIRenderer renderer = UIRenderer.getInstance();
-        GlState state = renderer.getStateManager();
-
-        state.capture();
-        state.setupForUI();
 
         begin(renderer.getCurrentUiScale(), renderer.getTransformStack().getDirectModelMatrix());
         drawPieSlice(cx, cy, radius, startAngle, endAngle, color);
         end();
-
-        state.restore();
     }
 
     /**
@@ -462,16 +425,10 @@ public class GeometryRenderer {
      */
     public void renderDonutSlice(float cx, float cy, float radiusOuter, float radiusInner, float startAngle, float endAngle, int color) {
         UIRenderer renderer = UIRenderer.getInstance();
-        GlState state = renderer.getStateManager();
-
-        state.capture();
-        state.setupForUI();
 
         begin(renderer.getCurrentUiScale(), renderer.getTransformStack().getDirectModelMatrix());
         drawDonutSlice(cx, cy, radiusOuter, radiusInner, startAngle, endAngle, color);
         end();
-
-        state.restore();
     }
 
     // --- Vertex Generation Implementation ---
@@ -482,7 +439,6 @@ public class GeometryRenderer {
     public void drawPieSlice(float cx, float cy, float radius, float startAngleDeg, float endAngleDeg, int color) {
         if (radius <= 0) return;
 
-        float[] rgba = unpackColor(color);
         // Delegate to the donut drawer with inner radius 0 for code reuse,
         // or optimize here by drawing single triangles connected to center.
         // Optimization:
@@ -494,24 +450,34 @@ public class GeometryRenderer {
         // Calculate segments based on size and angle to look smooth
         int segments = (int) (totalSweep * (radius * 0.5));
         if (segments < 4) segments = 4;
-        if (segments > 100) segments = 100; // Cap for performance
+        if (segments > MAX_SLICE_SEGMENTS) segments = MAX_SLICE_SEGMENTS; // Cap for performance
+
+        // Two fan segments share one quad
+        int quads = (segments + 1) / 2;
+        batch.prepare(this, 0, null, quads * 4);
 
         double step = (endRad - startRad) / segments;
 
-        for (int i = 0; i < segments; i++) {
+        for (int i = 0; i < segments; i += 2) {
             double a1 = startRad + i * step;
             double a2 = startRad + (i + 1) * step;
+            // For an odd segment count, the last quad degenerates into a single triangle
+            double a3 = startRad + Math.min(i + 2, segments) * step;
 
             // Center Point
-            mesh.pos(cx, cy, 0).color(rgba[0], rgba[1], rgba[2], rgba[3]).endVertex();
+            mesh.pos(cx, cy, 0).color(color).endVertex();
 
             // Outer Point 1
             mesh.pos(cx + (float)(Math.cos(a1) * radius), cy + (float)(Math.sin(a1) * radius), 0)
-                    .color(rgba[0], rgba[1], rgba[2], rgba[3]).endVertex();
+                    .color(color).endVertex();
 
             // Outer Point 2
             mesh.pos(cx + (float)(Math.cos(a2) * radius), cy + (float)(Math.sin(a2) * radius), 0)
-                    .color(rgba[0], rgba[1], rgba[2], rgba[3]).endVertex();
+                    .color(color).endVertex();
+
+            // Outer Point 3
+            mesh.pos(cx + (float)(Math.cos(a3) * radius), cy + (float)(Math.sin(a3) * radius), 0)
+                    .color(color).endVertex();
         }
     }
 
@@ -522,8 +488,6 @@ public class GeometryRenderer {
         if (radiusOuter <= 0) return;
         if (radiusInner >= radiusOuter) return; // Invalid
 
-        float[] rgba = unpackColor(color);
-
         double startRad = Math.toRadians(startAngleDeg);
         double endRad = Math.toRadians(endAngleDeg);
         double totalSweep = Math.abs(endRad - startRad);
@@ -531,6 +495,9 @@ public class GeometryRenderer {
         // Calculate segments
         int segments = (int) (totalSweep * (radiusOuter * 0.5));
         if (segments < 4) segments = 4;
+        if (segments > MAX_SLICE_SEGMENTS) segments = MAX_SLICE_SEGMENTS; // Cap to fit into a single batch
+
+        batch.prepare(this, 0, null, segments * 4);
 
         double step = (endRad - startRad) / segments;
 
@@ -543,17 +510,11 @@ public class GeometryRenderer {
             float cos2 = (float) Math.cos(a2);
             float sin2 = (float) Math.sin(a2);
 
-            // Quad formed by 2 Triangles
-
-            // Triangle 1: Inner1 -> Outer1 -> Outer2
-            mesh.pos(cx + cos1 * radiusInner, cy + sin1 * radiusInner, 0).color(rgba[0], rgba[1], rgba[2], rgba[3]).endVertex();
-            mesh.pos(cx + cos1 * radiusOuter, cy + sin1 * radiusOuter, 0).color(rgba[0], rgba[1], rgba[2], rgba[3]).endVertex();
-            mesh.pos(cx + cos2 * radiusOuter, cy + sin2 * radiusOuter, 0).color(rgba[0], rgba[1], rgba[2], rgba[3]).endVertex();
-
-            // Triangle 2: Inner1 -> Outer2 -> Inner2
-            mesh.pos(cx + cos1 * radiusInner, cy + sin1 * radiusInner, 0).color(rgba[0], rgba[1], rgba[2], rgba[3]).endVertex();
-            mesh.pos(cx + cos2 * radiusOuter, cy + sin2 * radiusOuter, 0).color(rgba[0], rgba[1], rgba[2], rgba[3]).endVertex();
-            mesh.pos(cx + cos2 * radiusInner, cy + sin2 * radiusInner, 0).color(rgba[0], rgba[1], rgba[2], rgba[3]).endVertex();
+            // Quad: Inner1 -> Outer1 -> Outer2 -> Inner2
+            mesh.pos(cx + cos1 * radiusInner, cy + sin1 * radiusInner, 0).color(color).endVertex();
+            mesh.pos(cx + cos1 * radiusOuter, cy + sin1 * radiusOuter, 0).color(color).endVertex();
+            mesh.pos(cx + cos2 * radiusOuter, cy + sin2 * radiusOuter, 0).color(color).endVertex();
+            mesh.pos(cx + cos2 * radiusInner, cy + sin2 * radiusInner, 0).color(color).endVertex();
         }
     }
 
@@ -574,46 +535,25 @@ public class GeometryRenderer {
         if (size <= 0) return;
 
         UIRenderer renderer = UIRenderer.getInstance();
-        GlState state = renderer.getStateManager();
-
-        // Capture and setup state for safe rendering
-        state.capture();
-        state.setupForUI();
 
         begin(renderer.getCurrentUiScale(), renderer.getTransformStack().getDirectModelMatrix());
+        batch.prepare(this, 0, null, 4);
 
-        float[] rgba = unpackColor(color);
-        float r = rgba[0], g = rgba[1], b = rgba[2], a = rgba[3];
         float halfSize = size / 2.0f;
 
-        // Define a Triangle pointing Right (0 degrees) centered at (x, y)
+        // Define a Triangle pointing Right (0 degrees) centered at (x, y).
+        // It is emitted as a degenerate quad, as the mesh only accepts quads.
 
         // Vertex 1: The Tip (Right Center)
-        mesh.pos(x + halfSize, y, 0).color(r, g, b, a).endVertex();
+        mesh.pos(x + halfSize, y, 0).color(color).endVertex();
 
         // Vertex 2: Bottom Left Corner
-        mesh.pos(x - halfSize, y + halfSize, 0).color(r, g, b, a).endVertex();
+        mesh.pos(x - halfSize, y + halfSize, 0).color(color).endVertex();
 
-        // Vertex 3: Top Left Corner
-        mesh.pos(x - halfSize, y - halfSize, 0).color(r, g, b, a).endVertex();
+        // Vertex 3 + 4: Top Left Corner
+        mesh.pos(x - halfSize, y - halfSize, 0).color(color).endVertex();
+        mesh.pos(x - halfSize, y - halfSize, 0).color(color).endVertex();
 
         end();
-
-        state.restore();
-    }
-
-    /**
-     * Utility method to extract normalized RGBA float values from a packed ARGB integer.
-     *
-     * @param color The packed ARGB color integer (e.g., 0xFFFFFFFF).
-     * @return A float array of size 4 containing [Red, Green, Blue, Alpha] in range 0.0 - 1.0.
-     */
-    private float[] unpackColor(int color) {
-        return new float[]{
-                ((color >> 16) & 0xFF) / 255.0F, // Red
-                ((color >> 8) & 0xFF) / 255.0F,  // Green
-                (color & 0xFF) / 255.0F,         // Blue
-                ((color >> 24) & 0xFF) / 255.0F  // Alpha
-        };
     }
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.gl.renderer;
+
+import net.xmx.xui.core.gl.shader.ShaderProgram;
+import net.xmx.xui.core.gl.vertex.MeshBuffer;
+
+import java.nio.IntBuffer;
+
+/**
+ * The OpenGL calls the {@link BatchManager} issues when it submits a frame.
+ * <p>
+ * The batch manager never calls OpenGL directly for uploads, draws and binding changes; it goes
+ * through this facade instead. {@link OpenGlBackend} forwards every call to OpenGL. Tests install a
+ * recording implementation to count draw calls and state changes without a GL context.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+public interface GlBackend {
+
+    /**
+     * Reads the current viewport.
+     *
+     * @param out Receives x, y, width and height.
+     */
+    void getViewport(int[] out);
+
+    /**
+     * Enables the scissor test with the given physical rectangle.
+     *
+     * @param x      Physical X coordinate.
+     * @param glY    Physical Y coordinate (Bottom-Left origin).
+     * @param width  Physical Width.
+     * @param height Physical Height.
+     */
+    void enableScissor(int x, int glY, int width, int height);
+
+    /**
+     * Disables the scissor test.
+     */
+    void disableScissor();
+
+    /**
+     * Makes a shader program current.
+     *
+     * @param program The program, or null to unbind.
+     */
+    void bindProgram(ShaderProgram program);
+
+    /**
+     * Binds a 2D texture to a texture unit and leaves texture unit 0 active.
+     *
+     * @param unit      The texture unit index.
+     * @param textureId The OpenGL texture ID.
+     */
+    void bindTexture(int unit, int textureId);
+
+    /**
+     * Sets the minification and magnification filter of the texture bound to texture unit 0.
+     *
+     * @param filter The filter, {@code GL_NEAREST} or {@code GL_LINEAR}.
+     */
+    void setTextureFilter(int filter);
+
+    /**
+     * Uploads the pending vertices of a mesh.
+     *
+     * @param mesh The mesh buffer.
+     */
+    void upload(MeshBuffer mesh);
+
+    /**
+     * Draws a range of the uploaded vertices of a mesh as triangles (or quads, see {@link MeshBuffer.Topology}).
+     *
+     * @param mesh  The mesh buffer.
+     * @param first The index of the first vertex.
+     * @param count The number of vertices.
+     */
+    void draw(MeshBuffer mesh, int first, int count);
+
+    /**
+     * Draws several ranges of the uploaded vertices of a mesh in one call.
+     *
+     * @param mesh   The mesh buffer.
+     * @param firsts The first vertex of each range (position to limit).
+     * @param counts The vertex count of each range (position to limit).
+     */
+    void drawMulti(MeshBuffer mesh, IntBuffer firsts, IntBuffer counts);
+
+    /**
+     * Signals that all draws reading the uploaded vertices of a mesh have been issued
+     * (see {@link MeshBuffer#endDraws()}).
+     *
+     * @param mesh The mesh buffer.
+     */
+    void endDraws(MeshBuffer mesh);
+}
@@ -5,28 +5,50 @@
 package net.xmx.xui.core.gl.renderer;
 
 import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL13;
 import org.lwjgl.opengl.GL15;
 import org.lwjgl.opengl.GL30;
 
 /**
  * Manages the backup and restoration of critical OpenGL state.
  * Ensures that XUI rendering does not interfere with the game engine's internal state.
+ * <p>
+ * Capture and restore calls may be nested (e.g. an immediate draw inside a batched frame).
+ * Only the outermost pair actually queries and restores the OpenGL state, so nested scopes
+ * do not cause redundant driver round-trips.
+ * </p>
  *
  * @author xI-Mx-Ix
  */
 public class GlState {
 
+    /**
+     * The number of texture units XUI binds textures to (e.g. the atlases of a batched text draw).
+     * Their 2D texture bindings are captured and restored.
+     */
+    public static final int TEXTURE_UNITS = 4;
+
     private int previousVaoId = -1;
     private int previousVboId = -1;
     private int previousEboId = -1;
     private boolean previousBlend = false;
     private boolean previousDepth = false;
     private boolean previousCull = false;
+    private int previousActiveTexture = -1;
+    private final int[] previousTextures = new int[TEXTURE_UNITS];
+
+    /**
+     * The number of currently open capture scopes.
+     */
+    private int depth = 0;
 
     /**
      * Captures the current OpenGL bindings and capability states.
+     * Nested calls only increase the scope depth.
      */
     public void capture() {
+        if (depth++ > 0) return;
+
         previousVaoId = GL30.glGetInteger(GL30.GL_VERTEX_ARRAY_BINDING);
         previousVboId = GL15.glGetInteger(GL15.GL_ARRAY_BUFFER_BINDING);
         previousEboId = GL15.glGetInteger(GL15.GL_ELEMENT_ARRAY_BUFFER_BINDING);
@@ -34,12 +56,23 @@ public class GlState {
         previousBlend = GL11.glIsEnabled(GL11.GL_BLEND);
         previousDepth = GL11.glIsEnabled(GL11.GL_DEPTH_TEST);
         previousCull = GL11.glIsEnabled(GL11.GL_CULL_FACE);
+
+        previousActiveTexture = GL11.glGetInteger(GL13.GL_ACTIVE_TEXTURE);
+        for (int unit = 0; unit < TEXTURE_UNITS; unit++) {
+            GL13.glActiveTexture(GL13.GL_TEXTURE0 + unit);
+            previousTextures[unit] = GL11.glGetInteger(GL11.GL_TEXTURE_BINDING_2D);
+        }
+        GL13.glActiveTexture(GL13.GL_TEXTURE0);
     }
 
     /**
      * Restores the OpenGL state captured by {@link #capture()}.
+     * Only the call closing the outermost scope touches the OpenGL state.
      */
     public void restore() {
+        if (depth == 0) return;
+        if (--depth > 0) return;
+
         if (previousVaoId != -1) GL30.glBindVertexArray(previousVaoId);
         if (previousVboId != -1) GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, previousVboId);
         if (previousEboId != -1) GL15.glBindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, previousEboId);
@@ -48,10 +81,19 @@ public class GlState {
         if (previousDepth) GL11.glEnable(GL11.GL_DEPTH_TEST); else GL11.glDisable(GL11.GL_DEPTH_TEST);
         if (previousCull) GL11.glEnable(GL11.GL_CULL_FACE); else GL11.glDisable(GL11.GL_CULL_FACE);
 
+        if (previousActiveTexture != -1) {
+            for (int unit = 0; unit < TEXTURE_UNITS; unit++) {
+                GL13.glActiveTexture(GL13.GL_TEXTURE0 + unit);
+                GL11.glBindTexture(GL11.GL_TEXTURE_2D, previousTextures[unit]);
+            }
+            GL13.glActiveTexture(previousActiveTexture);
+        }
+
         // Reset tracking vars
         previousVaoId = -1;
         previousVboId = -1;
         previousEboId = -1;
+        previousActiveTexture = -1;
     }
 
     /**
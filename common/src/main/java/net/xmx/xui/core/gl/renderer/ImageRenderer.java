@@ -10,35 +10,57 @@ import net.xmx.xui.core.gl.vertex.MeshBuffer;
 import net.xmx.xui.core.gl.vertex.VertexFormat;
 import org.joml.Matrix4f;
 import org.lwjgl.opengl.GL11;
-import org.lwjgl.opengl.GL13;
 
 /**
  * Handles the rendering of textured rectangles (Images).
  * Uses a specific shader that supports rounding via Fragment Shader math.
+ * <p>
+ * Images are recorded into the frame-wide batch of the {@link BatchManager}. Consecutive
+ * images sharing the same texture and filtering mode are submitted in a single draw call,
+ * as the size and corner radius are passed per vertex instead of as uniforms.
+ * </p>
  *
  * @author xI-Mx-Ix
  */
-public class ImageRenderer {
+public class ImageRenderer implements BatchTarget {
 
     private final TexturedRectShader shader;
     private final MeshBuffer mesh;
-    private final Matrix4f projectionMatrix = new Matrix4f();
+    private final BatchManager batch;
 
-    public ImageRenderer() {
-        this.shader = new TexturedRectShader();
-        this.mesh = new MeshBuffer(VertexFormat.POS_COLOR_UV);
+    /**
+     * Constructs a new ImageRenderer.
+     *
+     * @param batch The frame-wide batch manager that schedules the draw calls.
+     */
+    public ImageRenderer(BatchManager batch) {
+        this(batch, new TexturedRectShader());
+    }
+
+    /**
+     * Constructs a new ImageRenderer with the given shader.
+     *
+     * @param batch  The frame-wide batch manager that schedules the draw calls.
+     * @param shader The shader, or null in tests (never bound).
+     */
+    ImageRenderer(BatchManager batch, TexturedRectShader shader) {
+        this.shader = shader;
+        this.mesh = new MeshBuffer(VertexFormat.POS_PACKED_COLOR_UV_RECT, true, MeshBuffer.Topology.QUADS);
+        this.batch = batch;
+        batch.register(this);
     }
 
     /**
      * Renders a texture with specified dimensions and rounded corners.
      * <p>
-     * Note: This method breaks batching because it changes texture bindings and
-     * uploads specific uniforms (size/radius) per draw call.
+     * The quad is queued into the current frame batch. The batch is only broken if the
+     * texture or the filtering mode differs from the previously queued image.
      * </p>
      * <p>
-     * <b>State Management:</b> This method now explicitly captures and restores the OpenGL
-     * state using {@link GlState}. This is critical to prevent {@code GL_INVALID_OPERATION}
-     * errors (ID 1282) related to active Vertex Array Objects (VAO) when interoping with Minecraft.
+     * <b>State Management:</b> Outside of a frame, this method opens an implicit batch scope
+     * which captures and restores the OpenGL state using {@link GlState}. This is critical to
+     * prevent {@code GL_INVALID_OPERATION} errors (ID 1282) related to active Vertex Array
+     * Objects (VAO) when interoping with Minecraft.
      * </p>
      *
      * @param texture      The texture object to render.
@@ -53,80 +75,63 @@ public class ImageRenderer {
      * @param modelView    The current model-view matrix.
      */
     public void drawImage(UITexture texture, float x, float y, float w, float h, int color, float radius, boolean pixelPerfect, double uiScale, Matrix4f modelView) {
-        if (texture == null || w <= 0 || h <= 0) return;
-
-        UIRenderer renderer = UIRenderer.getInstance();
-        GlState glState = renderer.getStateManager();
+        if (texture == null) return;
+        drawImage(texture.getTextureId(), x, y, w, h, color, radius, pixelPerfect, uiScale, modelView);
+    }
 
-        // 1. Capture current OpenGL State (VAO, VBO, Blend, Depth, etc.)
-        glState.capture();
+    /**
+     * Renders a texture by its OpenGL ID.
+     *
+     * @see #drawImage(UITexture, float, float, float, float, int, float, boolean, double, Matrix4f)
+     */
+    void drawImage(int textureId, float x, float y, float w, float h, int color, float radius, boolean pixelPerfect, double uiScale, Matrix4f modelView) {
+        if (w <= 0 || h <= 0) return;
 
-        // 2. Setup safe UI State (Enables Blending, disables Culling, etc.)
-        glState.setupForUI();
+        // 1. Open an implicit scope if no frame is active
+        boolean opened = batch.beginImmediate(uiScale);
 
         try {
-            // 3. Setup Projection
-            int[] viewport = new int[4];
-            GL11.glGetIntegerv(GL11.GL_VIEWPORT, viewport);
-            projectionMatrix.identity().ortho(0, viewport[2], viewport[3], 0, -10000, 10000);
-            projectionMatrix.scale((float) uiScale, (float) uiScale, 1.0f);
-
-            // 4. Bind Shader and Upload Uniforms
-            shader.bind();
-            shader.uploadProjection(projectionMatrix);
-            shader.uploadModelView(modelView);
-            shader.uploadSize(w, h);
-            shader.uploadRadius(radius);
-            shader.uploadTextureUnit(0);
+            // 2. Reserve space (flushes if texture or filter differ from the pending batch)
+            batch.prepare(this, (textureId << 1) | (pixelPerfect ? 1 : 0), null, 4);
 
-            // 5. Bind Texture & Configure Filtering
-            GL13.glActiveTexture(GL13.GL_TEXTURE0);
-            texture.bind();
-
-            // Apply dynamic filtering based on widget preference
-            int filter = pixelPerfect ? GL11.GL_NEAREST : GL11.GL_LINEAR;
-            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, filter);
-            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, filter);
-
-            // 6. Build Quad
-            float[] rgba = unpackColor(color);
-            float r = rgba[0], g = rgba[1], b = rgba[2], a = rgba[3];
+            mesh.setTransform(modelView);
 
+            // 3. Build Quad
             // We use a single quad. The fragment shader handles the rounded clipping.
-            // Vertices: Pos(x,y,z), Color(r,g,b,a), UV(u,v)
+            // Vertices: Pos(x,y,z), Color(packed ARGB), UV(u,v), Rect(w,h,radius)
 
             // Top-Left
-            mesh.pos(x, y, 0).color(r, g, b, a).uv(0, 0).endVertex();
+            mesh.pos(x, y, 0).color(color).uv(0, 0).put(w).put(h).put(radius).endVertex();
             // Bottom-Left
-            mesh.pos(x, y + h, 0).color(r, g, b, a).uv(0, 1).endVertex();
+            mesh.pos(x, y + h, 0).color(color).uv(0, 1).put(w).put(h).put(radius).endVertex();
             // Bottom-Right
-            mesh.pos(x + w, y + h, 0).color(r, g, b, a).uv(1, 1).endVertex();
-
-            // Top-Left
-            mesh.pos(x, y, 0).color(r, g, b, a).uv(0, 0).endVertex();
-            // Bottom-Right
-            mesh.pos(x + w, y + h, 0).color(r, g, b, a).uv(1, 1).endVertex();
+            mesh.pos(x + w, y + h, 0).color(color).uv(1, 1).put(w).put(h).put(radius).endVertex();
             // Top-Right
-            mesh.pos(x + w, y, 0).color(r, g, b, a).uv(1, 0).endVertex();
-
-            // 7. Draw
-            // The mesh buffer handles its own VAO binding, but because we are inside a captured state,
-            // restoring afterwards ensures we don't leak the VAO binding to Minecraft.
-            mesh.flush(GL11.GL_TRIANGLES);
-
+            mesh.pos(x + w, y, 0).color(color).uv(1, 0).put(w).put(h).put(radius).endVertex();
         } finally {
-            shader.unbind();
-            // 8. Restore previous OpenGL State (Critical for preventing GL_INVALID_OPERATION)
-            glState.restore();
+            // 4. Close the implicit scope (draws and restores the previous OpenGL State)
+            batch.endImmediate(opened);
         }
     }
 
-    private float[] unpackColor(int color) {
-        return new float[]{
-                ((color >> 16) & 0xFF) / 255.0F,
-                ((color >> 8) & 0xFF) / 255.0F,
-                (color & 0xFF) / 255.0F,
-                ((color >> 24) & 0xFF) / 255.0F
-        };
+    @Override
+    public MeshBuffer getMesh() {
+        return mesh;
+    }
+
+    @Override
+    public void bindState(BatchManager batch, int stateKey, Object state) {
+        // 1. Bind Shader and Upload Uniforms
+        if (batch.useShader(shader)) {
+            shader.uploadProjection(batch.getProjection());
+            shader.uploadModelView(batch.getModelView());
+            shader.uploadTextureUnit(0);
+        }
+
+        // 2. Bind Texture & Configure Filtering (both encoded in the state key)
+        batch.useTexture(stateKey >>> 1);
+
+        // Apply dynamic filtering based on widget preference
+        batch.useTextureFilter((stateKey & 1) != 0 ? GL11.GL_NEAREST : GL11.GL_LINEAR);
     }
-}
\ No newline at end of file
+}
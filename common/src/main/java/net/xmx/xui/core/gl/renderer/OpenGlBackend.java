@@ -0,0 +1,89 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.gl.renderer;
+
+import net.xmx.xui.core.gl.shader.ShaderProgram;
+import net.xmx.xui.core.gl.vertex.MeshBuffer;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL13;
+import org.lwjgl.opengl.GL20;
+
+import java.nio.IntBuffer;
+
+/**
+ * The {@link GlBackend} that forwards every call to OpenGL.
+ *
+ * @author xI-Mx-Ix
+ */
+public final class OpenGlBackend implements GlBackend {
+
+    /**
+     * The shared instance. The backend holds no state.
+     */
+    public static final OpenGlBackend INSTANCE = new OpenGlBackend();
+
+    private OpenGlBackend() {
+    }
+
+    @Override
+    public void getViewport(int[] out) {
+        GL11.glGetIntegerv(GL11.GL_VIEWPORT, out);
+    }
+
+    @Override
+    public void enableScissor(int x, int glY, int width, int height) {
+        GL11.glEnable(GL11.GL_SCISSOR_TEST);
+        GL11.glScissor(x, glY, width, height);
+    }
+
+    @Override
+    public void disableScissor() {
+        GL11.glDisable(GL11.GL_SCISSOR_TEST);
+    }
+
+    @Override
+    public void bindProgram(ShaderProgram program) {
+        if (program != null) {
+            program.bind();
+        } else {
+            GL20.glUseProgram(0);
+        }
+    }
+
+    @Override
+    public void bindTexture(int unit, int textureId) {
+        GL13.glActiveTexture(GL13.GL_TEXTURE0 + unit);
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
+        if (unit != 0) {
+            GL13.glActiveTexture(GL13.GL_TEXTURE0);
+        }
+    }
+
+    @Override
+    public void setTextureFilter(int filter) {
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, filter);
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, filter);
+    }
+
+    @Override
+    public void upload(MeshBuffer mesh) {
+        mesh.upload();
+    }
+
+    @Override
+    public void draw(MeshBuffer mesh, int first, int count) {
+        mesh.draw(GL11.GL_TRIANGLES, first, count);
+    }
+
+    @Override
+    public void drawMulti(MeshBuffer mesh, IntBuffer firsts, IntBuffer counts) {
+        mesh.drawMulti(GL11.GL_TRIANGLES, firsts, counts);
+    }
+
+    @Override
+    public void endDraws(MeshBuffer mesh) {
+        mesh.endDraws();
+    }
+}
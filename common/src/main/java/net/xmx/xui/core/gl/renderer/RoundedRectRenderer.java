@@ -0,0 +1,123 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.gl.renderer;
+
+import net.xmx.xui.core.gl.shader.impl.RoundedRectShader;
+import net.xmx.xui.core.gl.vertex.MeshBuffer;
+import net.xmx.xui.core.gl.vertex.VertexFormat;
+import org.joml.Matrix4f;
+
+/**
+ * Batches rounded rectangles that are evaluated entirely on the GPU.
+ * <p>
+ * Every rectangle is a single instance in the {@link VertexFormat#ROUNDED_RECT_INSTANCE} format
+ * (64 bytes). The instance carries the transformed origin and edges, the rectangle size, the four
+ * corner radii, the border thickness and both the fill and the border color. The quad is expanded
+ * by the vertex shader, and the {@link RoundedRectShader} evaluates the shape, the border and the
+ * anti-aliased edge per fragment, so no corner tessellation or trigonometry happens on the CPU.
+ * </p>
+ * <p>
+ * The instance buffer holds {@link #MAX_INSTANCES} rectangles, so even very large grids (e.g. a
+ * 256x256 heatmap) are submitted with a single instanced draw call.
+ * </p>
+ * <p>
+ * This is an implementation detail of {@link GeometryRenderer}, which owns the scope handling
+ * and exposes the public drawing API.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+final class RoundedRectRenderer implements BatchTarget {
+
+    /**
+     * The number of rectangles buffered before the batch is flushed (4 MiB per ring segment).
+     */
+    static final int MAX_INSTANCES = 65536;
+
+    private final RoundedRectShader shader;
+    private final MeshBuffer mesh;
+    private final BatchManager batch;
+
+    RoundedRectRenderer(BatchManager batch) {
+        this(batch, new RoundedRectShader());
+    }
+
+    /**
+     * Constructs the renderer with the given shader.
+     *
+     * @param batch  The frame-wide batch manager that schedules the draw calls.
+     * @param shader The shader, or null in tests (never bound).
+     */
+    RoundedRectRenderer(BatchManager batch, RoundedRectShader shader) {
+        this.shader = shader;
+        this.mesh = new MeshBuffer(VertexFormat.ROUNDED_RECT_INSTANCE, true,
+                MeshBuffer.Topology.INSTANCED_QUADS, MAX_INSTANCES);
+        this.batch = batch;
+        batch.register(this);
+    }
+
+    @Override
+    public MeshBuffer getMesh() {
+        return mesh;
+    }
+
+    @Override
+    public void bindState(BatchManager batch, int stateKey, Object state) {
+        if (batch.useShader(shader)) {
+            shader.uploadProjection(batch.getProjection());
+            shader.uploadModelView(batch.getModelView());
+        }
+    }
+
+    /**
+     * Sets the transformation applied to the following rectangles.
+     *
+     * @param modelViewMatrix The model-view matrix.
+     */
+    void setTransform(Matrix4f modelViewMatrix) {
+        mesh.setTransform(modelViewMatrix);
+    }
+
+    /**
+     * Queues a rounded rectangle with an optional inner border.
+     * <p>
+     * Radii larger than half of the smaller side are clamped. The border is drawn on the inside
+     * of the bounds; the inner corners use the outer radii reduced by the thickness.
+     * </p>
+     *
+     * @param x           Logical X position.
+     * @param y           Logical Y position.
+     * @param width       Logical Width.
+     * @param height      Logical Height.
+     * @param fillColor   ARGB fill color (may be fully transparent).
+     * @param borderColor ARGB border color.
+     * @param thickness   Border thickness (0 for no border).
+     * @param rTL         Radius of Top-Left corner.
+     * @param rTR         Radius of Top-Right corner.
+     * @param rBR         Radius of Bottom-Right corner.
+     * @param rBL         Radius of Bottom-Left corner.
+     */
+    void add(float x, float y, float width, float height, int fillColor, int borderColor, float thickness,
+             float rTL, float rTR, float rBR, float rBL) {
+        if (width <= 0 || height <= 0) return;
+
+        batch.prepare(this, 0, null, 1);
+
+        // Clamp radii to prevent visual artifacts if radii sum > dimension
+        float maxR = Math.min(width, height) / 2.0f;
+        rTL = Math.max(0, Math.min(rTL, maxR));
+        rTR = Math.max(0, Math.min(rTR, maxR));
+        rBR = Math.max(0, Math.min(rBR, maxR));
+        rBL = Math.max(0, Math.min(rBL, maxR));
+        thickness = Math.max(0, thickness);
+
+        mesh.rect(x, y, 0, width, height)
+                .color(fillColor)
+                .put(width).put(height).put(thickness)
+                .put(rTL).put(rTR).put(rBR).put(rBL)
+                .putPackedColor(borderColor)
+                .endVertex();
+    }
+}
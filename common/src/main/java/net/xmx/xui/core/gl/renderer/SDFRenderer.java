@@ -8,116 +8,375 @@ import net.xmx.xui.core.gl.vertex.MeshBuffer;
 import net.xmx.xui.core.gl.vertex.VertexFormat;
 import net.xmx.xui.core.sdf.SDFAtlas;
 import net.xmx.xui.core.sdf.SDFType;
-import net.xmx.xui.core.sdf.shader.MSDFShader;
-import net.xmx.xui.core.sdf.shader.MTSDFShader;
 import net.xmx.xui.core.sdf.shader.SDFShader;
 import org.joml.Matrix4f;
 import org.joml.Vector4f;
-import org.lwjgl.opengl.GL11;
-import org.lwjgl.opengl.GL13;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Handles the rendering lifecycle for Unified SDF-based elements.
  * <p>
- * This renderer manages both {@link MSDFShader} (for text) and {@link MTSDFShader} (for icons/shapes).
- * It automatically selects the appropriate shader based on the {@link SDFAtlas} type passed to {@link #begin}.
+ * Text (MSDF atlases) and icons/shapes (MTSDF atlases) share a single {@link SDFShader} and a
+ * single vertex stream. The type of each atlas is uploaded per texture slot, so switching between
+ * glyphs and icons does not require a shader change.
+ * </p>
+ * <p>
+ * Vertices are recorded into the frame-wide draw list of the {@link BatchManager}. Callers request
+ * space for their quads via {@link #prepare(SDFAtlas, int)}; glyphs and icons that share an atlas
+ * are merged into a single draw call where painter's order allows it.
+ * </p>
+ * <p>
+ * <b>Multi-Atlas Batching:</b><br>
+ * Atlases are grouped into sets of up to {@link SDFShader#MAX_ATLASES}, which are bound to
+ * consecutive texture units. Every vertex carries the slot of its atlas (see {@link #getSlot()}),
+ * so text mixing Regular, Bold and Italic glyphs, glyphs falling back to another variant, or
+ * labels interleaved with icons stay a single command instead of being split at every atlas change.
+ * A new atlas joins the set of the previously prepared atlas if it has room, which keeps atlases
+ * that are used together (e.g. the font and the icons of a toolbar) in the same set.
+ * </p>
+ * <p>
+ * <b>Outlines:</b><br>
+ * The outline is recorded as part of the command state together with the atlas set, so changing
+ * it only starts a new command instead of submitting the batch. Equal outlines are shared, so
+ * outlined elements with the same parameters still merge into one draw call.
  * </p>
  *
  * @author xI-Mx-Ix
  */
-public class SDFRenderer {
+public class SDFRenderer implements BatchTarget {
 
-    private final MSDFShader msdfShader;
-    private final MTSDFShader mtsdfShader;
+    private final SDFShader shader;
     private final MeshBuffer mesh;
-    private final Matrix4f projectionMatrix = new Matrix4f();
+    private final BatchManager batch;
+
+    /**
+     * The atlas passed to {@link #begin}, used by {@link #prepare(int)}.
+     */
+    private SDFAtlas currentAtlas;
+
+    /**
+     * All atlas sets created so far. Sets only grow, so recorded commands stay valid.
+     */
+    private final List<AtlasSet> atlasSets = new ArrayList<>();
+
+    // --- Resolution of the last prepared atlas ---
+    private SDFAtlas lastAtlas;
+    private AtlasSet lastSet;
+    private int lastSlot = 0;
+
+    /**
+     * The maximum number of distinct outlines kept for sharing. The table is emptied when it is full;
+     * recorded commands keep their outline.
+     */
+    private static final int MAX_OUTLINES = 64;
+
+    // --- Outline state of the following vertices ---
+    private Outline outline = Outline.NONE;
+    private final List<Outline> outlines = new ArrayList<>();
 
-    // Track which shader is currently bound
-    private SDFShader activeShader;
+    // --- Scope tracking (see GeometryRenderer) ---
+    private int scopeDepth = 0;
+    private boolean ownsScope = false;
 
-    public SDFRenderer() {
-        this.msdfShader = new MSDFShader();
-        this.mtsdfShader = new MTSDFShader();
-        this.mesh = new MeshBuffer(VertexFormat.POS_COLOR_UV);
+    /**
+     * Constructs a new SDFRenderer.
+     *
+     * @param batch The frame-wide batch manager that schedules the draw calls.
+     */
+    public SDFRenderer(BatchManager batch) {
+        this(batch, new SDFShader());
+    }
+
+    /**
+     * Constructs a new SDFRenderer with the given shader.
+     *
+     * @param batch  The frame-wide batch manager that schedules the draw calls.
+     * @param shader The shader, or null if {@link #uploadUniforms} is overridden (tests).
+     */
+    SDFRenderer(BatchManager batch, SDFShader shader) {
+        this.shader = shader;
+        this.mesh = new MeshBuffer(VertexFormat.POS_PACKED_COLOR_UV_SLOT, true, MeshBuffer.Topology.QUADS);
+        this.batch = batch;
+        batch.register(this);
     }
 
+    @Override
     public MeshBuffer getMesh() {
         return mesh;
     }
 
     /**
-     * Initializes the rendering state for a batch of SDF elements.
+     * Initializes the rendering state for a sequence of SDF elements.
      * <p>
-     * Automatically binds the correct shader (MSDF vs MTSDF) based on the atlas type.
+     * Opens an implicit batch scope if no frame is active, sets the transformation applied to
+     * the queued vertices and resets the outline (no outline by default).
      * </p>
      *
      * @param guiScale        The current GUI scale.
-     * @param atlas           The SDF atlas to render.
+     * @param atlas           The default SDF atlas used by {@link #prepare(int)}.
      * @param modelViewMatrix The model-view matrix.
      */
     public void begin(double guiScale, SDFAtlas atlas, Matrix4f modelViewMatrix) {
-        int[] viewport = new int[4];
-        GL11.glGetIntegerv(GL11.GL_VIEWPORT, viewport);
+        if (scopeDepth++ == 0) {
+            ownsScope = batch.beginImmediate(guiScale);
+        }
+        this.currentAtlas = atlas;
+        mesh.setTransform(modelViewMatrix);
+        this.outline = Outline.NONE;
+    }
 
-        projectionMatrix.identity().ortho(0, viewport[2], viewport[3], 0, -10000, 10000);
-        projectionMatrix.scale((float) guiScale, (float) guiScale, 1.0f);
+    /**
+     * Reserves space for vertices sampling the atlas passed to {@link #begin}.
+     *
+     * @param vertices The number of vertices about to be written.
+     * @return The mesh buffer to write the vertices into.
+     */
+    public MeshBuffer prepare(int vertices) {
+        return prepare(currentAtlas, vertices);
+    }
 
-        // 1. Determine and Bind Shader
-        SDFType type = (atlas != null) ? atlas.getType() : SDFType.MSDF;
-        
-        if (type == SDFType.MTSDF) {
-            this.activeShader = this.mtsdfShader;
-        } else {
-            this.activeShader = this.msdfShader;
+    /**
+     * Reserves space for vertices sampling the given atlas.
+     * <p>
+     * The returned buffer must be filled with exactly {@code vertices} vertices in the
+     * {@link VertexFormat#POS_PACKED_COLOR_UV_SLOT} format, 4 per quad in winding order,
+     * each with the slot returned by {@link #getSlot()}.
+     * </p>
+     *
+     * @param atlas    The atlas the vertices sample from.
+     * @param vertices The number of vertices about to be written.
+     * @return The mesh buffer to write the vertices into.
+     */
+    public MeshBuffer prepare(SDFAtlas atlas, int vertices) {
+        if (atlas == null) {
+            lastAtlas = null;
+            lastSlot = 0;
+            batch.prepare(this, 0, null, vertices);
+            return mesh;
+        }
+
+        if (atlas != lastAtlas) {
+            resolveSlot(atlas);
         }
+        batch.prepare(this, lastSet.key, outline.stateFor(lastSet), vertices);
+        return mesh;
+    }
 
-        activeShader.bind();
-        activeShader.uploadProjection(projectionMatrix);
-        activeShader.uploadModelView(modelViewMatrix);
-        activeShader.uploadTextureUnit(0);
+    /**
+     * Gets the texture slot of the atlas passed to the last {@code prepare} call.
+     * Must be written into every vertex via {@link MeshBuffer#slot(int)}.
+     *
+     * @return The slot index.
+     */
+    public int getSlot() {
+        return lastSlot;
+    }
 
-        // 2. Upload Common Metadata
-        if (atlas != null && atlas.getMetadata() != null && atlas.getMetadata().atlas != null) {
-            activeShader.uploadPxRange(atlas.getMetadata().atlas.distanceRange);
+    /**
+     * Finds (or assigns) the set and slot of an atlas.
+     */
+    private void resolveSlot(SDFAtlas atlas) {
+        // 1. The atlas may already be part of a set
+        AtlasSet free = null;
+        for (int i = 0; i < atlasSets.size(); i++) {
+            AtlasSet set = atlasSets.get(i);
+            int slot = set.indexOf(atlas);
+            if (slot >= 0) {
+                lastAtlas = atlas;
+                lastSet = set;
+                lastSlot = slot;
+                return;
+            }
+            if (free == null && set.count < SDFShader.MAX_ATLASES) free = set;
         }
 
-        // 3. Reset Default MTSDF State (No Outline by default)
-        if (activeShader instanceof MTSDFShader) {
-            ((MTSDFShader) activeShader).uploadOutlineWidth(0.0f);
+        // 2. Prefer the set of the previous atlas, so atlases used together stay together
+        if (lastSet != null && lastSet.count < SDFShader.MAX_ATLASES) {
+            free = lastSet;
+        }
+        if (free == null) {
+            free = new AtlasSet(atlasSets.size() + 1);
+            atlasSets.add(free);
+        }
+
+        lastAtlas = atlas;
+        lastSet = free;
+        lastSlot = free.add(atlas);
+    }
+
+    @Override
+    public void bindState(BatchManager batch, int stateKey, Object state) {
+        DrawState drawState = (DrawState) state;
+        AtlasSet set = (drawState != null) ? drawState.set() : null;
+        Outline commandOutline = (drawState != null) ? drawState.outline() : Outline.NONE;
+
+        // 1. Bind the shader and upload the uniforms of the state
+        if (set != null) {
+            uploadUniforms(batch, set.count, set.pxRanges, set.types, commandOutline.width, commandOutline.color);
+        } else {
+            uploadUniforms(batch, 0, null, null, commandOutline.width, commandOutline.color);
+        }
+
+        // 2. Bind one texture unit per atlas of the set
+        if (set != null) {
+            for (int slot = 0; slot < set.count; slot++) {
+                batch.useTexture(slot, set.atlases[slot].getTextureId());
+            }
         }
     }
 
     /**
-     * Binds the texture and draws the mesh.
+     * Binds the shader and uploads the uniforms of a command state.
      *
-     * @param textureId The OpenGL texture ID.
+     * @param batch        The batch manager issuing the draw.
+     * @param atlasCount   The number of atlases in the set (0 without atlas).
+     * @param pxRanges     The distance range of each atlas, or null without atlas.
+     * @param types        The type of each atlas, or null without atlas.
+     * @param outlineWidth The outline width (0 for no outline).
+     * @param outlineColor The outline color.
      */
-    public void drawBatch(int textureId) {
-        GL13.glActiveTexture(GL13.GL_TEXTURE0);
-        GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
-        mesh.flush(GL11.GL_TRIANGLES);
+    void uploadUniforms(BatchManager batch, int atlasCount, float[] pxRanges, int[] types,
+                        float outlineWidth, Vector4f outlineColor) {
+        // 1. Bind Shader
+        if (batch.useShader(shader)) {
+            shader.uploadProjection(batch.getProjection());
+            shader.uploadModelView(batch.getModelView());
+            shader.uploadTextureUnits();
+        }
+
+        // 2. Upload Atlas Metadata
+        if (atlasCount > 0) {
+            shader.uploadPxRanges(pxRanges, atlasCount);
+            shader.uploadAtlasTypes(types);
+        }
+
+        // 3. Upload Outline State
+        shader.uploadOutlineWidth(outlineWidth);
+        if (outlineWidth > 0.0f) {
+            shader.uploadOutlineColor(outlineColor);
+        }
     }
 
     /**
-     * Sets the outline parameters for the current batch.
+     * Sets the outline parameters for the following vertices.
      * <p>
-     * <b>Note:</b> This only has an effect if the active atlas is of type {@link SDFType#MTSDF}.
+     * <b>Note:</b> This only has an effect on atlases of type {@link SDFType#MTSDF}.
+     * The outline applies to the vertices prepared after this call until the next {@link #begin}.
      * </p>
      *
      * @param width Width of the outline (0.0 to 1.0).
      * @param color Color of the outline.
      */
     public void setOutline(float width, Vector4f color) {
-        if (activeShader instanceof MTSDFShader) {
-            ((MTSDFShader) activeShader).uploadOutlineWidth(width);
-            ((MTSDFShader) activeShader).uploadOutlineColor(color);
+        if (width <= 0.0f) {
+            outline = Outline.NONE;
+            return;
+        }
+        if (outline.matches(width, color)) return;
+
+        // Share equal outlines, so their commands stay mergeable
+        for (int i = 0; i < outlines.size(); i++) {
+            Outline shared = outlines.get(i);
+            if (shared.matches(width, color)) {
+                outline = shared;
+                return;
+            }
+        }
+
+        if (outlines.size() >= MAX_OUTLINES) {
+            outlines.clear();
         }
+        outline = new Outline(width, color);
+        outlines.add(outline);
     }
 
+    /**
+     * Finalizes the current sequence of SDF elements.
+     * <p>
+     * Inside a frame, the vertices stay in the batch. Outside a frame, the implicit scope
+     * is closed, which draws the vertices and restores the OpenGL state.
+     * </p>
+     */
     public void end() {
-        if (activeShader != null) {
-            activeShader.unbind();
-            activeShader = null;
+        if (scopeDepth == 0) return;
+        if (--scopeDepth == 0 && ownsScope) {
+            ownsScope = false;
+            batch.endImmediate(true);
+        }
+    }
+
+    /**
+     * The state of a command: the atlas set to bind and the outline to apply.
+     * Instances are shared per set and outline, as the batch compares states by identity.
+     */
+    private record DrawState(AtlasSet set, Outline outline) {}
+
+    /**
+     * Immutable outline parameters with the draw states using them.
+     */
+    private static final class Outline {
+        static final Outline NONE = new Outline(0.0f, new Vector4f());
+
+        final float width;
+        final Vector4f color;
+
+        /**
+         * The draw state per atlas set, indexed by the set key minus one.
+         */
+        private final List<DrawState> states = new ArrayList<>();
+
+        Outline(float width, Vector4f color) {
+            this.width = width;
+            this.color = new Vector4f(color);
+        }
+
+        boolean matches(float width, Vector4f color) {
+            return this.width == width && this.color.equals(color);
+        }
+
+        DrawState stateFor(AtlasSet set) {
+            int index = set.key - 1;
+            while (states.size() <= index) {
+                states.add(null);
+            }
+            DrawState state = states.get(index);
+            if (state == null) {
+                state = new DrawState(set, this);
+                states.set(index, state);
+            }
+            return state;
+        }
+    }
+
+    /**
+     * Atlases that are bound together, one per texture unit.
+     */
+    private static final class AtlasSet {
+        final int key;
+        final SDFAtlas[] atlases = new SDFAtlas[SDFShader.MAX_ATLASES];
+        final float[] pxRanges = new float[SDFShader.MAX_ATLASES];
+        final int[] types = new int[SDFShader.MAX_ATLASES];
+        int count = 0;
+
+        AtlasSet(int key) {
+            this.key = key;
+        }
+
+        int indexOf(SDFAtlas atlas) {
+            for (int i = 0; i < count; i++) {
+                if (atlases[i] == atlas) return i;
+            }
+            return -1;
+        }
+
+        int add(SDFAtlas atlas) {
+            atlases[count] = atlas;
+            pxRanges[count] = (atlas.getMetadata() != null && atlas.getMetadata().atlas != null)
+                    ? atlas.getMetadata().atlas.distanceRange : 0.0f;
+            types[count] = (atlas.getType() == SDFType.MTSDF) ? 1 : 0;
+            return count++;
         }
     }
-}
\ No newline at end of file
+}
@@ -6,10 +6,8 @@ package net.xmx.xui.core.gl.renderer;
 
 import org.joml.Vector3f;
 import org.lwjgl.glfw.GLFW;
-import org.lwjgl.opengl.GL11;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.util.Arrays;
 
 /**
  * Manages the OpenGL scissor test capabilities to define clipping regions for the UI.
@@ -28,6 +26,8 @@ import java.util.Deque;
  *     its parent's visible area.</li>
  *     <li><b>Coordinate Scaling:</b> Automatically handles the conversion between logical UI pixels
  *     and physical display pixels (Retina/High-DPI support).</li>
+ *     <li><b>Batch Awareness:</b> The clip region is recorded with each batched draw command,
+ *     so commands are clipped against the region they were recorded in, even after reordering.</li>
  * </ul>
  * </p>
  *
@@ -36,16 +36,35 @@ import java.util.Deque;
 public class ScissorManager {
 
     /**
-     * A stack containing the active physical scissor rectangles.
-     * Format: {@code [physicalX, physicalY, physicalWidth, physicalHeight]}.
+     * A stack containing the active physical scissor rectangles, stored flat without per-entry arrays.
+     * Format: {@code [physicalX, physicalY, physicalWidth, physicalHeight]} per entry.
      */
-    private final Deque<int[]> scissorStack = new ArrayDeque<>();
+    private int[] scissorStack = new int[4 * 16];
+    private int depth = 0;
+
+    // --- Scratch buffers for the framebuffer size query ---
+    private final int[] framebufferWidth = new int[1];
+    private final int[] framebufferHeight = new int[1];
 
     /**
      * Temporary vector used to retrieve matrix translation without memory allocation.
      */
     private final Vector3f scratchPos = new Vector3f();
 
+    /**
+     * The batch manager that records and applies the clip region.
+     */
+    private final BatchManager batch;
+
+    /**
+     * Creates a new scissor manager.
+     *
+     * @param batch The frame-wide batch manager.
+     */
+    public ScissorManager(BatchManager batch) {
+        this.batch = batch;
+    }
+
     /**
      * Activates a new clipping region.
      * <p>
@@ -82,12 +101,12 @@ public class ScissorManager {
         int finalW = reqW;
         int finalH = reqH;
 
-        if (!scissorStack.isEmpty()) {
-            int[] parent = scissorStack.peek();
-            int pX = parent[0];
-            int pY = parent[1];
-            int pW = parent[2];
-            int pH = parent[3];
+        if (depth > 0) {
+            int parent = (depth - 1) * 4;
+            int pX = scissorStack[parent];
+            int pY = scissorStack[parent + 1];
+            int pW = scissorStack[parent + 2];
+            int pH = scissorStack[parent + 3];
 
             // Calculate intersection rectangle (AABB)
             int newLeft = Math.max(reqX, pX);
@@ -102,7 +121,15 @@ public class ScissorManager {
         }
 
         // 5. Push state and apply to GPU.
-        scissorStack.push(new int[]{finalX, finalY, finalW, finalH});
+        if (depth * 4 == scissorStack.length) {
+            scissorStack = Arrays.copyOf(scissorStack, scissorStack.length * 2);
+        }
+        int top = depth * 4;
+        scissorStack[top] = finalX;
+        scissorStack[top + 1] = finalY;
+        scissorStack[top + 2] = finalW;
+        scissorStack[top + 3] = finalH;
+        depth++;
         applyScissor(finalX, finalY, finalW, finalH);
     }
 
@@ -114,18 +141,16 @@ public class ScissorManager {
      * </p>
      */
     public void disableScissor() {
-        if (!scissorStack.isEmpty()) {
-            scissorStack.pop();
+        if (depth > 0) {
+            depth--;
         }
 
-        if (scissorStack.isEmpty()) {
-            GL11.glDisable(GL11.GL_SCISSOR_TEST);
+        if (depth == 0) {
+            batch.clearScissor();
         } else {
             // Restore the parent's scissor state
-            int[] prev = scissorStack.peek();
-            if (prev != null) {
-                applyScissor(prev[0], prev[1], prev[2], prev[3]);
-            }
+            int prev = (depth - 1) * 4;
+            applyScissor(scissorStack[prev], scissorStack[prev + 1], scissorStack[prev + 2], scissorStack[prev + 3]);
         }
     }
 
@@ -139,23 +164,44 @@ public class ScissorManager {
      * @return A float array {@code [x, y, width, height]} or {@code null} if inactive.
      */
     public float[] getCurrentLogicalScissor() {
-        int[] phys = scissorStack.peek();
         double scale = UIRenderer.getInstance().getCurrentUiScale();
 
-        if (phys == null || scale == 0) {
+        if (depth == 0 || scale == 0) {
             return null;
         }
 
+        int top = (depth - 1) * 4;
         return new float[]{
-                (float) (phys[0] / scale),
-                (float) (phys[1] / scale),
-                (float) (phys[2] / scale),
-                (float) (phys[3] / scale)
+                (float) (scissorStack[top] / scale),
+                (float) (scissorStack[top + 1] / scale),
+                (float) (scissorStack[top + 2] / scale),
+                (float) (scissorStack[top + 3] / scale)
         };
     }
 
     /**
-     * Executes the OpenGL commands to set the scissor rectangle.
+     * Retrieves the currently active scissor rectangle in logical pixels without allocating.
+     *
+     * @param out Receives {@code [x, y, width, height]}.
+     * @return true if a scissor is active, false if {@code out} was not written.
+     */
+    public boolean getCurrentLogicalScissor(float[] out) {
+        double scale = UIRenderer.getInstance().getCurrentUiScale();
+
+        if (depth == 0 || scale == 0) {
+            return false;
+        }
+
+        int top = (depth - 1) * 4;
+        out[0] = (float) (scissorStack[top] / scale);
+        out[1] = (float) (scissorStack[top + 1] / scale);
+        out[2] = (float) (scissorStack[top + 2] / scale);
+        out[3] = (float) (scissorStack[top + 3] / scale);
+        return true;
+    }
+
+    /**
+     * Converts the scissor rectangle to OpenGL coordinates and hands it to the batch manager.
      * <p>
      * Converts the top-left based coordinate system (UI) to the bottom-left based
      * coordinate system (OpenGL).
@@ -168,12 +214,10 @@ public class ScissorManager {
      */
     private void applyScissor(int x, int y, int width, int height) {
         long windowHandle = GLFW.glfwGetCurrentContext();
-        int[] wW = new int[1];
-        int[] wH = new int[1];
-        GLFW.glfwGetFramebufferSize(windowHandle, wW, wH);
+        GLFW.glfwGetFramebufferSize(windowHandle, framebufferWidth, framebufferHeight);
 
         // Convert Y to OpenGL coordinate space (Bottom-Left origin)
-        int glY = wH[0] - (y + height);
+        int glY = framebufferHeight[0] - (y + height);
 
         // Clamp values to prevent GL errors
         if (x < 0) x = 0;
@@ -181,7 +225,8 @@ public class ScissorManager {
         if (width < 0) width = 0;
         if (height < 0) height = 0;
 
-        GL11.glEnable(GL11.GL_SCISSOR_TEST);
-        GL11.glScissor(x, glY, width, height);
+        // The region becomes part of the sort key of following draw commands
+        // and is applied to OpenGL by the batch manager on submission.
+        batch.setScissor(x, glY, width, height);
     }
 }
\ No newline at end of file
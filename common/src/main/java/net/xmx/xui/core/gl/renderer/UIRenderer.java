@@ -36,6 +36,7 @@ public class UIRenderer {
 
     // --- Sub-Systems (Internal Renderers) ---
     private GlState stateManager;
+    private BatchManager batchManager;
     private ScissorManager scissorManager;
     private TransformStack transformStack;
     private GeometryRenderer geometryRenderer;
@@ -86,12 +87,13 @@ public class UIRenderer {
      */
     public void init() {
         if (geometryRenderer == null) {
-            this.geometryRenderer = new GeometryRenderer();
-            this.sdfRenderer = new SDFRenderer();
-            this.transformStack = new TransformStack();
-            this.imageRenderer = new ImageRenderer();
             this.stateManager = new GlState();
-            this.scissorManager = new ScissorManager();
+            this.batchManager = new BatchManager(stateManager);
+            this.geometryRenderer = new GeometryRenderer(batchManager);
+            this.sdfRenderer = new SDFRenderer(batchManager);
+            this.transformStack = new TransformStack();
+            this.imageRenderer = new ImageRenderer(batchManager);
+            this.scissorManager = new ScissorManager(batchManager);
         }
     }
 
@@ -129,7 +131,7 @@ public class UIRenderer {
      * <p>
      * This method assumes GL resources have been initialized via {@link #init()}.
      * It resets the transformation stack, initializes the platform backend with the
-     * current scale, and optionally clears the depth buffer.
+     * current scale, optionally clears the depth buffer and opens the frame-wide batch.
      * </p>
      *
      * @param uiScale          The logical scale factor for this frame.
@@ -152,6 +154,9 @@ public class UIRenderer {
                 GL11.glClear(GL11.GL_DEPTH_BUFFER_BIT);
             }
         }
+
+        // Capture the GL state once and start recording draw commands
+        this.batchManager.beginFrame(this.currentUiScale);
     }
 
     /**
@@ -161,6 +166,9 @@ public class UIRenderer {
      * </p>
      */
     public void endFrame() {
+        // Submit all pending XUI vertices before the platform draws its deferred content
+        this.batchManager.endFrame();
+
         if (platform != null) {
             platform.finishRenderCycle();
         }
@@ -186,8 +194,12 @@ public class UIRenderer {
         if (text == null || text.getFont() == null) return;
 
         if (text.getFont().getType() == Font.Type.VANILLA) {
-            // Logic: Pass the current transform stack so the backend knows where to draw
+            // Logic: Pass the current transform stack so the backend knows where to draw.
+            // The backend relies on the GL scissor matching the current clip region.
+            batchManager.syncScissor();
             getPlatform().renderNativeText(text, x, y, color, shadow, transformStack.getDirectModelMatrix());
+            // The platform may have touched the GL state
+            batchManager.invalidate();
         } else {
             // Logic: Custom fonts use our internal renderer logic
             if (sdfRenderer != null) {
@@ -210,7 +222,9 @@ public class UIRenderer {
         if (text == null || text.getFont() == null) return;
 
         if (text.getFont().getType() == Font.Type.VANILLA) {
+            batchManager.syncScissor();
             getPlatform().renderNativeWrappedText(text, x, y, width, color, shadow, transformStack.getDirectModelMatrix());
+            batchManager.invalidate();
         } else {
             if (sdfRenderer != null) {
                 text.getFont().drawWrapped(this, text, x, y, width, color, shadow);
@@ -259,6 +273,15 @@ public class UIRenderer {
         return stateManager;
     }
 
+    /**
+     * Retrieves the Batch Manager responsible for frame-wide draw call batching.
+     *
+     * @return The BatchManager instance.
+     */
+    public BatchManager getBatch() {
+        return batchManager;
+    }
+
     /**
      * Retrieves the Scissor Manager responsible for clipping operations.
      *
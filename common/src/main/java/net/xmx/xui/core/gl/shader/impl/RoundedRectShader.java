@@ -0,0 +1,78 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.gl.shader.impl;
+
+import net.xmx.xui.core.gl.shader.ShaderProgram;
+import org.joml.Matrix4f;
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL20;
+
+import java.nio.FloatBuffer;
+
+/**
+ * The shader for rounded rectangles evaluated on the GPU.
+ * <p>
+ * Each rectangle is a single quad instance, expanded by the vertex shader. The fragment shader computes
+ * the signed distance to the rounded box (with individual corner radii), blends the border over the
+ * fill and anti-aliases the outer edge.
+ * See {@link net.xmx.xui.core.gl.vertex.VertexFormat#ROUNDED_RECT_INSTANCE} for the layout.
+ * </p>
+ * <p>
+ * Attributes: Origin (0), Fill Color (1), X Edge (2), Y Edge (3), Rect (4), Radii (5), Border Color (6).
+ * Uniforms: Projection Matrix, ModelView Matrix.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+public class RoundedRectShader extends ShaderProgram {
+
+    private int locationProjectionMatrix;
+    private int locationModelViewMatrix;
+    private final FloatBuffer matrixBuffer = BufferUtils.createFloatBuffer(16);
+
+    /**
+     * Loads the "rounded_rect" shader from the "xui" namespace.
+     */
+    public RoundedRectShader() {
+        super("xui", "core/rounded_rect");
+    }
+
+    @Override
+    protected void registerAttributes() {
+        super.bindAttribute(0, "origin");
+        super.bindAttribute(1, "color");
+        super.bindAttribute(2, "edgeX");
+        super.bindAttribute(3, "edgeY");
+        super.bindAttribute(4, "rect");
+        super.bindAttribute(5, "radii");
+        super.bindAttribute(6, "borderColor");
+    }
+
+    @Override
+    protected void registerUniforms() {
+        locationProjectionMatrix = super.getUniformLocation("projMat");
+        locationModelViewMatrix = super.getUniformLocation("modelViewMat");
+    }
+
+    /**
+     * Uploads the orthogonal projection matrix to the GPU.
+     *
+     * @param matrix The 4x4 projection matrix.
+     */
+    public void uploadProjection(Matrix4f matrix) {
+        matrix.get(matrixBuffer);
+        GL20.glUniformMatrix4fv(locationProjectionMatrix, false, matrixBuffer);
+    }
+
+    /**
+     * Uploads the model-view transformation matrix to the GPU.
+     *
+     * @param matrix The 4x4 model-view matrix.
+     */
+    public void uploadModelView(Matrix4f matrix) {
+        matrix.get(matrixBuffer);
+        GL20.glUniformMatrix4fv(locationModelViewMatrix, false, matrixBuffer);
+    }
+}
@@ -17,6 +17,11 @@ import java.nio.FloatBuffer;
  * Uses an SDF (Signed Distance Field) calculation in the fragment shader
  * to clip pixels that fall outside the specified corner radius.
  * </p>
+ * <p>
+ * The size and radius of each rectangle are passed as the per-vertex {@code rect} attribute
+ * (see {@link net.xmx.xui.core.gl.vertex.VertexFormat#POS_COLOR_UV_RECT}), so multiple images
+ * sharing a texture can be drawn in a single call.
+ * </p>
  *
  * @author xI-Mx-Ix
  */
@@ -25,8 +30,6 @@ public class TexturedRectShader extends ShaderProgram {
     private int locProjMat;
     private int locModelViewMat;
     private int locTex;
-    private int locSize;
-    private int locRadius;
 
     private final FloatBuffer matrixBuffer = BufferUtils.createFloatBuffer(16);
 
@@ -39,6 +42,7 @@ public class TexturedRectShader extends ShaderProgram {
         super.bindAttribute(0, "position");
         super.bindAttribute(1, "color");
         super.bindAttribute(2, "uv");
+        super.bindAttribute(3, "rect");
     }
 
     @Override
@@ -46,8 +50,6 @@ public class TexturedRectShader extends ShaderProgram {
         locProjMat = super.getUniformLocation("projMat");
         locModelViewMat = super.getUniformLocation("modelViewMat");
         locTex = super.getUniformLocation("tex");
-        locSize = super.getUniformLocation("size");
-        locRadius = super.getUniformLocation("radius");
     }
 
     public void uploadProjection(Matrix4f matrix) {
@@ -63,24 +65,4 @@ public class TexturedRectShader extends ShaderProgram {
     public void uploadTextureUnit(int unit) {
         GL20.glUniform1i(locTex, unit);
     }
-
-    /**
-     * Uploads the dimensions of the rectangle in pixels.
-     * Required for the Fragment Shader to calculate the corner radius correctly.
-     *
-     * @param width  The width in pixels.
-     * @param height The height in pixels.
-     */
-    public void uploadSize(float width, float height) {
-        GL20.glUniform2f(locSize, width, height);
-    }
-
-    /**
-     * Uploads the corner radius in pixels.
-     *
-     * @param radius The radius (0 for sharp corners).
-     */
-    public void uploadRadius(float radius) {
-        GL20.glUniform1f(locRadius, radius);
-    }
 }
\ No newline at end of file
@@ -4,12 +4,19 @@
  */
 package net.xmx.xui.core.gl.vertex;
 
+import org.joml.Matrix4f;
 import org.lwjgl.BufferUtils;
+import org.lwjgl.PointerBuffer;
 import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL14;
 import org.lwjgl.opengl.GL15;
 import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL31;
+import org.lwjgl.opengl.GL32;
 
-import java.nio.FloatBuffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
 
 /**
  * A generic dynamic mesh buffer that adapts to any {@link VertexFormat}.
@@ -17,44 +24,229 @@ import java.nio.FloatBuffer;
  * This class replaces the specialized geometry and text buffers.
  * Renderers interact with the raw {@link #put(float)} method to push data.
  * </p>
+ * <p>
+ * <b>Packed Attributes:</b> The staging buffer is byte-based and follows the storage types of the
+ * format. {@link #color(float, float, float, float)} and {@link #uv(float, float)} encode to normalized
+ * bytes/shorts if the format declares them that way (see {@link VertexFormat#POS_PACKED_COLOR}).
+ * </p>
+ * <p>
+ * <b>Topology:</b> In {@link Topology#QUADS} mode, every 4 vertices form a quad. The quads are drawn
+ * through the shared {@link QuadIndexBuffer}, so renderers write 4 instead of 6 vertices per quad.
+ * In {@link Topology#INSTANCED_QUADS} mode, every "vertex" is the attribute set of one quad instance
+ * (see {@link #rect(float, float, float, float, float)}) and the corners are generated by the vertex shader.
+ * </p>
+ * <p>
+ * <b>CPU Transformation:</b> Positions written via {@link #pos(float, float, float)} are transformed
+ * by the matrix set with {@link #setTransform(Matrix4f)}. This allows geometry with different
+ * model-view matrices to share a single draw call, as the shader only needs an identity model-view.
+ * </p>
+ * <p>
+ * <b>Streaming Mode:</b> Buffers created with {@code streaming = true} upload into a triple-buffered
+ * {@link StreamBuffer} ring instead of overwriting the start of a single VBO on every flush,
+ * which avoids implicit CPU/GPU synchronization.
+ * </p>
+ * <p>
+ * <b>Overflow:</b> When a vertex is started while the buffer is full, the overflow handler is
+ * invoked to submit the pending data (see {@link #setOverflowHandler(Runnable)}). An incomplete
+ * primitive at the end of the buffer is carried over, so no geometry is lost or torn.
+ * </p>
+ * <p>
+ * The OpenGL objects are created on the first upload. Until then, a buffer is a plain CPU-side
+ * vertex writer that can be created and filled without a GL context.
+ * </p>
  *
  * @author xI-Mx-Ix
  */
 public class MeshBuffer {
 
-    private static final int MAX_VERTICES = 16384;
+    /**
+     * The default vertex capacity of a buffer.
+     */
+    public static final int DEFAULT_MAX_VERTICES = 16384;
+
+    /**
+     * Defines how the written vertices are assembled into primitives.
+     */
+    public enum Topology {
+        /**
+         * Every 3 vertices form a triangle (drawn via {@code glDrawArrays}).
+         */
+        TRIANGLES(3),
+        /**
+         * Every 4 vertices form a quad, in winding order (drawn via the shared {@link QuadIndexBuffer}).
+         */
+        QUADS(4),
+        /**
+         * Every vertex describes one quad instance, expanded by the vertex shader from
+         * {@code gl_VertexID} (drawn via {@code glDrawArraysInstanced} as a 4-vertex strip).
+         */
+        INSTANCED_QUADS(1);
+
+        private final int vertices;
+
+        Topology(int vertices) {
+            this.vertices = vertices;
+        }
+
+        /**
+         * Gets the number of vertices per primitive. Overflow flushes only happen at primitive boundaries.
+         *
+         * @return The vertex count of one primitive.
+         */
+        public int getVertices() {
+            return vertices;
+        }
+    }
 
     private final VertexFormat format;
-    private final int vaoId;
-    private final int vboId;
-    private final FloatBuffer buffer;
+    private final Topology topology;
+    private final int strideBytes;
+    private final int maxVertices;
+    private final boolean streaming;
+    private final ByteBuffer buffer;
+
+    // --- OpenGL objects (created on the first upload) ---
+    private boolean glCreated = false;
+    private int vaoId;
+    private int vboId;
+    private StreamBuffer stream;
+
+    // --- Encoding of the color (location 1) and UV (location 2) attributes ---
+    private final boolean packedColor;
+    private final boolean packedUv;
+
+    // --- Scratch buffers for multi-range indexed draws ---
+    private IntBuffer multiCounts;
+    private IntBuffer multiBaseVertices;
+    private PointerBuffer multiOffsets;
 
     private int vertexCount = 0;
 
+    /**
+     * The vertex index inside the GPU buffer where the last upload begins.
+     */
+    private int baseVertex = 0;
+
+    /**
+     * Invoked when the buffer is full. Null means the buffer flushes itself as triangles.
+     */
+    private Runnable overflowHandler;
+
+    /**
+     * Holds the vertices of an unfinished primitive while a full buffer is submitted.
+     * Sized for the largest partial primitive of the topology, so overflows do not allocate.
+     */
+    private byte[] carry;
+
+    /**
+     * The affine transformation applied to positions on write.
+     */
+    private final Matrix4f transform = new Matrix4f();
+
+    /**
+     * Fast path flag to skip the matrix multiplication for untransformed geometry.
+     */
+    private boolean identityTransform = true;
+
+    // --- Screen-space bounds of the positions written since the last resetBounds() ---
+    private float minX, minY, maxX, maxY;
+
     /**
      * Creates a new mesh buffer with the specified vertex format.
      *
      * @param format The format definition (e.g., {@link VertexFormat#POS_COLOR}).
      */
     public MeshBuffer(VertexFormat format) {
+        this(format, false);
+    }
+
+    /**
+     * Creates a new mesh buffer with the specified vertex format.
+     *
+     * @param format    The format definition (e.g., {@link VertexFormat#POS_COLOR}).
+     * @param streaming If true, uploads go through a triple-buffered {@link StreamBuffer} ring.
+     */
+    public MeshBuffer(VertexFormat format, boolean streaming) {
+        this(format, streaming, Topology.TRIANGLES);
+    }
+
+    /**
+     * Creates a new mesh buffer with the specified vertex format and topology.
+     *
+     * @param format    The format definition (e.g., {@link VertexFormat#POS_PACKED_COLOR}).
+     * @param streaming If true, uploads go through a triple-buffered {@link StreamBuffer} ring.
+     * @param topology  How vertices are assembled into primitives.
+     */
+    public MeshBuffer(VertexFormat format, boolean streaming, Topology topology) {
+        this(format, streaming, topology, DEFAULT_MAX_VERTICES);
+    }
+
+    /**
+     * Creates a new mesh buffer with the specified vertex format, topology and capacity.
+     *
+     * @param format      The format definition (e.g., {@link VertexFormat#POS_PACKED_COLOR}).
+     * @param streaming   If true, uploads go through a triple-buffered {@link StreamBuffer} ring.
+     * @param topology    How vertices are assembled into primitives.
+     * @param maxVertices The number of vertices (or instances) the buffer holds before it must be flushed.
+     */
+    public MeshBuffer(VertexFormat format, boolean streaming, Topology topology, int maxVertices) {
+        if (topology == Topology.QUADS && maxVertices > QuadIndexBuffer.MAX_VERTICES) {
+            throw new IllegalArgumentException("Quad meshes are limited to " + QuadIndexBuffer.MAX_VERTICES + " vertices");
+        }
         this.format = format;
-        
+        this.topology = topology;
+        this.strideBytes = format.getStrideBytes();
+        this.maxVertices = maxVertices;
+        this.streaming = streaming;
+
+        VertexAttribute color = format.getAttribute(1);
+        VertexAttribute uv = format.getAttribute(2);
+        this.packedColor = color != null && color.type() == GL11.GL_UNSIGNED_BYTE;
+        this.packedUv = uv != null && uv.type() == GL11.GL_UNSIGNED_SHORT;
+        this.carry = new byte[(topology.getVertices() - 1) * strideBytes];
+
         // Calculate total buffer size
-        this.buffer = BufferUtils.createFloatBuffer(MAX_VERTICES * format.getStrideFloats());
+        this.buffer = BufferUtils.createByteBuffer(maxVertices * strideBytes).order(ByteOrder.nativeOrder());
+
+        resetBounds();
+    }
+
+    /**
+     * Creates the vertex array and buffer objects if they do not exist yet.
+     */
+    private void ensureGlObjects() {
+        if (glCreated) return;
+        glCreated = true;
+
+        long sizeBytes = (long) maxVertices * strideBytes;
 
         // Generate OpenGL Objects
         vaoId = GL30.glGenVertexArrays();
-        vboId = GL15.glGenBuffers();
-
         GL30.glBindVertexArray(vaoId);
-        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vboId);
 
-        // Allocate GPU memory (Dynamic Draw)
-        long sizeBytes = (long) MAX_VERTICES * format.getStrideFloats() * 4;
-        GL15.glBufferData(GL15.GL_ARRAY_BUFFER, sizeBytes, GL15.GL_DYNAMIC_DRAW);
+        if (topology == Topology.QUADS) {
+            // The element buffer binding is stored in the VAO
+            QuadIndexBuffer.getInstance().bind();
+        }
+
+        if (streaming) {
+            // The ring allocates and binds its own buffer object
+            this.stream = new StreamBuffer(sizeBytes);
+            this.vboId = 0;
+        } else {
+            this.stream = null;
+            this.vboId = GL15.glGenBuffers();
+            GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vboId);
+
+            // Allocate GPU memory (Dynamic Draw)
+            GL15.glBufferData(GL15.GL_ARRAY_BUFFER, sizeBytes, GL15.GL_DYNAMIC_DRAW);
+        }
 
         // Apply attributes logic from the format
         format.enableAttributes();
+        if (topology == Topology.INSTANCED_QUADS) {
+            format.setDivisor(1);
+        }
 
         GL30.glBindVertexArray(0);
     }
@@ -67,10 +259,8 @@ public class MeshBuffer {
      * @return This buffer for chaining.
      */
     public MeshBuffer put(float f) {
-        // Safety check: prevent buffer overflow
-        if (buffer.position() < buffer.capacity()) {
-            buffer.put(f);
-        }
+        // Room for a whole vertex is guaranteed by pos(), which starts every vertex
+        buffer.putFloat(f);
         return this;
     }
 
@@ -80,33 +270,293 @@ public class MeshBuffer {
      */
     public void endVertex() {
         vertexCount++;
-        // Optional: Auto-flush if full logic could go here
+    }
+
+    /**
+     * Sets the transformation matrix applied to all subsequent positions.
+     * <p>
+     * The matrix is copied, so later modifications of the source matrix (e.g. by the
+     * transform stack) do not affect this buffer.
+     * </p>
+     *
+     * @param matrix The affine model-view matrix, or null for identity.
+     */
+    public void setTransform(Matrix4f matrix) {
+        if (matrix == null || (matrix.properties() & Matrix4f.PROPERTY_IDENTITY) != 0) {
+            transform.identity();
+            identityTransform = true;
+        } else {
+            transform.set(matrix);
+            identityTransform = false;
+        }
     }
 
     /**
      * Helper to add a position (x, y, z).
+     * The position is transformed by the matrix set via {@link #setTransform(Matrix4f)}.
+     * As the position starts a new vertex, a full buffer is flushed here.
      */
     public MeshBuffer pos(float x, float y, float z) {
-        buffer.put(x).put(y).put(z);
+        if (vertexCount >= maxVertices) {
+            handleOverflow();
+        }
+
+        if (!identityTransform) {
+            Matrix4f m = transform;
+            float tx = m.m00() * x + m.m10() * y + m.m20() * z + m.m30();
+            float ty = m.m01() * x + m.m11() * y + m.m21() * z + m.m31();
+            z = m.m02() * x + m.m12() * y + m.m22() * z + m.m32();
+            x = tx;
+            y = ty;
+        }
+
+        if (x < minX) minX = x;
+        if (x > maxX) maxX = x;
+        if (y < minY) minY = y;
+        if (y > maxY) maxY = y;
+
+        buffer.putFloat(x).putFloat(y).putFloat(z);
+        return this;
+    }
+
+    /**
+     * Helper to add the geometry of an instanced rectangle: the transformed origin (3 floats)
+     * followed by the transformed X and Y edge vectors (2 floats each).
+     * <p>
+     * The bounds are extended by all 4 corners. As the geometry starts a new instance,
+     * a full buffer is flushed here.
+     * </p>
+     *
+     * @param x      The X coordinate of the top-left corner.
+     * @param y      The Y coordinate of the top-left corner.
+     * @param z      The Z coordinate.
+     * @param width  The width of the rectangle.
+     * @param height The height of the rectangle.
+     * @return This buffer for chaining.
+     */
+    public MeshBuffer rect(float x, float y, float z, float width, float height) {
+        if (vertexCount >= maxVertices) {
+            handleOverflow();
+        }
+
+        float ox = x, oy = y, oz = z;
+        float exX = width, exY = 0;
+        float eyX = 0, eyY = height;
+
+        if (!identityTransform) {
+            Matrix4f m = transform;
+            ox = m.m00() * x + m.m10() * y + m.m20() * z + m.m30();
+            oy = m.m01() * x + m.m11() * y + m.m21() * z + m.m31();
+            oz = m.m02() * x + m.m12() * y + m.m22() * z + m.m32();
+            exX = m.m00() * width;
+            exY = m.m01() * width;
+            eyX = m.m10() * height;
+            eyY = m.m11() * height;
+        }
+
+        // Extend the bounds by the 4 corners (the edges may be rotated)
+        float minCornerX = ox + Math.min(0, exX) + Math.min(0, eyX);
+        float maxCornerX = ox + Math.max(0, exX) + Math.max(0, eyX);
+        float minCornerY = oy + Math.min(0, exY) + Math.min(0, eyY);
+        float maxCornerY = oy + Math.max(0, exY) + Math.max(0, eyY);
+        if (minCornerX < minX) minX = minCornerX;
+        if (maxCornerX > maxX) maxX = maxCornerX;
+        if (minCornerY < minY) minY = minCornerY;
+        if (maxCornerY > maxY) maxY = maxCornerY;
+
+        buffer.putFloat(ox).putFloat(oy).putFloat(oz)
+                .putFloat(exX).putFloat(exY)
+                .putFloat(eyX).putFloat(eyY);
         return this;
     }
 
     /**
-     * Helper to add a color (r, g, b, a).
+     * Sets the handler invoked when a vertex is started while the buffer is full.
+     * <p>
+     * The handler must submit and {@link #reset()} this buffer (e.g. by flushing the batch).
+     * </p>
+     *
+     * @param handler The overflow handler, or null to let the buffer draw itself.
+     */
+    public void setOverflowHandler(Runnable handler) {
+        this.overflowHandler = handler;
+    }
+
+    /**
+     * Submits the full buffer while preserving an incomplete trailing primitive.
+     */
+    private void handleOverflow() {
+        // 1. Detach the vertices of the unfinished primitive
+        int partial = vertexCount % topology.getVertices();
+        int carryBytes = partial * strideBytes;
+        if (partial > 0) {
+            if (carry.length < carryBytes) {
+                carry = new byte[carryBytes];
+            }
+            int start = buffer.position() - carryBytes;
+            buffer.get(start, carry, 0, carryBytes);
+            buffer.position(start);
+            vertexCount -= partial;
+        }
+
+        // 2. Submit the complete primitives
+        if (overflowHandler != null) {
+            overflowHandler.run();
+        }
+        if (vertexCount > 0) {
+            flush(GL11.GL_TRIANGLES);
+        }
+
+        // 3. Re-append the unfinished primitive
+        if (partial > 0) {
+            int start = buffer.position();
+            buffer.put(carry, 0, carryBytes);
+            vertexCount += partial;
+            for (int i = 0; i < carryBytes; i += strideBytes) {
+                float x = buffer.getFloat(start + i), y = buffer.getFloat(start + i + 4);
+                if (x < minX) minX = x;
+                if (x > maxX) maxX = x;
+                if (y < minY) minY = y;
+                if (y > maxY) maxY = y;
+            }
+        }
+    }
+
+    /**
+     * Resets the tracked bounds. Subsequent positions start a new bounding box.
+     */
+    public void resetBounds() {
+        minX = Float.POSITIVE_INFINITY;
+        minY = Float.POSITIVE_INFINITY;
+        maxX = Float.NEGATIVE_INFINITY;
+        maxY = Float.NEGATIVE_INFINITY;
+    }
+
+    public float getMinX() {
+        return minX;
+    }
+
+    public float getMinY() {
+        return minY;
+    }
+
+    public float getMaxX() {
+        return maxX;
+    }
+
+    public float getMaxY() {
+        return maxY;
+    }
+
+    /**
+     * Helper to add a color (r, g, b, a) with components in the range 0.0 - 1.0.
+     * Packed formats store each component as a normalized byte.
      */
     public MeshBuffer color(float r, float g, float b, float a) {
-        buffer.put(r).put(g).put(b).put(a);
+        if (packedColor) {
+            buffer.put(toUnorm8(r)).put(toUnorm8(g)).put(toUnorm8(b)).put(toUnorm8(a));
+        } else {
+            buffer.putFloat(r).putFloat(g).putFloat(b).putFloat(a);
+        }
+        return this;
+    }
+
+    /**
+     * Helper to add a color from a packed ARGB integer.
+     * For packed formats, this is a plain byte copy without any float conversion.
+     */
+    public MeshBuffer color(int argb) {
+        if (packedColor) {
+            buffer.put((byte) (argb >> 16)).put((byte) (argb >> 8)).put((byte) argb).put((byte) (argb >>> 24));
+        } else {
+            buffer.putFloat(((argb >> 16) & 0xFF) / 255.0f)
+                    .putFloat(((argb >> 8) & 0xFF) / 255.0f)
+                    .putFloat((argb & 0xFF) / 255.0f)
+                    .putFloat(((argb >>> 24) & 0xFF) / 255.0f);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a packed ARGB color as 4 normalized bytes (RGBA order), regardless of the format.
+     * Used for additional color attributes besides the primary one (e.g. a border color).
+     */
+    public MeshBuffer putPackedColor(int argb) {
+        buffer.put((byte) (argb >> 16)).put((byte) (argb >> 8)).put((byte) argb).put((byte) (argb >>> 24));
         return this;
     }
 
     /**
      * Helper to add texture coordinates (u, v).
+     * Packed formats store each coordinate as a normalized unsigned short.
      */
     public MeshBuffer uv(float u, float v) {
-        buffer.put(u).put(v);
+        if (packedUv) {
+            buffer.putShort(toUnorm16(u)).putShort(toUnorm16(v));
+        } else {
+            buffer.putFloat(u).putFloat(v);
+        }
+        return this;
+    }
+
+    /**
+     * Helper to add the texture slot the vertex samples from
+     * (see {@link VertexFormat#POS_PACKED_COLOR_UV_SLOT}).
+     */
+    public MeshBuffer slot(int slot) {
+        buffer.putFloat(slot);
         return this;
     }
 
+    private static byte toUnorm8(float f) {
+        if (f <= 0.0f) return 0;
+        if (f >= 1.0f) return (byte) 0xFF;
+        return (byte) (int) (f * 255.0f + 0.5f);
+    }
+
+    private static short toUnorm16(float f) {
+        if (f <= 0.0f) return 0;
+        if (f >= 1.0f) return (short) 0xFFFF;
+        return (short) (int) (f * 65535.0f + 0.5f);
+    }
+
+    /**
+     * Gets the number of vertices currently pending in this buffer.
+     *
+     * @return The pending vertex count.
+     */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Checks whether the buffer can hold the given number of additional vertices.
+     *
+     * @param vertices The number of vertices about to be written.
+     * @return true if there is enough space left.
+     */
+    public boolean hasCapacity(int vertices) {
+        return vertexCount + vertices <= maxVertices;
+    }
+
+    /**
+     * Gets the primitive topology of this buffer.
+     *
+     * @return The topology.
+     */
+    public Topology getTopology() {
+        return topology;
+    }
+
+    /**
+     * Gets the maximum number of vertices this buffer can hold before it must be flushed.
+     *
+     * @return The vertex capacity.
+     */
+    public int getMaxVertices() {
+        return maxVertices;
+    }
+
     /**
      * Uploads the buffer to the GPU and draws the geometry.
      *
@@ -115,29 +565,187 @@ public class MeshBuffer {
     public void flush(int drawMode) {
         if (vertexCount == 0) return;
 
+        upload();
+        draw(drawMode, 0, vertexCount);
+        endDraws();
+        GL30.glBindVertexArray(0);
+        reset();
+    }
+
+    /**
+     * Uploads all pending vertices to the GPU without drawing them.
+     * <p>
+     * Used by the batch manager to upload the buffer once and then draw
+     * several sub-ranges via {@link #draw} or {@link #drawMulti}.
+     * </p>
+     */
+    public void upload() {
+        if (vertexCount == 0) return;
+
+        ensureGlObjects();
         buffer.flip();
 
         GL30.glBindVertexArray(vaoId);
-        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vboId);
 
-        // Upload only the active part of the buffer
-        GL15.glBufferSubData(GL15.GL_ARRAY_BUFFER, 0, buffer);
+        if (stream != null) {
+            // Append behind the previous upload; draws are offset by the base vertex
+            long offset = stream.write(buffer);
+            baseVertex = (int) (offset / strideBytes);
+        } else {
+            GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vboId);
+
+            // Upload only the active part of the buffer
+            GL15.glBufferSubData(GL15.GL_ARRAY_BUFFER, 0, buffer);
+            baseVertex = 0;
+        }
 
-        // Draw
-        GL11.glDrawArrays(drawMode, 0, vertexCount);
+        // Keep writing after the uploaded data is not allowed until reset()
+        buffer.position(buffer.limit());
+    }
 
-        GL30.glBindVertexArray(0);
+    /**
+     * Draws a range of the uploaded vertices.
+     * <p>
+     * In {@link Topology#QUADS} mode, the range must start and end at quad boundaries and
+     * the draw mode is ignored (quads are always drawn as indexed triangles).
+     * </p>
+     *
+     * @param drawMode The OpenGL primitive type.
+     * @param first    The index of the first vertex.
+     * @param count    The number of vertices.
+     */
+    public void draw(int drawMode, int first, int count) {
+        GL30.glBindVertexArray(vaoId);
+        if (topology == Topology.INSTANCED_QUADS) {
+            drawInstances(first, count);
+        } else if (topology == Topology.QUADS) {
+            GL32.glDrawElementsBaseVertex(GL11.GL_TRIANGLES, (count / 4) * QuadIndexBuffer.INDICES_PER_QUAD,
+                    GL11.GL_UNSIGNED_SHORT, indexOffset(first), baseVertex);
+        } else {
+            GL11.glDrawArrays(drawMode, baseVertex + first, count);
+        }
+    }
+
+    /**
+     * Draws multiple ranges of the uploaded vertices in a single call.
+     *
+     * @param drawMode The OpenGL primitive type.
+     * @param firsts   The first vertex of each range (position to limit).
+     * @param counts   The vertex count of each range (position to limit).
+     */
+    public void drawMulti(int drawMode, IntBuffer firsts, IntBuffer counts) {
+        GL30.glBindVertexArray(vaoId);
+
+        if (topology == Topology.INSTANCED_QUADS) {
+            // Instanced draws cannot be combined without base instance support
+            for (int i = firsts.position(); i < firsts.limit(); i++) {
+                drawInstances(firsts.get(i), counts.get(i));
+            }
+            return;
+        }
+
+        if (topology == Topology.QUADS) {
+            int ranges = firsts.remaining();
+            ensureMultiCapacity(ranges);
+
+            // Translate vertex ranges into index ranges of the shared quad buffer
+            multiCounts.clear();
+            multiBaseVertices.clear();
+            multiOffsets.clear();
+            for (int i = 0; i < ranges; i++) {
+                multiCounts.put((counts.get(counts.position() + i) / 4) * QuadIndexBuffer.INDICES_PER_QUAD);
+                multiBaseVertices.put(baseVertex);
+                multiOffsets.put(indexOffset(firsts.get(firsts.position() + i)));
+            }
+            multiCounts.flip();
+            multiBaseVertices.flip();
+            multiOffsets.flip();
+
+            GL32.glMultiDrawElementsBaseVertex(GL11.GL_TRIANGLES, multiCounts, GL11.GL_UNSIGNED_SHORT,
+                    multiOffsets, multiBaseVertices);
+            return;
+        }
+
+        if (baseVertex != 0) {
+            for (int i = firsts.position(); i < firsts.limit(); i++) {
+                firsts.put(i, firsts.get(i) + baseVertex);
+            }
+        }
+        GL14.glMultiDrawArrays(drawMode, firsts, counts);
+    }
+
+    /**
+     * Draws a range of instances by pointing the per-instance attributes at the first instance.
+     */
+    private void drawInstances(int first, int count) {
+        if (stream != null) {
+            stream.bind();
+        } else {
+            GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vboId);
+        }
+        format.setAttributePointers((long) (baseVertex + first) * strideBytes);
+        GL31.glDrawArraysInstanced(GL11.GL_TRIANGLE_STRIP, 0, 4, count);
+    }
+
+    /**
+     * Converts a vertex index at a quad boundary into a byte offset inside the quad index buffer.
+     */
+    private static long indexOffset(int firstVertex) {
+        return (long) (firstVertex / 4) * QuadIndexBuffer.INDICES_PER_QUAD * Short.BYTES;
+    }
+
+    private void ensureMultiCapacity(int ranges) {
+        if (multiCounts == null || multiCounts.capacity() < ranges) {
+            int capacity = Math.max(ranges, 64);
+            multiCounts = BufferUtils.createIntBuffer(capacity);
+            multiBaseVertices = BufferUtils.createIntBuffer(capacity);
+            multiOffsets = BufferUtils.createPointerBuffer(capacity);
+        }
+    }
 
-        // Reset
+    /**
+     * Signals that all draws reading the uploaded vertices have been issued.
+     * <p>
+     * In streaming mode, this fences the uploaded ring segments, so they are not overwritten
+     * before the GPU has finished reading them. Must be called after the last draw of an upload.
+     * </p>
+     */
+    public void endDraws() {
+        if (stream != null) {
+            stream.fence();
+        }
+    }
+
+    /**
+     * Discards all pending vertices.
+     */
+    public void reset() {
         buffer.clear();
         vertexCount = 0;
+        resetBounds();
     }
 
     /**
      * Cleans up OpenGL resources.
      */
     public void cleanup() {
+        if (!glCreated) return;
+        glCreated = false;
+
         GL30.glDeleteVertexArrays(vaoId);
-        GL15.glDeleteBuffers(vboId);
+        if (stream != null) {
+            stream.cleanup();
+        } else {
+            GL15.glDeleteBuffers(vboId);
+        }
+    }
+
+    /**
+     * Retrieves the upload statistics of the streaming ring.
+     *
+     * @return The cumulative statistics, or null if this buffer is not in streaming mode.
+     */
+    public StreamBuffer.Stats getStreamStats() {
+        return stream != null ? stream.getStats() : null;
     }
 }
\ No newline at end of file
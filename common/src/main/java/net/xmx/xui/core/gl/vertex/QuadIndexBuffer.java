@@ -0,0 +1,102 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.gl.vertex;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+
+import java.nio.ShortBuffer;
+
+/**
+ * A shared, immutable element buffer that turns groups of 4 vertices into quads.
+ * <p>
+ * For each quad {@code q}, the indices {@code 4q + (0, 1, 2, 2, 3, 0)} are stored. Mesh buffers in
+ * {@link MeshBuffer.Topology#QUADS} mode bind this buffer into their VAO and draw with
+ * {@code glDrawElementsBaseVertex}, so a quad costs 4 vertices instead of 6.
+ * </p>
+ * <p>
+ * The indices are 16-bit and relative to the base vertex of each draw, so a single buffer
+ * covers every mesh regardless of where its data lives in the streaming ring.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+public final class QuadIndexBuffer {
+
+    /**
+     * The number of indices emitted per quad (two triangles).
+     */
+    public static final int INDICES_PER_QUAD = 6;
+
+    /**
+     * The largest vertex count addressable with 16-bit indices.
+     */
+    public static final int MAX_VERTICES = 65536;
+
+    private static QuadIndexBuffer instance;
+
+    private final int eboId;
+    private final int maxQuads;
+
+    private QuadIndexBuffer(int maxQuads) {
+        this.maxQuads = maxQuads;
+
+        ShortBuffer indices = BufferUtils.createShortBuffer(maxQuads * INDICES_PER_QUAD);
+        for (int q = 0; q < maxQuads; q++) {
+            int v = q * 4;
+            indices.put((short) v).put((short) (v + 1)).put((short) (v + 2))
+                    .put((short) (v + 2)).put((short) (v + 3)).put((short) v);
+        }
+        indices.flip();
+
+        this.eboId = GL15.glGenBuffers();
+        GL15.glBindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, eboId);
+        GL15.glBufferData(GL15.GL_ELEMENT_ARRAY_BUFFER, indices, GL15.GL_STATIC_DRAW);
+    }
+
+    /**
+     * Gets the shared index buffer, creating it on first use.
+     * <p>
+     * Must be called on the render thread.
+     * </p>
+     *
+     * @return The shared instance.
+     */
+    public static QuadIndexBuffer getInstance() {
+        if (instance == null) {
+            instance = new QuadIndexBuffer(MAX_VERTICES / 4);
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the number of vertices addressable through this buffer.
+     *
+     * @return The vertex capacity.
+     */
+    public int getMaxVertices() {
+        return maxQuads * 4;
+    }
+
+    /**
+     * Binds the index buffer to {@code GL_ELEMENT_ARRAY_BUFFER}.
+     * <p>
+     * When called while a VAO is bound, the binding becomes part of the VAO state.
+     * </p>
+     */
+    public void bind() {
+        GL15.glBindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, eboId);
+    }
+
+    /**
+     * Gets the OpenGL index type of this buffer.
+     *
+     * @return {@code GL_UNSIGNED_SHORT}.
+     */
+    public int getIndexType() {
+        return GL11.GL_UNSIGNED_SHORT;
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.gl.vertex;
+
+import org.lwjgl.opengl.ARBBufferStorage;
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL32;
+import org.lwjgl.opengl.GL44;
+import org.lwjgl.opengl.GLCapabilities;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A triple-buffered GPU ring buffer for streaming vertex data.
+ * <p>
+ * The buffer is split into {@link #SEGMENTS} equally sized segments. Each upload is appended
+ * behind the previous one; when the end of the ring is reached, writing wraps around to the start.
+ * This avoids the implicit synchronization of repeatedly overwriting offset 0 via
+ * {@code glBufferSubData} while the GPU may still read the previous data.
+ * </p>
+ * <p>
+ * <b>Modes:</b>
+ * <ul>
+ *     <li><b>Persistent:</b> If {@code GL_ARB_buffer_storage} (or OpenGL 4.4) is available, the buffer
+ *     is allocated with immutable storage and mapped once (persistent + coherent). Uploads are plain
+ *     memory copies. After the draws reading an upload have been issued, the owner calls {@link #fence()},
+ *     which fences every segment written since the last fence. The fence is waited on before the
+ *     segment is written again.</li>
+ *     <li><b>Orphaning:</b> Otherwise, the buffer is re-specified via {@code glBufferData(null)} on
+ *     every wrap, letting the driver hand out fresh storage while the GPU still reads the old one.</li>
+ * </ul>
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+public class StreamBuffer {
+
+    /**
+     * Number of segments in the ring (triple buffering).
+     */
+    public static final int SEGMENTS = 3;
+
+    /**
+     * Timeout for a single fence wait in nanoseconds.
+     */
+    private static final long FENCE_TIMEOUT_NS = 1_000_000_000L;
+
+    private final int vboId;
+    private final long segmentBytes;
+    private final long ringBytes;
+    private final boolean persistent;
+
+    /**
+     * The persistently mapped storage, or null in orphaning mode.
+     */
+    private final ByteBuffer mapped;
+    private final long mappedAddress;
+
+    /**
+     * Fence per segment, inserted after the draws reading the segment (0 = none).
+     */
+    private final long[] fences = new long[SEGMENTS];
+
+    /**
+     * Bit mask of the segments written since the last {@link #fence()}.
+     */
+    private int unfencedSegments = 0;
+
+    /**
+     * The next free byte in the ring.
+     */
+    private long cursor = 0;
+
+    /**
+     * The segment the cursor is currently in.
+     */
+    private int currentSegment = 0;
+
+    // --- Statistics (cumulative) ---
+    private long bytesUploaded = 0;
+    private long stalls = 0;
+    private long wraps = 0;
+
+    /**
+     * Creates a new stream buffer and binds it to {@code GL_ARRAY_BUFFER}.
+     *
+     * @param segmentBytes The size of one segment. Must be at least as large as the largest upload.
+     */
+    public StreamBuffer(long segmentBytes) {
+        this.segmentBytes = segmentBytes;
+        this.ringBytes = segmentBytes * SEGMENTS;
+
+        GLCapabilities caps = GL.getCapabilities();
+        boolean storage = caps != null && (caps.OpenGL44 || caps.GL_ARB_buffer_storage);
+
+        this.vboId = GL15.glGenBuffers();
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vboId);
+
+        if (storage) {
+            int flags = GL30.GL_MAP_WRITE_BIT | GL44.GL_MAP_PERSISTENT_BIT | GL44.GL_MAP_COHERENT_BIT;
+            if (caps.OpenGL44) {
+                GL44.glBufferStorage(GL15.GL_ARRAY_BUFFER, ringBytes, flags);
+            } else {
+                ARBBufferStorage.glBufferStorage(GL15.GL_ARRAY_BUFFER, ringBytes, flags);
+            }
+            this.mapped = GL30.glMapBufferRange(GL15.GL_ARRAY_BUFFER, 0, ringBytes, flags);
+        } else {
+            GL15.glBufferData(GL15.GL_ARRAY_BUFFER, ringBytes, GL15.GL_STREAM_DRAW);
+            this.mapped = null;
+        }
+
+        this.persistent = mapped != null;
+        this.mappedAddress = persistent ? MemoryUtil.memAddress(mapped) : 0L;
+    }
+
+    /**
+     * Appends the given data (position to limit) to the ring.
+     *
+     * @param data The vertex data to upload. Its position is not modified.
+     * @return The byte offset inside the buffer at which the data was written.
+     * @throws IllegalArgumentException If the data is larger than one segment.
+     */
+    public long write(ByteBuffer data) {
+        long bytes = data.remaining();
+        if (bytes > segmentBytes) {
+            throw new IllegalArgumentException("Upload of " + bytes + " bytes exceeds the stream segment size of " + segmentBytes);
+        }
+
+        // 1. Wrap around if the data does not fit behind the cursor
+        if (cursor + bytes > ringBytes) {
+            cursor = 0;
+            wraps++;
+
+            if (!persistent) {
+                // Orphan the old storage; the driver keeps it alive for pending draws
+                GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vboId);
+                GL15.glBufferData(GL15.GL_ARRAY_BUFFER, ringBytes, GL15.GL_STREAM_DRAW);
+            }
+        }
+
+        // 2. Synchronize with the GPU for every segment that is entered
+        if (persistent) {
+            int lastSegment = (int) ((cursor + Math.max(bytes, 1) - 1) / segmentBytes);
+            int firstSegment = (int) (cursor / segmentBytes);
+            for (int s = firstSegment; s <= lastSegment; s++) {
+                enterSegment(s);
+                unfencedSegments |= 1 << s;
+            }
+        }
+
+        // 3. Copy the data
+        long offset = cursor;
+        if (persistent) {
+            MemoryUtil.memCopy(MemoryUtil.memAddress(data), mappedAddress + offset, bytes);
+        } else {
+            GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vboId);
+            GL15.glBufferSubData(GL15.GL_ARRAY_BUFFER, offset, data);
+        }
+
+        cursor += bytes;
+        bytesUploaded += bytes;
+        return offset;
+    }
+
+    /**
+     * Fences all segments written since the last call.
+     * <p>
+     * Must be called after the draws reading the uploaded data have been issued, so the fence
+     * only signals once the GPU has finished reading it.
+     * </p>
+     */
+    public void fence() {
+        if (unfencedSegments == 0) return;
+
+        for (int s = 0; s < SEGMENTS; s++) {
+            if ((unfencedSegments & (1 << s)) != 0) {
+                fenceSegment(s);
+            }
+        }
+        unfencedSegments = 0;
+    }
+
+    private void fenceSegment(int segment) {
+        if (fences[segment] != 0) {
+            GL32.glDeleteSync(fences[segment]);
+        }
+        fences[segment] = GL32.glFenceSync(GL32.GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+    }
+
+    /**
+     * Moves the writer into the given segment.
+     * <p>
+     * Waits for the fence of the segment being entered, which was set after the draws of its
+     * previous contents, one full ring cycle ago.
+     * </p>
+     */
+    private void enterSegment(int segment) {
+        if (segment == currentSegment) return;
+
+        // The owner did not fence the previous contents (e.g. an upload that was never drawn).
+        // Every draw reading them has been issued by now, so a fence placed here is still safe.
+        if ((unfencedSegments & (1 << segment)) != 0) {
+            fenceSegment(segment);
+            unfencedSegments &= ~(1 << segment);
+        }
+
+        // Wait until the GPU has finished reading the segment we enter
+        long fence = fences[segment];
+        if (fence != 0) {
+            int status = GL32.glClientWaitSync(fence, 0, 0);
+            if (status != GL32.GL_ALREADY_SIGNALED && status != GL32.GL_CONDITION_SATISFIED) {
+                stalls++;
+                GL32.glClientWaitSync(fence, GL32.GL_SYNC_FLUSH_COMMANDS_BIT, FENCE_TIMEOUT_NS);
+            }
+            GL32.glDeleteSync(fence);
+            fences[segment] = 0;
+        }
+
+        currentSegment = segment;
+    }
+
+    /**
+     * Binds the underlying buffer object to {@code GL_ARRAY_BUFFER}.
+     */
+    public void bind() {
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vboId);
+    }
+
+    /**
+     * Checks whether the buffer uses persistent mapping.
+     *
+     * @return true if persistent, false if orphaning is used.
+     */
+    public boolean isPersistent() {
+        return persistent;
+    }
+
+    /**
+     * Retrieves the cumulative upload statistics of this buffer.
+     *
+     * @return The statistics snapshot.
+     */
+    public Stats getStats() {
+        return new Stats(bytesUploaded, stalls, wraps);
+    }
+
+    /**
+     * Releases the fences and the buffer object.
+     */
+    public void cleanup() {
+        for (int i = 0; i < SEGMENTS; i++) {
+            if (fences[i] != 0) {
+                GL32.glDeleteSync(fences[i]);
+                fences[i] = 0;
+            }
+        }
+        unfencedSegments = 0;
+        if (persistent) {
+            GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vboId);
+            GL15.glUnmapBuffer(GL15.GL_ARRAY_BUFFER);
+        }
+        GL15.glDeleteBuffers(vboId);
+    }
+
+    /**
+     * Cumulative upload statistics of a stream buffer.
+     *
+     * @param bytesUploaded The total number of bytes written.
+     * @param stalls        The number of times the CPU had to wait for the GPU.
+     * @param wraps         The number of times the ring wrapped around.
+     */
+    public record Stats(long bytesUploaded, long stalls, long wraps) {}
+}
@@ -4,21 +4,57 @@
  */
 package net.xmx.xui.core.gl.vertex;
 
+import org.lwjgl.opengl.GL11;
+
 /**
  * Represents a single attribute within a vertex format (e.g., Position, Color, UV).
+ * <p>
+ * Attributes may be stored as 32-bit floats or as normalized unsigned integers
+ * ({@code GL_UNSIGNED_BYTE}, {@code GL_UNSIGNED_SHORT}) to reduce the vertex size.
+ * Normalized attributes are converted to floats in the range 0.0 - 1.0 by the GPU,
+ * so shaders do not need to be aware of the storage type.
+ * </p>
  *
  * @author xI-Mx-Ix
  */
-public record VertexAttribute(int index, int count) {
+public record VertexAttribute(int index, int count, int type, boolean normalized) {
     /**
      * Creates a new vertex attribute definition.
      *
-     * @param index The shader attribute location (layout location = X).
-     * @param count The number of components (e.g., 3 for vec3, 4 for vec4).
+     * @param index      The shader attribute location (layout location = X).
+     * @param count      The number of components (e.g., 3 for vec3, 4 for vec4).
+     * @param type       The component storage type ({@code GL_FLOAT}, {@code GL_UNSIGNED_BYTE} or {@code GL_UNSIGNED_SHORT}).
+     * @param normalized Whether integer components are normalized to 0.0 - 1.0.
      */
     public VertexAttribute {
         if (count < 1 || count > 4) {
             throw new IllegalArgumentException("Attribute count must be between 1 and 4");
         }
+        if (type != GL11.GL_FLOAT && type != GL11.GL_UNSIGNED_BYTE && type != GL11.GL_UNSIGNED_SHORT) {
+            throw new IllegalArgumentException("Unsupported attribute type: " + type);
+        }
+    }
+
+    /**
+     * Creates a new float vertex attribute definition.
+     *
+     * @param index The shader attribute location (layout location = X).
+     * @param count The number of components (e.g., 3 for vec3, 4 for vec4).
+     */
+    public VertexAttribute(int index, int count) {
+        this(index, count, GL11.GL_FLOAT, false);
+    }
+
+    /**
+     * Gets the size of this attribute in bytes.
+     *
+     * @return The byte size of all components.
+     */
+    public int sizeBytes() {
+        return switch (type) {
+            case GL11.GL_UNSIGNED_BYTE -> count;
+            case GL11.GL_UNSIGNED_SHORT -> count * 2;
+            default -> count * 4;
+        };
     }
-}
\ No newline at end of file
+}
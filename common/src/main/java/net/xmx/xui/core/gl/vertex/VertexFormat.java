@@ -6,12 +6,18 @@ package net.xmx.xui.core.gl.vertex;
 
 import org.lwjgl.opengl.GL11;
 import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GL33;
 
 import java.util.List;
 
 /**
  * Defines the structure of vertices in a mesh buffer.
  * Calculates strides and offsets automatically and handles VAO attribute enabling.
+ * <p>
+ * By convention, attribute 0 is the position, attribute 1 the color and attribute 2 the
+ * texture coordinate. {@link MeshBuffer} uses the storage types of these attributes to
+ * decide how colors and UVs are encoded.
+ * </p>
  *
  * @author xI-Mx-Ix
  */
@@ -36,11 +42,94 @@ public class VertexFormat {
             new VertexAttribute(2, 2)
     );
 
+    /**
+     * Format: Position (3) + Color (4) + UV (2) + Rect (3)
+     * <p>
+     * The rect attribute carries the size (width, height) and corner radius of the quad
+     * the vertex belongs to, allowing rounded images to be batched without per-draw uniforms.
+     * </p>
+     */
+    public static final VertexFormat POS_COLOR_UV_RECT = new VertexFormat(
+            new VertexAttribute(0, 3),
+            new VertexAttribute(1, 4),
+            new VertexAttribute(2, 2),
+            new VertexAttribute(3, 3)
+    );
+
+    /**
+     * Packed Format: Position (3 floats) + Color (4 normalized bytes)
+     * <p>
+     * 16 bytes per vertex instead of 28.
+     * </p>
+     */
+    public static final VertexFormat POS_PACKED_COLOR = new VertexFormat(
+            new VertexAttribute(0, 3),
+            new VertexAttribute(1, 4, GL11.GL_UNSIGNED_BYTE, true)
+    );
+
+    /**
+     * Packed Format: Position (3 floats) + Color (4 normalized bytes) + UV (2 normalized shorts)
+     * <p>
+     * 20 bytes per vertex instead of 36. UVs are stored with 16 bits of precision,
+     * which is exact to a fraction of a texel for atlases up to 16384 pixels.
+     * </p>
+     */
+    public static final VertexFormat POS_PACKED_COLOR_UV = new VertexFormat(
+            new VertexAttribute(0, 3),
+            new VertexAttribute(1, 4, GL11.GL_UNSIGNED_BYTE, true),
+            new VertexAttribute(2, 2, GL11.GL_UNSIGNED_SHORT, true)
+    );
+
+    /**
+     * Packed Format: Position (3 floats) + Color (4 normalized bytes) + UV (2 normalized shorts) + Slot (1 float)
+     * <p>
+     * The slot selects the texture unit the vertex samples from, so quads of different
+     * atlases (e.g. Regular and Bold glyphs) can share a single draw call. 24 bytes per vertex.
+     * </p>
+     */
+    public static final VertexFormat POS_PACKED_COLOR_UV_SLOT = new VertexFormat(
+            new VertexAttribute(0, 3),
+            new VertexAttribute(1, 4, GL11.GL_UNSIGNED_BYTE, true),
+            new VertexAttribute(2, 2, GL11.GL_UNSIGNED_SHORT, true),
+            new VertexAttribute(3, 1)
+    );
+
+    /**
+     * Packed Format: Position (3 floats) + Color (4 normalized bytes) + UV (2 normalized shorts) + Rect (3 floats)
+     * <p>
+     * 32 bytes per vertex instead of 48.
+     * </p>
+     */
+    public static final VertexFormat POS_PACKED_COLOR_UV_RECT = new VertexFormat(
+            new VertexAttribute(0, 3),
+            new VertexAttribute(1, 4, GL11.GL_UNSIGNED_BYTE, true),
+            new VertexAttribute(2, 2, GL11.GL_UNSIGNED_SHORT, true),
+            new VertexAttribute(3, 3)
+    );
+
+    /**
+     * Rounded Rect Instance Format: one entry per rectangle, drawn as an instanced quad.
+     * <p>
+     * Origin (3 floats) + X Edge (2 floats) + Y Edge (2 floats) + Fill Color (4 normalized bytes)
+     * + Rect (size + border thickness, 3 floats) + Corner Radii (4 floats) + Border Color (4 normalized bytes).
+     * The origin and edges are already transformed, so rotated or scaled rectangles are supported.
+     * 64 bytes per rectangle.
+     * </p>
+     */
+    public static final VertexFormat ROUNDED_RECT_INSTANCE = new VertexFormat(
+            new VertexAttribute(0, 3),
+            new VertexAttribute(2, 2),
+            new VertexAttribute(3, 2),
+            new VertexAttribute(1, 4, GL11.GL_UNSIGNED_BYTE, true),
+            new VertexAttribute(4, 3),
+            new VertexAttribute(5, 4),
+            new VertexAttribute(6, 4, GL11.GL_UNSIGNED_BYTE, true)
+    );
+
     // --- Implementation ---
 
     private final List<VertexAttribute> attributes;
     private final int strideBytes;
-    private final int strideFloats;
 
     /**
      * Constructs a format from a list of attributes.
@@ -50,12 +139,11 @@ public class VertexFormat {
     public VertexFormat(VertexAttribute... attributes) {
         this.attributes = List.of(attributes);
 
-        int totalFloats = 0;
+        int totalBytes = 0;
         for (VertexAttribute attr : this.attributes) {
-            totalFloats += attr.count();
+            totalBytes += attr.sizeBytes();
         }
-        this.strideFloats = totalFloats;
-        this.strideBytes = totalFloats * 4; // 4 bytes per float
+        this.strideBytes = totalBytes;
     }
 
     /**
@@ -63,28 +151,67 @@ public class VertexFormat {
      * Calculates the pointer offsets for each attribute.
      */
     public void enableAttributes() {
-        long offset = 0;
+        setAttributePointers(0);
+        for (VertexAttribute attr : attributes) {
+            GL20.glEnableVertexAttribArray(attr.index());
+        }
+    }
+
+    /**
+     * Points the attributes of the currently bound VAO at the vertex starting at the given byte offset
+     * of the buffer bound to {@code GL_ARRAY_BUFFER}.
+     * <p>
+     * Used for instanced draws, which cannot be offset by a base vertex.
+     * </p>
+     *
+     * @param baseOffset The byte offset of the first vertex.
+     */
+    public void setAttributePointers(long baseOffset) {
+        long offset = baseOffset;
         for (VertexAttribute attr : attributes) {
             GL20.glVertexAttribPointer(
                     attr.index(),
                     attr.count(),
-                    GL11.GL_FLOAT,
-                    false,
+                    attr.type(),
+                    attr.normalized(),
                     strideBytes,
                     offset
             );
-            GL20.glEnableVertexAttribArray(attr.index());
 
             // Move offset forward by the size of this attribute in bytes
-            offset += (long) attr.count() * 4;
+            offset += attr.sizeBytes();
         }
     }
 
     /**
-     * Gets the total size of one vertex in number of floats.
-     * @return float count per vertex.
+     * Sets the divisor of all attributes of the currently bound VAO.
+     *
+     * @param divisor 0 to advance per vertex, 1 to advance per instance.
      */
-    public int getStrideFloats() {
-        return strideFloats;
+    public void setDivisor(int divisor) {
+        for (VertexAttribute attr : attributes) {
+            GL33.glVertexAttribDivisor(attr.index(), divisor);
+        }
+    }
+
+    /**
+     * Gets the total size of one vertex in bytes.
+     * @return byte count per vertex.
+     */
+    public int getStrideBytes() {
+        return strideBytes;
+    }
+
+    /**
+     * Finds the attribute bound to the given shader location.
+     *
+     * @param index The attribute location.
+     * @return The attribute, or null if the format does not contain it.
+     */
+    public VertexAttribute getAttribute(int index) {
+        for (VertexAttribute attr : attributes) {
+            if (attr.index() == index) return attr;
+        }
+        return null;
     }
 }
\ No newline at end of file
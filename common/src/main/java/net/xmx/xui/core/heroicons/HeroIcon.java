@@ -4,6 +4,9 @@
  */
 package net.xmx.xui.core.heroicons;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Registry of all available standard Heroicons.
  * <p>
@@ -339,12 +342,40 @@ public enum HeroIcon {
     X_CIRCLE("x-circle"),
     X_MARK("x-mark");
 
+    private static final HeroIcon[] VALUES = values();
+    private static final Map<String, HeroIcon> BY_NAME = new HashMap<>(VALUES.length * 2);
+
+    static {
+        for (HeroIcon icon : VALUES) {
+            BY_NAME.put(icon.iconName, icon);
+        }
+    }
+
     private final String iconName;
 
     HeroIcon(String iconName) {
         this.iconName = iconName;
     }
 
+    /**
+     * Finds the standard icon with the given atlas key.
+     *
+     * @param name The raw icon name (e.g., "archive-box").
+     * @return The icon, or null if the name is not a standard icon (e.g. a custom atlas entry).
+     */
+    public static HeroIcon byName(String name) {
+        return BY_NAME.get(name);
+    }
+
+    /**
+     * Gets the number of standard icons, i.e. the size of tables indexed by {@link #ordinal()}.
+     *
+     * @return The icon count.
+     */
+    public static int count() {
+        return VALUES.length;
+    }
+
     /**
      * Gets the filename/key of the icon as used in the atlas JSON.
      *
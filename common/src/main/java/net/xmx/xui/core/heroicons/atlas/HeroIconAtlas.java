@@ -5,76 +5,88 @@
 package net.xmx.xui.core.heroicons.atlas;
 
 import com.google.gson.Gson;
+import net.xmx.xui.core.heroicons.HeroIcon;
 import net.xmx.xui.core.heroicons.IconType;
 import net.xmx.xui.core.heroicons.data.HeroIconData;
-import net.xmx.xui.core.sdf.SDFAtlas;
-import net.xmx.xui.core.sdf.SDFMetadata;
+import net.xmx.xui.core.sdf.LazySDFAtlas;
 import net.xmx.xui.core.sdf.SDFType;
-import net.xmx.xui.core.sdf.texture.SDFTextureLoader;
 
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.io.Reader;
 
 /**
  * Manages the texture and metadata for a set of Heroicons (either Solid or Outline).
+ * <p>
+ * The atlas is loaded in the background (see {@link LazySDFAtlas}) and materialized
+ * when the first icon of the set is drawn.
+ * </p>
+ * <p>
+ * The bounds of the standard {@link HeroIcon}s are resolved once after loading into a table
+ * indexed by the enum ordinal, so {@link #getIcon(HeroIcon)} needs no string hashing.
+ * </p>
  *
  * @author xI-Mx-Ix
  */
-public class HeroIconAtlas implements SDFAtlas {
-
-    private final int textureId;
-    private final HeroIconData metadata;
+public class HeroIconAtlas extends LazySDFAtlas<HeroIconData> {
 
     /**
-     * Loads the icon atlas from the classpath.
+     * Starts loading the icon atlas from the classpath.
      *
      * @param namespace The resource namespace (e.g. "xui").
      * @param type      The icon type (SOLID or OUTLINE) to determine the filename.
      */
     public HeroIconAtlas(String namespace, IconType type) {
-        String variant = type.name().toLowerCase(); // "solid" or "outline"
-        String basePath = "/assets/" + namespace + "/heroicons/" + variant;
+        // "solid" or "outline"
+        super("/assets/" + namespace + "/heroicons/" + type.name().toLowerCase(), HeroIconData.class);
+    }
+
+    @Override
+    protected HeroIconData parseJson(Reader reader) {
+        return new Gson().fromJson(reader, HeroIconData.class);
+    }
 
-        // 1. Load JSON
-        try (InputStream stream = getClass().getResourceAsStream(basePath + ".json")) {
-            if (stream == null) {
-                throw new RuntimeException("HeroIcon JSON not found: " + basePath + ".json");
+    @Override
+    protected void prepare(HeroIconData metadata) {
+        // Resolve the standard icons to their ordinals
+        HeroIconData.IconBounds[] table = new HeroIconData.IconBounds[HeroIcon.count()];
+        if (metadata.icons != null) {
+            for (HeroIcon icon : HeroIcon.values()) {
+                table[icon.ordinal()] = metadata.icons.get(icon.getName());
             }
-            this.metadata = new Gson().fromJson(
-                    new InputStreamReader(stream, StandardCharsets.UTF_8),
-                    HeroIconData.class
-            );
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to load HeroIcon metadata: " + variant, e);
         }
+        metadata.byOrdinal = table;
+    }
+
+    @Override
+    protected int getChannels(HeroIconData metadata) {
+        // Force 4 channels for MTSDF
+        return 4;
+    }
 
-        // 2. Load Texture (Force 4 channels for MTSDF)
-        this.textureId = SDFTextureLoader.loadSDFTexture(basePath + ".png", SDFType.MTSDF);
+    /**
+     * Retrieves the metadata for a standard icon.
+     *
+     * @param icon The icon.
+     * @return The bounds data or null if the atlas does not contain the icon.
+     */
+    public HeroIconData.IconBounds getIcon(HeroIcon icon) {
+        return getLoadedMetadata().byOrdinal[icon.ordinal()];
     }
 
     /**
      * Retrieves the metadata for a specific icon by name.
+     * <p>
+     * Prefer {@link #getIcon(HeroIcon)} for standard icons, which avoids the map lookup.
+     * </p>
      *
      * @param name The name of the icon (e.g., "home", "user").
      * @return The bounds data or null if not found.
      */
     public HeroIconData.IconBounds getIcon(String name) {
-        return metadata.icons.get(name);
+        return getLoadedMetadata().icons.get(name);
     }
 
-    @Override
-    public int getTextureId() {
-        return textureId;
-    }
-
-    @Override
-    public SDFMetadata getMetadata() {
-        return metadata;
-    }
-    
     @Override
     public SDFType getType() {
         return SDFType.MTSDF;
     }
-}
\ No newline at end of file
+}
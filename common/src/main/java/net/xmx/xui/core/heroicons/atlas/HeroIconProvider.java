@@ -25,6 +25,10 @@ public final class HeroIconProvider {
     /**
      * Initializes the icon atlases. 
      * Called during the main rendering initialization phase.
+     * <p>
+     * This only starts loading the atlases in the background; each atlas is materialized
+     * when its first icon is drawn.
+     * </p>
      */
     public static void init() {
         if (solidAtlas != null) return;
@@ -46,7 +46,13 @@ public class UIHeroIcon extends UIWidget {
      * The name of the current icon (e.g., "home", "cog").
      * Stored as a string to allow for custom icons not in the Enum if necessary.
      */
-    private String iconName = "question-mark-circle"; 
+    private String iconName = "question-mark-circle";
+
+    /**
+     * The standard icon matching {@link #iconName}, or null for custom icons.
+     * Resolved when the icon is set, so drawing looks the bounds up by ordinal.
+     */
+    private HeroIcon icon = HeroIcon.QUESTION_MARK_CIRCLE;
 
     /**
      * The visual variant of the icon (Solid vs Outline).
@@ -80,7 +86,8 @@ public class UIHeroIcon extends UIWidget {
      * @return This instance for chaining.
      */
     public UIHeroIcon setIcon(IconType type, HeroIcon icon) {
-        return setIcon(type, icon.getName());
+        this.iconType = type;
+        return setIcon(icon);
     }
 
     /**
@@ -91,7 +98,9 @@ public class UIHeroIcon extends UIWidget {
      * @return This instance for chaining.
      */
     public UIHeroIcon setIcon(HeroIcon icon) {
-        return setIcon(icon.getName());
+        this.icon = icon;
+        this.iconName = icon.getName();
+        return this;
     }
 
     /**
@@ -107,8 +116,7 @@ public class UIHeroIcon extends UIWidget {
      */
     public UIHeroIcon setIcon(IconType type, String name) {
         this.iconType = type;
-        this.iconName = name;
-        return this;
+        return setIcon(name);
     }
 
     /**
@@ -130,6 +138,7 @@ public class UIHeroIcon extends UIWidget {
      */
     public UIHeroIcon setIcon(String name) {
         this.iconName = name;
+        this.icon = HeroIcon.byName(name);
         return this;
     }
 
@@ -167,7 +176,8 @@ public class UIHeroIcon extends UIWidget {
         HeroIconAtlas atlas = HeroIconProvider.getAtlas(iconType);
 
         // 2. Retrieve the UV coordinates and bounds for the specific icon
-        HeroIconData.IconBounds bounds = atlas.getIcon(iconName);
+        // Standard icons are looked up by ordinal, only custom icons need the name lookup.
+        HeroIconData.IconBounds bounds = (icon != null) ? atlas.getIcon(icon) : atlas.getIcon(iconName);
 
         // If the icon doesn't exist in the JSON, handle the error gracefully
         if (bounds == null) {
@@ -178,30 +188,22 @@ public class UIHeroIcon extends UIWidget {
         // 3. Resolve the animated color from styles
         int color = getColor(ICON_COLOR, state, deltaTime);
 
-        // 4. Prepare the Renderer state
-        // We need to enable blending and disable culling for correct UI rendering.
-        renderer.getStateManager().capture();
-        renderer.getStateManager().setupForUI();
-
-        // 5. Begin the SDF Batch
-        // Automatically binds the MTSDF shader because the atlas type is MTSDF.
+        // 4. Begin the SDF Batch
+        // Icons share the SDF shader and vertex stream with text, so labels and icons
+        // whose atlases are bound together are merged into one draw call.
         renderer.getSdf().begin(
                 renderer.getCurrentUiScale(),
                 atlas,
                 renderer.getTransformStack().getDirectModelMatrix()
         );
 
-        // 6. Calculate UV Coordinates
+        // 5. Calculate UV Coordinates
         float atlasW = atlas.getMetadata().atlas.width;
         float atlasH = atlas.getMetadata().atlas.height;
 
-        MeshBuffer mesh = renderer.getSdf().getMesh();
-
-        // Extract color components (0.0 - 1.0)
-        float r = ((color >> 16) & 0xFF) / 255.0f;
-        float g = ((color >> 8) & 0xFF) / 255.0f;
-        float b = (color & 0xFF) / 255.0f;
-        float a = ((color >> 24) & 0xFF) / 255.0f;
+        // Reserve space for one quad
+        MeshBuffer mesh = renderer.getSdf().prepare(4);
+        int slot = renderer.getSdf().getSlot();
 
         // Calculate normalized UVs (0.0 to 1.0)
         // u0, v0 = Top-Left of the icon in the atlas
@@ -215,29 +217,20 @@ public class UIHeroIcon extends UIWidget {
         float v0 = bounds.y / atlasH;
         float v1 = (bounds.y + bounds.height) / atlasH;
 
-        // 7. Push Vertices to the Mesh
-        // We draw a Quad (2 Triangles).
-        
-        // Triangle 1
+        // 6. Push Vertices to the Mesh
+        // We draw a single Quad (4 vertices in winding order, indexed by the mesh).
+
         // Bottom-Left (x, y+h) -> UV (u0, v1)
-        mesh.pos(x, y + height, 0).color(r, g, b, a).uv(u0, v1).endVertex();
+        mesh.pos(x, y + height, 0).color(color).uv(u0, v1).slot(slot).endVertex();
         // Bottom-Right (x+w, y+h) -> UV (u1, v1)
-        mesh.pos(x + width, y + height, 0).color(r, g, b, a).uv(u1, v1).endVertex();
+        mesh.pos(x + width, y + height, 0).color(color).uv(u1, v1).slot(slot).endVertex();
         // Top-Right (x+w, y) -> UV (u1, v0)
-        mesh.pos(x + width, y, 0).color(r, g, b, a).uv(u1, v0).endVertex();
-
-        // Triangle 2
-        // Top-Right (x+w, y) -> UV (u1, v0)
-        mesh.pos(x + width, y, 0).color(r, g, b, a).uv(u1, v0).endVertex();
+        mesh.pos(x + width, y, 0).color(color).uv(u1, v0).slot(slot).endVertex();
         // Top-Left (x, y) -> UV (u0, v0)
-        mesh.pos(x, y, 0).color(r, g, b, a).uv(u0, v0).endVertex();
-        // Bottom-Left (x, y+h) -> UV (u0, v1)
-        mesh.pos(x, y + height, 0).color(r, g, b, a).uv(u0, v1).endVertex();
+        mesh.pos(x, y, 0).color(color).uv(u0, v0).slot(slot).endVertex();
 
-        // 8. Flush and Restore State
-        renderer.getSdf().drawBatch(atlas.getTextureId());
+        // 7. Close the scope (the batch manager decides when to draw)
         renderer.getSdf().end();
-        renderer.getStateManager().restore();
     }
 
     /**
@@ -5,6 +5,7 @@
 package net.xmx.xui.core.heroicons.data;
 
 import com.google.gson.annotations.SerializedName;
+import net.xmx.xui.core.heroicons.HeroIcon;
 import net.xmx.xui.core.sdf.SDFMetadata;
 
 import java.util.Map;
@@ -22,6 +23,12 @@ public class HeroIconData extends SDFMetadata {
     @SerializedName("icons")
     public Map<String, IconBounds> icons;
 
+    /**
+     * The bounds of the standard icons indexed by {@link HeroIcon#ordinal()} (null entries for
+     * icons missing in the atlas). Built after loading; not part of the JSON.
+     */
+    public transient IconBounds[] byOrdinal;
+
     /**
      * Represents the pixel bounds of a single icon within the atlas texture.
      */
@@ -102,6 +102,15 @@ public interface PlatformRenderInterface {
      */
     float getNativeStringWidth(TextComponent text);
 
+    /**
+     * Measures the advance of a single character using the platform's native font renderer.
+     *
+     * @param c    The character to measure.
+     * @param bold {@code true} to measure the bold variant.
+     * @return The advance in pixels.
+     */
+    float getNativeCharWidth(char c, boolean bold);
+
     /**
      * Calculates the vertical space required to render the text if it were wrapped
      * to the specified width, using the platform's native logic.
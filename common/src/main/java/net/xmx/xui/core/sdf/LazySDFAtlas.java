@@ -0,0 +1,198 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.sdf;
+
+import net.xmx.xui.core.sdf.io.SDFAssetLoader;
+import net.xmx.xui.core.sdf.io.SDFBinaryFormat;
+import net.xmx.xui.core.sdf.texture.SDFImage;
+import net.xmx.xui.core.sdf.texture.SDFTextureLoader;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Base class for SDF atlases that load in the background and materialize on first use.
+ * <p>
+ * <b>Loading:</b><br>
+ * The constructor submits the CPU-side work to the {@link SDFAssetLoader}: it reads the precompiled
+ * binary atlas ({@code <basePath>.xatlas}, see {@link SDFBinaryFormat}) if present, and otherwise
+ * parses the JSON metadata and decodes the PNG image. Multiple atlases therefore load in parallel.
+ * </p>
+ * <p>
+ * <b>Materialization:</b><br>
+ * The metadata becomes available on the first call to {@link #getMetadata()}, which waits for the
+ * background work if necessary. The OpenGL texture is created on the first call to
+ * {@link #getTextureId()}, which must happen on the render thread; the decoded pixels are released
+ * right after the upload.
+ * </p>
+ *
+ * @param <M> The metadata type.
+ * @author xI-Mx-Ix
+ */
+public abstract class LazySDFAtlas<M extends SDFMetadata> implements SDFAtlas {
+
+    private final String basePath;
+    private final Class<M> metadataType;
+    private final CompletableFuture<SDFBinaryFormat.Contents> pending;
+
+    private M metadata;
+    private SDFImage image;
+    private int textureId = 0;
+    private boolean uploaded = false;
+
+    /**
+     * Starts loading the atlas in the background.
+     * <p>
+     * <b>Note:</b> The background work runs while the subclass constructor may still be executing,
+     * so {@link #parseJson} and {@link #prepare} must not rely on subclass fields.
+     * </p>
+     *
+     * @param basePath     The classpath of the atlas without extension (e.g. "/assets/xui/fonts/roboto/Roboto-Regular").
+     * @param metadataType The metadata class.
+     */
+    protected LazySDFAtlas(String basePath, Class<M> metadataType) {
+        this.basePath = basePath;
+        this.metadataType = metadataType;
+        this.pending = SDFAssetLoader.submit(basePath, this::load);
+    }
+
+    /**
+     * Parses the JSON metadata (background thread).
+     *
+     * @param reader The JSON reader.
+     * @return The parsed metadata.
+     */
+    protected abstract M parseJson(Reader reader);
+
+    /**
+     * Post-processes the loaded metadata, e.g. to build lookup tables (background thread).
+     *
+     * @param metadata The loaded metadata.
+     */
+    protected void prepare(M metadata) {
+    }
+
+    /**
+     * Determines the channel count used to decode the PNG image.
+     *
+     * @param metadata The loaded metadata.
+     * @return 3 for MSDF or 4 for MTSDF.
+     */
+    protected int getChannels(M metadata) {
+        return (metadata.atlas != null && metadata.atlas.type == SDFType.MTSDF) ? 4 : 3;
+    }
+
+    /**
+     * Loads the metadata and pixels (background thread).
+     */
+    private SDFBinaryFormat.Contents load() {
+        M loaded;
+        SDFImage decoded = null;
+
+        // 1. Precompiled binary atlas
+        try (InputStream binary = getClass().getResourceAsStream(basePath + SDFBinaryFormat.EXTENSION)) {
+            if (binary != null) {
+                SDFBinaryFormat.Contents contents = SDFBinaryFormat.read(binary);
+                loaded = metadataType.cast(contents.metadata());
+                decoded = contents.image();
+            } else {
+                // 2. JSON metadata
+                try (InputStream json = getClass().getResourceAsStream(basePath + ".json")) {
+                    if (json == null) {
+                        throw new RuntimeException("SDF atlas JSON resource not found at path: " + basePath + ".json");
+                    }
+                    loaded = parseJson(new InputStreamReader(json, StandardCharsets.UTF_8));
+                }
+            }
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to parse SDF atlas metadata for: " + basePath, e);
+        }
+
+        prepare(loaded);
+
+        // 3. PNG image, unless the pixels are embedded in the binary atlas
+        if (decoded == null) {
+            decoded = SDFTextureLoader.decode(basePath + ".png", getChannels(loaded));
+        }
+        return new SDFBinaryFormat.Contents(loaded, decoded);
+    }
+
+    /**
+     * Gets the loaded metadata, waiting for the background work if necessary.
+     *
+     * @return The metadata.
+     * @throws RuntimeException If loading failed.
+     */
+    protected final M getLoadedMetadata() {
+        if (metadata == null) {
+            SDFBinaryFormat.Contents contents = SDFAssetLoader.await(pending, basePath);
+            this.image = contents.image();
+            this.metadata = metadataType.cast(contents.metadata());
+        }
+        return metadata;
+    }
+
+    @Override
+    public M getMetadata() {
+        return getLoadedMetadata();
+    }
+
+    /**
+     * Gets the OpenGL texture ID, uploading the decoded image on the first call.
+     * <p>
+     * Must be called on the render thread.
+     * </p>
+     *
+     * @return The integer texture handle.
+     */
+    @Override
+    public int getTextureId() {
+        if (!uploaded) {
+            getLoadedMetadata();
+            uploaded = true;
+            try {
+                textureId = SDFTextureLoader.upload(image);
+            } finally {
+                image.free();
+                image = null;
+            }
+        }
+        return textureId;
+    }
+
+    /**
+     * Frees the decoded pixels of an atlas that is never uploaded (e.g. in benchmarks).
+     */
+    void releaseImage() {
+        getLoadedMetadata();
+        if (!uploaded && image != null) {
+            image.free();
+            image = null;
+        }
+    }
+
+    /**
+     * Gets the classpath of the atlas without extension.
+     *
+     * @return The base path.
+     */
+    public String getBasePath() {
+        return basePath;
+    }
+
+    /**
+     * Checks whether the background loading has finished (successfully or not).
+     *
+     * @return True if {@link #getMetadata()} will not block.
+     */
+    public boolean isLoaded() {
+        return pending.isDone();
+    }
+}
@@ -32,7 +32,7 @@ public interface SDFAtlas {
     /**
      * Determines the type of SDF data stored in this atlas.
      * <p>
-     * Used by the renderer to switch between MSDF and MTSDF shaders.
+     * Uploaded per texture slot, so the shader only reads the true distance (alpha) of MTSDF atlases.
      * </p>
      *
      * @return The type enum (MSDF or MTSDF).
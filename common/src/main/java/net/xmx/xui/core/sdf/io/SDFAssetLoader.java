@@ -0,0 +1,150 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.sdf.io;
+
+import net.xmx.xui.init.XuiMainClass;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Loads SDF atlas data (metadata parsing and image decoding) on background threads.
+ * <p>
+ * Atlases submit their CPU-side loading work when they are created and only wait for the
+ * result when they are first used. Loading therefore runs in parallel and overlaps with the
+ * rest of the client startup; only the texture upload remains on the render thread.
+ * </p>
+ * <p>
+ * <b>Failures:</b><br>
+ * A failed load is logged by the loader thread as soon as it happens, so a missing or broken
+ * asset is reported during startup without the render thread waiting for it. The failure is
+ * rethrown by {@link #await} when the atlas is first used.
+ * </p>
+ * <p>
+ * <b>Startup Measurement:</b><br>
+ * The loader tracks the accumulated load time on the worker threads, the wall-clock time from
+ * the first submission until all atlases were loaded, and the time the render thread spent
+ * waiting for unfinished atlases. The numbers are logged once all pending atlases are loaded and
+ * can be queried via {@link #getStats()}.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+public final class SDFAssetLoader {
+
+    /**
+     * Decoding is CPU-bound, so a small pool of daemon threads is used.
+     */
+    private static final int THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "XUI Atlas Loader #" + threadCounter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // --- Statistics ---
+    private static final AtomicInteger pending = new AtomicInteger();
+    private static final AtomicInteger loaded = new AtomicInteger();
+    private static final AtomicLong loadNanos = new AtomicLong();
+    private static final AtomicLong blockedNanos = new AtomicLong();
+    private static final AtomicLong firstSubmitNanos = new AtomicLong();
+    private static volatile long wallNanos = 0;
+
+    private SDFAssetLoader() {}
+
+    /**
+     * Starts loading an asset in the background.
+     *
+     * @param name The name of the asset (for logging).
+     * @param task The loading work. Must not access OpenGL.
+     * @param <T>  The result type.
+     * @return A future completing with the loaded data.
+     */
+    public static <T> CompletableFuture<T> submit(String name, Supplier<T> task) {
+        long submitted = System.nanoTime();
+        firstSubmitNanos.compareAndSet(0, submitted);
+        pending.incrementAndGet();
+
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                return task.get();
+            } catch (RuntimeException | Error e) {
+                XuiMainClass.LOGGER.error("Failed to load SDF atlas " + name, e);
+                throw e;
+            } finally {
+                long end = System.nanoTime();
+                loadNanos.addAndGet(end - start);
+                loaded.incrementAndGet();
+                XuiMainClass.LOGGER.debug("Loaded SDF atlas {} in {} ms", name, (end - start) / 1_000_000);
+
+                if (pending.decrementAndGet() == 0) {
+                    wallNanos = end - firstSubmitNanos.get();
+                    XuiMainClass.LOGGER.info("Loaded {} SDF atlases in {} ms ({} ms on {} loader threads)",
+                            loaded.get(), wallNanos / 1_000_000, loadNanos.get() / 1_000_000, THREADS);
+                }
+            }
+        }, EXECUTOR);
+    }
+
+    /**
+     * Waits for a loaded asset, blocking the calling thread if loading has not finished yet.
+     *
+     * @param future The future returned by {@link #submit}.
+     * @param name   The name of the asset (for error messages).
+     * @param <T>    The result type.
+     * @return The loaded data.
+     * @throws RuntimeException If loading failed.
+     */
+    public static <T> T await(CompletableFuture<T> future, String name) {
+        if (!future.isDone()) {
+            long start = System.nanoTime();
+            try {
+                future.join();
+            } catch (CompletionException ignored) {
+                // Rethrown below
+            } finally {
+                blockedNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new RuntimeException("Failed to load SDF atlas: " + name, cause);
+        }
+    }
+
+    /**
+     * Gets the loading statistics.
+     *
+     * @return A snapshot of the statistics.
+     */
+    public static Stats getStats() {
+        return new Stats(loaded.get(), pending.get(), loadNanos.get() / 1_000_000,
+                wallNanos / 1_000_000, blockedNanos.get() / 1_000_000);
+    }
+
+    /**
+     * Loading statistics.
+     *
+     * @param loaded        The number of loaded atlases.
+     * @param pending       The number of atlases still loading.
+     * @param loadMillis    The accumulated load time on the worker threads.
+     * @param wallMillis    The time from the first submission until all atlases were loaded
+     *                      (0 while atlases are pending).
+     * @param blockedMillis The time callers spent waiting for unfinished atlases.
+     */
+    public record Stats(int loaded, int pending, long loadMillis, long wallMillis, long blockedMillis) {}
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.sdf.io;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import net.xmx.xui.core.font.data.FontMetadata;
+import net.xmx.xui.core.heroicons.data.HeroIconData;
+import net.xmx.xui.core.sdf.SDFMetadata;
+import net.xmx.xui.core.sdf.SDFType;
+import net.xmx.xui.core.sdf.texture.SDFImage;
+import net.xmx.xui.core.sdf.texture.SDFTextureLoader;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Build-time tool converting <code>msdf-atlas-gen</code> output (JSON + PNG) into binary atlases.
+ * <p>
+ * Every JSON file with a PNG of the same name is converted into a {@code .xatlas} file next to it
+ * (see {@link SDFBinaryFormat}). Files containing a {@code "glyphs"} array are treated as fonts,
+ * all others as icon atlases.
+ * </p>
+ * <p>
+ * <b>Usage:</b> {@code SDFAtlasConverter <directory> [--no-pixels]}<br>
+ * With {@code --no-pixels}, only the metadata is converted and the PNG is still decoded at runtime.
+ * The Gradle task {@code :common:convertAtlases} runs the tool on the bundled assets.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+public final class SDFAtlasConverter {
+
+    private SDFAtlasConverter() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: SDFAtlasConverter <directory> [--no-pixels]");
+            System.exit(1);
+        }
+
+        Path root = Paths.get(args[0]);
+        boolean embedPixels = !(args.length > 1 && args[1].equals("--no-pixels"));
+
+        List<Path> sources;
+        try (Stream<Path> files = Files.walk(root)) {
+            sources = files.filter(p -> p.toString().endsWith(".json")).sorted().toList();
+        }
+
+        int converted = 0;
+        for (Path json : sources) {
+            String base = json.toString().substring(0, json.toString().length() - ".json".length());
+            Path png = Paths.get(base + ".png");
+            if (!Files.exists(png)) continue;
+
+            convert(json, png, Paths.get(base + SDFBinaryFormat.EXTENSION), embedPixels);
+            converted++;
+        }
+        System.out.println("Converted " + converted + " SDF atlases in " + root);
+    }
+
+    /**
+     * Converts a single atlas.
+     *
+     * @param json        The JSON metadata file.
+     * @param png         The PNG atlas image.
+     * @param target      The binary file to write.
+     * @param embedPixels Whether to embed the decoded pixels.
+     * @throws IOException If reading or writing fails.
+     */
+    public static void convert(Path json, Path png, Path target, boolean embedPixels) throws IOException {
+        // 1. Metadata
+        String text = Files.readString(json, StandardCharsets.UTF_8);
+        JsonObject root = JsonParser.parseString(text).getAsJsonObject();
+        SDFMetadata metadata = root.has("glyphs")
+                ? new Gson().fromJson(root, FontMetadata.class)
+                : new Gson().fromJson(root, HeroIconData.class);
+
+        // 2. Pixels (MTSDF and icon atlases use 4 channels, MSDF uses 3)
+        SDFImage image = null;
+        if (embedPixels) {
+            boolean mtsdf = metadata instanceof HeroIconData
+                    || (metadata.atlas != null && metadata.atlas.type == SDFType.MTSDF);
+            image = SDFTextureLoader.decode(Files.readAllBytes(png), mtsdf ? 4 : 3, png.toString());
+        }
+
+        // 3. Binary file
+        try (OutputStream out = Files.newOutputStream(target)) {
+            SDFBinaryFormat.write(out, metadata, image);
+        } finally {
+            if (image != null) image.free();
+        }
+        System.out.println("Wrote " + target + " (" + Files.size(target) + " bytes)");
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.sdf.io;
+
+import net.xmx.xui.core.font.data.FontMetadata;
+import net.xmx.xui.core.heroicons.data.HeroIconData;
+import net.xmx.xui.core.sdf.SDFMetadata;
+import net.xmx.xui.core.sdf.SDFType;
+import net.xmx.xui.core.sdf.texture.SDFImage;
+import org.lwjgl.BufferUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Reader and writer for the precompiled binary SDF atlas format ({@code .xatlas}).
+ * <p>
+ * The format replaces the JSON metadata and PNG image produced by <code>msdf-atlas-gen</code>
+ * with a single compact file that can be read without a JSON parser or an image decoder.
+ * Files are generated at build time by {@link SDFAtlasConverter}.
+ * </p>
+ * <p>
+ * <b>Layout</b> (big-endian):
+ * <ol>
+ *     <li><b>Header:</b> magic {@code "XSDF"}, version byte, kind byte ({@link #KIND_FONT} or {@link #KIND_ICONS}).</li>
+ *     <li><b>Atlas Info:</b> SDF type ordinal, distance range, size, width, height, optional Y origin.</li>
+ *     <li><b>Font Section:</b> the 4 metrics, then per glyph the codepoint, advance, a flag byte
+ *     and the plane/atlas bounds that are present.</li>
+ *     <li><b>Icon Section:</b> per icon the name and the pixel rectangle.</li>
+ *     <li><b>Pixels (optional):</b> width, height, channels and the deflate-compressed decoded pixel rows.
+ *     If absent, the PNG next to the file is decoded instead.</li>
+ * </ol>
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+public final class SDFBinaryFormat {
+
+    /**
+     * The file extension of binary atlases.
+     */
+    public static final String EXTENSION = ".xatlas";
+
+    /**
+     * The magic number ("XSDF").
+     */
+    private static final int MAGIC = 0x58534446;
+    private static final int VERSION = 1;
+
+    /**
+     * The file contains font metrics and glyphs ({@link FontMetadata}).
+     */
+    public static final int KIND_FONT = 0;
+
+    /**
+     * The file contains named icon rectangles ({@link HeroIconData}).
+     */
+    public static final int KIND_ICONS = 1;
+
+    private static final int FLAG_PLANE_BOUNDS = 1;
+    private static final int FLAG_ATLAS_BOUNDS = 2;
+
+    private SDFBinaryFormat() {}
+
+    /**
+     * The contents of a binary atlas.
+     *
+     * @param metadata The metadata ({@link FontMetadata} or {@link HeroIconData}).
+     * @param image    The decoded pixels, or null if the file does not embed them.
+     */
+    public record Contents(SDFMetadata metadata, SDFImage image) {}
+
+    // =================================================================================
+    // Reading
+    // =================================================================================
+
+    /**
+     * Reads a binary atlas.
+     *
+     * @param stream The input stream (not closed by this method).
+     * @return The contents of the file.
+     * @throws IOException If the stream is not a valid binary atlas.
+     */
+    public static Contents read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+
+        // 1. Header
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a binary SDF atlas (bad magic)");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary SDF atlas version: " + version);
+        }
+        int kind = in.readUnsignedByte();
+
+        // 2. Atlas Info
+        SDFMetadata.AtlasInfo info = new SDFMetadata.AtlasInfo();
+        info.type = SDFType.values()[in.readUnsignedByte()];
+        info.distanceRange = in.readFloat();
+        info.size = in.readFloat();
+        info.width = in.readFloat();
+        info.height = in.readFloat();
+        info.yOrigin = in.readBoolean() ? in.readUTF() : null;
+
+        // 3. Kind specific section
+        SDFMetadata metadata;
+        if (kind == KIND_FONT) {
+            metadata = readFont(in);
+        } else if (kind == KIND_ICONS) {
+            metadata = readIcons(in);
+        } else {
+            throw new IOException("Unknown binary SDF atlas kind: " + kind);
+        }
+        metadata.atlas = info;
+
+        // 4. Optional pixels
+        SDFImage image = in.readBoolean() ? readImage(in) : null;
+        return new Contents(metadata, image);
+    }
+
+    private static FontMetadata readFont(DataInputStream in) throws IOException {
+        FontMetadata font = new FontMetadata();
+        font.metrics = new FontMetadata.Metrics();
+        font.metrics.emSize = in.readFloat();
+        font.metrics.lineHeight = in.readFloat();
+        font.metrics.ascender = in.readFloat();
+        font.metrics.descender = in.readFloat();
+
+        int count = in.readInt();
+        font.glyphs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            FontMetadata.Glyph glyph = new FontMetadata.Glyph();
+            glyph.unicode = in.readInt();
+            glyph.advance = in.readFloat();
+            int flags = in.readUnsignedByte();
+            if ((flags & FLAG_PLANE_BOUNDS) != 0) glyph.planeBounds = readBounds(in);
+            if ((flags & FLAG_ATLAS_BOUNDS) != 0) glyph.atlasBounds = readBounds(in);
+            font.glyphs.add(glyph);
+        }
+        return font;
+    }
+
+    private static HeroIconData readIcons(DataInputStream in) throws IOException {
+        HeroIconData icons = new HeroIconData();
+        int count = in.readInt();
+        icons.icons = new LinkedHashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            String name = in.readUTF();
+            HeroIconData.IconBounds bounds = new HeroIconData.IconBounds();
+            bounds.x = in.readInt();
+            bounds.y = in.readInt();
+            bounds.width = in.readInt();
+            bounds.height = in.readInt();
+            icons.icons.put(name, bounds);
+        }
+        return icons;
+    }
+
+    private static SDFMetadata.Bounds readBounds(DataInputStream in) throws IOException {
+        SDFMetadata.Bounds bounds = new SDFMetadata.Bounds();
+        bounds.left = in.readFloat();
+        bounds.bottom = in.readFloat();
+        bounds.right = in.readFloat();
+        bounds.top = in.readFloat();
+        return bounds;
+    }
+
+    private static SDFImage readImage(DataInputStream in) throws IOException {
+        int width = in.readInt();
+        int height = in.readInt();
+        int channels = in.readUnsignedByte();
+        byte[] compressed = new byte[in.readInt()];
+        in.readFully(compressed);
+
+        // Inflate straight into a direct buffer that can be passed to glTexImage2D
+        ByteBuffer pixels = BufferUtils.createByteBuffer(width * height * channels);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            while (pixels.hasRemaining() && !inflater.finished()) {
+                if (inflater.inflate(pixels) == 0 && inflater.needsInput()) break;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt pixel data in binary SDF atlas", e);
+        } finally {
+            inflater.end();
+        }
+        if (pixels.hasRemaining()) {
+            throw new IOException("Truncated pixel data in binary SDF atlas");
+        }
+        pixels.flip();
+        return new SDFImage(width, height, channels, pixels, false);
+    }
+
+    // =================================================================================
+    // Writing
+    // =================================================================================
+
+    /**
+     * Writes a binary atlas.
+     *
+     * @param stream   The output stream (flushed, but not closed by this method).
+     * @param metadata The metadata ({@link FontMetadata} or {@link HeroIconData}).
+     * @param image    The decoded pixels to embed, or null to keep using the PNG.
+     * @throws IOException If writing fails.
+     */
+    public static void write(OutputStream stream, SDFMetadata metadata, SDFImage image) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+
+        // 1. Header
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        boolean isFont = metadata instanceof FontMetadata;
+        if (!isFont && !(metadata instanceof HeroIconData)) {
+            throw new IllegalArgumentException("Unsupported metadata type: " + metadata.getClass().getName());
+        }
+        out.writeByte(isFont ? KIND_FONT : KIND_ICONS);
+
+        // 2. Atlas Info
+        SDFMetadata.AtlasInfo info = metadata.atlas;
+        SDFType type = info.type != null ? info.type : SDFType.MSDF;
+        out.writeByte(type.ordinal());
+        out.writeFloat(info.distanceRange);
+        out.writeFloat(info.size);
+        out.writeFloat(info.width);
+        out.writeFloat(info.height);
+        out.writeBoolean(info.yOrigin != null);
+        if (info.yOrigin != null) out.writeUTF(info.yOrigin);
+
+        // 3. Kind specific section
+        if (isFont) {
+            writeFont(out, (FontMetadata) metadata);
+        } else {
+            writeIcons(out, (HeroIconData) metadata);
+        }
+
+        // 4. Optional pixels
+        out.writeBoolean(image != null);
+        if (image != null) {
+            writeImage(out, image);
+        }
+        out.flush();
+    }
+
+    private static void writeFont(DataOutputStream out, FontMetadata font) throws IOException {
+        out.writeFloat(font.metrics.emSize);
+        out.writeFloat(font.metrics.lineHeight);
+        out.writeFloat(font.metrics.ascender);
+        out.writeFloat(font.metrics.descender);
+
+        List<FontMetadata.Glyph> glyphs = font.glyphs != null ? font.glyphs : List.of();
+        out.writeInt(glyphs.size());
+        for (FontMetadata.Glyph glyph : glyphs) {
+            out.writeInt(glyph.unicode);
+            out.writeFloat(glyph.advance);
+            int flags = (glyph.planeBounds != null ? FLAG_PLANE_BOUNDS : 0)
+                    | (glyph.atlasBounds != null ? FLAG_ATLAS_BOUNDS : 0);
+            out.writeByte(flags);
+            if (glyph.planeBounds != null) writeBounds(out, glyph.planeBounds);
+            if (glyph.atlasBounds != null) writeBounds(out, glyph.atlasBounds);
+        }
+    }
+
+    private static void writeIcons(DataOutputStream out, HeroIconData icons) throws IOException {
+        Map<String, HeroIconData.IconBounds> map = icons.icons != null ? icons.icons : Map.of();
+        out.writeInt(map.size());
+        for (Map.Entry<String, HeroIconData.IconBounds> entry : map.entrySet()) {
+            HeroIconData.IconBounds bounds = entry.getValue();
+            out.writeUTF(entry.getKey());
+            out.writeInt(bounds.x);
+            out.writeInt(bounds.y);
+            out.writeInt(bounds.width);
+            out.writeInt(bounds.height);
+        }
+    }
+
+    private static void writeBounds(DataOutputStream out, SDFMetadata.Bounds bounds) throws IOException {
+        out.writeFloat(bounds.left);
+        out.writeFloat(bounds.bottom);
+        out.writeFloat(bounds.right);
+        out.writeFloat(bounds.top);
+    }
+
+    private static void writeImage(DataOutputStream out, SDFImage image) throws IOException {
+        ByteBuffer pixels = image.pixels().duplicate();
+        pixels.position(0).limit(image.width() * image.height() * image.channels());
+
+        byte[] raw = new byte[pixels.remaining()];
+        pixels.get(raw);
+
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        byte[] compressed;
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] chunk = new byte[64 * 1024];
+            ByteArrayOutputStream collected = new ByteArrayOutputStream(raw.length / 2);
+            while (!deflater.finished()) {
+                int n = deflater.deflate(chunk);
+                collected.write(chunk, 0, n);
+            }
+            compressed = collected.toByteArray();
+        } finally {
+            deflater.end();
+        }
+
+        out.writeInt(image.width());
+        out.writeInt(image.height());
+        out.writeByte(image.channels());
+        out.writeInt(compressed.length);
+        out.write(compressed);
+    }
+}
@@ -5,45 +5,67 @@
 package net.xmx.xui.core.sdf.shader;
 
 import net.xmx.xui.core.gl.shader.ShaderProgram;
+import net.xmx.xui.core.sdf.SDFType;
 import org.joml.Matrix4f;
+import org.joml.Vector4f;
 import org.lwjgl.BufferUtils;
 import org.lwjgl.opengl.GL20;
 
 import java.nio.FloatBuffer;
 
 /**
- * Abstract base shader for Signed Distance Field rendering.
- * Contains common uniforms for matrix transformation and texture binding.
+ * Shader for Signed Distance Field rendering of both MSDF text and MTSDF icons.
+ * <p>
+ * The shader samples up to {@link #MAX_ATLASES} atlases bound to consecutive texture units.
+ * Each vertex carries the slot of its atlas, and the distance range and {@link SDFType} are
+ * uploaded per slot. Both types reconstruct the shape from the RGB channels; the true distance
+ * in the alpha channel is only read for outlines of {@link SDFType#MTSDF} atlases, so glyphs
+ * and icons can be drawn in the same call.
+ * </p>
  *
  * @author xI-Mx-Ix
  */
-public abstract class SDFShader extends ShaderProgram {
+public class SDFShader extends ShaderProgram {
+
+    /**
+     * The number of atlases a single draw call can sample (the size of the sampler array).
+     */
+    public static final int MAX_ATLASES = 4;
+
+    private static final int[] TEXTURE_UNITS = {0, 1, 2, 3};
 
     protected int locProjMat;
     protected int locModelViewMat;
-    protected int locSdfTexture;
+    protected int locAtlases;
     protected int locPxRange;
+    protected int locAtlasTypes;
+    protected int locOutlineWidth;
+    protected int locOutlineColor;
 
     private final FloatBuffer matrixBuffer = BufferUtils.createFloatBuffer(16);
+    private final FloatBuffer rangeBuffer = BufferUtils.createFloatBuffer(MAX_ATLASES);
 
-    public SDFShader(String namespace, String path) {
-        super(namespace, path);
+    public SDFShader() {
+        super("xui", "core/sdf");
     }
 
     @Override
     protected void registerAttributes() {
-        // Standard attributes for all SDF rendering
         super.bindAttribute(0, "position");
         super.bindAttribute(1, "color");
         super.bindAttribute(2, "uv");
+        super.bindAttribute(3, "atlasSlot");
     }
 
     @Override
     protected void registerUniforms() {
         locProjMat = super.getUniformLocation("projMat");
         locModelViewMat = super.getUniformLocation("modelViewMat");
-        locSdfTexture = super.getUniformLocation("sdfTexture");
+        locAtlases = super.getUniformLocation("atlases");
         locPxRange = super.getUniformLocation("pxRange");
+        locAtlasTypes = super.getUniformLocation("atlasTypes");
+        locOutlineWidth = super.getUniformLocation("outlineWidth");
+        locOutlineColor = super.getUniformLocation("outlineColor");
     }
 
     public void uploadProjection(Matrix4f matrix) {
@@ -56,11 +78,50 @@ public abstract class SDFShader extends ShaderProgram {
         GL20.glUniformMatrix4fv(locModelViewMat, false, matrixBuffer);
     }
 
-    public void uploadTextureUnit(int unit) {
-        GL20.glUniform1i(locSdfTexture, unit);
+    /**
+     * Assigns the texture units 0 to {@link #MAX_ATLASES} - 1 to the atlas samplers.
+     */
+    public void uploadTextureUnits() {
+        GL20.glUniform1iv(locAtlases, TEXTURE_UNITS);
+    }
+
+    /**
+     * Uploads the distance ranges of the bound atlases.
+     *
+     * @param ranges The pixel range per slot.
+     * @param count  The number of used slots.
+     */
+    public void uploadPxRanges(float[] ranges, int count) {
+        rangeBuffer.clear();
+        rangeBuffer.put(ranges, 0, count).flip();
+        GL20.glUniform1fv(locPxRange, rangeBuffer);
+    }
+
+    /**
+     * Uploads the types of the bound atlases.
+     *
+     * @param types The type per slot (0 = MSDF, 1 = MTSDF), {@link #MAX_ATLASES} entries.
+     */
+    public void uploadAtlasTypes(int[] types) {
+        GL20.glUniform1iv(locAtlasTypes, types);
+    }
+
+    /**
+     * Sets the width of the outline drawn around shapes of MTSDF atlases.
+     *
+     * @param width The width (0.0 to 1.0, relative to the distance range).
+     *              0.0 disables the outline.
+     */
+    public void uploadOutlineWidth(float width) {
+        GL20.glUniform1f(locOutlineWidth, width);
     }
 
-    public void uploadPxRange(float range) {
-        GL20.glUniform1f(locPxRange, range);
+    /**
+     * Sets the color of the outline.
+     *
+     * @param color The RGBA color vector.
+     */
+    public void uploadOutlineColor(Vector4f color) {
+        GL20.glUniform4f(locOutlineColor, color.x, color.y, color.z, color.w);
     }
-}
\ No newline at end of file
+}
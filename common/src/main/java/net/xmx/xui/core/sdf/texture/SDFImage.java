@@ -0,0 +1,37 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.sdf.texture;
+
+import org.lwjgl.stb.STBImage;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Decoded pixel data of an SDF atlas, ready to be uploaded to the GPU.
+ * <p>
+ * Images are decoded on background threads (see {@link SDFTextureLoader#decode}) and uploaded
+ * on the render thread with {@link SDFTextureLoader#upload}. The pixel buffer must be released
+ * with {@link #free()} once it has been uploaded.
+ * </p>
+ *
+ * @param width        The width in pixels.
+ * @param height       The height in pixels.
+ * @param channels     The number of 8-bit channels per pixel (3 for MSDF, 4 for MTSDF).
+ * @param pixels       The tightly packed pixel rows.
+ * @param stbAllocated True if the buffer was allocated by STB and must be freed explicitly.
+ * @author xI-Mx-Ix
+ */
+public record SDFImage(int width, int height, int channels, ByteBuffer pixels, boolean stbAllocated) {
+
+    /**
+     * Releases the native pixel memory if it is owned by STB.
+     * Other buffers are reclaimed by the garbage collector.
+     */
+    public void free() {
+        if (stbAllocated) {
+            STBImage.stbi_image_free(pixels);
+        }
+    }
+}
@@ -20,6 +20,10 @@ import java.nio.IntBuffer;
  * Handles the OpenGL texture parameters required for SDF rendering, such as
  * linear filtering and edge clamping. Supports both MSDF (RGB) and MTSDF (RGBA).
  * </p>
+ * <p>
+ * Decoding ({@link #decode}) and uploading ({@link #upload}) are separate steps, so images can be
+ * decoded on background threads and only the texture creation runs on the render thread.
+ * </p>
  *
  * @author xI-Mx-Ix
  */
@@ -53,57 +57,99 @@ public class SDFTextureLoader {
      * @return The OpenGL texture ID handle.
      */
     public static int loadSDFTexture(String path, int channels) {
-        int format = (channels == 4) ? GL11.GL_RGBA : GL11.GL_RGB;
-        return loadTextureInternal(path, channels, format);
+        return loadTextureInternal(path, channels);
     }
 
     /**
-     * Internal generic loading logic.
+     * Decodes an SDF image from the classpath without touching OpenGL.
+     * <p>
+     * This method is thread-safe and intended to run on background threads.
+     * </p>
      *
-     * @param path            The resource path.
-     * @param desiredChannels The number of channels to force decode.
-     * @param glFormat        The OpenGL format constant.
-     * @return The generated OpenGL texture ID.
+     * @param path     The absolute classpath to the resource.
+     * @param channels The number of channels to decode (3 for MSDF, 4 for MTSDF).
+     * @return The decoded image.
      */
-    private static int loadTextureInternal(String path, int desiredChannels, int glFormat) {
+    public static SDFImage decode(String path, int channels) {
         try (InputStream imgStream = SDFTextureLoader.class.getResourceAsStream(path)) {
             if (imgStream == null) {
                 throw new RuntimeException("SDF texture resource not found: " + path);
             }
+            return decode(imgStream.readAllBytes(), channels, path);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load texture: " + path, e);
+        }
+    }
 
-            byte[] bytes = imgStream.readAllBytes();
-            ByteBuffer buffer = BufferUtils.createByteBuffer(bytes.length);
-            buffer.put(bytes);
-            buffer.flip();
+    /**
+     * Decodes an encoded image (e.g. PNG) without touching OpenGL.
+     *
+     * @param encoded  The encoded image bytes.
+     * @param channels The number of channels to decode (3 for MSDF, 4 for MTSDF).
+     * @param name     The name of the image, used in error messages.
+     * @return The decoded image.
+     */
+    public static SDFImage decode(byte[] encoded, int channels, String name) {
+        ByteBuffer buffer = BufferUtils.createByteBuffer(encoded.length);
+        buffer.put(encoded);
+        buffer.flip();
 
-            IntBuffer w = BufferUtils.createIntBuffer(1);
-            IntBuffer h = BufferUtils.createIntBuffer(1);
-            IntBuffer c = BufferUtils.createIntBuffer(1);
+        IntBuffer w = BufferUtils.createIntBuffer(1);
+        IntBuffer h = BufferUtils.createIntBuffer(1);
+        IntBuffer c = BufferUtils.createIntBuffer(1);
 
-            // Decode the image with STB
-            ByteBuffer image = STBImage.stbi_load_from_memory(buffer, w, h, c, desiredChannels);
-            if (image == null) {
-                throw new RuntimeException("STB failed to load image (" + path + "): " + STBImage.stbi_failure_reason());
-            }
+        // Decode the image with STB
+        ByteBuffer image = STBImage.stbi_load_from_memory(buffer, w, h, c, channels);
+        if (image == null) {
+            throw new RuntimeException("STB failed to load image (" + name + "): " + STBImage.stbi_failure_reason());
+        }
+        return new SDFImage(w.get(0), h.get(0), channels, image, true);
+    }
 
-            int textureId = GL11.glGenTextures();
-            GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
+    /**
+     * Creates an OpenGL texture from a decoded image.
+     * <p>
+     * Must be called on the render thread. The image is not freed.
+     * </p>
+     *
+     * @param image The decoded image.
+     * @return The OpenGL texture ID handle.
+     */
+    public static int upload(SDFImage image) {
+        int glFormat = (image.channels() == 4) ? GL11.GL_RGBA : GL11.GL_RGB;
 
-            // Set filtering and wrapping parameters for SDF
-            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_LINEAR);
-            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_LINEAR);
-            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_S, GL12.GL_CLAMP_TO_EDGE);
-            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_T, GL12.GL_CLAMP_TO_EDGE);
+        int textureId = GL11.glGenTextures();
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
 
-            // Upload image data to GPU
-            GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, glFormat, w.get(0), h.get(0), 0, glFormat, GL11.GL_UNSIGNED_BYTE, image);
+        // Set filtering and wrapping parameters for SDF
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_LINEAR);
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_LINEAR);
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_S, GL12.GL_CLAMP_TO_EDGE);
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_T, GL12.GL_CLAMP_TO_EDGE);
 
-            STBImage.stbi_image_free(image);
+        // Upload image data to GPU (RGB rows are not necessarily 4-byte aligned)
+        GL11.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 1);
+        GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, glFormat, image.width(), image.height(), 0, glFormat, GL11.GL_UNSIGNED_BYTE, image.pixels());
+        GL11.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 4);
 
-            return textureId;
+        return textureId;
+    }
 
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to load texture: " + path, e);
+    /**
+     * Internal generic loading logic.
+     *
+     * @param path            The resource path.
+     * @param desiredChannels The number of channels to force decode.
+     * @return The generated OpenGL texture ID.
+     */
+    private static int loadTextureInternal(String path, int desiredChannels) {
+        SDFImage image = decode(path, desiredChannels);
+        try {
+            return upload(image);
+        } finally {
+            image.free();
         }
     }
-}
\ No newline at end of file
+}
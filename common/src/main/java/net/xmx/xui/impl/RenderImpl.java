@@ -10,6 +10,7 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.network.chat.Style;
 import net.minecraft.network.chat.TextColor;
+import net.minecraft.util.FormattedCharSequence;
 import net.xmx.xui.core.platform.PlatformRenderInterface;
 import net.xmx.xui.core.text.TextComponent;
 import org.joml.Matrix4f;
@@ -28,6 +29,8 @@ public class RenderImpl implements PlatformRenderInterface {
 
     private static RenderImpl instance;
 
+    private static final Style BOLD = Style.EMPTY.withBold(true);
+
     /**
      * The Minecraft graphics context helper.
      * Valid only between {@link #initiateRenderCycle(double)} and {@link #finishRenderCycle()}.
@@ -168,6 +171,15 @@ public class RenderImpl implements PlatformRenderInterface {
         return Minecraft.getInstance().font.width(toMinecraftComponent(text));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public float getNativeCharWidth(char c, boolean bold) {
+        return Minecraft.getInstance().font.getSplitter()
+                .stringWidth(FormattedCharSequence.codepoint(c, bold ? BOLD : Style.EMPTY));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -12,6 +12,7 @@ import net.xmx.xui.core.heroicons.atlas.HeroIconProvider;
 import net.xmx.xui.core.platform.PlatformRenderProvider;
 import net.xmx.xui.impl.RenderImpl;
 import net.xmx.xui.init.registry.ModRegistries;
+import net.xmx.xui.init.registry.ReloadRegistry;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -34,13 +35,15 @@ public class XuiMainClass {
      */
     @Environment(EnvType.CLIENT)
     public static void onClientInit() {
+        ReloadRegistry.register();
     }
 
     /**
      * Called by a Mixin to initialize OpenGL components with a valid OpenGL context.
      * <p>
      * This method ensures that the renderer, fonts, and icons are loaded only after
-     * the game window and GL context are fully available.
+     * the game window and GL context are fully available. The atlases are only submitted for
+     * background loading here; the method does not wait for them.
      * </p>
      */
     @Environment(EnvType.CLIENT)
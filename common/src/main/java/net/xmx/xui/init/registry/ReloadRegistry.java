@@ -0,0 +1,30 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.init.registry;
+
+import dev.architectury.registry.ReloadListenerRegistry;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.PackType;
+import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
+import net.xmx.xui.core.font.DefaultFonts;
+import net.xmx.xui.init.XuiMainClass;
+
+/**
+ * This class handles the registration of client resource reload listeners.
+ * <p>
+ * A resource pack change can replace the native font, so the caches derived from
+ * font metrics are discarded after every reload.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+public class ReloadRegistry {
+
+    public static void register() {
+        ResourceManagerReloadListener fontCaches = resourceManager -> DefaultFonts.onResourceReload();
+        ReloadListenerRegistry.register(PackType.CLIENT_RESOURCES, fontCaches,
+                ResourceLocation.fromNamespaceAndPath(XuiMainClass.MODID, "font_caches"));
+    }
+}
@@ -275,6 +275,12 @@ public class XUIBidirectionalScrollExampleScreen extends Screen {
         return super.mouseDragged(mouseX, mouseY, button, dragX, dragY);
     }
 
+    @Override
+    public void mouseMoved(double mouseX, double mouseY) {
+        uiContext.mouseMoved(mouseX, mouseY);
+        super.mouseMoved(mouseX, mouseY);
+    }
+
     @Override
     public boolean mouseScrolled(double mouseX, double mouseY, double scrollX, double scrollY) {
         if (uiContext.mouseScrolled(mouseX, mouseY, scrollY)) return true;
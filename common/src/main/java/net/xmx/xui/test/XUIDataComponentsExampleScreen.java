@@ -126,27 +126,28 @@ public class XUIDataComponentsExampleScreen extends Screen {
         UITreeView tree = new UITreeView();
 
         // Root 1: Source
-        var src = tree.addRoot("src");
+        UITreeView.UITreeNode src = tree.addRoot("src");
         src.setExpanded(true);
 
-        var main = src.addChild("main");
+        UITreeView.UITreeNode main = src.addChild("main");
         main.setExpanded(true);
         main.addChild("java");
         main.addChild("resources");
 
-        var test = src.addChild("test");
+        UITreeView.UITreeNode test = src.addChild("test");
         test.addChild("java");
 
         // Root 2: Assets
-        var assets = tree.addRoot("assets");
+        UITreeView.UITreeNode assets = tree.addRoot("assets");
         assets.addChild("textures");
         assets.addChild("models");
         assets.addChild("sounds");
 
-        // Root 3: Config
-        var config = tree.addRoot("config");
-        config.addChild("client.toml");
-        config.addChild("server.toml");
+        // Root 3: Config (nodes are plain data, so a subtree can be built detached and added at once)
+        UITreeView.UITreeNode config = new UITreeView.UITreeNode(TextComponent.literal("config"));
+        config.addChild("client.toml").setLeaf(true);
+        config.addChild("server.toml").setLeaf(true);
+        tree.addRoot(config);
 
         scroll.add(tree);
         container.add(scroll);
@@ -371,6 +372,12 @@ public class XUIDataComponentsExampleScreen extends Screen {
         return super.mouseDragged(mouseX, mouseY, button, dragX, dragY);
     }
 
+    @Override
+    public void mouseMoved(double mouseX, double mouseY) {
+        uiContext.mouseMoved(mouseX, mouseY);
+        super.mouseMoved(mouseX, mouseY);
+    }
+
     @Override
     public boolean mouseScrolled(double mouseX, double mouseY, double scrollX, double scrollY) {
         if (uiContext.mouseScrolled(mouseX, mouseY, scrollY)) return true;
@@ -166,9 +166,29 @@ public class XUIDropdownExampleScreen extends Screen {
         return super.mouseDragged(mouseX, mouseY, button, dragX, dragY);
     }
 
+    @Override
+    public void mouseMoved(double mouseX, double mouseY) {
+        uiContext.mouseMoved(mouseX, mouseY);
+        super.mouseMoved(mouseX, mouseY);
+    }
+
     @Override
     public boolean mouseScrolled(double mouseX, double mouseY, double scrollX, double scrollY) {
         if (uiContext.mouseScrolled(mouseX, mouseY, scrollY)) return true;
         return super.mouseScrolled(mouseX, mouseY, scrollX, scrollY);
     }
+
+    @Override
+    public boolean keyPressed(int keyCode, int scanCode, int modifiers) {
+        // Arrow keys, Enter and Escape navigate an open dropdown before the screen handles them
+        if (uiContext.keyPressed(keyCode, scanCode, modifiers)) return true;
+        return super.keyPressed(keyCode, scanCode, modifiers);
+    }
+
+    @Override
+    public boolean charTyped(char codePoint, int modifiers) {
+        // Typed characters filter the options of an open dropdown
+        if (uiContext.charTyped(codePoint, modifiers)) return true;
+        return super.charTyped(codePoint, modifiers);
+    }
 }
\ No newline at end of file
@@ -297,6 +297,12 @@ public class XUILoginExampleScreen extends Screen {
         return uiContext.mouseDragged(mouseX, mouseY, button, dragX, dragY) || super.mouseDragged(mouseX, mouseY, button, dragX, dragY);
     }
 
+    @Override
+    public void mouseMoved(double mouseX, double mouseY) {
+        uiContext.mouseMoved(mouseX, mouseY);
+        super.mouseMoved(mouseX, mouseY);
+    }
+
     @Override
     public boolean charTyped(char codePoint, int modifiers) {
         return uiContext.charTyped(codePoint, modifiers) || super.charTyped(codePoint, modifiers);
@@ -121,4 +121,10 @@ public class XUIMoveRotateScreen extends Screen {
         if (uiContext.mouseReleased(mouseX, mouseY, button)) return true;
         return super.mouseReleased(mouseX, mouseY, button);
     }
+
+    @Override
+    public void mouseMoved(double mouseX, double mouseY) {
+        uiContext.mouseMoved(mouseX, mouseY);
+        super.mouseMoved(mouseX, mouseY);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core;
+
+import net.xmx.xui.core.components.UIPanel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks pointer queries, hover updates and event routing of the {@link HitTestIndex}.
+ * The widgets are recorded the way {@link UIWidget#render} records them, without a renderer.
+ *
+ * @author xI-Mx-Ix
+ */
+class HitTestIndexTest {
+
+    private HitTestIndex index;
+    private UIPanel root;
+    private UIPanel left;
+    private UIPanel right;
+    private UIPanel button;
+
+    @BeforeEach
+    void setUp() {
+        root = new UIPanel();
+        root.setWidth(Layout.pixel(400)).setHeight(Layout.pixel(200));
+
+        left = panel(0, 0, 200, 200);
+        right = panel(200, 0, 200, 200);
+        button = panel(20, 20, 50, 20);
+        root.add(left);
+        root.add(right);
+        left.add(button);
+        root.layout();
+
+        index = new HitTestIndex();
+        HitTestIndex previous = index.beginFrame(400, 200);
+        for (UIWidget widget : new UIWidget[]{root, left, button, right}) {
+            index.record(widget);
+        }
+        index.endFrame(previous);
+    }
+
+    @Test
+    void findsTopmostWidget() {
+        assertSame(button, index.findTopmost(30, 30));
+        assertSame(left, index.findTopmost(100, 100));
+        assertSame(right, index.findTopmost(300, 100));
+    }
+
+    @Test
+    void routeContainsOnlyBranchesUnderThePointer() {
+        index.beginRoute(30, 30);
+        try {
+            assertFalse(root.isOffPointerRoute());
+            assertFalse(left.isOffPointerRoute());
+            assertFalse(button.isOffPointerRoute());
+            assertTrue(right.isOffPointerRoute());
+        } finally {
+            HitTestIndex.endRoute();
+        }
+        assertFalse(right.isOffPointerRoute());
+    }
+
+    @Test
+    void routedClickUnfocusesSkippedBranches() {
+        right.isFocused = true;
+        root.mouseMoved(30, 30);
+
+        index.beginRoute(30, 30);
+        try {
+            assertTrue(root.mouseClicked(30, 30, 0));
+        } finally {
+            HitTestIndex.endRoute();
+        }
+
+        assertTrue(button.isFocused);
+        assertFalse(right.isFocused);
+    }
+
+    @Test
+    void hoverUpdateNotifiesWidgetsUnderTheCursor() {
+        int[] moves = new int[1];
+        UIPanel tracking = new UIPanel() {
+            @Override
+            protected void mouseMovedSelf(double mouseX, double mouseY) {
+                super.mouseMovedSelf(mouseX, mouseY);
+                moves[0]++;
+            }
+        };
+        tracking.setX(Layout.pixel(50)).setY(Layout.pixel(50)).setWidth(Layout.pixel(40)).setHeight(Layout.pixel(40));
+        right.add(tracking);
+        root.layout();
+
+        HitTestIndex previous = index.beginFrame(400, 200);
+        for (UIWidget widget : new UIWidget[]{root, left, button, right, tracking}) {
+            index.record(widget);
+        }
+        index.endFrame(previous);
+
+        index.updateHover(260, 60);
+        assertTrue(tracking.isHovered());
+        assertEquals(1, moves[0]);
+
+        // Far away moves only reach the widgets under the cursor and the hovered ones
+        index.updateHover(30, 30);
+        assertFalse(tracking.isHovered());
+        assertEquals(2, moves[0]);
+        index.updateHover(40, 30);
+        assertEquals(2, moves[0]);
+    }
+
+    @Test
+    void widgetsNotRenderedInAFrameLoseTheirHover() {
+        int[] exits = new int[1];
+        button.setOnMouseExit(widget -> exits[0]++);
+        index.updateHover(30, 30);
+        assertTrue(button.isHovered());
+
+        // The left subtree is culled: neither it nor the button is recorded
+        HitTestIndex previous = index.beginFrame(400, 200);
+        index.record(root);
+        index.record(right);
+        index.endFrame(previous);
+
+        assertFalse(button.isHovered());
+        assertFalse(left.isHovered());
+        assertEquals(1, exits[0]);
+    }
+
+    private static UIPanel panel(float x, float y, float width, float height) {
+        UIPanel panel = new UIPanel();
+        panel.setX(Layout.pixel(x)).setY(Layout.pixel(y)).setWidth(Layout.pixel(width)).setHeight(Layout.pixel(height));
+        return panel;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.font.dynamic;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Checks the glyph table, the LRU eviction and the region reuse of the {@link GlyphCache},
+ * on a page that holds exactly four glyphs of 15x15 pixels (16x16 with the gutter).
+ *
+ * @author xI-Mx-Ix
+ */
+class GlyphCacheTest {
+
+    private static final int GLYPH_SIZE = 16 - GlyphCache.GUTTER;
+
+    private GlyphCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new GlyphCache(32, 32);
+    }
+
+    @Test
+    void tableKeepsOneGlyphPerCodepoint() {
+        for (int cp = 0x4E00; cp < 0x4E00 + 500; cp++) {
+            assertSame(cache.getOrCreate(cp), cache.getOrCreate(cp));
+        }
+        assertEquals(500, cache.size());
+        assertEquals(0x4E00 + 123, cache.get(0x4E00 + 123).unicode);
+        assertNull(cache.get(0x3042));
+    }
+
+    @Test
+    void regionsIncludeTheGutter() {
+        ShelfPacker.Region region = cache.allocate(GLYPH_SIZE, GLYPH_SIZE, 0);
+        assertEquals(GLYPH_SIZE + GlyphCache.GUTTER, region.width);
+        assertEquals(GLYPH_SIZE + GlyphCache.GUTTER, region.height);
+    }
+
+    @Test
+    void fullPageEvictsTheLeastRecentlyUsedGlyph() {
+        DynamicGlyph[] glyphs = fill(0);
+
+        // Glyph 0 is used again in frame 1, so glyph 1 becomes the oldest
+        cache.touch(glyphs[0], 1);
+        assertSame(glyphs[1], cache.getOldest());
+
+        DynamicGlyph next = cache.getOrCreate('E');
+        ShelfPacker.Region region = cache.allocate(GLYPH_SIZE, GLYPH_SIZE, 2);
+        assertNotNull(region);
+        cache.makeResident(next, region, 2);
+
+        assertEquals(DynamicGlyph.State.EVICTED, glyphs[1].getState());
+        assertNull(glyphs[1].getRegion());
+        assertNull(glyphs[1].atlasBounds);
+        assertEquals(DynamicGlyph.State.RESIDENT, glyphs[0].getState());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(4, cache.getResidentCount());
+    }
+
+    @Test
+    void evictedRegionIsReused() {
+        DynamicGlyph[] glyphs = fill(0);
+        ShelfPacker.Region evicted = glyphs[0].getRegion();
+
+        ShelfPacker.Region region = cache.allocate(GLYPH_SIZE, GLYPH_SIZE, 1);
+        assertNotNull(region);
+        assertEquals(evicted.x, region.x);
+        assertEquals(evicted.y, region.y);
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void glyphsUsedInTheCurrentFrameAreNotEvicted() {
+        DynamicGlyph[] glyphs = fill(0);
+        for (DynamicGlyph glyph : glyphs) {
+            cache.touch(glyph, 3);
+        }
+
+        assertNull(cache.allocate(GLYPH_SIZE, GLYPH_SIZE, 3));
+        assertEquals(0, cache.getEvictionCount());
+        assertEquals(4, cache.getResidentCount());
+    }
+
+    @Test
+    void evictingTwiceHasNoEffect() {
+        DynamicGlyph[] glyphs = fill(0);
+        cache.evict(glyphs[2]);
+        cache.evict(glyphs[2]);
+
+        assertEquals(3, cache.getResidentCount());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(3, cache.getPacker().getRegionCount());
+    }
+
+    /**
+     * Makes four glyphs resident in the given frame, filling the page.
+     */
+    private DynamicGlyph[] fill(long frame) {
+        DynamicGlyph[] glyphs = new DynamicGlyph[4];
+        for (int i = 0; i < glyphs.length; i++) {
+            glyphs[i] = cache.getOrCreate('A' + i);
+            ShelfPacker.Region region = cache.allocate(GLYPH_SIZE, GLYPH_SIZE, frame);
+            assertNotNull(region);
+            cache.makeResident(glyphs[i], region, frame);
+        }
+        assertNull(cache.getPacker().allocate(16, 16));
+        return glyphs;
+    }
+}
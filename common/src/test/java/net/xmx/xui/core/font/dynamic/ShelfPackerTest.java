@@ -0,0 +1,105 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.font.dynamic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks shelf allocation, freeing and region reuse of the {@link ShelfPacker}.
+ *
+ * @author xI-Mx-Ix
+ */
+class ShelfPackerTest {
+
+    @Test
+    void packedRegionsStayInsideThePageAndDoNotOverlap() {
+        ShelfPacker packer = new ShelfPacker(128, 128);
+        List<ShelfPacker.Region> regions = new ArrayList<>();
+        ShelfPacker.Region region;
+        int i = 0;
+        while ((region = packer.allocate(10 + i % 7, 12 + i % 5)) != null) {
+            regions.add(region);
+            i++;
+        }
+
+        assertFalse(regions.isEmpty());
+        assertEquals(regions.size(), packer.getRegionCount());
+        for (int a = 0; a < regions.size(); a++) {
+            ShelfPacker.Region r = regions.get(a);
+            assertFalse(r.x < 0 || r.y < 0 || r.x + r.width > 128 || r.y + r.height > 128, "region outside the page");
+            for (int b = a + 1; b < regions.size(); b++) {
+                assertFalse(overlap(r, regions.get(b)), "regions " + a + " and " + b + " overlap");
+            }
+        }
+    }
+
+    @Test
+    void freedRegionIsReusedBySmallerRectangle() {
+        ShelfPacker packer = new ShelfPacker(64, 64);
+        ShelfPacker.Region first = packer.allocate(20, 16);
+        ShelfPacker.Region second = packer.allocate(20, 16);
+        ShelfPacker.Region third = packer.allocate(20, 16);
+
+        packer.free(second);
+        ShelfPacker.Region reused = packer.allocate(18, 16);
+
+        assertNotNull(reused);
+        assertEquals(second.x, reused.x);
+        assertEquals(second.y, reused.y);
+        assertFalse(overlap(reused, first));
+        assertFalse(overlap(reused, third));
+    }
+
+    @Test
+    void freeingTwiceHasNoEffect() {
+        ShelfPacker packer = new ShelfPacker(64, 64);
+        ShelfPacker.Region kept = packer.allocate(16, 16);
+        ShelfPacker.Region freed = packer.allocate(16, 16);
+
+        packer.free(freed);
+        packer.free(freed);
+
+        assertEquals(1, packer.getRegionCount());
+        assertEquals(16 * 16 / (float) (64 * 64), packer.getOccupancy(), 1e-6f);
+        assertNotNull(kept);
+    }
+
+    @Test
+    void emptyBottomShelvesReopenWithAnotherHeight() {
+        ShelfPacker packer = new ShelfPacker(32, 32);
+        ShelfPacker.Region top = packer.allocate(32, 8);
+        ShelfPacker.Region bottom = packer.allocate(32, 24);
+        assertNull(packer.allocate(32, 30));
+
+        packer.free(bottom);
+        packer.free(top);
+
+        // Both shelves were removed, so the whole page is available again
+        ShelfPacker.Region tall = packer.allocate(32, 30);
+        assertNotNull(tall);
+        assertEquals(0, tall.y);
+    }
+
+    @Test
+    void rejectsRectanglesLargerThanThePage() {
+        ShelfPacker packer = new ShelfPacker(32, 32);
+        assertNull(packer.allocate(33, 1));
+        assertNull(packer.allocate(1, 33));
+        assertNull(packer.allocate(0, 4));
+    }
+
+    private static boolean overlap(ShelfPacker.Region a, ShelfPacker.Region b) {
+        return a.x < b.x + b.width && b.x < a.x + a.width
+                && a.y < b.y + b.height && b.y < a.y + a.height;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.gl.renderer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that frame-wide batching issues draw calls per state change, not per widget.
+ * All GL calls are recorded by a {@link RecordingGlBackend}.
+ *
+ * @author xI-Mx-Ix
+ */
+class BatchManagerTest {
+
+    private RecordingGlBackend gl;
+    private BatchManager batch;
+
+    @BeforeEach
+    void setUp() {
+        gl = new RecordingGlBackend();
+        batch = new BatchManager(RecordingGlBackend.noopState(), gl);
+    }
+
+    @Test
+    void widgetsSharingStateAreDrawnOnce() {
+        TestTarget target = new TestTarget();
+        batch.register(target);
+
+        batch.beginFrame(1.0);
+        for (int i = 0; i < 1000; i++) {
+            target.rect(batch, 7, (i % 40) * 10, (i / 40) * 10, 8, 8, 0xFFFFFFFF);
+        }
+        batch.endFrame();
+
+        BatchManager.FrameStats stats = batch.getLastFrameStats();
+        assertEquals(1, stats.drawCalls());
+        assertEquals(1, gl.drawCalls);
+        assertEquals(1, gl.uploads);
+        assertEquals(1, gl.textureBinds);
+        assertEquals(4000, stats.vertices());
+    }
+
+    @Test
+    void drawCallsFollowStateChangesNotWidgets() {
+        TestTarget target = new TestTarget();
+        batch.register(target);
+
+        // 1000 widgets alternating between two textures, e.g. icons in one column and labels in another
+        batch.beginFrame(1.0);
+        for (int i = 0; i < 1000; i++) {
+            boolean icon = i % 2 == 0;
+            target.rect(batch, icon ? 1 : 2, icon ? 0 : 20, i * 10, icon ? 16 : 200, 8, 0xFFFFFFFF);
+        }
+        batch.endFrame();
+
+        assertEquals(1000, batch.getLastFrameStats().commands());
+        assertEquals(2, batch.getLastFrameStats().drawCalls());
+        assertEquals(2, gl.textureBinds);
+    }
+
+    @Test
+    void overlappingWidgetsKeepPainterOrder() {
+        TestTarget target = new TestTarget();
+        batch.register(target);
+
+        // Stacked widgets alternating between two textures cannot be merged
+        batch.beginFrame(1.0);
+        for (int i = 0; i < 10; i++) {
+            target.rect(batch, i % 2 == 0 ? 1 : 2, i, i, 50, 50, 0xFFFFFFFF);
+        }
+        batch.endFrame();
+
+        assertEquals(10, gl.drawCalls);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i * 4, gl.draws.get(i)[1]);
+        }
+    }
+
+    @Test
+    void scissorRegionsSplitRuns() {
+        TestTarget target = new TestTarget();
+        batch.register(target);
+
+        batch.beginFrame(1.0);
+        batch.setScissor(0, 0, 100, 100);
+        target.rect(batch, 1, 0, 0, 10, 10, 0xFFFFFFFF);
+        target.rect(batch, 1, 20, 0, 10, 10, 0xFFFFFFFF);
+        batch.clearScissor();
+        target.rect(batch, 1, 40, 0, 10, 10, 0xFFFFFFFF);
+        batch.endFrame();
+
+        assertEquals(2, gl.drawCalls);
+        assertEquals(1, gl.scissorEnables);
+        assertEquals(1, gl.scissorDisables);
+    }
+
+    @Test
+    void restoredScissorRegionsKeepTheirRun() {
+        TestTarget target = new TestTarget();
+        batch.register(target);
+
+        // A scroll panel with a nested clip, e.g. a text field inside a list
+        batch.beginFrame(1.0);
+        batch.setScissor(0, 0, 100, 100);
+        target.rect(batch, 1, 0, 0, 10, 10, 0xFFFFFFFF);
+        batch.setScissor(20, 20, 30, 30);
+        target.rect(batch, 2, 20, 20, 10, 10, 0xFFFFFFFF);
+        batch.setScissor(0, 0, 100, 100); // Restores the parent region
+        target.rect(batch, 1, 60, 0, 10, 10, 0xFFFFFFFF);
+        batch.setScissor(0, 0, 100, 100); // Sets the same region again
+        target.rect(batch, 1, 80, 0, 10, 10, 0xFFFFFFFF);
+        batch.clearScissor();
+        batch.endFrame();
+
+        BatchManager.FrameStats stats = batch.getLastFrameStats();
+        assertEquals(3, stats.commands());
+        assertEquals(2, stats.drawCalls());
+        assertEquals(2, gl.scissorEnables);
+    }
+
+    @Test
+    void overflowSubmitsAllVertices() {
+        TestTarget target = new TestTarget(64);
+        batch.register(target);
+
+        batch.beginFrame(1.0);
+        for (int i = 0; i < 100; i++) {
+            target.rect(batch, 1, (i % 10) * 10, (i / 10) * 10, 8, 8, 0xFFFFFFFF);
+        }
+        batch.endFrame();
+
+        int drawn = 0;
+        for (Object[] draw : gl.draws) {
+            drawn += (int) draw[2];
+        }
+        assertEquals(400, drawn);
+        assertEquals(400, batch.getLastFrameStats().vertices());
+        assertTrue(gl.uploads > 1);
+    }
+
+    @Test
+    void uploadsAreFencedAfterTheirDraws() {
+        TestTarget target = new TestTarget();
+        batch.register(target);
+
+        batch.beginFrame(1.0);
+        target.rect(batch, 1, 0, 0, 10, 10, 0xFFFFFFFF);
+        target.rect(batch, 2, 20, 0, 10, 10, 0xFFFFFFFF);
+        batch.endFrame();
+
+        assertEquals(1, gl.fences);
+        assertEquals(gl.draws.size(), gl.drawsAtLastFence);
+    }
+
+    @Test
+    void frameStatsAreReused() {
+        TestTarget target = new TestTarget();
+        batch.register(target);
+
+        batch.beginFrame(1.0);
+        target.rect(batch, 1, 0, 0, 10, 10, 0xFFFFFFFF);
+        batch.endFrame();
+        BatchManager.FrameStats first = batch.getLastFrameStats();
+
+        batch.beginFrame(1.0);
+        batch.endFrame();
+
+        assertSame(first, batch.getLastFrameStats());
+        assertEquals(0, first.drawCalls());
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.gl.renderer;
+
+import net.xmx.xui.core.gl.vertex.MeshBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the overlap-preserving reordering of {@link DrawList} on the CPU alone.
+ *
+ * @author xI-Mx-Ix
+ */
+class DrawListTest {
+
+    private static final BatchTarget SHAPES = new StubTarget();
+    private static final BatchTarget TEXT = new StubTarget();
+
+    private DrawList list;
+    private int nextVertex;
+
+    @BeforeEach
+    void setUp() {
+        list = new DrawList();
+        nextVertex = 0;
+    }
+
+    @Test
+    void nonOverlappingCommandsMergeAcrossStateChanges() {
+        // Panel, label, panel, label side by side: two runs instead of four
+        add(SHAPES, 0, -1, 0, 0, 10, 10);
+        add(TEXT, 5, -1, 20, 0, 30, 10);
+        add(SHAPES, 0, -1, 40, 0, 50, 10);
+        add(TEXT, 5, -1, 60, 0, 70, 10);
+        list.resolve();
+
+        assertEquals(2, list.getRunCount());
+        assertRun(0, SHAPES, 0, 2);
+        assertRun(1, TEXT, 1, 3);
+    }
+
+    @Test
+    void overlappingCommandsKeepPainterOrder() {
+        // A label on a panel under another panel: the second panel must stay above the label
+        add(SHAPES, 0, -1, 0, 0, 100, 100);
+        add(TEXT, 5, -1, 10, 10, 50, 20);
+        add(SHAPES, 0, -1, 20, 15, 80, 80);
+        list.resolve();
+
+        assertEquals(3, list.getRunCount());
+        assertRun(0, SHAPES, 0);
+        assertRun(1, TEXT, 1);
+        assertRun(2, SHAPES, 2);
+    }
+
+    @Test
+    void mergeSkipsOnlyNonOverlappingRuns() {
+        add(SHAPES, 0, -1, 0, 0, 10, 10);
+        add(TEXT, 5, -1, 100, 0, 110, 10);
+        add(TEXT, 6, -1, 200, 0, 210, 10);
+        // Overlaps the run of texture 6, so it may not move back before it
+        add(SHAPES, 0, -1, 205, 5, 215, 15);
+        list.resolve();
+
+        assertEquals(4, list.getRunCount());
+        assertEquals(3, list.getOrderedCommand(list.getRun(3).start).first / 4);
+    }
+
+    @Test
+    void commandsInDifferentScissorRegionsDoNotMerge() {
+        add(SHAPES, 0, 0, 0, 0, 10, 10);
+        add(SHAPES, 0, 1, 20, 0, 30, 10);
+        add(SHAPES, 0, 0, 40, 0, 50, 10);
+        list.resolve();
+
+        assertEquals(2, list.getRunCount());
+        assertEquals(0, list.getRun(0).scissor);
+        assertEquals(1, list.getRun(1).scissor);
+        assertRun(0, SHAPES, 0, 2);
+    }
+
+    @Test
+    void touchingEdgesDoNotOverlap() {
+        add(SHAPES, 0, -1, 0, 0, 10, 10);
+        add(TEXT, 5, -1, 10, 0, 20, 10);
+        add(SHAPES, 0, -1, 20, 0, 30, 10);
+        list.resolve();
+
+        assertEquals(2, list.getRunCount());
+    }
+
+    @Test
+    void runsAreStableAcrossFrames() {
+        for (int frame = 0; frame < 3; frame++) {
+            list.clear();
+            nextVertex = 0;
+            for (int i = 0; i < 100; i++) {
+                add(i % 2 == 0 ? SHAPES : TEXT, 0, -1, (i % 2) * 500, i * 10, (i % 2) * 500 + 100, i * 10 + 8);
+            }
+            list.resolve();
+
+            assertEquals(2, list.getRunCount());
+            assertEquals(50, list.getRun(0).end - list.getRun(0).start);
+        }
+    }
+
+    /**
+     * Records a quad command covering the given bounds.
+     */
+    private void add(BatchTarget target, int stateKey, int scissor, float minX, float minY, float maxX, float maxY) {
+        DrawList.Command cmd = list.add();
+        cmd.target = target;
+        cmd.stateKey = stateKey;
+        cmd.state = null;
+        cmd.scissor = scissor;
+        cmd.first = nextVertex;
+        cmd.count = 4;
+        cmd.minX = minX;
+        cmd.minY = minY;
+        cmd.maxX = maxX;
+        cmd.maxY = maxY;
+        nextVertex += 4;
+    }
+
+    /**
+     * Asserts the target and the commands (by recording index) of a run, in submission order.
+     */
+    private void assertRun(int runIndex, BatchTarget target, int... commands) {
+        DrawList.Run run = list.getRun(runIndex);
+        assertTrue(run.target == target, "run " + runIndex + " has the wrong target");
+        assertEquals(commands.length, run.end - run.start, "commands in run " + runIndex);
+        for (int i = 0; i < commands.length; i++) {
+            assertEquals(commands[i] * 4, list.getOrderedCommand(run.start + i).first);
+        }
+    }
+
+    private static final class StubTarget implements BatchTarget {
+        @Override
+        public MeshBuffer getMesh() {
+            return null;
+        }
+
+        @Override
+        public void bindState(BatchManager batch, int stateKey, Object state) {
+        }
+    }
+}
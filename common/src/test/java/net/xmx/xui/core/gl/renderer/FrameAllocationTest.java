@@ -0,0 +1,133 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.gl.renderer;
+
+import net.xmx.xui.core.gl.vertex.MeshBuffer;
+import net.xmx.xui.core.sdf.SDFAtlas;
+import net.xmx.xui.core.sdf.SDFMetadata;
+import org.joml.Vector4f;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Guards the per-frame draw paths of the renderers against heap allocations.
+ * <p>
+ * Every frame draws rounded rectangles and outlined panels through the {@link GeometryRenderer},
+ * images with two textures through the {@link ImageRenderer} and a long text through the
+ * {@link SDFRenderer}. The text does not fit into one mesh, so the overflow flush and the carry-over
+ * of the unfinished quad are part of every frame. The allocations are read from
+ * {@link BatchManager.FrameStats#allocatedBytes()}.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+class FrameAllocationTest {
+
+    private static final int WARMUP_FRAMES = 300;
+    private static final int FRAMES = 200;
+
+    /**
+     * More glyph vertices than one mesh holds, so every frame overflows the text mesh.
+     */
+    private static final int GLYPHS = MeshBuffer.DEFAULT_MAX_VERTICES / 4 + 1000;
+
+    private RecordingGlBackend gl;
+    private BatchManager batch;
+    private GeometryRenderer geometry;
+    private ImageRenderer images;
+    private SDFRenderer sdf;
+    private SDFAtlas regular;
+    private SDFAtlas bold;
+
+    @BeforeEach
+    void setUp() {
+        gl = new RecordingGlBackend();
+        gl.recordDraws = false;
+        batch = new BatchManager(RecordingGlBackend.noopState(), gl);
+        geometry = new GeometryRenderer(batch, null, null);
+        images = new ImageRenderer(batch, null);
+        sdf = new SDFRenderer(batch, null) {
+            @Override
+            void uploadUniforms(BatchManager batch, int atlasCount, float[] pxRanges, int[] types,
+                                float outlineWidth, Vector4f outlineColor) {
+            }
+        };
+        regular = atlas(11);
+        bold = atlas(12);
+    }
+
+    @Test
+    void steadyStateFramesDoNotAllocate() {
+        assumeTrue(batch.setAllocationTracking(true), "per-thread allocation counting is not supported");
+
+        // Warm up, so class loading and compilation are not measured
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            frame();
+        }
+
+        long allocated = 0;
+        for (int i = 0; i < FRAMES; i++) {
+            frame();
+            assertTrue(batch.getLastFrameStats().drawCalls() > 3, "the frame must draw every renderer");
+            allocated += batch.getLastFrameStats().allocatedBytes();
+        }
+
+        assertEquals(0L, allocated, "bytes allocated in " + FRAMES + " frames");
+    }
+
+    private void frame() {
+        batch.beginFrame(1.0);
+
+        // 1. Panels: a filled card with a border, and a row of plain rounded rectangles
+        geometry.begin(1.0, null);
+        for (int i = 0; i < 50; i++) {
+            geometry.drawRoundedRect(i * 20, 0, 18, 18, 0xFF202020, 0xFFFFFFFF, 1, 4, 4, 4, 4);
+            geometry.drawRect(i * 20, 20, 18, 18, 0xFF303030, 2, 2, 2, 2);
+            geometry.drawOutline(i * 20, 40, 18, 18, 0xFFFFFFFF, 1, 3, 3, 3, 3);
+        }
+        geometry.end();
+
+        // 2. Images alternating between two textures and both filtering modes
+        for (int i = 0; i < 50; i++) {
+            images.drawImage(i % 2 == 0 ? 5 : 6, i * 20, 60, 16, 16, 0xFFFFFFFF, 2, i % 4 < 2, 1.0, null);
+        }
+
+        // 3. A long text with regular and bold words
+        sdf.begin(1.0, regular, null);
+        for (int g = 0; g < GLYPHS; g++) {
+            glyph((g / 6) % 3 == 0 ? bold : regular, (g % 200) * 8, 80 + (g / 200) * 10);
+        }
+        sdf.end();
+
+        batch.endFrame();
+    }
+
+    private void glyph(SDFAtlas source, float x, float y) {
+        MeshBuffer mesh = sdf.prepare(source, 4);
+        int slot = sdf.getSlot();
+        mesh.pos(x, y + 9, 0).color(0xFFFFFFFF).uv(0, 1).slot(slot).endVertex();
+        mesh.pos(x + 7, y + 9, 0).color(0xFFFFFFFF).uv(1, 1).slot(slot).endVertex();
+        mesh.pos(x + 7, y, 0).color(0xFFFFFFFF).uv(1, 0).slot(slot).endVertex();
+        mesh.pos(x, y, 0).color(0xFFFFFFFF).uv(0, 0).slot(slot).endVertex();
+    }
+
+    private static SDFAtlas atlas(int textureId) {
+        return new SDFAtlas() {
+            @Override
+            public int getTextureId() {
+                return textureId;
+            }
+
+            @Override
+            public SDFMetadata getMetadata() {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.gl.renderer;
+
+import net.xmx.xui.core.gl.vertex.MeshBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Checks that rounded rectangles and outlined panels are submitted as one instance each.
+ * All GL calls are recorded by a {@link RecordingGlBackend}; the shaders are never bound.
+ *
+ * @author xI-Mx-Ix
+ */
+class GeometryRendererTest {
+
+    private RecordingGlBackend gl;
+    private BatchManager batch;
+    private GeometryRenderer geometry;
+
+    @BeforeEach
+    void setUp() {
+        gl = new RecordingGlBackend();
+        batch = new BatchManager(RecordingGlBackend.noopState(), gl);
+        geometry = new GeometryRenderer(batch, null, null);
+    }
+
+    @Test
+    void roundedRectsAndOutlinedPanelsAreOneInstanceEach() {
+        batch.beginFrame(1.0);
+        geometry.begin(1.0, null);
+        for (int i = 0; i < 100; i++) {
+            geometry.drawRect(i * 10, 0, 8, 8, 0xFF202020, 2, 2, 2, 2);
+        }
+        for (int i = 0; i < 50; i++) {
+            geometry.drawOutline(i * 10, 20, 8, 8, 0xFFFFFFFF, 1, 3, 3, 3, 3);
+        }
+        for (int i = 0; i < 50; i++) {
+            // An outlined panel: fill and border in the same instance
+            geometry.drawRoundedRect(i * 10, 40, 8, 8, 0xFF202020, 0xFFFFFFFF, 1, 4, 4, 4, 4);
+        }
+        geometry.end();
+        batch.endFrame();
+
+        // One instance record per shape, expanded to a 4-vertex strip by the vertex shader
+        BatchManager.FrameStats stats = batch.getLastFrameStats();
+        assertEquals(200, stats.vertices());
+        assertEquals(1, stats.drawCalls());
+        assertEquals(1, gl.drawCalls);
+        assertEquals(1, gl.draws.size());
+
+        Object[] draw = gl.draws.get(0);
+        assertSame(MeshBuffer.Topology.INSTANCED_QUADS, ((MeshBuffer) draw[0]).getTopology());
+        assertEquals(0, draw[1]);
+        assertEquals(200, draw[2]);
+    }
+
+    @Test
+    void emptyShapesProduceNoInstances() {
+        batch.beginFrame(1.0);
+        geometry.begin(1.0, null);
+        geometry.drawRect(0, 0, 0, 8, 0xFF202020, 2, 2, 2, 2);
+        geometry.drawOutline(0, 0, 8, 8, 0xFFFFFFFF, 0, 3, 3, 3, 3);
+        geometry.drawRoundedRect(0, 0, 8, -1, 0xFF202020, 0xFFFFFFFF, 1, 4, 4, 4, 4);
+        geometry.drawRect(0, 0, 8, 8, 0xFF202020, 2, 2, 2, 2);
+        geometry.end();
+        batch.endFrame();
+
+        assertEquals(1, batch.getLastFrameStats().vertices());
+        assertEquals(1, gl.drawCalls);
+    }
+}
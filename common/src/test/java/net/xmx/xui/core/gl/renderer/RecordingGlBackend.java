@@ -0,0 +1,151 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.gl.renderer;
+
+import net.xmx.xui.core.gl.shader.ShaderProgram;
+import net.xmx.xui.core.gl.vertex.MeshBuffer;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A {@link GlBackend} that records the calls of the batch manager instead of issuing them.
+ * <p>
+ * Nothing is uploaded or drawn; tests inspect the recorded counters and the vertex ranges of
+ * every draw call.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+final class RecordingGlBackend implements GlBackend {
+
+    int uploads;
+    int fences;
+    int drawsAtLastFence;
+    int drawCalls;
+    int multiDrawCalls;
+    int programBinds;
+    int textureBinds;
+    int textureFilters;
+    int scissorEnables;
+    int scissorDisables;
+
+    /**
+     * The texture ID last bound to each texture unit.
+     */
+    final int[] boundTextures = new int[16];
+
+    /**
+     * The drawn vertex ranges in submission order, as {mesh, first, count}.
+     */
+    final List<Object[]> draws = new ArrayList<>();
+
+    /**
+     * Whether the vertex ranges are recorded in {@link #draws}. Disabled when measuring allocations.
+     */
+    boolean recordDraws = true;
+
+    /**
+     * Creates a state manager that does not touch OpenGL.
+     *
+     * @return The no-op state manager.
+     */
+    static GlState noopState() {
+        return new GlState() {
+            @Override
+            public void capture() {
+            }
+
+            @Override
+            public void restore() {
+            }
+
+            @Override
+            public void setupForUI() {
+            }
+        };
+    }
+
+    void reset() {
+        uploads = 0;
+        fences = 0;
+        drawsAtLastFence = 0;
+        drawCalls = 0;
+        multiDrawCalls = 0;
+        programBinds = 0;
+        textureBinds = 0;
+        textureFilters = 0;
+        scissorEnables = 0;
+        scissorDisables = 0;
+        Arrays.fill(boundTextures, 0);
+        draws.clear();
+    }
+
+    @Override
+    public void getViewport(int[] out) {
+        out[0] = 0;
+        out[1] = 0;
+        out[2] = 1920;
+        out[3] = 1080;
+    }
+
+    @Override
+    public void enableScissor(int x, int glY, int width, int height) {
+        scissorEnables++;
+    }
+
+    @Override
+    public void disableScissor() {
+        scissorDisables++;
+    }
+
+    @Override
+    public void bindProgram(ShaderProgram program) {
+        programBinds++;
+    }
+
+    @Override
+    public void bindTexture(int unit, int textureId) {
+        textureBinds++;
+        boundTextures[unit] = textureId;
+    }
+
+    @Override
+    public void setTextureFilter(int filter) {
+        textureFilters++;
+    }
+
+    @Override
+    public void upload(MeshBuffer mesh) {
+        uploads++;
+    }
+
+    @Override
+    public void draw(MeshBuffer mesh, int first, int count) {
+        drawCalls++;
+        if (recordDraws) {
+            draws.add(new Object[]{mesh, first, count});
+        }
+    }
+
+    @Override
+    public void drawMulti(MeshBuffer mesh, IntBuffer firsts, IntBuffer counts) {
+        drawCalls++;
+        multiDrawCalls++;
+        if (recordDraws) {
+            for (int i = firsts.position(); i < firsts.limit(); i++) {
+                draws.add(new Object[]{mesh, firsts.get(i), counts.get(i)});
+            }
+        }
+    }
+
+    @Override
+    public void endDraws(MeshBuffer mesh) {
+        fences++;
+        drawsAtLastFence = draws.size();
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.gl.renderer;
+
+import net.xmx.xui.core.gl.vertex.MeshBuffer;
+import net.xmx.xui.core.sdf.SDFAtlas;
+import net.xmx.xui.core.sdf.SDFMetadata;
+import org.joml.Vector4f;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that text and icons from several atlases share one draw call, and that outline changes
+ * of the {@link SDFRenderer} are recorded per command instead of submitting the batch. All GL calls
+ * are recorded by a {@link RecordingGlBackend}; the uniform uploads are recorded by overriding
+ * {@link SDFRenderer#uploadUniforms}.
+ *
+ * @author xI-Mx-Ix
+ */
+class SDFRendererTest {
+
+    private static final Vector4f RED = new Vector4f(1, 0, 0, 1);
+
+    private RecordingGlBackend gl;
+    private BatchManager batch;
+    private SDFRenderer sdf;
+    private SDFAtlas atlas;
+
+    /**
+     * The outline width uploaded for every drawn run, in submission order.
+     */
+    private final List<Float> outlineUploads = new ArrayList<>();
+
+    /**
+     * The atlas count uploaded for every drawn run, in submission order.
+     */
+    private final List<Integer> atlasCountUploads = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        gl = new RecordingGlBackend();
+        batch = new BatchManager(RecordingGlBackend.noopState(), gl);
+        sdf = new SDFRenderer(batch, null) {
+            @Override
+            void uploadUniforms(BatchManager batch, int atlasCount, float[] pxRanges, int[] types,
+                                float outlineWidth, Vector4f outlineColor) {
+                outlineUploads.add(outlineWidth);
+                atlasCountUploads.add(atlasCount);
+            }
+        };
+        atlas = atlas(1);
+        outlineUploads.clear();
+        atlasCountUploads.clear();
+    }
+
+    @Test
+    void mixedStyleParagraphIsOneDrawCall() {
+        SDFAtlas regular = atlas(11);
+        SDFAtlas bold = atlas(12);
+        SDFAtlas italic = atlas(13);
+        SDFAtlas icons = atlas(21);
+        SDFAtlas[] words = {regular, bold, regular, italic, icons, regular, bold, italic};
+
+        // One paragraph: every word switches the style, an icon sits in the middle of the line
+        batch.beginFrame(1.0);
+        sdf.begin(1.0, regular, null);
+        int[] slots = new int[words.length];
+        for (int w = 0; w < words.length; w++) {
+            for (int c = 0; c < 5; c++) {
+                slots[w] = glyph(words[w], (w * 6 + c) * 8, 0);
+            }
+        }
+        sdf.end();
+        batch.endFrame();
+
+        assertEquals(1, gl.uploads);
+        assertEquals(1, gl.drawCalls);
+        assertEquals(List.of(4), atlasCountUploads);
+
+        // Each atlas keeps the slot it was assigned first, and its texture is bound to that unit
+        assertArrayEquals(new int[]{0, 1, 0, 2, 3, 0, 1, 2}, slots);
+        assertEquals(11, gl.boundTextures[0]);
+        assertEquals(12, gl.boundTextures[1]);
+        assertEquals(13, gl.boundTextures[2]);
+        assertEquals(21, gl.boundTextures[3]);
+    }
+
+    @Test
+    void outlineChangesDoNotSubmitTheBatch() {
+        // 100 icons side by side, every other one outlined
+        batch.beginFrame(1.0);
+        for (int i = 0; i < 100; i++) {
+            icon(i * 20, 0, i % 2 == 0 ? 0.2f : 0.0f);
+        }
+        batch.endFrame();
+
+        assertEquals(1, gl.uploads);
+        assertEquals(2, gl.drawCalls);
+        assertEquals(List.of(0.2f, 0.0f), outlineUploads);
+    }
+
+    @Test
+    void overlappingCommandsKeepTheirOutline() {
+        // Stacked icons cannot be reordered, each run is drawn with the outline it was recorded with
+        batch.beginFrame(1.0);
+        for (int i = 0; i < 4; i++) {
+            icon(i, i, i % 2 == 0 ? 0.2f : 0.0f);
+        }
+        batch.endFrame();
+
+        assertEquals(1, gl.uploads);
+        assertEquals(4, gl.drawCalls);
+        assertEquals(List.of(0.2f, 0.0f, 0.2f, 0.0f), outlineUploads);
+    }
+
+    @Test
+    void beginResetsTheOutlineWithoutDrawing() {
+        batch.beginFrame(1.0);
+        icon(0, 0, 0.2f);
+        sdf.begin(1.0, atlas, null);
+        sdf.end();
+        assertEquals(0, gl.drawCalls);
+        batch.endFrame();
+
+        assertEquals(1, gl.drawCalls);
+    }
+
+    /**
+     * Records one glyph quad the way {@code CustomFont} does.
+     *
+     * @return The slot written into the vertices.
+     */
+    private int glyph(SDFAtlas source, float x, float y) {
+        MeshBuffer mesh = sdf.prepare(source, 4);
+        int slot = sdf.getSlot();
+        mesh.pos(x, y + 9, 0).color(0xFFFFFFFF).uv(0, 1).slot(slot).endVertex();
+        mesh.pos(x + 7, y + 9, 0).color(0xFFFFFFFF).uv(1, 1).slot(slot).endVertex();
+        mesh.pos(x + 7, y, 0).color(0xFFFFFFFF).uv(1, 0).slot(slot).endVertex();
+        mesh.pos(x, y, 0).color(0xFFFFFFFF).uv(0, 0).slot(slot).endVertex();
+        return slot;
+    }
+
+    private static SDFAtlas atlas(int textureId) {
+        return new SDFAtlas() {
+            @Override
+            public int getTextureId() {
+                return textureId;
+            }
+
+            @Override
+            public SDFMetadata getMetadata() {
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Records one quad the way {@code UIHeroIcon} does, with an optional outline.
+     */
+    private void icon(float x, float y, float outline) {
+        sdf.begin(1.0, atlas, null);
+        if (outline > 0) {
+            sdf.setOutline(outline, RED);
+        }
+        MeshBuffer mesh = sdf.prepare(4);
+        int slot = sdf.getSlot();
+        mesh.pos(x, y + 16, 0).color(0xFFFFFFFF).uv(0, 1).slot(slot).endVertex();
+        mesh.pos(x + 16, y + 16, 0).color(0xFFFFFFFF).uv(1, 1).slot(slot).endVertex();
+        mesh.pos(x + 16, y, 0).color(0xFFFFFFFF).uv(1, 0).slot(slot).endVertex();
+        mesh.pos(x, y, 0).color(0xFFFFFFFF).uv(0, 0).slot(slot).endVertex();
+        sdf.end();
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.gl.renderer;
+
+import net.xmx.xui.core.gl.vertex.MeshBuffer;
+import net.xmx.xui.core.gl.vertex.VertexFormat;
+
+/**
+ * A batch target that writes flat colored quads and binds its state key as texture.
+ *
+ * @author xI-Mx-Ix
+ */
+final class TestTarget implements BatchTarget {
+
+    private final MeshBuffer mesh;
+
+    TestTarget() {
+        this(MeshBuffer.DEFAULT_MAX_VERTICES);
+    }
+
+    TestTarget(int maxVertices) {
+        this.mesh = new MeshBuffer(VertexFormat.POS_PACKED_COLOR, false, MeshBuffer.Topology.QUADS, maxVertices);
+    }
+
+    @Override
+    public MeshBuffer getMesh() {
+        return mesh;
+    }
+
+    @Override
+    public void bindState(BatchManager batch, int stateKey, Object state) {
+        batch.useTexture(stateKey);
+    }
+
+    /**
+     * Records one quad with the given texture.
+     */
+    void rect(BatchManager batch, int texture, float x, float y, float width, float height, int color) {
+        batch.prepare(this, texture, null, 4);
+        mesh.pos(x, y, 0).color(color).endVertex();
+        mesh.pos(x, y + height, 0).color(color).endVertex();
+        mesh.pos(x + width, y + height, 0).color(color).endVertex();
+        mesh.pos(x + width, y, 0).color(color).endVertex();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of XUI.
+ * Licensed under LGPL 3.0.
+ */
+package net.xmx.xui.core.gl.vertex;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Guards the vertex path of {@link MeshBuffer} against per-frame allocations.
+ * The draw paths of the renderers are covered by {@code FrameAllocationTest}.
+ * <p>
+ * The capacity is not a multiple of the quad size, so every overflow splits a quad and the
+ * unfinished vertices are carried over into the next submission. The overflow handler resets
+ * the buffer instead of drawing, so no GL context is needed.
+ * </p>
+ *
+ * @author xI-Mx-Ix
+ */
+class MeshBufferAllocationTest {
+
+    private static final int FRAMES = 2000;
+    private static final int QUADS_PER_FRAME = 100;
+
+    @Test
+    void overflowCarriesPartialQuadsWithoutAllocating() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean counter && counter.isThreadAllocatedMemorySupported(),
+                "per-thread allocation counting is not supported");
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threads;
+        bean.setThreadAllocatedMemoryEnabled(true);
+
+        MeshBuffer mesh = new MeshBuffer(VertexFormat.POS_PACKED_COLOR, false, MeshBuffer.Topology.QUADS, 66);
+        int[] overflows = new int[1];
+        mesh.setOverflowHandler(() -> {
+            overflows[0]++;
+            mesh.reset();
+        });
+
+        // Warm up, so class loading and compilation are not measured
+        for (int i = 0; i < FRAMES; i++) {
+            frame(mesh);
+        }
+        overflows[0] = 0;
+
+        long before = bean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < FRAMES; i++) {
+            frame(mesh);
+        }
+        long allocated = bean.getCurrentThreadAllocatedBytes() - before;
+
+        assertTrue(overflows[0] > FRAMES, "the capacity must overflow every frame");
+        assertEquals(0L, allocated, "bytes allocated in " + FRAMES + " frames");
+    }
+
+    @Test
+    void carriedVerticesKeepTheirData() {
+        MeshBuffer mesh = new MeshBuffer(VertexFormat.POS_PACKED_COLOR, false, MeshBuffer.Topology.QUADS, 6);
+        mesh.setOverflowHandler(mesh::reset);
+
+        for (int q = 0; q < 2; q++) {
+            quad(mesh, q * 10, q);
+        }
+
+        // 4 vertices of the first quad were submitted, the second quad was carried over whole
+        assertEquals(4, mesh.getVertexCount());
+        assertEquals(10.0f, mesh.getMinX(), 0.0f);
+        assertEquals(19.0f, mesh.getMaxX(), 0.0f);
+    }
+
+    private static void frame(MeshBuffer mesh) {
+        for (int q = 0; q < QUADS_PER_FRAME; q++) {
+            quad(mesh, q, q);
+        }
+        mesh.reset();
+    }
+
+    private static void quad(MeshBuffer mesh, float x, int color) {
+        int argb = 0xFF000000 | color;
+        mesh.pos(x, 0, 0).color(argb).endVertex();
+        mesh.pos(x, 9, 0).color(argb).endVertex();
+        mesh.pos(x + 9, 9, 0).color(argb).endVertex();
+        mesh.pos(x + 9, 0, 0).color(argb).endVertex();
+    }
+}